@@ -0,0 +1,168 @@
+package org.eventbuddy.backend.benchmarks;
+
+import org.eventbuddy.backend.enums.Role;
+import org.eventbuddy.backend.models.app_user.AppUser;
+import org.eventbuddy.backend.models.app_user.UserSettings;
+import org.eventbuddy.backend.models.booking.Booking;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventSummary;
+import org.eventbuddy.backend.models.organization.Contact;
+import org.eventbuddy.backend.models.organization.Location;
+import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.models.organization.OrganizationSummary;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Realistic documents for the benchmarks: every organization has two owners sharing their email and avatar,
+ * events have a capacity, a description and a location, so the mappers take their usual branches.
+ */
+final class BenchmarkData {
+
+    static final int OWNERS_PER_ORGANIZATION = 2;
+
+    final List<AppUser> users;
+
+    final List<Organization> organizations;
+
+    final List<Event> events;
+
+    final List<Booking> bookings;
+
+    private BenchmarkData( List<AppUser> users, List<Organization> organizations, List<Event> events, List<Booking> bookings ) {
+        this.users = users;
+        this.organizations = organizations;
+        this.events = events;
+        this.bookings = bookings;
+    }
+
+    // owners are assigned round-robin, so organizations share owners like they do in production
+    static BenchmarkData create( int userCount, int organizationCount, int eventCount, int bookingCount ) {
+        Instant now = Instant.now().truncatedTo( ChronoUnit.MINUTES );
+
+        List<String> userIds = IntStream.range( 0, userCount ).mapToObj( i -> "user-" + i ).toList();
+
+        List<Organization> organizations = IntStream.range( 0, organizationCount )
+                .<Organization>mapToObj( i -> Organization.builder()
+                        .id( "orga-" + i )
+                        .name( "Organization " + i )
+                        .slug( "organization-" + i )
+                        .description( "Hosting concerts, meetups and workshops since 2010." )
+                        .website( "https://organization-" + i + ".example" )
+                        .imageId( "66f1c0de0000000000000" + String.format( "%03d", i % 1000 ) )
+                        .owners( ownersOf( i, userIds ) )
+                        .location( location( i ) )
+                        .contact( Contact.builder().email( "contact@organization-" + i + ".example" ).phoneNumber( "0301234567" ).build() )
+                        .createdDate( now )
+                        .lastModifiedDate( now )
+                        .build() )
+                .toList();
+
+        List<AppUser> users = IntStream.range( 0, userCount )
+                .<AppUser>mapToObj( i -> AppUser.builder()
+                        .id( userIds.get( i ) )
+                        .providerId( "github_" + i )
+                        .name( "User " + i )
+                        .email( "user" + i + "@example.com" )
+                        .avatarUrl( "https://avatars.example/u/" + i )
+                        .role( Role.USER )
+                        .userSettings( UserSettings.builder()
+                                .userVisible( true )
+                                .showEmail( true )
+                                .showAvatar( true )
+                                .showOrgas( true )
+                                .build() )
+                        .organizations( organizationsOwnedBy( userIds.get( i ), organizations ) )
+                        .build() )
+                .toList();
+
+        List<Event> events = IntStream.range( 0, eventCount )
+                .<Event>mapToObj( i -> Event.builder()
+                        .id( "event-" + i )
+                        .eventOrganization( organizations.get( i % organizationCount ) )
+                        .organizationSummary( OrganizationSummary.of( organizations.get( i % organizationCount ) ) )
+                        .title( "Annual Meetup " + i )
+                        .description( "The annual meetup for all members, with talks, food and drinks." )
+                        .eventDateTime( now.plus( i, ChronoUnit.DAYS ) )
+                        .location( location( i ) )
+                        .price( 49.99 )
+                        .maxTicketCapacity( 500 )
+                        .freeTicketCapacity( 500 - i % 500 )
+                        .bookedTicketsCount( i % 500 )
+                        .maxPerBooking( 5 )
+                        .imageId( "66f1c0de1111111111111" + String.format( "%03d", i % 1000 ) )
+                        .build() )
+                .toList();
+
+        List<Booking> bookings = IntStream.range( 0, bookingCount )
+                .<Booking>mapToObj( i -> Booking.builder()
+                        .id( "booking-" + i )
+                        .name( "Jane Doe" )
+                        .numberOfTickets( 1 + i % 5 )
+                        .event( events.get( i % eventCount ) )
+                        .eventSummary( EventSummary.of( events.get( i % eventCount ) ) )
+                        .userId( userIds.getFirst() )
+                        .createdDate( now )
+                        .build() )
+                .toList();
+
+        return new BenchmarkData( users, organizations, events, bookings );
+    }
+
+    List<AppUser> usersById( Iterable<?> ids ) {
+        List<AppUser> found = new ArrayList<>();
+
+        for ( Object id : ids ) {
+            users.stream().filter( user -> user.getId().equals( id ) ).findFirst().ifPresent( found::add );
+        }
+
+        return found;
+    }
+
+    List<Organization> organizationsById( Iterable<?> ids ) {
+        List<Organization> found = new ArrayList<>();
+
+        for ( Object id : ids ) {
+            organizations.stream().filter( organization -> organization.getId().equals( id ) ).findFirst().ifPresent( found::add );
+        }
+
+        return found;
+    }
+
+    private static Set<String> ownersOf( int organizationIndex, List<String> userIds ) {
+        Set<String> owners = new LinkedHashSet<>();
+
+        for ( int i = 0; i < OWNERS_PER_ORGANIZATION; i++ ) {
+            owners.add( userIds.get( ( organizationIndex + i ) % userIds.size() ) );
+        }
+
+        return owners;
+    }
+
+    private static Set<String> organizationsOwnedBy( String userId, List<Organization> organizations ) {
+        Set<String> owned = new LinkedHashSet<>();
+
+        for ( Organization organization : organizations ) {
+            if ( organization.getOwners().contains( userId ) ) {
+                owned.add( organization.getId() );
+            }
+        }
+
+        return owned;
+    }
+
+    private static Location location( int i ) {
+        return Location.builder()
+                .address( "Example Street " + i )
+                .city( "Berlin" )
+                .zipCode( "10115" )
+                .country( "Germany" )
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package org.eventbuddy.backend.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eventbuddy.backend.models.booking.Booking;
+import org.eventbuddy.backend.models.booking.BookingResponseDto;
+import org.eventbuddy.backend.repos.BookingIdempotencyKeyRepository;
+import org.eventbuddy.backend.repos.BookingRepository;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.eventbuddy.backend.repos.OrganizationRepository;
+import org.eventbuddy.backend.repos.TicketHoldRepository;
+import org.eventbuddy.backend.repos.UserRepository;
+import org.eventbuddy.backend.repos.WaitlistRepository;
+import org.eventbuddy.backend.services.BookingMetrics;
+import org.eventbuddy.backend.services.BookingService;
+import org.eventbuddy.backend.services.DtoCacheService;
+import org.eventbuddy.backend.services.InMemoryInventoryService;
+import org.eventbuddy.backend.services.TicketLeaseService;
+import org.eventbuddy.backend.services.WaitlistService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps the bookings of a user, i.e. {@code BookingService.bookingToBookingResponseDto} for every booking,
+ * through {@link BookingService#getBookingsByUser}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingMappingBenchmark {
+
+    @Param({ "1", "20", "100" })
+    int bookings;
+
+    BookingService bookingService;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = BenchmarkData.create( 10, 5, 20, bookings );
+        List<Booking> userBookings = data.bookings;
+
+        BookingRepository bookingRepository = InMemoryRepositories.fake( BookingRepository.class, Map.of(
+                "findAllByUserId", args -> userBookings
+        ) );
+
+        EventRepository eventRepository = InMemoryRepositories.fake( EventRepository.class, Map.of() );
+        DtoCacheService dtoCache = new DtoCacheService( 100, Duration.ofMinutes( 10 ) );
+        BookingMetrics bookingMetrics = new BookingMetrics( new SimpleMeterRegistry() );
+        // turned off, so the inventory log is never opened
+        InMemoryInventoryService inMemoryInventory = new InMemoryInventoryService( eventRepository, dtoCache, event -> {
+        }, false, Path.of( "inventory.wal" ), DataSize.ofMegabytes( 1 ) );
+
+        bookingService = new BookingService(
+                eventRepository,
+                InMemoryRepositories.fake( UserRepository.class, Map.of() ),
+                InMemoryRepositories.fake( OrganizationRepository.class, Map.of() ),
+                bookingRepository,
+                dtoCache,
+                event -> {
+                },
+                InMemoryRepositories.fake( BookingIdempotencyKeyRepository.class, Map.of() ),
+                bookingMetrics,
+                new WaitlistService(
+                        InMemoryRepositories.fake( WaitlistRepository.class, Map.of() ),
+                        eventRepository,
+                        bookingRepository,
+                        dtoCache,
+                        event -> {
+                        },
+                        bookingMetrics,
+                        inMemoryInventory
+                ),
+                inMemoryInventory,
+                new TicketLeaseService( eventRepository, bookingRepository, dtoCache, event -> {
+                }, bookingMetrics, false, 50, 100, Duration.ofSeconds( 30 ), Duration.ofSeconds( 1 ) ),
+                InMemoryRepositories.fake( TicketHoldRepository.class, Map.of() )
+        );
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> mapUserBookings() {
+        return bookingService.getBookingsByUser( "user-0" );
+    }
+}
@@ -0,0 +1,93 @@
+package org.eventbuddy.backend.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eventbuddy.backend.configs.InventoryShardingConfig;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventCardDto;
+import org.eventbuddy.backend.repos.BookingRepository;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.eventbuddy.backend.repos.ImageStore;
+import org.eventbuddy.backend.repos.InventoryShardRepository;
+import org.eventbuddy.backend.repos.OrganizationRepository;
+import org.eventbuddy.backend.repos.UserRepository;
+import org.eventbuddy.backend.repos.WaitlistRepository;
+import org.eventbuddy.backend.services.BookingMetrics;
+import org.eventbuddy.backend.services.DtoCacheService;
+import org.eventbuddy.backend.services.EventService;
+import org.eventbuddy.backend.services.InMemoryInventoryService;
+import org.eventbuddy.backend.services.WaitlistService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps the events of an organization page to cards, i.e. {@code EventService.eventToEventCardDtoMapper} for every
+ * event with its embedded organization summary. Goes through {@link EventService#getEventsByOrganizationId},
+ * which is not cached, so every invocation maps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventMappingBenchmark {
+
+    @Param({ "1", "20", "100" })
+    int events;
+
+    EventService eventService;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = BenchmarkData.create( 50, 1, events, 0 );
+        List<Event> organizationEvents = data.events;
+
+        EventRepository eventRepo = InMemoryRepositories.fake( EventRepository.class, Map.of(
+                "findAllWithOrganizationsByOrganizationIds", args -> organizationEvents
+        ) );
+        DtoCacheService dtoCache = new DtoCacheService( 100, Duration.ofMinutes( 10 ) );
+        BookingRepository bookingRepo = InMemoryRepositories.fake( BookingRepository.class, Map.of() );
+        WaitlistRepository waitlistRepo = InMemoryRepositories.fake( WaitlistRepository.class, Map.of() );
+        // turned off, so the inventory log is never opened
+        InMemoryInventoryService inMemoryInventory = new InMemoryInventoryService( eventRepo, dtoCache, event -> {
+        }, false, Path.of( "inventory.wal" ), DataSize.ofMegabytes( 1 ) );
+
+        eventService = new EventService(
+                eventRepo,
+                InMemoryRepositories.fake( OrganizationRepository.class, Map.of() ),
+                InMemoryRepositories.fake( UserRepository.class, Map.of() ),
+                InMemoryRepositories.fake( ImageStore.class, Map.of() ),
+                bookingRepo,
+                waitlistRepo,
+                new WaitlistService( waitlistRepo, eventRepo, bookingRepo, dtoCache, event -> {
+                }, new BookingMetrics( new SimpleMeterRegistry() ), inMemoryInventory ),
+                InMemoryRepositories.fake( InventoryShardRepository.class, Map.of() ),
+                new InventoryShardingConfig( 1, 10000 ),
+                inMemoryInventory,
+                dtoCache,
+                event -> {
+                }
+        );
+    }
+
+    @Benchmark
+    public List<EventCardDto> mapOrganizationEvents() {
+        return eventService.getEventsByOrganizationId( "orga-0" );
+    }
+}
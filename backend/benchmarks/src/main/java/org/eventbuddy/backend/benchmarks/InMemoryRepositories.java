@@ -0,0 +1,41 @@
+package org.eventbuddy.backend.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Fakes of the Spring Data repository interfaces answering from memory, so the benchmarks measure the
+ * mapping and not MongoDB. Only the methods a benchmark registers are supported, every other call fails,
+ * which keeps the fakes honest when a service starts using another query.
+ * <p>
+ * Mockito would work as well, but its stubbing records every invocation and would dominate the allocation rate.
+ */
+public final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    public static <T> T fake( Class<T> repositoryType, Map<String, Function<Object[], Object>> answersByMethodName ) {
+        Object fake = Proxy.newProxyInstance( repositoryType.getClassLoader(), new Class<?>[]{ repositoryType },
+                ( proxy, method, args ) -> {
+                    if ( method.getDeclaringClass() == Object.class ) {
+                        return switch ( method.getName() ) {
+                            case "equals" -> proxy == args[0];
+                            case "hashCode" -> System.identityHashCode( proxy );
+                            default -> "InMemory" + repositoryType.getSimpleName();
+                        };
+                    }
+
+                    Function<Object[], Object> answer = answersByMethodName.get( method.getName() );
+
+                    if ( answer == null ) {
+                        throw new UnsupportedOperationException( repositoryType.getSimpleName() + "." + method.getName() + " is not faked" );
+                    }
+
+                    return answer.apply( args );
+                } );
+
+        return repositoryType.cast( fake );
+    }
+}
@@ -0,0 +1,63 @@
+package org.eventbuddy.backend.benchmarks;
+
+import org.eventbuddy.backend.models.app_user.AppUser;
+import org.eventbuddy.backend.models.app_user.AppUserDto;
+import org.eventbuddy.backend.repos.OrganizationRepository;
+import org.eventbuddy.backend.repos.UserRepository;
+import org.eventbuddy.backend.services.DtoCacheService;
+import org.eventbuddy.backend.services.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps the user list of the admin page, i.e. {@code UserService.userToDtoMapper} for every user including
+ * the organizations and their owners, through {@link UserService#getAllUsersDtos}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMappingBenchmark {
+
+    @Param({ "1", "20", "100" })
+    int users;
+
+    UserService userService;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = BenchmarkData.create( users, Math.max( 1, users / 2 ), 1, 0 );
+        List<AppUser> allUsers = data.users;
+
+        UserRepository userRepo = InMemoryRepositories.fake( UserRepository.class, Map.of(
+                "findAll", args -> allUsers,
+                "findAllById", args -> data.usersById( (Iterable<?>) args[0] )
+        ) );
+        OrganizationRepository organizationRepo = InMemoryRepositories.fake( OrganizationRepository.class, Map.of(
+                "findAllById", args -> data.organizationsById( (Iterable<?>) args[0] )
+        ) );
+
+        userService = new UserService( userRepo, organizationRepo, new DtoCacheService( 100, Duration.ofMinutes( 10 ) ) );
+    }
+
+    @Benchmark
+    public List<AppUserDto> mapAllUsers() {
+        return userService.getAllUsersDtos();
+    }
+}
@@ -0,0 +1,90 @@
+package org.eventbuddy.backend.models.organization;
+
+import org.bson.Document;
+import org.eventbuddy.backend.benchmarks.InMemoryRepositories;
+import org.eventbuddy.backend.repos.OrganizationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slug generation of {@link BeforeSaveListener} when an organization is saved. Lives in the package of the
+ * listener, which is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlugBenchmark {
+
+    @Param({
+            "Eventbuddy",
+            "Kulturverein Münchner Straße e.V.",
+            "  The   Very  Long Name of a Community Organization -- Berlin / Brandenburg (2024)  "
+    })
+    String name;
+
+    BeforeSaveListener listener;
+
+    Organization newOrganization;
+
+    Organization savedOrganization;
+
+    @Setup
+    public void setUp() {
+        listener = new BeforeSaveListener( InMemoryRepositories.fake( OrganizationRepository.class, Map.of(
+                "findSlugsMatching", args -> List.of()
+        ) ) );
+        newOrganization = Organization.builder().name( name ).build();
+        savedOrganization = listener.onBeforeSave( newOrganization, new Document( "name", name ), "organizations" )
+                .toBuilder()
+                .id( "orga-0" )
+                .build();
+    }
+
+    // the replaceAll chain the listener used before the single pass normalizer, kept as baseline
+    @Benchmark
+    public String replaceAllChain() {
+        return name.toLowerCase()
+                .trim()
+                .replaceAll( "ä", "ae" )
+                .replaceAll( "ö", "oe" )
+                .replaceAll( "ü", "ue" )
+                .replaceAll( "ß", "ss" )
+                .replaceAll( "(\\s)+", "-" )
+                .replaceAll( "([^a-z0-9-])", "" )
+                .replaceAll( "(-)+", "-" )
+                .replaceAll( "(^-)|(-$)", "" );
+    }
+
+    @Benchmark
+    public String normalize() {
+        return SlugNormalizer.normalize( name );
+    }
+
+    // first save, the slug is generated and checked for collisions against the (empty) fake repository
+    @Benchmark
+    public Organization saveNew() {
+        return listener.onBeforeSave( newOrganization, new Document( "name", name ), "organizations" );
+    }
+
+    // later saves, e.g. owner changes, keep the name and with it the slug
+    @Benchmark
+    public Organization saveUnchangedName() {
+        return listener.onBeforeSave( savedOrganization, new Document( "name", name ), "organizations" );
+    }
+}
@@ -0,0 +1,101 @@
+package org.eventbuddy.backend.repos;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.InventoryShard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent single-ticket bookings of one event through
+ * {@link EventRepositoryCustomImpl#reserveTickets(Event, int)}, with the free tickets on the event document
+ * ({@code shards=1}) or split across inventory shards. Unlike the other benchmarks this one needs a running
+ * MongoDB, by default on localhost, another one can be passed with {@code -Dmongodb.uri=...}. Lives in the
+ * package of the repository implementations, which are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class ShardedInventoryBenchmark {
+
+    private static final String DATABASE = "eventbuddy-benchmarks";
+
+    // enough tickets that the event never sells out during a run
+    private static final int CAPACITY = 1_000_000_000;
+
+    @Param({ "1", "4", "16" })
+    int shards;
+
+    MongoClient mongoClient;
+    MongoTemplate mongoTemplate;
+    EventRepositoryCustomImpl eventRepo;
+    // loaded once, like the booking service loads the event before it books
+    Event event;
+
+    @Setup
+    public void setUp() {
+        mongoClient = MongoClients.create( System.getProperty( "mongodb.uri", "mongodb://localhost:27017" ) );
+        mongoTemplate = new MongoTemplate( mongoClient, DATABASE );
+        mongoTemplate.getDb().drop();
+        mongoTemplate.indexOps( InventoryShard.class ).createIndex( new Index()
+                .on( "eventId", Sort.Direction.ASC )
+                .on( "shard", Sort.Direction.ASC )
+                .unique() );
+
+        InventoryShardRepository inventoryShardRepo = new MongoRepositoryFactory( mongoTemplate )
+                .getRepository( InventoryShardRepository.class, new InventoryShardRepositoryCustomImpl( mongoTemplate ) );
+
+        eventRepo = new EventRepositoryCustomImpl( mongoTemplate, inventoryShardRepo );
+
+        event = mongoTemplate.insert( Event.builder()
+                .title( "Ticket Drop" )
+                .eventDateTime( Instant.now().plus( 10, ChronoUnit.DAYS ) )
+                .price( 10.0 )
+                .maxTicketCapacity( CAPACITY )
+                .freeTicketCapacity( CAPACITY )
+                .bookedTicketsCount( 0 )
+                .inventoryShards( shards == 1 ? null : shards )
+                .ticketAlarm( false )
+                .isSoldOut( false )
+                .build() );
+
+        if ( shards > 1 ) {
+            inventoryShardRepo.createShards( event.getId(), CAPACITY, shards );
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        mongoTemplate.getDb().drop();
+        mongoClient.close();
+    }
+
+    @Benchmark
+    public Event reserveTicket() {
+        return eventRepo.reserveTickets( event, 1 ).orElseThrow();
+    }
+}
@@ -0,0 +1,102 @@
+package org.eventbuddy.backend.services;
+
+import org.eventbuddy.backend.benchmarks.InMemoryRepositories;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent single-ticket bookings of one flash sale through {@link InMemoryInventoryService#reserveTickets},
+ * i.e. the counters in memory and a record in the inventory log per booking, with the counters flushed every
+ * 100ms as the app does. The writes of the flush go to an in-memory fake, so compare the result with
+ * {@code ShardedInventoryBenchmark} at {@code shards=1}, the same bookings against the event document in MongoDB.
+ * Lives in the package of the service for its package-private lifecycle methods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class InMemoryInventoryBenchmark {
+
+    // enough tickets that the event never sells out during a run
+    private static final int CAPACITY = 1_000_000_000;
+
+    Path logDirectory;
+    InMemoryInventoryService inMemoryInventory;
+    ScheduledExecutorService flusher;
+    Event flashSale;
+
+    @Setup
+    public void setUp() throws IOException {
+        flashSale = Event.builder()
+                .id( "flash-sale" )
+                .title( "Ticket Drop" )
+                .eventDateTime( Instant.now().plus( 10, ChronoUnit.DAYS ) )
+                .price( 10.0 )
+                .maxTicketCapacity( CAPACITY )
+                .freeTicketCapacity( CAPACITY )
+                .bookedTicketsCount( 0 )
+                .flashSale( true )
+                .build();
+
+        EventRepository eventRepo = InMemoryRepositories.fake( EventRepository.class, Map.of(
+                "findAllByFlashSaleTrueAndEventDateTimeAfter", args -> List.of( flashSale ),
+                "writeTicketCounts", args -> null
+        ) );
+
+        logDirectory = Files.createTempDirectory( "inventory-benchmark" );
+        inMemoryInventory = new InMemoryInventoryService( eventRepo, new DtoCacheService( 100, Duration.ofMinutes( 10 ) ),
+                event -> {
+                }, true, logDirectory.resolve( "inventory.wal" ), DataSize.ofMegabytes( 64 ) );
+        inMemoryInventory.start();
+
+        flusher = Executors.newSingleThreadScheduledExecutor();
+        flusher.scheduleWithFixedDelay( inMemoryInventory::flush, 100, 100, TimeUnit.MILLISECONDS );
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        flusher.shutdownNow();
+        inMemoryInventory.stop();
+
+        try ( var files = Files.list( logDirectory ) ) {
+            for ( Path file : files.toList() ) {
+                Files.delete( file );
+            }
+        }
+
+        Files.delete( logDirectory );
+    }
+
+    @Benchmark
+    public Event reserveTicket() {
+        return inMemoryInventory.reserveTickets( flashSale, 1 ).orElseThrow();
+    }
+}
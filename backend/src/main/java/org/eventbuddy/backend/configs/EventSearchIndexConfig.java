@@ -0,0 +1,62 @@
+package org.eventbuddy.backend.configs;
+
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.eventbuddy.backend.models.event.Event;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Text index behind the event search. Declared here instead of with @TextIndexed, the city lives in the
+ * location record organizations share, and annotating it there would give organizations a text index too.
+ * <p>
+ * MongoDB allows one text index per collection and refuses to replace it with other fields or weights, so an
+ * existing {@value #TEXT_INDEX_NAME} that differs from the definition here is dropped first.
+ */
+@Configuration
+public class EventSearchIndexConfig {
+
+    public static final String TEXT_INDEX_NAME = "event_text";
+
+    private final MongoTemplate mongoTemplate;
+
+    public EventSearchIndexConfig( MongoTemplate mongoTemplate ) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @PostConstruct
+    void createTextIndex() {
+        TextIndexDefinition textIndex = new TextIndexDefinition.TextIndexDefinitionBuilder()
+                .named( TEXT_INDEX_NAME )
+                .onField( "title", 10F )
+                .onField( "organizationSummary.name", 5F )
+                .onField( "location.city", 5F )
+                .onField( "description", 1F )
+                .build();
+
+        Document weights = textIndex.getIndexOptions().get( "weights", Document.class );
+
+        // compared as numbers, the server may hand the weights back as integers
+        boolean outdated = mongoTemplate.getCollection( mongoTemplate.getCollectionName( Event.class ) ).listIndexes()
+                .into( new ArrayList<>() ).stream()
+                .filter( index -> TEXT_INDEX_NAME.equals( index.getString( "name" ) ) )
+                .map( index -> index.get( "weights", Document.class ) )
+                .anyMatch( existingWeights -> !toDoubles( existingWeights ).equals( toDoubles( weights ) ) );
+
+        if ( outdated ) {
+            mongoTemplate.indexOps( Event.class ).dropIndex( TEXT_INDEX_NAME );
+        }
+
+        mongoTemplate.indexOps( Event.class ).createIndex( textIndex );
+    }
+
+    private static Map<String, Double> toDoubles( Document weights ) {
+        return weights == null ? Map.of() : weights.entrySet().stream()
+                .collect( Collectors.toMap( Map.Entry::getKey, weight -> ( ( Number ) weight.getValue() ).doubleValue() ) );
+    }
+}
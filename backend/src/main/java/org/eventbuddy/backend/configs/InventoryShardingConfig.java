@@ -0,0 +1,38 @@
+package org.eventbuddy.backend.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides which events get sharded inventory. Only events with a large capacity are sharded, for the others the
+ * bookings rarely collide and one document with all counters stays the cheapest.
+ */
+@Component
+public class InventoryShardingConfig {
+
+    private final int shards;
+
+    private final int minCapacity;
+
+    public InventoryShardingConfig( @Value("${booking.inventory.shards:1}") int shards,
+                                    @Value("${booking.inventory.sharding-min-capacity:10000}") int minCapacity ) {
+        if ( shards < 1 ) {
+            throw new IllegalArgumentException( "booking.inventory.shards must be at least 1" );
+        }
+
+        this.shards = shards;
+        this.minCapacity = minCapacity;
+    }
+
+    /**
+     * @return the number of shards for an event with the given capacity, or null if the event keeps its tickets
+     * on its own document
+     */
+    public Integer shardsFor( Integer maxTicketCapacity ) {
+        if ( shards == 1 || maxTicketCapacity == null || maxTicketCapacity < minCapacity ) {
+            return null;
+        }
+
+        return shards;
+    }
+}
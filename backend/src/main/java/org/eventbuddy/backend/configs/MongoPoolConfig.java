@@ -0,0 +1,25 @@
+package org.eventbuddy.backend.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size of the MongoDB connection pool. With request threads no longer capping the concurrency (virtual-threads
+ * profile), the pool becomes the limit: requests beyond it wait up to {@code mongo.pool.max-wait} for a connection.
+ */
+@Configuration
+public class MongoPoolConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer( @Value("${mongo.pool.max-size:100}") int maxSize,
+                                                                     @Value("${mongo.pool.max-wait:2m}") Duration maxWait ) {
+        return settings -> settings.applyToConnectionPoolSettings( pool -> pool
+                .maxSize( maxSize )
+                .maxWaitTime( maxWait.toMillis(), TimeUnit.MILLISECONDS ) );
+    }
+}
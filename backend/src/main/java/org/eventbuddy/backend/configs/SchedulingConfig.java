@@ -0,0 +1,11 @@
+package org.eventbuddy.backend.configs;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+}
@@ -6,7 +6,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.eventbuddy.backend.models.app_user.AppUser;
+import org.eventbuddy.backend.models.cache.CacheStatsDto;
 import org.eventbuddy.backend.models.error.ErrorMessage;
+import org.eventbuddy.backend.services.DtoCacheService;
 import org.eventbuddy.backend.services.UserService;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -21,8 +23,11 @@ public class AdminController {
 
     UserService userService;
 
-    public AdminController( UserService userService ) {
+    DtoCacheService dtoCacheService;
+
+    public AdminController( UserService userService, DtoCacheService dtoCacheService ) {
         this.userService = userService;
+        this.dtoCacheService = dtoCacheService;
     }
 
     @GetMapping("/super/get-all-users")
@@ -134,4 +139,29 @@ public class AdminController {
 
         return ResponseEntity.ok( userService.makeUserSuperAdmin( userId ) );
     }
+
+    @GetMapping("/caches")
+    @Operation(
+            summary = "Get cache statistics (Admin only)",
+            description = "Returns size, hits, misses, evictions and invalidations of the event, organization and user caches."
+    )
+    @ApiResponse(
+            responseCode = "401",
+            description = "User not authenticated",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "403",
+            description = "User not authorized",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    public ResponseEntity<List<CacheStatsDto>> getCacheStats() {
+        return ResponseEntity.ok( dtoCacheService.getStats() );
+    }
 }
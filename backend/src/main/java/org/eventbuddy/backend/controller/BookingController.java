@@ -1,6 +1,7 @@
 package org.eventbuddy.backend.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -10,9 +11,16 @@ import org.eventbuddy.backend.configs.annotations.IsAuthenticated;
 import org.eventbuddy.backend.models.booking.Booking;
 import org.eventbuddy.backend.models.booking.BookingRequestDto;
 import org.eventbuddy.backend.models.booking.BookingResponseDto;
+import org.eventbuddy.backend.models.booking.TicketHold;
+import org.eventbuddy.backend.models.booking.TicketHoldConfirmationDto;
+import org.eventbuddy.backend.models.booking.TicketHoldDto;
+import org.eventbuddy.backend.models.booking.TicketHoldRequestDto;
+import org.eventbuddy.backend.models.booking.WaitlistPositionDto;
 import org.eventbuddy.backend.models.error.ErrorMessage;
 import org.eventbuddy.backend.services.AuthService;
 import org.eventbuddy.backend.services.BookingService;
+import org.eventbuddy.backend.services.TicketHoldService;
+import org.eventbuddy.backend.services.WaitlistService;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -30,9 +38,16 @@ public class BookingController {
 
     private final BookingService bookingService;
 
-    public BookingController( AuthService authService, BookingService bookingService ) {
+    private final WaitlistService waitlistService;
+
+    private final TicketHoldService ticketHoldService;
+
+    public BookingController( AuthService authService, BookingService bookingService, WaitlistService waitlistService,
+                              TicketHoldService ticketHoldService ) {
         this.authService = authService;
         this.bookingService = bookingService;
+        this.waitlistService = waitlistService;
+        this.ticketHoldService = ticketHoldService;
     }
 
     // === GET Endpoints ===
@@ -64,6 +79,42 @@ public class BookingController {
         return ResponseEntity.ok( bookingResponseDto );
     }
 
+    @GetMapping("/waitlist/{eventId}/byUser/{userId}")
+    @Operation(
+            summary = "Get the place of a user in the waitlist of an event"
+    )
+    @ApiResponse(
+            responseCode = "401",
+            description = "Not authenticated",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "403",
+            description = "Access denied",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "User is not on the waitlist of this event",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @IsAuthenticated
+    public ResponseEntity<WaitlistPositionDto> getWaitlistPosition( @PathVariable String eventId, @PathVariable String userId ) {
+
+        authService.isRequestUserOrSuperAdminOrThrow( userId );
+
+        return ResponseEntity.ok( waitlistService.getPosition( eventId, userId ) );
+    }
+
     // === POST Endpoints ===
     @PostMapping("/makeBooking")
     @Operation(
@@ -95,19 +146,180 @@ public class BookingController {
     )
     @ApiResponse(
             responseCode = "409",
-            description = "Not enough tickets available for the booking",
+            description = "Not enough tickets available, waitlist of the event not empty, event already booked or a booking with the same Idempotency-Key in progress",
             content = @Content(
                     mediaType = MediaType.APPLICATION_JSON_VALUE,
                     schema = @Schema(implementation = ErrorMessage.class)
             )
     )
     @IsAuthenticated
-    public ResponseEntity<BookingResponseDto> makeBooking( @RequestBody @Valid BookingRequestDto bookingRequestDto ) {
-        BookingResponseDto bookingResponseDto = bookingService.makeBooking( bookingRequestDto );
+    public ResponseEntity<BookingResponseDto> makeBooking(
+            @Parameter(description = "Client generated key of the booking, a retry with the same key returns the first response instead of booking again")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody @Valid BookingRequestDto bookingRequestDto ) {
+        BookingResponseDto bookingResponseDto = bookingService.makeBooking( bookingRequestDto, idempotencyKey );
 
         return ResponseEntity.ok( bookingResponseDto );
     }
 
+    @PostMapping("/waitlist")
+    @Operation(
+            summary = "Join the waitlist of a sold-out event, the booking is made as soon as cancellations free enough tickets"
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Bad request, invalid booking data",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "401",
+            description = "Not authenticated",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "403",
+            description = "Access denied",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Associated Event not found",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "409",
+            description = "Enough tickets available, event already booked or user already on the waitlist",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @IsAuthenticated
+    public ResponseEntity<WaitlistPositionDto> joinWaitlist( @RequestBody @Valid BookingRequestDto bookingRequestDto ) {
+
+        authService.isRequestUserOrSuperAdminOrThrow( bookingRequestDto.userId() );
+
+        return ResponseEntity.ok( waitlistService.joinWaitlist( bookingRequestDto ) );
+    }
+
+    @PostMapping("/holds")
+    @Operation(
+            summary = "Hold tickets of an event during checkout, they are released unless the hold is confirmed in time"
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Bad request, invalid hold data",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "401",
+            description = "Not authenticated",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "403",
+            description = "Access denied",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Associated Event not found",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "409",
+            description = "Not enough tickets available, waitlist of the event not empty or event already booked",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @IsAuthenticated
+    public ResponseEntity<TicketHoldDto> holdTickets( @RequestBody @Valid TicketHoldRequestDto ticketHoldRequestDto ) {
+
+        authService.isRequestUserOrSuperAdminOrThrow( ticketHoldRequestDto.userId() );
+
+        return ResponseEntity.ok( ticketHoldService.holdTickets( ticketHoldRequestDto ) );
+    }
+
+    @PostMapping("/holds/{holdId}/confirm")
+    @Operation(
+            summary = "Confirm a ticket hold, turning it into a booking"
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Bad request, invalid booking data",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "401",
+            description = "Not authenticated",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "403",
+            description = "Access denied",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Ticket hold or associated Event not found",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "409",
+            description = "Ticket hold expired or already confirmed, or event already booked",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @IsAuthenticated
+    public ResponseEntity<BookingResponseDto> confirmHold( @PathVariable String holdId,
+                                                           @RequestBody @Valid TicketHoldConfirmationDto ticketHoldConfirmationDto ) {
+        TicketHold hold = ticketHoldService.getRawHoldById( holdId );
+
+        authService.isRequestUserOrSuperAdminOrThrow( hold.getUserId() );
+
+        return ResponseEntity.ok( ticketHoldService.confirmHold( holdId, ticketHoldConfirmationDto ) );
+    }
+
 
     // === DELETE Endpoints ===
 
@@ -149,4 +361,81 @@ public class BookingController {
 
         return ResponseEntity.noContent().build();
     }
+
+    @DeleteMapping("/waitlist/{eventId}/byUser/{userId}")
+    @Operation(
+            summary = "Leave the waitlist of an event"
+    )
+    @ApiResponse(
+            responseCode = "401",
+            description = "Not authenticated",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "403",
+            description = "Access denied",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "User is not on the waitlist of this event",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @IsAuthenticated
+    public ResponseEntity<Void> leaveWaitlist( @PathVariable String eventId, @PathVariable String userId ) {
+
+        authService.isRequestUserOrSuperAdminOrThrow( userId );
+
+        waitlistService.leaveWaitlist( eventId, userId );
+
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    @Operation(
+            summary = "Release a ticket hold, giving its tickets back"
+    )
+    @ApiResponse(
+            responseCode = "401",
+            description = "Not authenticated",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "403",
+            description = "Access denied",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Ticket hold not found",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    @IsAuthenticated
+    public ResponseEntity<Void> releaseHold( @PathVariable String holdId ) {
+        TicketHold hold = ticketHoldService.getRawHoldById( holdId );
+
+        authService.isRequestUserOrSuperAdminOrThrow( hold.getUserId() );
+
+        ticketHoldService.releaseHold( holdId );
+
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -1,6 +1,7 @@
 package org.eventbuddy.backend.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -9,15 +10,24 @@ import jakarta.annotation.Nullable;
 import jakarta.validation.Valid;
 import org.eventbuddy.backend.configs.CustomOAuth2User;
 import org.eventbuddy.backend.configs.annotations.IsAuthenticated;
+import org.eventbuddy.backend.enums.EventTimeFilter;
 import org.eventbuddy.backend.enums.Role;
 import org.eventbuddy.backend.models.app_user.AppUser;
 import org.eventbuddy.backend.models.error.ErrorMessage;
 import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventCardDto;
+import org.eventbuddy.backend.models.event.EventPageDto;
 import org.eventbuddy.backend.models.event.EventRequestDto;
 import org.eventbuddy.backend.models.event.EventResponseDto;
+import org.eventbuddy.backend.models.event.EventSearchPageDto;
+import org.eventbuddy.backend.models.event.EventSuggestionDto;
+import org.eventbuddy.backend.models.event.NearbyEventPageDto;
 import org.eventbuddy.backend.services.EventService;
+import org.eventbuddy.backend.services.EventTypeaheadService;
 import org.eventbuddy.backend.services.ImageService;
 import org.eventbuddy.backend.services.OrganizationService;
+import org.eventbuddy.backend.services.TicketAvailabilityService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -25,8 +35,10 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -41,22 +53,126 @@ public class EventController {
     private final EventService eventService;
     private final OrganizationService organizationService;
     private final ImageService imageService;
+    private final TicketAvailabilityService ticketAvailabilityService;
+    private final EventTypeaheadService eventTypeaheadService;
 
-    public EventController( EventService eventService, ImageService imageService, OrganizationService organizationService ) {
+    public EventController( EventService eventService, ImageService imageService, OrganizationService organizationService,
+                            TicketAvailabilityService ticketAvailabilityService, EventTypeaheadService eventTypeaheadService ) {
         this.eventService = eventService;
         this.organizationService = organizationService;
         this.imageService = imageService;
+        this.ticketAvailabilityService = ticketAvailabilityService;
+        this.eventTypeaheadService = eventTypeaheadService;
     }
 
     // === GET Endpoints ===
 
     @GetMapping("/all")
     @Operation(
-            summary = "Get an array of all Event dtos",
-            description = "Retrieve a list of all events"
+            summary = "Get a page of Event dtos",
+            description = "Retrieve events page by page, ordered by date and time (past events newest first). " +
+                    "Pass the returned nextCursor to get the following page."
     )
-    public ResponseEntity<List<EventResponseDto>> getAllEvents() {
-        return ResponseEntity.ok( eventService.getAllEvents() );
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid cursor, filter or page size",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    public ResponseEntity<EventPageDto> getAllEvents(
+            @Parameter(description = "Which events to list")
+            @RequestParam(defaultValue = "ALL") EventTimeFilter filter,
+            @Parameter(description = "Cursor of the previous page, omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of events per page, capped at " + EventService.MAX_PAGE_SIZE)
+            @RequestParam(defaultValue = "" + EventService.DEFAULT_PAGE_SIZE) int size
+    ) {
+        return ResponseEntity.ok( eventService.getEventPage( filter, cursor, size ) );
+    }
+
+    @GetMapping("/near")
+    @Operation(
+            summary = "Get a page of events near a location",
+            description = "Retrieve events within a radius around a point, nearest first, optionally limited to a date window " +
+                    "(upcoming events by default). Pass the returned nextCursor to get the following page."
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid coordinates, radius, date window, cursor or page size",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    public ResponseEntity<NearbyEventPageDto> getNearbyEvents(
+            @Parameter(description = "Latitude of the search center", example = "52.52")
+            @RequestParam double lat,
+            @Parameter(description = "Longitude of the search center", example = "13.405")
+            @RequestParam double lng,
+            @Parameter(description = "Search radius in kilometers, at most " + EventService.MAX_RADIUS_KM)
+            @RequestParam(defaultValue = "" + EventService.DEFAULT_RADIUS_KM) double radiusKm,
+            @Parameter(description = "Earliest event date and time (ISO 8601), defaults to now")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "Events before this date and time (ISO 8601), open-ended if omitted")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @Parameter(description = "Cursor of the previous page, omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of events per page, capped at " + EventService.MAX_PAGE_SIZE)
+            @RequestParam(defaultValue = "" + EventService.DEFAULT_PAGE_SIZE) int size
+    ) {
+        return ResponseEntity.ok( eventService.getNearbyEventPage( lat, lng, radiusKm, from, to, cursor, size ) );
+    }
+
+    @GetMapping("/search")
+    @Operation(
+            summary = "Search events",
+            description = "Full-text search over title, organization name, city and description, best matches first. " +
+                    "Only the first " + EventService.MAX_SEARCH_RESULTS + " matches can be paged."
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Blank or too long search text, invalid filter, page or page size",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    public ResponseEntity<EventSearchPageDto> searchEvents(
+            @Parameter(description = "Words to search for, \"quoted phrases\" must match as a whole and -words must not match")
+            @RequestParam String q,
+            @Parameter(description = "Which events to search")
+            @RequestParam(defaultValue = "ALL") EventTimeFilter filter,
+            @Parameter(description = "Only events in this city")
+            @RequestParam(required = false) String city,
+            @Parameter(description = "Only events of this organization")
+            @RequestParam(required = false) String organizationId,
+            @Parameter(description = "Number of the page, starting at 0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of events per page, capped at " + EventService.MAX_PAGE_SIZE)
+            @RequestParam(defaultValue = "" + EventService.DEFAULT_PAGE_SIZE) int size
+    ) {
+        return ResponseEntity.ok( eventService.searchEvents( q, filter, city, organizationId, page, size ) );
+    }
+
+    @GetMapping("/suggest")
+    @Operation(
+            summary = "Suggest upcoming events by title",
+            description = "Typeahead for the search box: upcoming events with a title word starting with each word of the text. " +
+                    "Served from memory, no database query."
+    )
+    public ResponseEntity<List<EventSuggestionDto>> suggestEvents(
+            @Parameter(description = "Beginning of the title words, e.g. 'jaz ni'")
+            @RequestParam String q,
+            @Parameter(description = "Maximum number of suggestions, capped at " + EventTypeaheadService.MAX_LIMIT)
+            @RequestParam(defaultValue = "" + EventTypeaheadService.DEFAULT_LIMIT) int limit
+    ) {
+        if ( limit < 1 ) {
+            throw new IllegalArgumentException( "Limit must be at least 1" );
+        }
+
+        return ResponseEntity.ok( eventTypeaheadService.suggest( q, Math.min( limit, EventTypeaheadService.MAX_LIMIT ) ) );
     }
 
     @GetMapping("/{eventId}")
@@ -76,13 +192,32 @@ public class EventController {
         return ResponseEntity.ok( eventService.getEventById( eventId ) );
     }
 
+    @GetMapping(value = "/{eventId}/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream live ticket availability of an event",
+            description = "Server-sent events named 'availability', each carrying a TicketAvailabilityDto as json. " +
+                    "The current availability is sent first, changes follow at most once per coalescing window. " +
+                    "The stream ends when the event is deleted."
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Event not found",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    public SseEmitter streamTicketAvailability( @PathVariable String eventId ) {
+        return ticketAvailabilityService.subscribe( eventId );
+    }
+
     @GetMapping("/byOrga/{organizationId}")
     @Operation(
             summary = "Get Event dtos by orga id",
             description = "Get list of event dtos by orga id"
 
     )
-    public ResponseEntity<List<EventResponseDto>> getEventsByOrgaId( @PathVariable String organizationId ) {
+    public ResponseEntity<List<EventCardDto>> getEventsByOrgaId( @PathVariable String organizationId ) {
 
         return ResponseEntity.ok( eventService.getEventsByOrganizationId( organizationId ) );
     }
@@ -93,7 +228,7 @@ public class EventController {
             description = "Get list of event dtos by orga id"
 
     )
-    public ResponseEntity<List<EventResponseDto>> getEventsByUserId( @PathVariable String userId ) {
+    public ResponseEntity<List<EventCardDto>> getEventsByUserId( @PathVariable String userId ) {
 
         return ResponseEntity.ok( eventService.getEventByUserId( userId ) );
     }
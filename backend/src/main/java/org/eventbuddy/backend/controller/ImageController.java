@@ -1,26 +1,41 @@
 package org.eventbuddy.backend.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import org.eventbuddy.backend.models.error.ErrorMessage;
 import org.eventbuddy.backend.models.image.Image;
 import org.eventbuddy.backend.services.ImageService;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.concurrent.TimeUnit;
 
 
 @RestController
 @RequestMapping("/api/images")
 public class ImageController {
 
+    // an image id always refers to the same content, updates store the new image under a new id
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge( 365, TimeUnit.DAYS ).cachePublic().immutable();
+
     private final ImageService imageService;
 
     public ImageController( ImageService imageService ) {
@@ -30,7 +45,7 @@ public class ImageController {
     @GetMapping(path = "/{imageId}")
     @Operation(
             summary = "Get image by ID",
-            description = "Retrieve an image by its unique identifier."
+            description = "Retrieve an image by its unique identifier. With a width the closest downscaled variant is returned."
     )
     @ApiResponse(
             responseCode = "404",
@@ -40,28 +55,108 @@ public class ImageController {
                     schema = @Schema(implementation = ErrorMessage.class)
             )
     )
-    public ResponseEntity<byte[]> getImage( @PathVariable String imageId ) {
-        Image image = imageService.getImageById( imageId );
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid width",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    public ResponseEntity<Resource> getImage(
+            @PathVariable String imageId,
+            @Parameter(description = "Display width in pixels, served from the closest variant (320, 640 or 1280)")
+            @RequestParam(required = false) Integer w ) {
+        Image image = imageService.getImageById( imageId, w );
 
+        // the resource is copied to the response chunk by chunk, the image is never loaded as a whole.
+        // Spring answers If-None-Match with 304 before the content is read and serves Range requests as 206.
         return ResponseEntity.ok()
                 .contentType( MediaType.parseMediaType( image.getContentType() ) )
-                .body( image.getImageData().getData() );
+                .contentLength( image.getContentLength() )
+                .eTag( image.getContentHash() )
+                .cacheControl( IMMUTABLE )
+                .body( image.getContent() );
     }
 
+    @Deprecated
     @GetMapping(path = "/data-url/{imageId}")
     @Operation(
             summary = "Get image as data URL",
-            description = "Retrieve an image as data URL for frontend usage."
+            description = "Retrieve an image as data URL for frontend usage. Deprecated: the data URL is a third larger "
+                    + "than the image, use the image itself or its placeholder instead.",
+            deprecated = true
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "No image found with url",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
     )
-    public ResponseEntity<String> getImageAsDataUrl( @PathVariable String imageId ) {
+    public ResponseEntity<StreamingResponseBody> getImageAsDataUrl( @PathVariable String imageId, WebRequest request ) {
         Image image = imageService.getImageById( imageId );
 
-        String base64Data = Base64.getEncoder().encodeToString( image.getImageData().getData() );
-        String dataUrl = "data:" + image.getContentType() + ";base64," + base64Data;
+        // the body is written asynchronously, so the ETag is checked before
+        if ( image.getContentHash() != null && request.checkNotModified( image.getContentHash() ) ) {
+            return null;
+        }
+
+        byte[] prefix = dataUrlPrefix( image );
+
+        // the image is encoded while it is copied to the response, it is never held in memory as a whole
+        StreamingResponseBody dataUrl = outputStream -> {
+            outputStream.write( prefix );
+
+            try ( InputStream content = image.getContent().getInputStream();
+                  OutputStream base64 = Base64.getEncoder().wrap( StreamUtils.nonClosing( outputStream ) ) ) {
+                content.transferTo( base64 );
+            }
+        };
 
         return ResponseEntity.ok()
                 .contentType( MediaType.TEXT_PLAIN )
+                .contentLength( prefix.length + base64Length( image.getContentLength() ) )
+                .eTag( image.getContentHash() )
+                .cacheControl( IMMUTABLE )
                 .body( dataUrl );
     }
 
+    @GetMapping(path = "/placeholder/{imageId}")
+    @Operation(
+            summary = "Get image placeholder",
+            description = "Retrieve a tiny preview of an image as data URL (below 1 KB), meant to be shown blurred while the image loads."
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "No image found with url or no placeholder available for its format",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorMessage.class)
+            )
+    )
+    public ResponseEntity<String> getImagePlaceholder( @PathVariable String imageId ) throws IOException {
+        Image placeholder = imageService.getImagePlaceholder( imageId );
+
+        // a few hundred bytes, encoding it in one go is cheaper than streaming
+        String dataUrl = new String( dataUrlPrefix( placeholder ), StandardCharsets.US_ASCII )
+                + Base64.getEncoder().encodeToString( placeholder.getContent().getContentAsByteArray() );
+
+        return ResponseEntity.ok()
+                .contentType( MediaType.TEXT_PLAIN )
+                .eTag( placeholder.getContentHash() )
+                .cacheControl( IMMUTABLE )
+                .body( dataUrl );
+    }
+
+    private static byte[] dataUrlPrefix( Image image ) {
+        return ( "data:" + image.getContentType() + ";base64," ).getBytes( StandardCharsets.US_ASCII );
+    }
+
+    // every started group of three bytes becomes four padded characters
+    private static long base64Length( long contentLength ) {
+        return 4 * ( ( contentLength + 2 ) / 3 );
+    }
+
 }
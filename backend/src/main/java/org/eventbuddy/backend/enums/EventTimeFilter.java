@@ -0,0 +1,7 @@
+package org.eventbuddy.backend.enums;
+
+public enum EventTimeFilter {
+    UPCOMING,
+    PAST,
+    ALL
+}
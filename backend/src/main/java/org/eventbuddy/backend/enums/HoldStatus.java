@@ -0,0 +1,7 @@
+package org.eventbuddy.backend.enums;
+
+public enum HoldStatus {
+    HELD,
+    CONFIRMED,
+    RELEASED
+}
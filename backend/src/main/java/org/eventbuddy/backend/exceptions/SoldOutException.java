@@ -0,0 +1,7 @@
+package org.eventbuddy.backend.exceptions;
+
+public class SoldOutException extends IllegalStateException {
+    public SoldOutException( String message ) {
+        super( message );
+    }
+}
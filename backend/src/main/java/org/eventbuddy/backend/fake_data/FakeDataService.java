@@ -2,24 +2,25 @@ package org.eventbuddy.backend.fake_data;
 
 import lombok.RequiredArgsConstructor;
 import net.datafaker.Faker;
-import org.bson.BsonBinarySubType;
-import org.bson.types.Binary;
 import org.eventbuddy.backend.enums.Role;
 import org.eventbuddy.backend.exceptions.ResourceNotFoundException;
 import org.eventbuddy.backend.models.app_user.AppUser;
 import org.eventbuddy.backend.models.app_user.UserSettings;
 import org.eventbuddy.backend.models.event.Event;
-import org.eventbuddy.backend.models.image.Image;
 import org.eventbuddy.backend.models.organization.Contact;
 import org.eventbuddy.backend.models.organization.Location;
 import org.eventbuddy.backend.models.organization.Organization;
 import org.eventbuddy.backend.repos.EventRepository;
-import org.eventbuddy.backend.repos.ImageRepository;
+import org.eventbuddy.backend.repos.ImageStore;
 import org.eventbuddy.backend.repos.OrganizationRepository;
 import org.eventbuddy.backend.repos.UserRepository;
+import org.eventbuddy.backend.services.DtoCacheService;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
@@ -32,8 +33,9 @@ public class FakeDataService {
 
     private final UserRepository userRepo;
     private final OrganizationRepository organizationRepo;
-    private final ImageRepository imageRepo;
+    private final ImageStore imageStore;
     private final EventRepository eventRepo;
+    private final DtoCacheService dtoCache;
     private final Faker faker = new Faker();
 
     private final List<String> currentUserIds = new ArrayList<>();
@@ -65,13 +67,17 @@ public class FakeDataService {
         }
 
         userRepo.saveAll( updatedFakeUsers );
+
+        dtoCache.evictAll();
     }
 
     public void deleteAllFakeData() {
         userRepo.deleteAll();
         organizationRepo.deleteAll();
-        imageRepo.deleteAll();
+        imageStore.deleteAll();
         eventRepo.deleteAll();
+
+        dtoCache.evictAll();
     }
 
     private void createFakeEvents( int numberOfEvents ) {
@@ -88,12 +94,7 @@ public class FakeDataService {
 
             Location fakeLocation = provideFakeLocation();
 
-            Image randomImage = Image.builder()
-                    .imageData( provideFakeImageBase64Binary() )
-                    .contentType( "image/jpeg" )
-                    .build();
-
-            Image savedImage = imageRepo.save( randomImage );
+            String savedImageId = storeFakeImage();
 
             int maxCapacity = faker.number().numberBetween( 0, 500 );
             int freeTicketCapacity = faker.number().numberBetween( 0, maxCapacity );
@@ -116,7 +117,7 @@ public class FakeDataService {
                     .bookedTicketsCount( maxCapacity - freeTicketCapacity )
                     .ticketAlarm( isUnder20PercentLeft )
                     .isSoldOut( isSoldOut )
-                    .imageId( savedImage.getImageId() )
+                    .imageId( savedImageId )
                     .location( fakeLocation )
                     .build();
 
@@ -158,12 +159,7 @@ public class FakeDataService {
     private void createFakeOrganizations( int numberOfOrgas ) {
         for ( int i = 0; i < numberOfOrgas; i++ ) {
 
-            Image randomImage = Image.builder()
-                    .imageData( provideFakeImageBase64Binary() )
-                    .contentType( "image/jpeg" )
-                    .build();
-
-            Image savedImage = imageRepo.save( randomImage );
+            String savedImageId = storeFakeImage();
 
             Location fakeLocation = provideFakeLocation();
 
@@ -179,7 +175,7 @@ public class FakeDataService {
                     .owners( Set.of( currentUserIds.get( faker.number().numberBetween( 0, currentUserIds.size() ) ) ) )
                     .contact( fakeContact )
                     .location( fakeLocation )
-                    .imageId( savedImage.getImageId() )
+                    .imageId( savedImageId )
                     .build();
 
             Organization createdOrganization = organizationRepo.save( newOrganization );
@@ -188,12 +184,16 @@ public class FakeDataService {
         }
     }
 
-    private Binary provideFakeImageBase64Binary() {
+    private String storeFakeImage() {
         String base64Image = faker.image().base64JPG();
         String cleanBase64 = base64Image.replaceFirst( "^data:image/[^;]+;base64,", "" );
         byte[] imageBytes = Base64.getDecoder().decode( cleanBase64 );
 
-        return new Binary( BsonBinarySubType.BINARY, imageBytes );
+        try {
+            return imageStore.save( new ByteArrayInputStream( imageBytes ), "image/jpeg" );
+        } catch ( IOException e ) {
+            throw new UncheckedIOException( e );
+        }
     }
 
     private Location provideFakeLocation() {
@@ -203,6 +203,9 @@ public class FakeDataService {
                 .city( faker.address().city() )
                 .zipCode( faker.number().digits( 6 ) )
                 .country( faker.address().country() )
+                // somewhere in Germany, so the nearby search has something to find
+                .latitude( faker.number().randomDouble( 4, 47, 55 ) )
+                .longitude( faker.number().randomDouble( 4, 6, 15 ) )
                 .build();
     }
 }
@@ -0,0 +1,22 @@
+package org.eventbuddy.backend.models.booking;
+
+import com.mongodb.lang.NonNull;
+import org.eventbuddy.backend.models.event.EventSummary;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+// named, the event package has a listener with the same class name
+@Component("bookingBeforeConvertListener")
+class BeforeConvertListener implements BeforeConvertCallback<Booking> {
+
+    // a reference holding only the id keeps the summary the booking already has
+    @Override
+    @NonNull
+    public Booking onBeforeConvert( @NonNull Booking entity, @NonNull String collection ) {
+        if ( entity.getEvent() != null && entity.getEvent().getTitle() != null ) {
+            entity.setEventSummary( EventSummary.of( entity.getEvent() ) );
+        }
+
+        return entity;
+    }
+}
@@ -1,5 +1,6 @@
 package org.eventbuddy.backend.models.booking;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -11,6 +12,9 @@ import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 import org.eventbuddy.backend.models.base_model.MongoBaseModel;
 import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventSummary;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.DocumentReference;
 
@@ -21,6 +25,8 @@ import org.springframework.data.mongodb.core.mapping.DocumentReference;
 @AllArgsConstructor
 @NoArgsConstructor
 @Schema(description = "Booking entity")
+// one booking per user and event, also when two requests pass the duplicate check at the same time
+@CompoundIndex(name = "userId_event", def = "{'userId': 1, 'event': 1}", unique = true)
 public class Booking extends MongoBaseModel {
 
     @Schema(
@@ -50,9 +56,16 @@ public class Booking extends MongoBaseModel {
             nullable = false
     )
     @NotNull
-    @DocumentReference
+    @Indexed
+    // only resolved when accessed, the booking list gets by with the summary
+    @DocumentReference(lazy = true)
     Event event;
 
+    // what the booking list shows of the event, derived on every save and propagated on changes
+    @JsonIgnore
+    @Schema(hidden = true)
+    EventSummary eventSummary;
+
     @Schema(
             description = "ID of the user who made the booking",
             example = "user12345",
@@ -61,4 +74,10 @@ public class Booking extends MongoBaseModel {
     )
     @NotNull
     String userId;
+
+    // the lease the tickets were booked from, counted when the lease of a crashed instance is reclaimed
+    @JsonIgnore
+    @Schema(hidden = true)
+    @Indexed(sparse = true)
+    String ticketLeaseId;
 }
@@ -0,0 +1,46 @@
+package org.eventbuddy.backend.models.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Idempotency-Key of a booking request. Inserted before the booking is made, so of concurrent retries only one books;
+ * the response is stored afterward and returned to every replay. MongoDB removes the keys a day after their creation.
+ */
+@Document("booking_idempotency_keys")
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingIdempotencyKey {
+
+    // user id and key, a key is only unique per client
+    @Id
+    private String id;
+
+    // the booked event and tickets, a key reused for another booking is rejected
+    private String eventId;
+
+    private int numberOfTickets;
+
+    // null while the booking is in progress
+    private BookingResponseDto response;
+
+    @Indexed(expireAfter = "24h")
+    private Instant createdDate;
+
+    public static String idOf( String userId, String key ) {
+        return userId + ":" + key;
+    }
+
+    public boolean matches( BookingRequestDto bookingRequestDto ) {
+        return eventId.equals( bookingRequestDto.eventId() ) && numberOfTickets == bookingRequestDto.numberOfTickets();
+    }
+}
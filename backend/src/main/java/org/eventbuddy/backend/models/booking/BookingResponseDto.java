@@ -5,7 +5,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.Builder;
-import org.eventbuddy.backend.models.event.EventResponseDto;
+import org.eventbuddy.backend.models.event.EventSummary;
 
 @Builder(toBuilder = true)
 public record BookingResponseDto(
@@ -19,12 +19,12 @@ public record BookingResponseDto(
         String bookingId,
 
         @Schema(
-                description = "Event for which the booking is made",
+                description = "Summary of the event for which the booking is made",
                 requiredMode = Schema.RequiredMode.REQUIRED,
-                implementation = EventResponseDto.class
+                implementation = EventSummary.class
         )
         @NotNull
-        EventResponseDto hostingEvent,
+        EventSummary hostingEvent,
 
         @Schema(
                 description = "Number of tickets booked",
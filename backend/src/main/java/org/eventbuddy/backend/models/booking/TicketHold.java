@@ -0,0 +1,56 @@
+package org.eventbuddy.backend.models.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.eventbuddy.backend.enums.HoldStatus;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Tickets taken off an event for a user in checkout, until the hold is confirmed as a booking or released.
+ * Expired holds are released by the sweeper, which gives their tickets back. Closed holds are kept for an hour,
+ * so a late confirmation is told the hold expired, then MongoDB removes them.
+ */
+@Document("ticket_holds")
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@CompoundIndexes({
+        // the expired holds the sweeper releases
+        @CompoundIndex(name = "status_expiresAt", def = "{'status': 1, 'expiresAt': 1}"),
+        // one open hold per user and event, closed holds don't count
+        @CompoundIndex(name = "userId_eventId_held", def = "{'userId': 1, 'eventId': 1}", unique = true,
+                partialFilter = "{'status': 'HELD'}")
+})
+public class TicketHold {
+
+    @Id
+    private String id;
+
+    private String eventId;
+
+    private String userId;
+
+    private int numberOfTickets;
+
+    private HoldStatus status;
+
+    private Instant createdDate;
+
+    private Instant expiresAt;
+
+    // only set once the hold is confirmed or released, open holds are never removed by MongoDB
+    @Indexed(expireAfter = "1h")
+    private Instant closedAt;
+
+    // the sweep that released the hold, to read back which holds of a batch it got
+    private String sweepId;
+}
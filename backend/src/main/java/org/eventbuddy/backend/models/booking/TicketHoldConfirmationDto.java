@@ -0,0 +1,22 @@
+package org.eventbuddy.backend.models.booking;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+@Builder(toBuilder = true)
+public record TicketHoldConfirmationDto(
+
+        @Schema(
+                description = "Name of the person booking tickets",
+                example = "John Doe",
+                requiredMode = Schema.RequiredMode.REQUIRED,
+                nullable = false
+        )
+        @NotNull
+        @NotBlank
+        String name
+
+) {
+}
@@ -0,0 +1,43 @@
+package org.eventbuddy.backend.models.booking;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+import java.time.Instant;
+
+@Builder(toBuilder = true)
+public record TicketHoldDto(
+
+        @Schema(
+                description = "ID of the hold, used to confirm or release it",
+                example = "694ceebb43db708d04241ac9",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        String holdId,
+
+        @Schema(
+                description = "ID of the event whose tickets are held",
+                example = "694ceebb43db708d04241ac9",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        String eventId,
+
+        @Schema(
+                description = "Number of tickets held",
+                example = "2",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        int numberOfTickets,
+
+        @Schema(
+                description = "Time the tickets are released unless the hold is confirmed before",
+                example = "2025-06-01T18:10:00Z",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        Instant expiresAt
+) {
+}
@@ -0,0 +1,40 @@
+package org.eventbuddy.backend.models.booking;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Builder;
+
+@Builder(toBuilder = true)
+public record TicketHoldRequestDto(
+
+        @Schema(
+                description = "ID of the event whose tickets are held",
+                example = "694ceebb43db708d04241ac9",
+                requiredMode = Schema.RequiredMode.REQUIRED,
+                nullable = false
+        )
+        @NotNull
+        String eventId,
+
+        @Schema(
+                description = "ID of the user holding the tickets",
+                example = "user12345",
+                requiredMode = Schema.RequiredMode.REQUIRED,
+                nullable = false
+        )
+        @NotNull(message = "You must be logged in to book tickets")
+        String userId,
+
+        @Schema(
+                description = "Number of tickets held",
+                example = "2",
+                requiredMode = Schema.RequiredMode.REQUIRED,
+                nullable = false
+        )
+        @NotNull
+        @Positive
+        int numberOfTickets
+
+) {
+}
@@ -0,0 +1,27 @@
+package org.eventbuddy.backend.models.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Last position handed out by the waitlist of one event, kept apart from the event so saving an event never
+ * resets it.
+ */
+@Document("waitlist_counters")
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class WaitlistCounter {
+
+    // the id of the event
+    @Id
+    private String id;
+
+    // last position handed out
+    private long tail;
+}
@@ -0,0 +1,44 @@
+package org.eventbuddy.backend.models.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A user waiting for tickets of a sold-out event, with the booking they want once tickets are released.
+ * The lowest position of an event is the head of the line.
+ */
+@Document("waitlist")
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+// the line of an event in order, the head is the first index entry
+@CompoundIndex(name = "eventId_position", def = "{'eventId': 1, 'position': 1}", unique = true)
+// one place per user and event, also when the same user joins twice at once
+@CompoundIndex(name = "eventId_userId", def = "{'eventId': 1, 'userId': 1}", unique = true)
+public class WaitlistEntry {
+
+    @Id
+    private String id;
+
+    private String eventId;
+
+    private String userId;
+
+    // name and tickets of the booking made on promotion
+    private String name;
+
+    private int numberOfTickets;
+
+    // numbered per event by the waitlist counter, never reused
+    private long position;
+
+    private Instant createdDate;
+}
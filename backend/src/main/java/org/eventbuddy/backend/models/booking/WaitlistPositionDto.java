@@ -0,0 +1,32 @@
+package org.eventbuddy.backend.models.booking;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+@Builder(toBuilder = true)
+public record WaitlistPositionDto(
+
+        @Schema(
+                description = "ID of the event the waitlist belongs to",
+                example = "694ceebb43db708d04241ac9",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        String eventId,
+
+        @Schema(
+                description = "Number of tickets booked once it's the user's turn",
+                example = "2",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        int numberOfTickets,
+
+        @Schema(
+                description = "Place in the waitlist, 1 is next. People ahead who left are counted until the line has moved past them",
+                example = "3",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        long position
+) {
+}
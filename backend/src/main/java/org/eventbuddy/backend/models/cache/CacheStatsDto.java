@@ -0,0 +1,53 @@
+package org.eventbuddy.backend.models.cache;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+@Builder
+public record CacheStatsDto(
+
+        @Schema(
+                description = "Name of the cache",
+                example = "events"
+        )
+        @NotNull
+        String name,
+
+        @Schema(
+                description = "Approximate number of cached entries",
+                example = "1200"
+        )
+        long size,
+
+        @Schema(
+                description = "Requests answered from the cache",
+                example = "98000"
+        )
+        long hitCount,
+
+        @Schema(
+                description = "Requests that had to be loaded from the database",
+                example = "2000"
+        )
+        long missCount,
+
+        @Schema(
+                description = "Share of requests answered from the cache",
+                example = "0.98"
+        )
+        double hitRate,
+
+        @Schema(
+                description = "Entries dropped because the cache was full or they expired",
+                example = "10"
+        )
+        long evictionCount,
+
+        @Schema(
+                description = "Entries removed because the underlying data was saved or deleted",
+                example = "350"
+        )
+        long invalidationCount
+) {
+}
@@ -0,0 +1,24 @@
+package org.eventbuddy.backend.models.event;
+
+import com.mongodb.lang.NonNull;
+import org.eventbuddy.backend.models.organization.OrganizationSummary;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+@Component
+class BeforeConvertListener implements BeforeConvertCallback<Event> {
+
+    // keeps the indexed point in line with the location, also when its coordinates get removed
+    @Override
+    @NonNull
+    public Event onBeforeConvert( @NonNull Event entity, @NonNull String collection ) {
+        entity.setPosition( entity.getLocation() == null ? null : entity.getLocation().toGeoJsonPoint() );
+
+        // a reference holding only the id keeps the summary the event already has
+        if ( entity.getEventOrganization() != null && entity.getEventOrganization().getName() != null ) {
+            entity.setOrganizationSummary( OrganizationSummary.of( entity.getEventOrganization() ) );
+        }
+
+        return entity;
+    }
+}
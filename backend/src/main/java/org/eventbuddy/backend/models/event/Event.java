@@ -1,6 +1,7 @@
 package org.eventbuddy.backend.models.event;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
@@ -12,14 +13,24 @@ import lombok.experimental.SuperBuilder;
 import org.eventbuddy.backend.models.base_model.MongoBaseModel;
 import org.eventbuddy.backend.models.organization.Location;
 import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.models.organization.OrganizationSummary;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.DocumentReference;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 
 @Document("events")
+@CompoundIndexes({
+        @CompoundIndex(name = "eventDateTime_id", def = "{'eventDateTime': 1, '_id': 1}"),
+        @CompoundIndex(name = "position_eventDateTime", def = "{'position': '2dsphere', 'eventDateTime': 1}"),
+        @CompoundIndex(name = "ticketLeases_expiresAt", def = "{'ticketLeases.expiresAt': 1}", sparse = true)
+})
 @Data
 @EqualsAndHashCode(callSuper = true)
 @SuperBuilder(toBuilder = true)
@@ -34,9 +45,15 @@ public class Event extends MongoBaseModel {
             nullable = false
     )
     @NotNull
+    @Indexed
     @DocumentReference
     Organization eventOrganization;
 
+    // what cards show of the organization, also behind the text index; derived on every save and propagated on changes
+    @JsonIgnore
+    @Schema(hidden = true)
+    private OrganizationSummary organizationSummary;
+
     @Schema(
             description = "Title of the event",
             example = "Annual Meetup 2024",
@@ -73,6 +90,11 @@ public class Event extends MongoBaseModel {
     @Valid
     @NotNull(message = "Location must be specified")
     private Location location;
+
+    // GeoJSON point of the location's coordinates for the 2dsphere index, derived on every save
+    @JsonIgnore
+    @Schema(hidden = true)
+    private GeoJsonPoint position;
     @Schema(
             description = "Price of the event ticket",
             example = "49.99",
@@ -106,6 +128,31 @@ public class Event extends MongoBaseModel {
     )
     @NotNull
     private Integer bookedTicketsCount;
+
+    // number of inventory shards holding the free tickets instead of this document, null if it holds them itself
+    @JsonIgnore
+    @Schema(hidden = true)
+    private Integer inventoryShards;
+
+    // the free tickets of flash sales are counted in the memory of the app, the counters here follow with a lag
+    @JsonIgnore
+    @Schema(hidden = true)
+    private Boolean flashSale;
+
+    // position in the inventory log the counters of a flash sale include, for the replay after a crash
+    @JsonIgnore
+    @Schema(hidden = true)
+    private InventoryLogCheckpoint inventoryLogCheckpoint;
+
+    // free tickets leased to instances of the app, which book them without a write to this document until they settle
+    @JsonIgnore
+    @Schema(hidden = true)
+    private Integer leasedTickets;
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    private List<TicketLease> ticketLeases;
+
     @Schema(
             description = "Maximum number of tickets allowed per booking",
             example = "5",
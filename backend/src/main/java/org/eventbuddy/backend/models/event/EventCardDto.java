@@ -0,0 +1,90 @@
+package org.eventbuddy.backend.models.event;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import org.eventbuddy.backend.models.organization.Location;
+import org.eventbuddy.backend.models.organization.OrganizationSummary;
+
+import java.time.Instant;
+
+/**
+ * Event as shown on a card in event lists. Leaves out the description and shows only the summary of the
+ * organization, so listings only load and send the fields a card displays; the full event comes from the
+ * event by id endpoint.
+ */
+@Builder(toBuilder = true)
+public record EventCardDto(
+
+        @Schema(
+                description = "ID of the event",
+                example = "694ceebb43db708d04241ac9"
+        )
+        @NotNull
+        String id,
+
+        @Schema(
+                description = "Summary of the organization the event belongs to",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        OrganizationSummary eventOrganization,
+
+        @Schema(
+                description = "Title of the event",
+                example = "Annual Meetup 2024"
+        )
+        @NotNull
+        String title,
+
+        @Schema(
+                description = "Iso Date and time of the event",
+                example = "2024-09-15T18:00:00Z"
+        )
+        @NotNull
+        Instant eventDateTime,
+
+        @Schema(
+                description = "Location of the event",
+                implementation = Location.class
+        )
+        Location location,
+
+        @Schema(
+                description = "Ticket price for the event",
+                example = "49.99"
+        )
+        @NotNull
+        Double price,
+
+        @Schema(
+                description = "Indicates if event is almost sold out",
+                example = "true"
+        )
+        Boolean ticketAlarm,
+
+        @Schema(
+                description = "Indicates if event is sold out",
+                example = "true"
+        )
+        Boolean isSoldOut,
+
+        @Schema(
+                description = "Number of Tickets booked for the event",
+                example = "100"
+        )
+        @NotNull
+        Integer bookedTicketsCount,
+
+        @Schema(
+                description = "Maximum tickets allowed per booking",
+                example = "5"
+        )
+        Integer maxPerBooking,
+
+        @Schema(
+                description = "Image ID associated with the event",
+                example = "1234567890abcdef12345678"
+        )
+        String imageId
+) {
+}
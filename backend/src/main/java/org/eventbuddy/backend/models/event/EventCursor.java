@@ -0,0 +1,52 @@
+package org.eventbuddy.backend.models.event;
+
+import org.eventbuddy.backend.enums.EventTimeFilter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position of the last event of a page (date and time plus id as tie-breaker). Clients only see it as an
+ * opaque token, which also carries the filter it was issued for so it can't be replayed against another one.
+ */
+public record EventCursor(
+        EventTimeFilter timeFilter,
+        Instant eventDateTime,
+        String id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    public static EventCursor of( EventTimeFilter timeFilter, Event lastEvent ) {
+        return new EventCursor( timeFilter, lastEvent.getEventDateTime(), lastEvent.getId() );
+    }
+
+    public static EventCursor decode( String token, EventTimeFilter expectedTimeFilter ) {
+        try {
+            String decoded = new String( Base64.getUrlDecoder().decode( token ), StandardCharsets.UTF_8 );
+            String[] parts = decoded.split( "\\" + SEPARATOR, 3 );
+
+            EventCursor cursor = new EventCursor(
+                    EventTimeFilter.valueOf( parts[0] ),
+                    Instant.ofEpochMilli( Long.parseLong( parts[1] ) ),
+                    parts[2]
+            );
+
+            if ( cursor.timeFilter() != expectedTimeFilter || cursor.id().isBlank() ) {
+                throw new IllegalArgumentException();
+            }
+
+            return cursor;
+        } catch ( IllegalArgumentException | IndexOutOfBoundsException ex ) {
+            throw new IllegalArgumentException( "Invalid cursor for filter " + expectedTimeFilter + ": " + token );
+        }
+    }
+
+    public String encode() {
+        // MongoDB stores dates with millisecond precision, so nothing gets lost here
+        String raw = timeFilter.name() + SEPARATOR + eventDateTime.toEpochMilli() + SEPARATOR + id;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString( raw.getBytes( StandardCharsets.UTF_8 ) );
+    }
+}
@@ -0,0 +1,33 @@
+package org.eventbuddy.backend.models.event;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder(toBuilder = true)
+public record EventPageDto(
+
+        @Schema(
+                description = "Events of this page, ordered by date and time",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        List<EventCardDto> events,
+
+        @Schema(
+                description = "Opaque cursor to request the following page, null on the last page",
+                example = "VVBDT01JTkd8MTcyNjQyMzIwMDAwMHw2OTRjZWViYjQzZGI3MDhkMDQyNDFhYzk"
+        )
+        String nextCursor,
+
+        @Schema(
+                description = "Indicates if there are more events after this page",
+                example = "true",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        Boolean hasNext
+) {
+}
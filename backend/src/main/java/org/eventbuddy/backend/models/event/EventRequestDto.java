@@ -91,6 +91,14 @@ public record EventRequestDto(
         )
         @Positive
         @Min(0)
-        Integer maxPerBooking
+        Integer maxPerBooking,
+
+        @Schema(
+                description = "Counts the tickets of the event in the memory of the server, for flash sales with many bookings at once. Only applies to new events with a max ticket capacity",
+                example = "false",
+                requiredMode = Schema.RequiredMode.NOT_REQUIRED,
+                nullable = true
+        )
+        Boolean flashSale
 ) {
 }
@@ -0,0 +1,35 @@
+package org.eventbuddy.backend.models.event;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder(toBuilder = true)
+public record EventSearchPageDto(
+
+        @Schema(
+                description = "Events of this page, best matches first",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        List<EventCardDto> events,
+
+        @Schema(
+                description = "Number of this page, starting at 0",
+                example = "0",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        Integer page,
+
+        @Schema(
+                description = "Indicates if there are more matches after this page",
+                example = "true",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        Boolean hasNext
+) {
+}
@@ -0,0 +1,36 @@
+package org.eventbuddy.backend.models.event;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+import java.time.Instant;
+
+@Builder(toBuilder = true)
+public record EventSuggestionDto(
+
+        @Schema(
+                description = "ID of the event",
+                example = "694ceebb43db708d04241ac9",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        String id,
+
+        @Schema(
+                description = "Title of the event",
+                example = "Annual Meetup 2024",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        String title,
+
+        @Schema(
+                description = "Date and time of the event in ISO 8601 format",
+                example = "2024-09-15T18:00:00Z",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        Instant eventDateTime
+) {
+}
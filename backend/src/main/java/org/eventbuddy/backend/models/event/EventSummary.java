@@ -0,0 +1,80 @@
+package org.eventbuddy.backend.models.event;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import org.eventbuddy.backend.models.organization.Location;
+import org.eventbuddy.backend.models.organization.OrganizationSummary;
+
+import java.time.Instant;
+
+/**
+ * What a booking shows of its event. Stored inline in every booking of the event, so the bookings of a user
+ * are listed without loading events and organizations; kept in line by the snapshot propagation.
+ */
+@Builder(toBuilder = true)
+public record EventSummary(
+
+        @Schema(
+                description = "ID of the event",
+                example = "694ceebb43db708d04241ac9",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        String id,
+
+        @Schema(
+                description = "Organization hosting the event",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        OrganizationSummary eventOrganization,
+
+        @Schema(
+                description = "Title of the event",
+                example = "Annual Meetup 2024",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        String title,
+
+        @Schema(
+                description = "Iso Date and time of the event",
+                example = "2024-09-15T18:00:00Z",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        Instant eventDateTime,
+
+        @Schema(
+                description = "Location of the event",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        Location location,
+
+        @Schema(
+                description = "Image ID of the event's banner",
+                example = "1234567890abcdef12345678",
+                requiredMode = Schema.RequiredMode.NOT_REQUIRED,
+                nullable = true
+        )
+        String imageId
+) {
+
+    // a resolved organization is the current one, a reference holding only the id falls back to the embedded summary
+    public static EventSummary of( Event event ) {
+        OrganizationSummary organization = event.getEventOrganization() != null && event.getEventOrganization().getName() != null
+                ? OrganizationSummary.of( event.getEventOrganization() )
+                : event.getOrganizationSummary();
+
+        return EventSummary.builder()
+                .id( event.getId() )
+                .eventOrganization( organization )
+                .title( event.getTitle() )
+                .eventDateTime( event.getEventDateTime() )
+                .location( event.getLocation() )
+                .imageId( event.getImageId() )
+                .build();
+    }
+}
@@ -0,0 +1,8 @@
+package org.eventbuddy.backend.models.event;
+
+/**
+ * Application event published when a field of the {@link EventSummary} of an event changes. Only carries the
+ * id, the snapshot propagation reads the current state itself.
+ */
+public record EventSummaryChangedEvent( String eventId ) {
+}
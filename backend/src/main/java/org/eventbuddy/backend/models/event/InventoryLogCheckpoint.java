@@ -0,0 +1,11 @@
+package org.eventbuddy.backend.models.event;
+
+/**
+ * Position in the inventory log up to which the ticket counts of an event document are written. Replaying the log
+ * after a crash skips the records of the event up to it, so no booking is counted twice.
+ *
+ * @param logId    id of the log, a new one is started whenever the log is emptied
+ * @param sequence sequence number of the last record of the event included in the counts
+ */
+public record InventoryLogCheckpoint(String logId, long sequence) {
+}
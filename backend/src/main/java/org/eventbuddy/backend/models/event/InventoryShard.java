@@ -0,0 +1,55 @@
+package org.eventbuddy.backend.models.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Part of the ticket capacity of an event with sharded inventory. Bookings take their tickets from a random shard
+ * instead of the event document, so concurrent bookings of a large event write to different documents. The
+ * ticket counts of the event are the sums over its shards.
+ */
+@Document("inventory_shards")
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+// every booking addresses its shard by event and number
+@CompoundIndex(name = "eventId_shard", def = "{'eventId': 1, 'shard': 1}", unique = true)
+public class InventoryShard {
+
+    @Id
+    private String id;
+
+    private String eventId;
+
+    // 0 to the number of shards of the event, exclusive
+    private int shard;
+
+    private int freeTickets;
+
+    // released tickets go back to any shard, only the sum over all shards is the booked count of the event
+    private int bookedTickets;
+
+    /**
+     * Splits the capacity of an event as evenly as possible, the first shards get one ticket more if it doesn't
+     * divide.
+     */
+    public static List<InventoryShard> split( String eventId, int capacity, int shardCount ) {
+        return IntStream.range( 0, shardCount )
+                .mapToObj( shard -> InventoryShard.builder()
+                        .eventId( eventId )
+                        .shard( shard )
+                        .freeTickets( capacity / shardCount + ( shard < capacity % shardCount ? 1 : 0 ) )
+                        .bookedTickets( 0 )
+                        .build() )
+                .toList();
+    }
+}
@@ -0,0 +1,87 @@
+package org.eventbuddy.backend.models.event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Position of the last event of a nearby search page: its distance in meters plus the ids of all delivered
+ * events at exactly that distance, which is common for events sharing a venue. The following page starts at
+ * that distance and skips those ids, so $geoNear keeps returning events in distance order without a sort.
+ * <p>
+ * The token also carries the search it was issued for. Center and radius must match on every request, the
+ * date window is pinned by the first page so a default start of "now" doesn't move between pages.
+ */
+public record NearbyEventCursor(
+        double latitude,
+        double longitude,
+        double radiusKm,
+        Instant from,
+        Instant to,
+        double distance,
+        List<String> ids
+) {
+
+    private static final String SEPARATOR = "|";
+
+    private static final String ID_SEPARATOR = ",";
+
+    public static NearbyEventCursor decode( String token, double latitude, double longitude, double radiusKm,
+                                            Instant from, Instant to ) {
+        try {
+            String decoded = new String( Base64.getUrlDecoder().decode( token ), StandardCharsets.UTF_8 );
+            String[] parts = decoded.split( "\\" + SEPARATOR, 7 );
+
+            NearbyEventCursor cursor = new NearbyEventCursor(
+                    Double.parseDouble( parts[0] ),
+                    Double.parseDouble( parts[1] ),
+                    Double.parseDouble( parts[2] ),
+                    Instant.ofEpochMilli( Long.parseLong( parts[3] ) ),
+                    parts[4].isEmpty() ? null : Instant.ofEpochMilli( Long.parseLong( parts[4] ) ),
+                    Double.parseDouble( parts[5] ),
+                    Arrays.stream( parts[6].split( ID_SEPARATOR ) ).filter( id -> !id.isBlank() ).toList()
+            );
+
+            boolean sameSearch = cursor.latitude() == latitude && cursor.longitude() == longitude
+                    && cursor.radiusKm() == radiusKm
+                    && ( from == null || from.equals( cursor.from() ) )
+                    && ( to == null || to.equals( cursor.to() ) );
+
+            if ( !sameSearch || cursor.ids().isEmpty() ) {
+                throw new IllegalArgumentException();
+            }
+
+            return cursor;
+        } catch ( IllegalArgumentException | IndexOutOfBoundsException ex ) {
+            throw new IllegalArgumentException( "Invalid cursor for this search: " + token );
+        }
+    }
+
+    public String encode() {
+        // Double.toString round-trips exactly, the next page must start at the very same distance
+        String raw = String.join( SEPARATOR,
+                Double.toString( latitude ),
+                Double.toString( longitude ),
+                Double.toString( radiusKm ),
+                Long.toString( from.toEpochMilli() ),
+                to == null ? "" : Long.toString( to.toEpochMilli() ),
+                Double.toString( distance ),
+                String.join( ID_SEPARATOR, ids ) );
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString( raw.getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    /**
+     * Cursor after a page ending at the given distance. Ids the previous cursor skipped at the same distance
+     * stay skipped, a venue with more events than fit on one page spans several pages.
+     */
+    public NearbyEventCursor next( double lastDistance, List<String> idsAtLastDistance ) {
+        List<String> skippedIds = lastDistance == distance
+                ? Stream.concat( ids.stream(), idsAtLastDistance.stream() ).distinct().toList()
+                : idsAtLastDistance;
+
+        return new NearbyEventCursor( latitude, longitude, radiusKm, from, to, lastDistance, skippedIds );
+    }}
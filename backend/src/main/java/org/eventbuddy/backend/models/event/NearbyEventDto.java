@@ -0,0 +1,25 @@
+package org.eventbuddy.backend.models.event;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+@Builder(toBuilder = true)
+public record NearbyEventDto(
+
+        @Schema(
+                description = "The event",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        EventCardDto event,
+
+        @Schema(
+                description = "Distance between the search center and the event location in kilometers",
+                example = "2.37",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        Double distanceKm
+) {
+}
@@ -0,0 +1,33 @@
+package org.eventbuddy.backend.models.event;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder(toBuilder = true)
+public record NearbyEventPageDto(
+
+        @Schema(
+                description = "Events of this page, nearest first",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        List<NearbyEventDto> events,
+
+        @Schema(
+                description = "Opaque cursor to request the following page, null on the last page",
+                example = "NTIuNTJ8MTMuNDA1fDEwLjB8MTcyNjQyMzIwMDAwMHx8MjM3MC41fDY5NGNlZWJiNDNkYjcwOGQwNDI0MWFjOQ"
+        )
+        String nextCursor,
+
+        @Schema(
+                description = "Indicates if there are more events after this page",
+                example = "true",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotNull
+        Boolean hasNext
+) {
+}
@@ -0,0 +1,43 @@
+package org.eventbuddy.backend.models.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Change of an organization or event summary not yet propagated to the events and bookings embedding it. Kept
+ * until the propagation went through, so changes pending on shutdown are picked up again on the next start.
+ */
+@Document("pending_summary_changes")
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class PendingSummaryChange {
+
+    public enum Type { ORGANIZATION, EVENT }
+
+    // type and id of the changed document, marked once no matter how many updates came in
+    @Id
+    private String id;
+
+    private Type type;
+
+    private String documentId;
+
+    // a change after the propagation read the document keeps the mark
+    private Instant changedAt;
+
+    public static PendingSummaryChange of( Type type, String documentId, Instant changedAt ) {
+        return new PendingSummaryChange( idOf( type, documentId ), type, documentId, changedAt );
+    }
+
+    public static String idOf( Type type, String documentId ) {
+        return type + ":" + documentId;
+    }
+}
@@ -0,0 +1,50 @@
+package org.eventbuddy.backend.models.event;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "Live ticket availability of an event, pushed by the availability stream")
+public record TicketAvailabilityDto(
+
+        @Schema(
+                description = "Unique identifier of the event",
+                example = "60d5ec49f1d2c12a34567890"
+        )
+        @NotNull
+        String eventId,
+
+        @Schema(
+                description = "Maximum number of tickets, null for events without limit",
+                example = "500",
+                nullable = true
+        )
+        Integer maxTicketCapacity,
+
+        @Schema(
+                description = "Number of tickets still available, null for events without limit",
+                example = "42",
+                nullable = true
+        )
+        Integer freeTicketCapacity,
+
+        @Schema(
+                description = "Number of tickets booked so far",
+                example = "458"
+        )
+        Integer bookedTicketsCount,
+
+        @Schema(
+                description = "Whether at most 20% of the tickets are left",
+                example = "true"
+        )
+        Boolean ticketAlarm,
+
+        @Schema(
+                description = "Whether the event is sold out",
+                example = "false"
+        )
+        Boolean isSoldOut
+) {
+}
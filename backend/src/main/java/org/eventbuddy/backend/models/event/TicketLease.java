@@ -0,0 +1,18 @@
+package org.eventbuddy.backend.models.event;
+
+import java.time.Instant;
+
+/**
+ * Block of free tickets of an event leased to one instance of the app, which books them without a write to the
+ * event until it settles the lease. The tickets stay part of the free tickets of the event until they are settled.
+ *
+ * @param leaseId          id of the lease, also stored with the bookings made from it
+ * @param nodeId           id of the instance of the app holding the lease
+ * @param tickets          leased tickets not settled yet, unused or booked since the last settlement
+ * @param settledTickets   tickets booked from the lease and counted on the event already
+ * @param cancelledTickets tickets booked from the lease whose bookings were cancelled
+ * @param expiresAt        end of the lease unless it is settled again before, reclaimed by any instance after
+ */
+public record TicketLease(String leaseId, String nodeId, int tickets, int settledTickets, int cancelledTickets,
+                          Instant expiresAt) {
+}
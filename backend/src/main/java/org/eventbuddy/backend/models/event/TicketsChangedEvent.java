@@ -0,0 +1,8 @@
+package org.eventbuddy.backend.models.event;
+
+/**
+ * Application event published whenever the ticket counters of an event change (bookings, cancellations,
+ * capacity updates) or the event is deleted. Only carries the id, listeners read the current state themselves.
+ */
+public record TicketsChangedEvent( String eventId ) {
+}
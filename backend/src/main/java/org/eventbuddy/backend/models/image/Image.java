@@ -6,25 +6,25 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.bson.types.Binary;
-import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.core.io.Resource;
 
 @Data
 @Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
-@Document("images")
 @Schema(description = "Image entity")
 public class Image {
 
-
-    @Id
     private String imageId;
 
     @NotBlank
     private String contentType;
 
-    @NotBlank
-    private Binary imageData;
+    private long contentLength;
+
+    // SHA-256 of the content, computed once when the image is stored
+    private String contentHash;
+
+    // opened lazily by the store, read it once while writing the response
+    private Resource content;
 }
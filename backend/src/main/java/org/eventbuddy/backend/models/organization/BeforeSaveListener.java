@@ -2,40 +2,85 @@ package org.eventbuddy.backend.models.organization;
 
 import com.mongodb.lang.NonNull;
 import org.bson.Document;
+import org.eventbuddy.backend.repos.OrganizationRepository;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.data.mongodb.core.mapping.event.BeforeSaveCallback;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Component
 class BeforeSaveListener implements BeforeSaveCallback<Organization> {
 
+    // used when a name has no ascii form at all, e.g. only CJK characters
+    static final String FALLBACK_SLUG = "organization";
+
+    private final OrganizationRepository organizationRepo;
+
+    // lazy, the mongo template the repository needs looks up this callback while it is created
+    BeforeSaveListener( @Lazy OrganizationRepository organizationRepo ) {
+        this.organizationRepo = organizationRepo;
+    }
+
     @Override
     @NonNull
     public Organization onBeforeSave( @NonNull Organization entity, @NonNull Document document, @NonNull String collection ) {
-        // Generate slug from name if name is present and has been modified
-        if ( entity.getName() != null && document.containsKey( "name" ) ) {
-            String slug = createSlugFromName( entity.getName() );
+        if ( entity.getName() == null || !document.containsKey( "name" ) ) {
+            return entity;
+        }
 
-            document.put( "slug", slug );
+        String baseSlug = createSlugFromName( entity.getName() );
 
-            return entity.toBuilder()
-                    .slug( slug )
-                    .build();
+        // unchanged names keep their slug, this covers all saves that only touch owners, images etc.
+        if ( baseSlug.equals( entity.getSlug() ) ) {
+            return entity;
         }
 
-        return entity;
+        String slug = createUniqueSlug( baseSlug, entity );
+
+        if ( slug.equals( entity.getSlug() ) ) {
+            return entity;
+        }
+
+        document.put( "slug", slug );
+
+        return entity.toBuilder()
+                .slug( slug )
+                .build();
     }
 
     private String createSlugFromName( String name ) {
-        return name.toLowerCase()
-                .trim()
-                .replaceAll( "ä", "ae" )
-                .replaceAll( "ö", "oe" )
-                .replaceAll( "ü", "ue" )
-                .replaceAll( "ß", "ss" )
-                .replaceAll( "(\\s)+", "-" )
-                .replaceAll( "([^a-z0-9-])", "" )
-                .replaceAll( "(-)+", "-" )
-                .replaceAll( "(^-)|(-$)", "" );
+        String slug = SlugNormalizer.normalize( name );
+
+        return slug.isEmpty() ? FALLBACK_SLUG : slug;
+    }
+
+    // different names can normalize to the same slug, e.g. "Café" and "Cafe", later ones get a numeric suffix
+    private String createUniqueSlug( String baseSlug, Organization entity ) {
+        // base slugs only consist of [a-z0-9-], no quoting needed
+        Set<String> takenSlugs = organizationRepo.findSlugsMatching( "^" + baseSlug + "(-[0-9]+)?$" ).stream()
+                .filter( organization -> !organization.getId().equals( entity.getId() ) )
+                .map( Organization::getSlug )
+                .collect( Collectors.toSet() );
+
+        if ( !takenSlugs.contains( baseSlug ) ) {
+            return baseSlug;
+        }
+
+        // an organization already holding a suffixed variant of its base slug keeps it
+        if ( entity.getSlug() != null && entity.getSlug().startsWith( baseSlug + "-" ) && !takenSlugs.contains( entity.getSlug() )
+                && entity.getSlug().substring( baseSlug.length() + 1 ).chars().allMatch( Character::isDigit ) ) {
+            return entity.getSlug();
+        }
+
+        int suffix = 2;
+
+        while ( takenSlugs.contains( baseSlug + "-" + suffix ) ) {
+            suffix++;
+        }
+
+        return baseSlug + "-" + suffix;
     }
 
 }
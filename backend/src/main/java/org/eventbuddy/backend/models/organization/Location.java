@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Builder;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 
 @Builder()
 public record Location(
@@ -71,4 +72,17 @@ public record Location(
         Double longitude
 
 ) {
+
+    /**
+     * The coordinates as GeoJSON point (longitude first), or null if they are missing or out of range.
+     * A 2dsphere index rejects documents with invalid points, so those get stored without one.
+     */
+    public GeoJsonPoint toGeoJsonPoint() {
+        if ( latitude == null || longitude == null
+                || Math.abs( latitude ) > 90 || Math.abs( longitude ) > 180 ) {
+            return null;
+        }
+
+        return new GeoJsonPoint( longitude, latitude );
+    }
 }
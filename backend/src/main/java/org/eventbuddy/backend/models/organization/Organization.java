@@ -61,6 +61,7 @@ public class Organization extends MongoBaseModel {
     )
     @Valid
     @NotEmpty(message = "List cannot be empty")
+    @Indexed
     private Set<String> owners;
     @Schema(
             description = "Description of the organization",
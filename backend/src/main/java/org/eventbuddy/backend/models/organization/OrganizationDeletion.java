@@ -0,0 +1,31 @@
+package org.eventbuddy.backend.models.organization;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Outcome of deleting an organization with everything depending on it: the ids of the deleted events and of
+ * the images to remove, and how many documents each step of the cascade deleted or updated.
+ */
+@Builder(toBuilder = true)
+public record OrganizationDeletion(
+
+        List<String> eventIds,
+
+        // organization and event images, removed from the image storage after the documents
+        List<String> imageIds,
+
+        long deletedOrganizations,
+
+        long deletedEvents,
+
+        long deletedBookings,
+
+        // waitlist entries of the events, their counters go with them
+        long deletedWaitlistEntries,
+
+        // users whose organizations listed the organization
+        long updatedUsers
+) {
+}
@@ -0,0 +1,63 @@
+package org.eventbuddy.backend.models.organization;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Builder;
+
+/**
+ * What event cards and bookings show of an organization. Stored inline in every event of the organization,
+ * so listings don't have to load the organization itself; kept in line by the snapshot propagation.
+ */
+@Builder(toBuilder = true)
+public record OrganizationSummary(
+
+        @Schema(
+                description = "ID of the organization",
+                example = "694ceebb43db708d04241ac9",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotBlank
+        String id,
+
+        @Schema(
+                description = "Name of the organization",
+                example = "Jazz Club",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotBlank
+        String name,
+
+        @Schema(
+                description = "Slug of the organization",
+                example = "jazz-club",
+                requiredMode = Schema.RequiredMode.REQUIRED
+        )
+        @NotBlank
+        String slug,
+
+        @Schema(
+                description = "Image ID of the organization's logo",
+                example = "1234567890abcdef12345678",
+                requiredMode = Schema.RequiredMode.NOT_REQUIRED,
+                nullable = true
+        )
+        String imageId,
+
+        @Schema(
+                description = "Location of the organization",
+                requiredMode = Schema.RequiredMode.NOT_REQUIRED,
+                nullable = true
+        )
+        Location location
+) {
+
+    public static OrganizationSummary of( Organization organization ) {
+        return OrganizationSummary.builder()
+                .id( organization.getId() )
+                .name( organization.getName() )
+                .slug( organization.getSlug() )
+                .imageId( organization.getImageId() )
+                .location( organization.getLocation() )
+                .build();
+    }
+}
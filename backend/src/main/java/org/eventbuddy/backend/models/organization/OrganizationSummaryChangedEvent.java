@@ -0,0 +1,8 @@
+package org.eventbuddy.backend.models.organization;
+
+/**
+ * Application event published when a field of the {@link OrganizationSummary} changes (name, slug, image or
+ * location). Only carries the id, the snapshot propagation reads the current state itself.
+ */
+public record OrganizationSummaryChangedEvent( String organizationId ) {
+}
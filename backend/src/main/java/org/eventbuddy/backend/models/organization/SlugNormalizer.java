@@ -0,0 +1,127 @@
+package org.eventbuddy.backend.models.organization;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Turns organization names into url slugs in a single pass over the name.
+ * <p>
+ * Every char up to {@link #TABLE_SIZE} (Latin, Greek and Cyrillic incl. their extended blocks) is resolved once into
+ * its lowercase ascii replacement when the class is loaded, so normalizing is one table lookup per char. Runs of
+ * whitespace and dashes become a single {@code -}, everything else without a replacement is dropped, same as the
+ * former regex chain did for ascii names. The event typeahead splits the result at the dashes into its search terms.
+ */
+public final class SlugNormalizer {
+
+    private static final int TABLE_SIZE = 0x2000;
+
+    // marker for chars separating words, compared by identity
+    private static final String SEPARATOR = new String( "-" );
+
+    // transliterations NFD decomposition doesn't cover, keyed by the lowercase char
+    private static final Map<Character, String> TRANSLITERATIONS = Map.<Character, String>ofEntries(
+            // German umlauts keep their spelled-out form, existing slugs depend on it
+            Map.entry( 'ä', "ae" ), Map.entry( 'ö', "oe" ), Map.entry( 'ü', "ue" ), Map.entry( 'ß', "ss" ),
+            Map.entry( 'æ', "ae" ), Map.entry( 'œ', "oe" ), Map.entry( 'ø', "o" ), Map.entry( 'ł', "l" ),
+            Map.entry( 'đ', "d" ), Map.entry( 'ð', "d" ), Map.entry( 'þ', "th" ), Map.entry( 'ħ', "h" ),
+            Map.entry( 'ı', "i" ), Map.entry( 'ĳ', "ij" ), Map.entry( 'ŀ', "l" ), Map.entry( 'ŋ', "ng" ),
+            Map.entry( 'ſ', "s" ), Map.entry( 'ŧ', "t" ), Map.entry( 'ĸ', "k" ),
+            // Greek
+            Map.entry( 'α', "a" ), Map.entry( 'β', "v" ), Map.entry( 'γ', "g" ), Map.entry( 'δ', "d" ),
+            Map.entry( 'ε', "e" ), Map.entry( 'ζ', "z" ), Map.entry( 'η', "i" ), Map.entry( 'θ', "th" ),
+            Map.entry( 'ι', "i" ), Map.entry( 'κ', "k" ), Map.entry( 'λ', "l" ), Map.entry( 'μ', "m" ),
+            Map.entry( 'ν', "n" ), Map.entry( 'ξ', "x" ), Map.entry( 'ο', "o" ), Map.entry( 'π', "p" ),
+            Map.entry( 'ρ', "r" ), Map.entry( 'σ', "s" ), Map.entry( 'ς', "s" ), Map.entry( 'τ', "t" ),
+            Map.entry( 'υ', "y" ), Map.entry( 'φ', "f" ), Map.entry( 'χ', "ch" ), Map.entry( 'ψ', "ps" ),
+            Map.entry( 'ω', "o" ),
+            // Cyrillic
+            Map.entry( 'а', "a" ), Map.entry( 'б', "b" ), Map.entry( 'в', "v" ), Map.entry( 'г', "g" ),
+            Map.entry( 'д', "d" ), Map.entry( 'е', "e" ), Map.entry( 'ё', "e" ), Map.entry( 'ж', "zh" ),
+            Map.entry( 'з', "z" ), Map.entry( 'и', "i" ), Map.entry( 'й', "y" ), Map.entry( 'к', "k" ),
+            Map.entry( 'л', "l" ), Map.entry( 'м', "m" ), Map.entry( 'н', "n" ), Map.entry( 'о', "o" ),
+            Map.entry( 'п', "p" ), Map.entry( 'р', "r" ), Map.entry( 'с', "s" ), Map.entry( 'т', "t" ),
+            Map.entry( 'у', "u" ), Map.entry( 'ф', "f" ), Map.entry( 'х', "kh" ), Map.entry( 'ц', "ts" ),
+            Map.entry( 'ч', "ch" ), Map.entry( 'ш', "sh" ), Map.entry( 'щ', "shch" ), Map.entry( 'ъ', "" ),
+            Map.entry( 'ы', "y" ), Map.entry( 'ь', "" ), Map.entry( 'э', "e" ), Map.entry( 'ю', "yu" ),
+            Map.entry( 'я', "ya" ), Map.entry( 'є', "ye" ), Map.entry( 'і', "i" ), Map.entry( 'ї', "yi" ),
+            Map.entry( 'ґ', "g" ), Map.entry( 'ў', "u" )
+    );
+
+    // null drops the char
+    private static final String[] REPLACEMENTS = buildReplacements();
+
+    private SlugNormalizer() {
+    }
+
+    public static String normalize( String name ) {
+        StringBuilder slug = new StringBuilder( name.length() );
+        boolean separatorPending = false;
+
+        for ( int i = 0; i < name.length(); i++ ) {
+            String replacement = replacementOf( name.charAt( i ) );
+
+            if ( replacement == SEPARATOR ) {
+                // leading separators are skipped, trailing ones never get appended
+                separatorPending = !slug.isEmpty();
+            } else if ( replacement != null ) {
+                if ( separatorPending ) {
+                    slug.append( '-' );
+                    separatorPending = false;
+                }
+
+                slug.append( replacement );
+            }
+        }
+
+        return slug.toString();
+    }
+
+    private static String replacementOf( char c ) {
+        if ( c < TABLE_SIZE ) {
+            return REPLACEMENTS[c];
+        }
+
+        // scripts beyond the table have no ascii form, only their spaces and dashes still separate words
+        return isSeparator( c ) ? SEPARATOR : null;
+    }
+
+    private static String[] buildReplacements() {
+        String[] replacements = new String[TABLE_SIZE];
+
+        for ( char c = 0; c < TABLE_SIZE; c++ ) {
+            replacements[c] = isSeparator( c ) ? SEPARATOR : transliterate( c );
+        }
+
+        return replacements;
+    }
+
+    private static boolean isSeparator( char c ) {
+        return Character.isWhitespace( c )
+                || Character.isSpaceChar( c )
+                || Character.getType( c ) == Character.DASH_PUNCTUATION;
+    }
+
+    // resolves a single char, accents are stripped by decomposing it and keeping the base letters
+    private static String transliterate( char c ) {
+        String lowerCase = String.valueOf( c ).toLowerCase( Locale.ROOT );
+        StringBuilder ascii = new StringBuilder();
+
+        // the table is checked before decomposing, so umlauts aren't reduced to their base letter
+        String decomposed = lowerCase.length() == 1 && TRANSLITERATIONS.containsKey( lowerCase.charAt( 0 ) )
+                ? lowerCase
+                : Normalizer.normalize( lowerCase, Normalizer.Form.NFD );
+
+        for ( char part : decomposed.toCharArray() ) {
+            String transliteration = TRANSLITERATIONS.get( part );
+
+            if ( transliteration != null ) {
+                ascii.append( transliteration );
+            } else if ( ( part >= 'a' && part <= 'z' ) || ( part >= '0' && part <= '9' ) ) {
+                ascii.append( part );
+            }
+        }
+
+        return ascii.isEmpty() ? null : ascii.toString();
+    }
+}
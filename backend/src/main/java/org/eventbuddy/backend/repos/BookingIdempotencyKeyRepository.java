@@ -0,0 +1,7 @@
+package org.eventbuddy.backend.repos;
+
+import org.eventbuddy.backend.models.booking.BookingIdempotencyKey;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface BookingIdempotencyKeyRepository extends MongoRepository<BookingIdempotencyKey, String> {
+}
@@ -4,6 +4,14 @@ import org.eventbuddy.backend.models.booking.Booking;
 import org.eventbuddy.backend.models.event.Event;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-public interface BookingRepository extends MongoRepository<Booking, String> {
+import java.util.List;
+
+public interface BookingRepository extends MongoRepository<Booking, String>, BookingRepositoryCustom {
+    List<Booking> findAllByUserId( String userId );
+
+    boolean existsByUserIdAndEvent( String userId, Event event );
+
     void deleteAllByEvent( Event event );
+
+    long removeById( String bookingId );
 }
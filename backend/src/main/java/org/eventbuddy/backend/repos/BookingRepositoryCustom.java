@@ -0,0 +1,30 @@
+package org.eventbuddy.backend.repos;
+
+import org.eventbuddy.backend.models.event.EventSummary;
+import org.eventbuddy.backend.models.organization.OrganizationSummary;
+
+import java.util.Collection;
+
+public interface BookingRepositoryCustom {
+
+    /**
+     * Sets the embedded event summaries on all bookings of the events that still carry another one. The
+     * updates go out as one unordered bulk write, however many events are given.
+     *
+     * @return the number of updated bookings
+     */
+    long updateEventSummaries( Collection<EventSummary> eventSummaries );
+
+    /**
+     * Sets the organization inside the embedded event summaries of all bookings of the organization's events
+     * that still carry another one. The bookings are found by their indexed event reference.
+     *
+     * @return the number of updated bookings
+     */
+    long updateOrganizationSummary( OrganizationSummary organizationSummary );
+
+    /**
+     * Sums up the tickets of the bookings made from a ticket lease, through the index on the lease id.
+     */
+    int sumTicketsByTicketLeaseId( String ticketLeaseId );
+}
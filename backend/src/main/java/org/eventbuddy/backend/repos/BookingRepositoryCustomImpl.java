@@ -0,0 +1,80 @@
+package org.eventbuddy.backend.repos;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.eventbuddy.backend.models.booking.Booking;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventSummary;
+import org.eventbuddy.backend.models.organization.OrganizationSummary;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+
+class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    BookingRepositoryCustomImpl( MongoTemplate mongoTemplate ) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public long updateEventSummaries( Collection<EventSummary> eventSummaries ) {
+        if ( eventSummaries.isEmpty() ) {
+            return 0;
+        }
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps( BulkOperations.BulkMode.UNORDERED, Booking.class );
+
+        eventSummaries.forEach( eventSummary -> bulkOps.updateMulti(
+                Query.query( Criteria.where( "event" ).is( toReference( eventSummary.id() ) )
+                        .and( "eventSummary" ).ne( eventSummary ) ),
+                Update.update( "eventSummary", eventSummary ) ) );
+
+        return bulkOps.execute().getModifiedCount();
+    }
+
+    @Override
+    public long updateOrganizationSummary( OrganizationSummary organizationSummary ) {
+        Query eventsQuery = Query.query( Criteria.where( "eventOrganization" ).is( toReference( organizationSummary.id() ) ) );
+        // without eventOrganization in the projection, no organization lookup is triggered
+        eventsQuery.fields().include( "_id" );
+
+        List<Object> eventReferences = mongoTemplate.find( eventsQuery, Event.class ).stream()
+                .map( event -> toReference( event.getId() ) )
+                .toList();
+
+        if ( eventReferences.isEmpty() ) {
+            return 0;
+        }
+
+        // bookings saved before the summary existed are left to the backfill, it sets their whole summary
+        Query bookingsQuery = Query.query( Criteria.where( "event" ).in( eventReferences )
+                .and( "eventSummary" ).exists( true )
+                .and( "eventSummary.eventOrganization" ).ne( organizationSummary ) );
+
+        return mongoTemplate.updateMulti( bookingsQuery, Update.update( "eventSummary.eventOrganization", organizationSummary ),
+                Booking.class ).getModifiedCount();
+    }
+
+    @Override
+    public int sumTicketsByTicketLeaseId( String ticketLeaseId ) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match( Criteria.where( "ticketLeaseId" ).is( ticketLeaseId ) ),
+                Aggregation.group().sum( "numberOfTickets" ).as( "tickets" ) );
+
+        Document sum = mongoTemplate.aggregate( aggregation, Booking.class, Document.class ).getUniqueMappedResult();
+
+        return sum == null ? 0 : sum.getInteger( "tickets" );
+    }
+
+    private Object toReference( String id ) {
+        return mongoTemplate.getConverter().convertId( id, ObjectId.class );
+    }
+}
@@ -1,9 +1,19 @@
 package org.eventbuddy.backend.repos;
 
 import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.organization.Organization;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+
 @Repository
-public interface EventRepository extends MongoRepository<Event, String> {
+public interface EventRepository extends MongoRepository<Event, String>, EventRepositoryCustom {
+
+    // references only need their id set, the query matches on the stored document reference
+    List<Event> findAllByEventOrganization( Organization organization );
+
+    // flash sales taken into the in-memory inventory on startup
+    List<Event> findAllByFlashSaleTrueAndEventDateTimeAfter( Instant now );
 }
@@ -0,0 +1,204 @@
+package org.eventbuddy.backend.repos;
+
+import org.eventbuddy.backend.enums.EventTimeFilter;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventCursor;
+import org.eventbuddy.backend.models.event.InventoryLogCheckpoint;
+import org.eventbuddy.backend.models.event.NearbyEventCursor;
+import org.eventbuddy.backend.models.event.TicketLease;
+import org.eventbuddy.backend.models.organization.OrganizationSummary;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface EventRepositoryCustom {
+
+    /**
+     * Atomically books tickets on the event document. Capacity check and counter update run as one
+     * conditional server-side update, so concurrent bookings can never oversell an event. Events with sharded
+     * inventory book them on their shards instead, see {@link InventoryShardRepositoryCustom#reserveTickets}.
+     *
+     * @return the updated event, or empty if the event does not exist or has not enough free tickets left
+     */
+    Optional<Event> reserveTickets( String eventId, int numberOfTickets );
+
+    /**
+     * Books tickets like {@link #reserveTickets(String, int)} for an event already loaded, which tells whether its
+     * inventory is sharded. Sharded events are neither matched on the document nor read again.
+     *
+     * @return the updated event, for sharded events the given one with the ticket counts it was loaded with
+     */
+    Optional<Event> reserveTickets( Event event, int numberOfTickets );
+
+    /**
+     * Atomically gives tickets back to the event document (e.g. when a booking gets cancelled), or to one of
+     * its shards for events with sharded inventory.
+     *
+     * @return the updated event, or empty if the event does not exist
+     */
+    Optional<Event> releaseTickets( String eventId, int numberOfTickets );
+
+    /**
+     * Finds the event by id. For events with sharded inventory, free and booked tickets are summed up over its
+     * shards, the counters on their document are never updated. Plain reads leave that to the callers that need
+     * the counts, listings and batches get them for all their events at once.
+     */
+    Optional<Event> findWithTicketCountsById( String eventId );
+
+    /**
+     * Sets the fields organizers edit (organization, title, description, date and time, location, price and max
+     * per booking) together with the organization summary and the position derived from them. The ticket counters
+     * and leases are left alone, bookings change them concurrently.
+     *
+     * @return the updated event, or empty if the event does not exist
+     */
+    Optional<Event> updateDetails( Event event );
+
+    /**
+     * Atomically changes the max ticket capacity of an event, unless it was changed since the event was read. The
+     * free tickets change by the same amount, relative to the counter as it is by then like bookings do, and a
+     * decrease only takes free tickets not leased to an instance of the app. Events with sharded inventory only
+     * get the capacity, their shards are changed on their own.
+     *
+     * @param event             the event as it was read
+     * @param maxTicketCapacity the new capacity, or null for limitless tickets
+     * @return the updated event, or empty if the capacity was changed meanwhile or too few tickets are left to take
+     */
+    Optional<Event> changeTicketCapacity( Event event, Integer maxTicketCapacity );
+
+    /**
+     * Sets or removes the image of the event, without touching the rest of it.
+     *
+     * @return the updated event, or empty if the event does not exist
+     */
+    Optional<Event> updateImageId( String eventId, String imageId );
+
+    /**
+     * Atomically leases a block of free tickets of the event to an instance of the app. Only events booking on their
+     * own document are leased, and only while they have more free tickets than the sell-out threshold and enough
+     * of them not leased yet. The leased tickets stay part of the free tickets until they are settled.
+     *
+     * @return the updated event, or empty if the event does not exist or cannot lease the tickets
+     */
+    Optional<Event> leaseTickets( String eventId, TicketLease lease, int sellOutThreshold );
+
+    /**
+     * Atomically books the tickets used from a lease on the event and extends the lease. The sold-out and alarm
+     * flags follow the counters.
+     *
+     * @return the updated event, or empty if the lease is gone, reclaimed after it expired or deleted with the event
+     */
+    Optional<Event> settleTicketLease( String eventId, String leaseId, int usedTickets, Instant expiresAt );
+
+    /**
+     * Atomically books the tickets used from a lease on the event and ends the lease, its unused tickets are free
+     * for everyone again.
+     *
+     * @param leasedTickets tickets of the lease not settled before
+     * @param usedTickets   tickets booked from the lease since it was last settled
+     * @return the updated event, or empty if the lease is gone
+     */
+    Optional<Event> endTicketLease( String eventId, String leaseId, int leasedTickets, int usedTickets );
+
+    /**
+     * Ends an expired lease of another instance like {@link #endTicketLease}, unless the lease was settled or had
+     * bookings cancelled since it was read.
+     *
+     * @param lease       the lease as it was read
+     * @param usedTickets tickets booked from the lease since it was last settled, counted from the bookings
+     * @return the updated event, or empty if the lease is gone or changed
+     */
+    Optional<Event> reclaimTicketLease( String eventId, TicketLease lease, int usedTickets );
+
+    /**
+     * Atomically gives the tickets of a cancelled booking made from a lease back to the event and counts them on
+     * the lease, which still counts the booking as used until it is settled.
+     *
+     * @return the updated event, or empty if the lease is gone, its bookings are settled then
+     */
+    Optional<Event> releaseLeasedTickets( String eventId, String leaseId, int numberOfTickets );
+
+    /**
+     * Loads the leases of the events with a lease that expired before the given time, the other fields stay null.
+     */
+    List<Event> findTicketLeasesExpiredBefore( Instant expiredBefore );
+
+    /**
+     * Overwrites the ticket counters of an event kept in the in-memory inventory with the ones held in memory,
+     * together with the position in the inventory log they include. The sold-out and alarm flags follow the
+     * counters.
+     */
+    void writeTicketCounts( String eventId, int maxTicketCapacity, int freeTickets, int bookedTickets,
+                            InventoryLogCheckpoint checkpoint );
+
+    /**
+     * Loads one page of events together with their organizations, using keyset pagination on
+     * eventDateTime and id. Upcoming and all events are ordered oldest first, past events newest first.
+     * The organizations are the summaries embedded in the events, so the page costs a single query; only
+     * events saved before the summary existed get theirs from one more query for the whole page.
+     * <p>
+     * Like all listings, it loads only the fields an event card shows: description and guest list stay null,
+     * the full event is loaded by id.
+     *
+     * @param now   point in time separating upcoming from past events
+     * @param after position of the last event of the previous page, or null for the first page
+     * @param limit maximum number of events to load
+     */
+    List<Event> findPageWithOrganizations( EventTimeFilter timeFilter, Instant now, EventCursor after, int limit );
+
+    /**
+     * Loads one page of events around a point together with their organizations, nearest first. $geoNear
+     * walks the 2dsphere index on the event position in distance order, so there is no sort stage and the
+     * date window is checked on the same index. Distances of the results are in meters. Loads only the card
+     * fields, like {@link #findPageWithOrganizations}.
+     *
+     * @param from  earliest date and time of the events, inclusive
+     * @param to    end of the date window, exclusive, or null for no end
+     * @param after position of the last event of the previous page, or null for the first page
+     * @param limit maximum number of events to load
+     */
+    List<GeoResult<Event>> findNearWithOrganizations( GeoJsonPoint center, double maxDistanceMeters, Instant from,
+                                                      Instant to, NearbyEventCursor after, int limit );
+
+    /**
+     * Full-text search over title, organization name, city and description, best matches first, then by date
+     * and time like the listing. Relevance can't be paged by a keyset, so pages are cut with skip and limit.
+     * Loads only the card fields, like {@link #findPageWithOrganizations}.
+     *
+     * @param city           only events in this city (case-insensitive), or null for all cities
+     * @param organizationId only events of this organization, or null for all organizations
+     */
+    List<Event> searchWithOrganizations( String text, EventTimeFilter timeFilter, Instant now, String city,
+                                         String organizationId, int skip, int limit );
+
+    /**
+     * Sets the embedded organization summary on all events of the organization that still carry another one.
+     *
+     * @return the number of updated events
+     */
+    long updateOrganizationSummary( OrganizationSummary organizationSummary );
+
+    /**
+     * Loads the card fields of the events of the given organizations together with their organization
+     * summaries, like {@link #findPageWithOrganizations}.
+     */
+    List<Event> findAllWithOrganizationsByOrganizationIds( Collection<String> organizationIds );
+
+    /**
+     * Loads only the ticket counters (maxTicketCapacity, freeTicketCapacity, bookedTicketsCount) of the given
+     * events, without their organizations. Events with sharded inventory get them from one aggregation over
+     * their shards. Events that don't exist are missing from the result.
+     */
+    List<Event> findTicketCountsByIds( Collection<String> eventIds );
+
+    /**
+     * Loads only the fields of the event summary (title, eventDateTime, location, imageId and the embedded
+     * organization summary) of the given events, without resolving their organizations. Events that don't
+     * exist are missing from the result.
+     */
+    List<Event> findSummaryFieldsByIds( Collection<String> eventIds );
+}
@@ -0,0 +1,598 @@
+package org.eventbuddy.backend.repos;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.eventbuddy.backend.enums.EventTimeFilter;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventCursor;
+import org.eventbuddy.backend.models.event.InventoryLogCheckpoint;
+import org.eventbuddy.backend.models.event.NearbyEventCursor;
+import org.eventbuddy.backend.models.event.TicketLease;
+import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.models.organization.OrganizationSummary;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.CustomMetric;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.Metric;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.LiteralOperators;
+import org.springframework.data.mongodb.core.aggregation.SystemVariable;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.NearQuery;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class EventRepositoryCustomImpl implements EventRepositoryCustom {
+
+    // share of free tickets at which an event gets flagged as "almost sold out"
+    private static final double TICKET_ALARM_THRESHOLD = 0.2;
+
+    /*
+     * Spring renders GeoJSON distances as value * earth radius in meters / multiplier and sets the inverse as
+     * distanceMultiplier. With the radius itself as multiplier, meters pass through unchanged both ways, so a
+     * cursor's distance matches the stored one exactly.
+     */
+    private static final Metric METERS = new CustomMetric( 6378137, "m" );
+
+    // what an event card shows, listings never load the description or the guest list
+    private static final String[] CARD_FIELDS = { "organizationSummary", "eventOrganization", "title", "eventDateTime",
+            "location", "price", "maxTicketCapacity", "freeTicketCapacity", "bookedTicketsCount", "inventoryShards",
+            "maxPerBooking", "imageId" };
+
+    // the organization fields of its summary, for events still without one
+    private static final String[] SUMMARY_ORGANIZATION_FIELDS = { "name", "slug", "imageId", "location" };
+
+    private final MongoTemplate mongoTemplate;
+
+    private final InventoryShardRepository inventoryShardRepo;
+
+    // reads events without resolving @DocumentReference fields, those get filled in from batched queries
+    private final MappingMongoConverter referenceFreeConverter;
+
+    EventRepositoryCustomImpl( MongoTemplate mongoTemplate, InventoryShardRepository inventoryShardRepo ) {
+        this.mongoTemplate = mongoTemplate;
+        this.inventoryShardRepo = inventoryShardRepo;
+
+        MappingMongoConverter converter = ( MappingMongoConverter ) mongoTemplate.getConverter();
+
+        this.referenceFreeConverter = new MappingMongoConverter( NoOpDbRefResolver.INSTANCE, converter.getMappingContext() );
+        this.referenceFreeConverter.setCustomConversions( converter.getCustomConversions() );
+        this.referenceFreeConverter.afterPropertiesSet();
+    }
+
+    @Override
+    public Optional<Event> reserveTickets( String eventId, int numberOfTickets ) {
+        // limitless events match on missing capacity, limited events only if enough tickets are left
+        Query query = Query.query( Criteria.where( "_id" ).is( eventId ).and( "inventoryShards" ).is( null )
+                .orOperator(
+                        Criteria.where( "maxTicketCapacity" ).is( null ),
+                        unleasedTicketsAtLeast( numberOfTickets )
+                ) );
+
+        Event updatedEvent = mongoTemplate.findAndModify(
+                query,
+                ticketCountUpdate( numberOfTickets ),
+                FindAndModifyOptions.options().returnNew( true ),
+                Event.class
+        );
+
+        if ( updatedEvent != null ) {
+            return Optional.of( updatedEvent );
+        }
+
+        // events with sharded inventory are only read, their tickets are booked on the shards
+        return findInventoryShards( eventId )
+                .filter( shardCount -> inventoryShardRepo.reserveTickets( eventId, shardCount, numberOfTickets ) )
+                .flatMap( shardCount -> findWithTicketCountsById( eventId ) );
+    }
+
+    @Override
+    public Optional<Event> reserveTickets( Event event, int numberOfTickets ) {
+        if ( event.getInventoryShards() == null ) {
+            return reserveTickets( event.getId(), numberOfTickets );
+        }
+
+        return inventoryShardRepo.reserveTickets( event.getId(), event.getInventoryShards(), numberOfTickets )
+                ? Optional.of( event )
+                : Optional.empty();
+    }
+
+    @Override
+    public Optional<Event> releaseTickets( String eventId, int numberOfTickets ) {
+        Query query = Query.query( Criteria.where( "_id" ).is( eventId ).and( "inventoryShards" ).is( null ) );
+
+        Event updatedEvent = mongoTemplate.findAndModify(
+                query,
+                ticketCountUpdate( -numberOfTickets ),
+                FindAndModifyOptions.options().returnNew( true ),
+                Event.class
+        );
+
+        if ( updatedEvent != null ) {
+            return Optional.of( updatedEvent );
+        }
+
+        return findInventoryShards( eventId ).flatMap( shardCount -> {
+            inventoryShardRepo.releaseTickets( eventId, shardCount, numberOfTickets );
+
+            return findWithTicketCountsById( eventId );
+        } );
+    }
+
+    @Override
+    public Optional<Event> findWithTicketCountsById( String eventId ) {
+        Optional<Event> event = Optional.ofNullable( mongoTemplate.findById( eventId, Event.class ) );
+
+        event.ifPresent( foundEvent -> inventoryShardRepo.fillTicketCounts( List.of( foundEvent ) ) );
+
+        return event;
+    }
+
+    @Override
+    public Optional<Event> updateDetails( Event event ) {
+        Update update = Update.update( "eventOrganization", toReference( event.getEventOrganization().getId() ) )
+                .set( "organizationSummary", OrganizationSummary.of( event.getEventOrganization() ) )
+                .set( "title", event.getTitle() )
+                .set( "description", event.getDescription() )
+                .set( "eventDateTime", event.getEventDateTime() )
+                .set( "location", event.getLocation() )
+                .set( "position", event.getLocation() == null ? null : event.getLocation().toGeoJsonPoint() )
+                .set( "price", event.getPrice() )
+                .set( "maxPerBooking", event.getMaxPerBooking() )
+                .currentDate( "lastModifiedDate" );
+
+        return findAndModify( Criteria.where( "_id" ).is( event.getId() ), update );
+    }
+
+    @Override
+    public Optional<Event> changeTicketCapacity( Event event, Integer maxTicketCapacity ) {
+        Criteria unchangedCapacity = Criteria.where( "_id" ).is( event.getId() )
+                .and( "maxTicketCapacity" ).is( event.getMaxTicketCapacity() );
+
+        // the shards hold the free tickets of sharded events, the document only the capacity
+        if ( event.getInventoryShards() != null ) {
+            return findAndModify( unchangedCapacity,
+                    Update.update( "maxTicketCapacity", maxTicketCapacity ).currentDate( "lastModifiedDate" ) );
+        }
+
+        // limitless from now on, so there is nothing left to count, unless tickets are still leased
+        if ( maxTicketCapacity == null ) {
+            return findAndModify( unchangedCapacity.and( "leasedTickets" ).not().gt( 0 ),
+                    Update.update( "maxTicketCapacity", null )
+                            .set( "freeTicketCapacity", null )
+                            .set( "isSoldOut", false )
+                            .set( "ticketAlarm", false )
+                            .currentDate( "lastModifiedDate" ) );
+        }
+
+        // limited from now on, the tickets booked so far count against the capacity
+        if ( event.getMaxTicketCapacity() == null ) {
+            return findAndModify( unchangedCapacity.and( "bookedTicketsCount" ).lte( maxTicketCapacity ),
+                    ticketFlagsUpdate( AggregationUpdate.update()
+                            .set( "maxTicketCapacity" ).toValue( maxTicketCapacity )
+                            .set( "freeTicketCapacity" ).toValue( ArithmeticOperators
+                                    .valueOf( LiteralOperators.Literal.asLiteral( maxTicketCapacity ) )
+                                    .subtract( "bookedTicketsCount" ) ) ) );
+        }
+
+        int capacityChange = maxTicketCapacity - event.getMaxTicketCapacity();
+
+        return findAndModify( unchangedCapacity.andOperator( unleasedTicketsAtLeast( -capacityChange ) ),
+                ticketFlagsUpdate( AggregationUpdate.update()
+                        .set( "maxTicketCapacity" ).toValue( maxTicketCapacity )
+                        .set( "freeTicketCapacity" ).toValue( ArithmeticOperators.valueOf( "freeTicketCapacity" ).add( capacityChange ) ) ) );
+    }
+
+    @Override
+    public Optional<Event> updateImageId( String eventId, String imageId ) {
+        return findAndModify( Criteria.where( "_id" ).is( eventId ),
+                Update.update( "imageId", imageId ).currentDate( "lastModifiedDate" ) );
+    }
+
+    @Override
+    public Optional<Event> leaseTickets( String eventId, TicketLease lease, int sellOutThreshold ) {
+        Query query = Query.query( Criteria.where( "_id" ).is( eventId )
+                .and( "inventoryShards" ).is( null )
+                .and( "flashSale" ).is( null )
+                .and( "maxTicketCapacity" ).gt( 0 )
+                .and( "freeTicketCapacity" ).gt( sellOutThreshold )
+                .andOperator( unleasedTicketsAtLeast( lease.tickets() ) ) );
+
+        // the free tickets stay as they are, the leased ones are only set aside for the instance
+        Update update = new Update()
+                .inc( "leasedTickets", lease.tickets() )
+                .push( "ticketLeases", lease );
+
+        return Optional.ofNullable( mongoTemplate.findAndModify( query, update, FindAndModifyOptions.options().returnNew( true ), Event.class ) );
+    }
+
+    @Override
+    public Optional<Event> settleTicketLease( String eventId, String leaseId, int usedTickets, Instant expiresAt ) {
+        Update update = new Update()
+                .inc( "freeTicketCapacity", -usedTickets )
+                .inc( "bookedTicketsCount", usedTickets )
+                .inc( "leasedTickets", -usedTickets )
+                .inc( "ticketLeases.$.tickets", -usedTickets )
+                .inc( "ticketLeases.$.settledTickets", usedTickets )
+                .set( "ticketLeases.$.expiresAt", expiresAt );
+
+        return updateTicketLease( eventId, Criteria.where( "ticketLeases.leaseId" ).is( leaseId ), update );
+    }
+
+    @Override
+    public Optional<Event> endTicketLease( String eventId, String leaseId, int leasedTickets, int usedTickets ) {
+        return updateTicketLease( eventId, Criteria.where( "ticketLeases.leaseId" ).is( leaseId ),
+                endTicketLeaseUpdate( leaseId, leasedTickets, usedTickets ) );
+    }
+
+    @Override
+    public Optional<Event> reclaimTicketLease( String eventId, TicketLease lease, int usedTickets ) {
+        // a settlement or cancellation after the bookings were counted would be missing from the count
+        Criteria unchangedLease = Criteria.where( "ticketLeases" ).elemMatch( Criteria.where( "leaseId" ).is( lease.leaseId() )
+                .and( "settledTickets" ).is( lease.settledTickets() )
+                .and( "cancelledTickets" ).is( lease.cancelledTickets() ) );
+
+        return updateTicketLease( eventId, unchangedLease,
+                endTicketLeaseUpdate( lease.leaseId(), lease.tickets(), usedTickets ) );
+    }
+
+    @Override
+    public Optional<Event> releaseLeasedTickets( String eventId, String leaseId, int numberOfTickets ) {
+        Update update = new Update()
+                .inc( "freeTicketCapacity", numberOfTickets )
+                .inc( "bookedTicketsCount", -numberOfTickets )
+                .inc( "ticketLeases.$.cancelledTickets", numberOfTickets );
+
+        return updateTicketLease( eventId, Criteria.where( "ticketLeases.leaseId" ).is( leaseId ), update );
+    }
+
+    @Override
+    public List<Event> findTicketLeasesExpiredBefore( Instant expiredBefore ) {
+        Query query = Query.query( Criteria.where( "ticketLeases.expiresAt" ).lt( expiredBefore ) );
+        query.fields().include( "ticketLeases" );
+
+        return mongoTemplate.find( query, Event.class );
+    }
+
+    @Override
+    public void writeTicketCounts( String eventId, int maxTicketCapacity, int freeTickets, int bookedTickets,
+                                   InventoryLogCheckpoint checkpoint ) {
+        Update update = Update.update( "maxTicketCapacity", maxTicketCapacity )
+                .set( "freeTicketCapacity", freeTickets )
+                .set( "bookedTicketsCount", bookedTickets )
+                .set( "isSoldOut", freeTickets <= 0 )
+                .set( "ticketAlarm", (double) freeTickets / maxTicketCapacity <= TICKET_ALARM_THRESHOLD )
+                .set( "inventoryLogCheckpoint", checkpoint )
+                .currentDate( "lastModifiedDate" );
+
+        mongoTemplate.updateFirst( Query.query( Criteria.where( "_id" ).is( eventId ) ), update, Event.class );
+    }
+
+    @Override
+    public List<Event> findPageWithOrganizations( EventTimeFilter timeFilter, Instant now, EventCursor after, int limit ) {
+        boolean newestFirst = timeFilter == EventTimeFilter.PAST;
+
+        List<Criteria> criteria = new ArrayList<>();
+
+        switch ( timeFilter ) {
+            case UPCOMING -> criteria.add( Criteria.where( "eventDateTime" ).gte( now ) );
+            case PAST -> criteria.add( Criteria.where( "eventDateTime" ).lt( now ) );
+            case ALL -> {
+            }
+        }
+
+        if ( after != null ) {
+            criteria.add( afterCursor( after, newestFirst ) );
+        }
+
+        Query query = criteria.isEmpty() ? new Query() : Query.query( new Criteria().andOperator( criteria ) );
+
+        query.with( Sort.by( newestFirst ? Sort.Direction.DESC : Sort.Direction.ASC, "eventDateTime", "_id" ) )
+                .limit( limit );
+
+        return findWithOrganizations( query );
+    }
+
+    @Override
+    public List<GeoResult<Event>> findNearWithOrganizations( GeoJsonPoint center, double maxDistanceMeters, Instant from,
+                                                             Instant to, NearbyEventCursor after, int limit ) {
+        Criteria window = Criteria.where( "eventDateTime" ).gte( from );
+
+        if ( to != null ) {
+            window = window.lt( to );
+        }
+
+        NearQuery nearQuery = NearQuery.near( center )
+                .spherical( true )
+                .maxDistance( new Distance( maxDistanceMeters, METERS ) );
+
+        // events at exactly the cursor's distance may still be due, only the delivered ones get skipped
+        if ( after != null ) {
+            nearQuery.minDistance( new Distance( after.distance(), METERS ) );
+            window = window.and( "_id" ).nin( after.ids().stream()
+                    .map( this::toReference )
+                    .toList() );
+        }
+
+        nearQuery.query( Query.query( window ) );
+
+        // a typed projection can't resolve the distance $geoNear adds, so the stage is written out
+        Document cardProjection = new Document( "distance", 1 );
+        Arrays.stream( CARD_FIELDS ).forEach( field -> cardProjection.append( field, 1 ) );
+
+        // $geoNear has to be the first stage, the limit right behind it stops the index walk after one page
+        Aggregation aggregation = Aggregation.newAggregation( Event.class,
+                Aggregation.geoNear( nearQuery, "distance" ).useIndex( "position" ),
+                Aggregation.limit( limit ),
+                Aggregation.stage( new Document( "$project", cardProjection ) ) );
+
+        List<Document> rawEvents = mongoTemplate.aggregate( aggregation, mongoTemplate.getCollectionName( Event.class ),
+                Document.class ).getMappedResults();
+
+        List<Event> events = withOrganizations( rawEvents );
+
+        return IntStream.range( 0, events.size() )
+                .mapToObj( i -> new GeoResult<>( events.get( i ), new Distance( rawEvents.get( i ).getDouble( "distance" ), METERS ) ) )
+                .toList();
+    }
+
+    @Override
+    public List<Event> searchWithOrganizations( String text, EventTimeFilter timeFilter, Instant now, String city,
+                                                String organizationId, int skip, int limit ) {
+        Query query = TextQuery.queryText( TextCriteria.forDefaultLanguage().matching( text ) ).sortByScore();
+
+        switch ( timeFilter ) {
+            case UPCOMING -> query.addCriteria( Criteria.where( "eventDateTime" ).gte( now ) );
+            case PAST -> query.addCriteria( Criteria.where( "eventDateTime" ).lt( now ) );
+            case ALL -> {
+            }
+        }
+
+        // runs on the documents the text index matched, an anchored regex is fine there
+        if ( city != null ) {
+            query.addCriteria( Criteria.where( "location.city" ).regex( "^" + Pattern.quote( city ) + "$", "i" ) );
+        }
+
+        if ( organizationId != null ) {
+            query.addCriteria( Criteria.where( "eventOrganization" ).is( toReference( organizationId ) ) );
+        }
+
+        // equally relevant events keep the order of the listing
+        Sort.Direction direction = timeFilter == EventTimeFilter.PAST ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        query.with( Sort.by( direction, "eventDateTime", "_id" ) )
+                .skip( skip )
+                .limit( limit );
+
+        return findWithOrganizations( query );
+    }
+
+    @Override
+    public long updateOrganizationSummary( OrganizationSummary organizationSummary ) {
+        Query query = Query.query( Criteria.where( "eventOrganization" ).is( toReference( organizationSummary.id() ) )
+                .and( "organizationSummary" ).ne( organizationSummary ) );
+
+        // organizationName was the text index field before the summary replaced it
+        Update update = Update.update( "organizationSummary", organizationSummary ).unset( "organizationName" );
+
+        return mongoTemplate.updateMulti( query, update, Event.class ).getModifiedCount();
+    }
+
+    @Override
+    public List<Event> findAllWithOrganizationsByOrganizationIds( Collection<String> organizationIds ) {
+        // events store the reference in its persisted id form, so query with that instead of the plain string
+        List<Object> organizationReferences = organizationIds.stream()
+                .map( this::toReference )
+                .toList();
+
+        return findWithOrganizations( Query.query( Criteria.where( "eventOrganization" ).in( organizationReferences ) ) );
+    }
+
+    @Override
+    public List<Event> findTicketCountsByIds( Collection<String> eventIds ) {
+        Query query = Query.query( Criteria.where( "_id" ).in( eventIds ) );
+
+        // without eventOrganization in the projection, no organization lookup is triggered
+        query.fields().include( "maxTicketCapacity", "freeTicketCapacity", "bookedTicketsCount", "inventoryShards" );
+
+        List<Event> events = mongoTemplate.find( query, Event.class );
+
+        // the counts of all sharded events come from one aggregation
+        inventoryShardRepo.fillTicketCounts( events );
+
+        return events;
+    }
+
+    @Override
+    public List<Event> findSummaryFieldsByIds( Collection<String> eventIds ) {
+        Query query = Query.query( Criteria.where( "_id" ).in( eventIds ) );
+        query.fields().include( "title", "eventDateTime", "location", "imageId", "organizationSummary" );
+
+        return mongoTemplate.find( query, Event.class );
+    }
+
+    /*
+     * Events strictly behind the cursor in sort order, the id breaks ties between events at the same time.
+     * The range on eventDateTime alone gives the index scan its bounds, the $or only drops the already
+     * delivered events sharing the cursor's time.
+     */
+    private Criteria afterCursor( EventCursor after, boolean newestFirst ) {
+        Object afterId = toReference( after.id() );
+
+        if ( newestFirst ) {
+            return new Criteria().andOperator(
+                    Criteria.where( "eventDateTime" ).lte( after.eventDateTime() ),
+                    new Criteria().orOperator(
+                            Criteria.where( "eventDateTime" ).lt( after.eventDateTime() ),
+                            Criteria.where( "_id" ).lt( afterId ) ) );
+        }
+
+        return new Criteria().andOperator(
+                Criteria.where( "eventDateTime" ).gte( after.eventDateTime() ),
+                new Criteria().orOperator(
+                        Criteria.where( "eventDateTime" ).gt( after.eventDateTime() ),
+                        Criteria.where( "_id" ).gt( afterId ) ) );
+    }
+
+    // the counters on the document of a sharded event are never updated, the returned event gets the ones of its shards
+    private Optional<Event> findAndModify( Criteria criteria, UpdateDefinition update ) {
+        Optional<Event> updatedEvent = Optional.ofNullable( mongoTemplate.findAndModify( Query.query( criteria ), update,
+                FindAndModifyOptions.options().returnNew( true ), Event.class ) );
+
+        updatedEvent.ifPresent( event -> inventoryShardRepo.fillTicketCounts( List.of( event ) ) );
+
+        return updatedEvent;
+    }
+
+    private Object toReference( String id ) {
+        return mongoTemplate.getConverter().convertId( id, ObjectId.class );
+    }
+
+    // only the shard count, the rest of the event is not needed to book on its shards
+    private Optional<Integer> findInventoryShards( String eventId ) {
+        Query query = Query.query( Criteria.where( "_id" ).is( eventId ) );
+        query.fields().include( "inventoryShards" );
+
+        return Optional.ofNullable( mongoTemplate.findOne( query, Document.class, mongoTemplate.getCollectionName( Event.class ) ) )
+                .map( rawEvent -> rawEvent.getInteger( "inventoryShards" ) );
+    }
+
+    /*
+     * Reading events as entities resolves every @DocumentReference with its own query. Reading the raw
+     * documents instead, the organizations come from the summaries embedded in the events.
+     */
+    private List<Event> findWithOrganizations( Query eventQuery ) {
+        eventQuery.fields().include( CARD_FIELDS );
+
+        return withOrganizations( mongoTemplate.find( eventQuery, Document.class, mongoTemplate.getCollectionName( Event.class ) ) );
+    }
+
+    // events saved before the summary existed get theirs from one $in query until the backfill reached them
+    private List<Event> withOrganizations( List<Document> rawEvents ) {
+        List<Event> events = rawEvents.stream()
+                .map( rawEvent -> referenceFreeConverter.read( Event.class, rawEvent ) )
+                .toList();
+
+        // like the organizations, the ticket counts of sharded events come from one query for the whole page
+        inventoryShardRepo.fillTicketCounts( events );
+
+        Set<Object> missingOrganizationReferences = rawEvents.stream()
+                .filter( rawEvent -> !rawEvent.containsKey( "organizationSummary" ) )
+                .map( rawEvent -> rawEvent.get( "eventOrganization" ) )
+                .filter( Objects::nonNull )
+                .collect( Collectors.toSet() );
+
+        if ( missingOrganizationReferences.isEmpty() ) {
+            return events;
+        }
+
+        Query organizationQuery = Query.query( Criteria.where( "_id" ).in( missingOrganizationReferences ) );
+        organizationQuery.fields().include( SUMMARY_ORGANIZATION_FIELDS );
+
+        Map<String, OrganizationSummary> summariesById = mongoTemplate.find( organizationQuery, Organization.class )
+                .stream()
+                .collect( Collectors.toMap( Organization::getId, OrganizationSummary::of ) );
+
+        IntStream.range( 0, events.size() )
+                .filter( i -> events.get( i ).getOrganizationSummary() == null && rawEvents.get( i ).get( "eventOrganization" ) != null )
+                .forEach( i -> events.get( i ).setOrganizationSummary(
+                        summariesById.get( rawEvents.get( i ).get( "eventOrganization" ).toString() ) ) );
+
+        return events;
+    }
+
+    // the free tickets not leased to an instance of the app, the only ones bookings on the document may take
+    private Criteria unleasedTicketsAtLeast( int numberOfTickets ) {
+        return Criteria.expr( ComparisonOperators.valueOf(
+                ArithmeticOperators.valueOf( "freeTicketCapacity" ).subtract( ConditionalOperators.ifNull( "leasedTickets" ).then( 0 ) )
+        ).greaterThanEqualToValue( numberOfTickets ) );
+    }
+
+    private Update endTicketLeaseUpdate( String leaseId, int leasedTickets, int usedTickets ) {
+        return new Update()
+                .inc( "freeTicketCapacity", -usedTickets )
+                .inc( "bookedTicketsCount", usedTickets )
+                .inc( "leasedTickets", -leasedTickets )
+                .pull( "ticketLeases", Query.query( Criteria.where( "leaseId" ).is( leaseId ) ) );
+    }
+
+    /*
+     * A positional update of the leases can't be a pipeline, so the flags follow in a second update. It derives
+     * them from the counters as they are by then, a concurrent change in between sets them again itself.
+     */
+    private Optional<Event> updateTicketLease( String eventId, Criteria lease, Update update ) {
+        Query leaseQuery = Query.query( Criteria.where( "_id" ).is( eventId ) ).addCriteria( lease );
+
+        if ( mongoTemplate.updateFirst( leaseQuery, update, Event.class ).getMatchedCount() == 0 ) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable( mongoTemplate.findAndModify(
+                Query.query( Criteria.where( "_id" ).is( eventId ) ),
+                ticketFlagsUpdate( AggregationUpdate.update() ),
+                FindAndModifyOptions.options().returnNew( true ),
+                Event.class
+        ) );
+    }
+
+    /*
+     * Pipeline update: every $set stage sees the result of the previous one, so the flags are derived
+     * from the already updated capacity. For limitless events (no maxTicketCapacity) only the booked
+     * counter changes and the flags stay untouched.
+     */
+    private AggregationUpdate ticketCountUpdate( int bookedDelta ) {
+        return ticketFlagsUpdate( AggregationUpdate.update()
+                .set( "bookedTicketsCount" ).toValue( ArithmeticOperators.valueOf( "bookedTicketsCount" ).add( bookedDelta ) )
+                .set( "freeTicketCapacity" ).toValue( whenLimited(
+                        ArithmeticOperators.valueOf( "freeTicketCapacity" ).subtract( bookedDelta ),
+                        "freeTicketCapacity" ) ) );
+    }
+
+    // the sold-out and alarm flags of the free tickets as the stages before leave them
+    private AggregationUpdate ticketFlagsUpdate( AggregationUpdate update ) {
+        return update
+                .set( "isSoldOut" ).toValue( whenLimited(
+                        ComparisonOperators.valueOf( "freeTicketCapacity" ).lessThanEqualToValue( 0 ),
+                        "isSoldOut" ) )
+                .set( "ticketAlarm" ).toValue( whenLimited(
+                        ComparisonOperators.valueOf(
+                                ArithmeticOperators.valueOf( "freeTicketCapacity" ).divideBy( "maxTicketCapacity" )
+                        ).lessThanEqualToValue( TICKET_ALARM_THRESHOLD ),
+                        "ticketAlarm" ) )
+                .set( "lastModifiedDate" ).toValue( SystemVariable.NOW );
+    }
+
+    private ConditionalOperators.Cond whenLimited( AggregationExpression limitedValue, String unchangedField ) {
+        return ConditionalOperators
+                .when( ComparisonOperators.valueOf( "maxTicketCapacity" ).greaterThanValue( 0 ) )
+                .then( limitedValue )
+                .otherwiseValueOf( unchangedField );
+    }
+}
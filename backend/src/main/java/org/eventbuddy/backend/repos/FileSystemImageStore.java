@@ -0,0 +1,163 @@
+package org.eventbuddy.backend.repos;
+
+import org.bson.types.ObjectId;
+import org.eventbuddy.backend.models.image.Image;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Keeps images as plain files below a root directory, for deployments with a persistent volume.
+ * Every image is stored as "{id}" next to "{id}.properties" holding its content type and hash,
+ * variants as "{id}.w{width}" with their own properties file.
+ */
+@Repository
+@ConditionalOnProperty(name = "image.storage", havingValue = "filesystem")
+public class FileSystemImageStore implements ImageStore {
+
+    private static final String METADATA_SUFFIX = ".properties";
+    private static final String CONTENT_TYPE_KEY = "contentType";
+    private static final String CONTENT_HASH_KEY = "contentHash";
+
+    private final Path root;
+
+    public FileSystemImageStore( @Value("${image.storage.filesystem-root}") Path root ) throws IOException {
+        this.root = Files.createDirectories( root );
+    }
+
+    @Override
+    public void save( String imageId, InputStream content, String contentType ) throws IOException {
+        write( resolve( imageId ), content, contentType );
+    }
+
+    @Override
+    public Optional<Image> findById( String imageId ) {
+        if ( !existsById( imageId ) ) {
+            return Optional.empty();
+        }
+
+        return Optional.of( read( imageId, resolve( imageId ) ) );
+    }
+
+    @Override
+    public void saveVariant( String imageId, int width, InputStream content, String contentType ) throws IOException {
+        write( resolveVariant( imageId, width ), content, contentType );
+    }
+
+    @Override
+    public Optional<Image> findVariant( String imageId, int width ) {
+        if ( !ObjectId.isValid( imageId ) || !Files.isRegularFile( resolveVariant( imageId, width ) ) ) {
+            return Optional.empty();
+        }
+
+        return Optional.of( read( imageId, resolveVariant( imageId, width ) ) );
+    }
+
+    @Override
+    public boolean existsById( String imageId ) {
+        return ObjectId.isValid( imageId ) && Files.isRegularFile( resolve( imageId ) );
+    }
+
+    @Override
+    public void deleteById( String imageId ) {
+        if ( !ObjectId.isValid( imageId ) ) {
+            return;
+        }
+
+        Path image = resolve( imageId );
+
+        try ( DirectoryStream<Path> variants = Files.newDirectoryStream( root, imageId + ".w*" ) ) {
+            Files.deleteIfExists( image );
+            Files.deleteIfExists( metadataFile( image ) );
+
+            // variant files and their properties files
+            for ( Path variant : variants ) {
+                Files.deleteIfExists( variant );
+            }
+        } catch ( IOException e ) {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        try {
+            FileSystemUtils.deleteRecursively( root );
+            Files.createDirectories( root );
+        } catch ( IOException e ) {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    private void write( Path target, InputStream content, String contentType ) throws IOException {
+        Path upload = Files.createTempFile( root, target.getFileName().toString(), ".upload" );
+
+        try {
+            DigestInputStream hashedContent = ImageStore.hashing( content );
+            Files.copy( hashedContent, upload, StandardCopyOption.REPLACE_EXISTING );
+
+            Properties metadata = new Properties();
+            metadata.setProperty( CONTENT_TYPE_KEY, contentType );
+            metadata.setProperty( CONTENT_HASH_KEY, ImageStore.contentHash( hashedContent ) );
+
+            try ( Writer writer = Files.newBufferedWriter( metadataFile( target ), StandardCharsets.UTF_8 ) ) {
+                metadata.store( writer, null );
+            }
+
+            // readers never see a half written image
+            Files.move( upload, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING );
+        } finally {
+            Files.deleteIfExists( upload );
+        }
+    }
+
+    private Image read( String imageId, Path image ) {
+        try ( Reader reader = Files.newBufferedReader( metadataFile( image ), StandardCharsets.UTF_8 ) ) {
+            Properties metadata = new Properties();
+            metadata.load( reader );
+
+            return Image.builder()
+                    .imageId( imageId )
+                    .contentType( metadata.getProperty( CONTENT_TYPE_KEY ) )
+                    .contentLength( Files.size( image ) )
+                    .contentHash( metadata.getProperty( CONTENT_HASH_KEY ) )
+                    .content( new FileSystemResource( image ) )
+                    .build();
+        } catch ( IOException e ) {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    // ids are validated as ObjectId hex, so they can't point outside the root directory
+    private Path resolve( String imageId ) {
+        if ( !ObjectId.isValid( imageId ) ) {
+            throw new IllegalArgumentException( "Invalid image ID: " + imageId );
+        }
+
+        return root.resolve( imageId );
+    }
+
+    private Path resolveVariant( String imageId, int width ) {
+        return resolve( imageId ).resolveSibling( imageId + ".w" + width );
+    }
+
+    private Path metadataFile( Path image ) {
+        return image.resolveSibling( image.getFileName() + METADATA_SUFFIX );
+    }
+}
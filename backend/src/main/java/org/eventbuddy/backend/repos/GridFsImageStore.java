@@ -0,0 +1,220 @@
+package org.eventbuddy.backend.repos;
+
+import com.mongodb.MongoGridFSException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.eventbuddy.backend.models.image.Image;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.stereotype.Repository;
+
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps images in the "images" GridFS bucket. Uploads are split into 255 KB chunks while reading the
+ * stream and downloads fetch the chunks one after another while the response is written.
+ * <p>
+ * Originals are named after their id, variants "{id}/w{width}", so the filename index GridFS creates
+ * for every bucket serves variant lookups and deletes.
+ */
+@Repository
+@ConditionalOnProperty(name = "image.storage", havingValue = "gridfs", matchIfMissing = true)
+public class GridFsImageStore implements ImageStore {
+
+    static final String BUCKET_NAME = "images";
+
+    private static final String CONTENT_TYPE_FIELD = "_contentType";
+    private static final String CONTENT_HASH_FIELD = "sha256";
+
+    private final GridFSBucket bucket;
+
+    private final MongoCollection<Document> files;
+
+    private final MongoCollection<Document> chunks;
+
+    public GridFsImageStore( MongoDatabaseFactory mongoDatabaseFactory ) {
+        MongoDatabase database = mongoDatabaseFactory.getMongoDatabase();
+
+        this.bucket = GridFSBuckets.create( database, BUCKET_NAME );
+        this.files = database.getCollection( BUCKET_NAME + ".files" );
+        this.chunks = database.getCollection( BUCKET_NAME + ".chunks" );
+    }
+
+    @Override
+    public void save( String imageId, InputStream content, String contentType ) {
+        upload( new ObjectId( imageId ), imageId, content, contentType );
+    }
+
+    @Override
+    public Optional<Image> findById( String imageId ) {
+        if ( !ObjectId.isValid( imageId ) ) {
+            return Optional.empty();
+        }
+
+        // loads the file document only, chunks are fetched once the content is read
+        GridFSFile file = bucket.find( Filters.eq( "_id", new ObjectId( imageId ) ) ).first();
+
+        return Optional.ofNullable( file ).map( found -> toImage( imageId, found ) );
+    }
+
+    @Override
+    public void saveVariant( String imageId, int width, InputStream content, String contentType ) {
+        if ( !ObjectId.isValid( imageId ) ) {
+            throw new IllegalArgumentException( "Invalid image ID: " + imageId );
+        }
+
+        upload( new ObjectId(), variantFilename( imageId, width ), content, contentType );
+    }
+
+    @Override
+    public Optional<Image> findVariant( String imageId, int width ) {
+        // a variant generated twice at the same time is stored twice, the newest one wins
+        GridFSFile file = bucket.find( Filters.eq( "filename", variantFilename( imageId, width ) ) )
+                .sort( Sorts.descending( "uploadDate" ) )
+                .limit( 1 )
+                .first();
+
+        return Optional.ofNullable( file ).map( found -> toImage( imageId, found ) );
+    }
+
+    @Override
+    public boolean existsById( String imageId ) {
+        return ObjectId.isValid( imageId )
+                && bucket.find( Filters.eq( "_id", new ObjectId( imageId ) ) ).limit( 1 ).first() != null;
+    }
+
+    @Override
+    public void deleteById( String imageId ) {
+        if ( !ObjectId.isValid( imageId ) ) {
+            return;
+        }
+
+        try {
+            bucket.delete( new ObjectId( imageId ) );
+        } catch ( MongoGridFSException e ) {
+            // already gone, deleting stays idempotent like MongoRepository.deleteById
+        }
+
+        // anchored prefix, runs on the filename index
+        List<GridFSFile> variants = bucket.find( Filters.regex( "filename", "^" + imageId + "/" ) ).into( new ArrayList<>() );
+
+        for ( GridFSFile variant : variants ) {
+            bucket.delete( variant.getObjectId() );
+        }
+    }
+
+    // one query finds the originals and variants, then one deleteMany each removes their files and chunks
+    @Override
+    public void deleteAllById( Collection<String> imageIds ) {
+        List<String> validIds = imageIds.stream().filter( ObjectId::isValid ).toList();
+
+        if ( validIds.isEmpty() ) {
+            return;
+        }
+
+        // ids are hex strings, safe to put into the pattern unquoted
+        Bson originalsAndVariants = Filters.or(
+                Filters.in( "_id", validIds.stream().map( ObjectId::new ).toList() ),
+                Filters.regex( "filename", "^(" + String.join( "|", validIds ) + ")/" ) );
+
+        List<Object> fileIds = files.find( originalsAndVariants )
+                .projection( Projections.include( "_id" ) )
+                .map( file -> file.get( "_id" ) )
+                .into( new ArrayList<>() );
+
+        if ( fileIds.isEmpty() ) {
+            return;
+        }
+
+        // chunks first, a file document without chunks is never left behind
+        chunks.deleteMany( Filters.in( "files_id", fileIds ) );
+        files.deleteMany( Filters.in( "_id", fileIds ) );
+    }
+
+    @Override
+    public void deleteAll() {
+        bucket.drop();
+    }
+
+    private void upload( ObjectId fileId, String filename, InputStream content, String contentType ) {
+        DigestInputStream hashedContent = ImageStore.hashing( content );
+
+        GridFSUploadOptions options = new GridFSUploadOptions()
+                .metadata( new Document( CONTENT_TYPE_FIELD, contentType ) );
+
+        bucket.uploadFromStream( new BsonObjectId( fileId ), filename, hashedContent, options );
+
+        // the hash is only known once the upload has read the whole stream
+        files.updateOne( Filters.eq( "_id", fileId ),
+                Updates.set( "metadata." + CONTENT_HASH_FIELD, ImageStore.contentHash( hashedContent ) ) );
+    }
+
+    private Image toImage( String imageId, GridFSFile file ) {
+        Document metadata = file.getMetadata() != null ? file.getMetadata() : new Document();
+
+        return Image.builder()
+                .imageId( imageId )
+                .contentType( metadata.getString( CONTENT_TYPE_FIELD ) )
+                .contentLength( file.getLength() )
+                .contentHash( metadata.getString( CONTENT_HASH_FIELD ) )
+                .content( new GridFsFileResource( file ) )
+                .build();
+    }
+
+    private static String variantFilename( String imageId, int width ) {
+        return imageId + "/w" + width;
+    }
+
+    // opens a new download stream on every read, so range requests can read several parts of one file
+    private class GridFsFileResource extends AbstractResource {
+
+        private final GridFSFile file;
+
+        GridFsFileResource( GridFSFile file ) {
+            this.file = file;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return bucket.openDownloadStream( file.getObjectId() );
+        }
+
+        @Override
+        public long contentLength() {
+            return file.getLength();
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public String getFilename() {
+            return file.getFilename();
+        }
+
+        @Override
+        public String getDescription() {
+            return "GridFS image [" + file.getObjectId().toHexString() + "]";
+        }
+    }
+}
@@ -1,9 +0,0 @@
-package org.eventbuddy.backend.repos;
-
-import org.eventbuddy.backend.models.image.Image;
-import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.stereotype.Repository;
-
-@Repository
-public interface ImageRepository extends MongoRepository<Image, String> {
-}
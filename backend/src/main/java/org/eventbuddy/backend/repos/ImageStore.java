@@ -0,0 +1,64 @@
+package org.eventbuddy.backend.repos;
+
+import org.bson.types.ObjectId;
+import org.eventbuddy.backend.models.image.Image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Storage for image binaries. Content is written and read as streams, so an image never has to be held
+ * in memory as a whole. Ids are ObjectId hex strings, the same shape the former images collection used.
+ * <p>
+ * Stored content never changes: an image is replaced by saving a new one. While saving, a SHA-256 hash of
+ * the content is computed and kept with the image, it serves as ETag without reading the content again.
+ */
+public interface ImageStore {
+
+    default String save( InputStream content, String contentType ) throws IOException {
+        String imageId = new ObjectId().toHexString();
+
+        save( imageId, content, contentType );
+
+        return imageId;
+    }
+
+    void save( String imageId, InputStream content, String contentType ) throws IOException;
+
+    Optional<Image> findById( String imageId );
+
+    // downscaled copies of an image, kept until the image itself is deleted
+    void saveVariant( String imageId, int width, InputStream content, String contentType ) throws IOException;
+
+    Optional<Image> findVariant( String imageId, int width );
+
+    boolean existsById( String imageId );
+
+    // removes the image together with its variants
+    void deleteById( String imageId );
+
+    // removes the images together with their variants, stores able to delete in bulk override this
+    default void deleteAllById( Collection<String> imageIds ) {
+        imageIds.forEach( this::deleteById );
+    }
+
+    void deleteAll();
+
+    static DigestInputStream hashing( InputStream content ) {
+        try {
+            return new DigestInputStream( content, MessageDigest.getInstance( "SHA-256" ) );
+        } catch ( NoSuchAlgorithmException e ) {
+            throw new IllegalStateException( "SHA-256 not available", e );
+        }
+    }
+
+    static String contentHash( DigestInputStream hashedContent ) {
+        return HexFormat.of().formatHex( hashedContent.getMessageDigest().digest() );
+    }
+}
@@ -0,0 +1,7 @@
+package org.eventbuddy.backend.repos;
+
+import org.eventbuddy.backend.models.event.InventoryShard;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface InventoryShardRepository extends MongoRepository<InventoryShard, String>, InventoryShardRepositoryCustom {
+}
@@ -0,0 +1,46 @@
+package org.eventbuddy.backend.repos;
+
+import org.eventbuddy.backend.models.event.Event;
+
+import java.util.Collection;
+
+public interface InventoryShardRepositoryCustom {
+
+    /**
+     * Creates the shards of an event, with its capacity split as evenly as possible.
+     */
+    void createShards( String eventId, int capacity, int shardCount );
+
+    /**
+     * Atomically books tickets on a random shard of the event. If that shard has not enough free tickets left,
+     * the others are tried, and if none has enough alone, the tickets are taken from several shards together.
+     *
+     * @return whether the tickets were booked, nothing is taken otherwise
+     */
+    boolean reserveTickets( String eventId, int shardCount, int numberOfTickets );
+
+    /**
+     * Atomically gives tickets back to a random shard of the event.
+     */
+    void releaseTickets( String eventId, int shardCount, int numberOfTickets );
+
+    /**
+     * Adds tickets to the capacity of the event, or takes free tickets away if the change is negative.
+     *
+     * @return whether the capacity was changed, false if there are fewer free tickets than should be taken away
+     */
+    boolean changeCapacity( String eventId, int shardCount, int capacityChange );
+
+    /**
+     * Sets free and booked tickets of the events with sharded inventory to the sums over their shards, with one
+     * aggregation for all of them. The other events are left as they are.
+     */
+    void fillTicketCounts( Collection<Event> events );
+
+    /**
+     * Removes the shards of the given events.
+     *
+     * @return the number of removed shards
+     */
+    long deleteAllByEventIds( Collection<String> eventIds );
+}
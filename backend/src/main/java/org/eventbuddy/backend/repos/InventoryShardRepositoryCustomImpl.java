@@ -0,0 +1,162 @@
+package org.eventbuddy.backend.repos;
+
+import org.bson.Document;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.InventoryShard;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+class InventoryShardRepositoryCustomImpl implements InventoryShardRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    InventoryShardRepositoryCustomImpl( MongoTemplate mongoTemplate ) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void createShards( String eventId, int capacity, int shardCount ) {
+        mongoTemplate.insertAll( InventoryShard.split( eventId, capacity, shardCount ) );
+    }
+
+    @Override
+    public boolean reserveTickets( String eventId, int shardCount, int numberOfTickets ) {
+        return take( eventId, shardCount, numberOfTickets, true );
+    }
+
+    @Override
+    public void releaseTickets( String eventId, int shardCount, int numberOfTickets ) {
+        give( eventId, randomShard( shardCount ), numberOfTickets, true );
+    }
+
+    @Override
+    public boolean changeCapacity( String eventId, int shardCount, int capacityChange ) {
+        if ( capacityChange < 0 ) {
+            return take( eventId, shardCount, -capacityChange, false );
+        }
+
+        give( eventId, randomShard( shardCount ), capacityChange, false );
+
+        return true;
+    }
+
+    @Override
+    public void fillTicketCounts( Collection<Event> events ) {
+        Map<String, List<Event>> shardedEvents = events.stream()
+                .filter( event -> event.getInventoryShards() != null )
+                .collect( Collectors.groupingBy( Event::getId ) );
+
+        if ( shardedEvents.isEmpty() ) {
+            return;
+        }
+
+        TypedAggregation<InventoryShard> aggregation = Aggregation.newAggregation( InventoryShard.class,
+                Aggregation.match( Criteria.where( "eventId" ).in( shardedEvents.keySet() ) ),
+                Aggregation.group( "eventId" )
+                        .sum( "freeTickets" ).as( "freeTickets" )
+                        .sum( "bookedTickets" ).as( "bookedTickets" ) );
+
+        for ( Document totals : mongoTemplate.aggregate( aggregation, Document.class ).getMappedResults() ) {
+            int freeTickets = totals.get( "freeTickets", Number.class ).intValue();
+            int bookedTickets = totals.get( "bookedTickets", Number.class ).intValue();
+
+            shardedEvents.get( totals.getString( "_id" ) ).forEach( event -> {
+                event.setFreeTicketCapacity( freeTickets );
+                event.setBookedTicketsCount( bookedTickets );
+            } );
+        }
+    }
+
+    @Override
+    public long deleteAllByEventIds( Collection<String> eventIds ) {
+        return mongoTemplate.remove( Query.query( Criteria.where( "eventId" ).in( eventIds ) ), InventoryShard.class )
+                .getDeletedCount();
+    }
+
+    // a random first shard spreads concurrent bookings, the others are only tried when it runs out of tickets
+    private boolean take( String eventId, int shardCount, int tickets, boolean booked ) {
+        int firstShard = randomShard( shardCount );
+
+        for ( int i = 0; i < shardCount; i++ ) {
+            if ( takeFromShard( eventId, ( firstShard + i ) % shardCount, tickets, booked ) ) {
+                return true;
+            }
+        }
+
+        return takeFromSeveralShards( eventId, tickets, booked );
+    }
+
+    // no shard has enough tickets alone, so the ones left over on several shards are taken together
+    private boolean takeFromSeveralShards( String eventId, int tickets, boolean booked ) {
+        Query query = Query.query( Criteria.where( "eventId" ).is( eventId ).and( "freeTickets" ).gt( 0 ) )
+                .with( Sort.by( Sort.Direction.DESC, "freeTickets" ) );
+
+        List<InventoryShard> shards = mongoTemplate.find( query, InventoryShard.class );
+
+        if ( shards.stream().mapToInt( InventoryShard::getFreeTickets ).sum() < tickets ) {
+            return false;
+        }
+
+        Map<Integer, Integer> takenTickets = new HashMap<>();
+        int missingTickets = tickets;
+
+        for ( InventoryShard shard : shards ) {
+            int shardTickets = Math.min( missingTickets, shard.getFreeTickets() );
+
+            if ( shardTickets > 0 && takeFromShard( eventId, shard.getShard(), shardTickets, booked ) ) {
+                takenTickets.put( shard.getShard(), shardTickets );
+                missingTickets -= shardTickets;
+            }
+        }
+
+        if ( missingTickets == 0 ) {
+            return true;
+        }
+
+        // booked by others in the meantime, the tickets taken so far go back to their shards
+        takenTickets.forEach( ( shard, shardTickets ) -> give( eventId, shard, shardTickets, booked ) );
+
+        return false;
+    }
+
+    // capacity check and counter update in one conditional update, like on the event document
+    private boolean takeFromShard( String eventId, int shard, int tickets, boolean booked ) {
+        Query query = Query.query( Criteria.where( "eventId" ).is( eventId ).and( "shard" ).is( shard )
+                .and( "freeTickets" ).gte( tickets ) );
+
+        Update update = new Update().inc( "freeTickets", -tickets );
+
+        if ( booked ) {
+            update.inc( "bookedTickets", tickets );
+        }
+
+        return mongoTemplate.updateFirst( query, update, InventoryShard.class ).getModifiedCount() == 1;
+    }
+
+    private void give( String eventId, int shard, int tickets, boolean booked ) {
+        Update update = new Update().inc( "freeTickets", tickets );
+
+        if ( booked ) {
+            update.inc( "bookedTickets", -tickets );
+        }
+
+        mongoTemplate.updateFirst( Query.query( Criteria.where( "eventId" ).is( eventId ).and( "shard" ).is( shard ) ),
+                update, InventoryShard.class );
+    }
+
+    private static int randomShard( int shardCount ) {
+        return ThreadLocalRandom.current().nextInt( shardCount );
+    }
+}
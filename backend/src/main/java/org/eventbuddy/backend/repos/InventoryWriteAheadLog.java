@@ -0,0 +1,191 @@
+package org.eventbuddy.backend.repos;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * Memory-mapped log of the ticket changes of the in-memory inventory, written before the changes reach the event
+ * documents. Records are appended to the mapped file, which the OS writes back even when the app crashes; only a
+ * crash of the whole machine loses the records since the last {@link #force()}.
+ * <p>
+ * The file starts with the id of the log, followed by records of a length, the record itself and a checksum over
+ * the log id and the record. Reading stops at the first record whose checksum doesn't match, which is the end of
+ * the log, a record torn by a crash or one left over from before the log was emptied.
+ */
+public class InventoryWriteAheadLog implements AutoCloseable {
+
+    private static final int HEADER_SIZE = 2 * Long.BYTES;
+
+    // length, sequence, booked delta, capacity delta, event id length and checksum around the event id
+    private static final int RECORD_OVERHEAD = Integer.BYTES + Long.BYTES + 2 * Integer.BYTES + Short.BYTES + Integer.BYTES;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer buffer;
+
+    private UUID logId;
+
+    private long nextSequence;
+
+    /**
+     * A ticket change of an event.
+     *
+     * @param bookedDelta   tickets booked, negative for released tickets
+     * @param capacityDelta change of the max ticket capacity
+     */
+    public record Entry(long sequence, String eventId, int bookedDelta, int capacityDelta) {
+    }
+
+    public InventoryWriteAheadLog( Path file, int size ) throws IOException {
+        if ( size < HEADER_SIZE + RECORD_OVERHEAD ) {
+            throw new IllegalArgumentException( "The inventory log needs at least " + ( HEADER_SIZE + RECORD_OVERHEAD ) + " bytes" );
+        }
+
+        if ( file.getParent() != null ) {
+            Files.createDirectories( file.getParent() );
+        }
+
+        boolean existed = Files.exists( file ) && Files.size( file ) >= HEADER_SIZE;
+
+        this.channel = FileChannel.open( file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE );
+        this.buffer = channel.map( FileChannel.MapMode.READ_WRITE, 0, size );
+
+        if ( existed ) {
+            logId = new UUID( buffer.getLong( 0 ), buffer.getLong( Long.BYTES ) );
+            readEntries();
+        } else {
+            reset();
+        }
+    }
+
+    public synchronized String logId() {
+        return logId.toString();
+    }
+
+    /**
+     * @return the records of the log in the order they were appended
+     */
+    public synchronized List<Entry> readEntries() {
+        List<Entry> entries = new ArrayList<>();
+        int position = HEADER_SIZE;
+        nextSequence = 1;
+
+        while ( position + RECORD_OVERHEAD <= buffer.capacity() ) {
+            int length = buffer.getInt( position );
+
+            if ( length < RECORD_OVERHEAD || position + length > buffer.capacity() ) {
+                break;
+            }
+
+            int checksumPosition = position + length - Integer.BYTES;
+
+            if ( buffer.getInt( checksumPosition ) != checksum( position, checksumPosition ) ) {
+                break;
+            }
+
+            ByteBuffer record = buffer.slice( position + Integer.BYTES, length - 2 * Integer.BYTES );
+            long sequence = record.getLong();
+            int bookedDelta = record.getInt();
+            int capacityDelta = record.getInt();
+            byte[] eventId = new byte[record.getShort()];
+            record.get( eventId );
+
+            entries.add( new Entry( sequence, new String( eventId, StandardCharsets.UTF_8 ), bookedDelta, capacityDelta ) );
+            nextSequence = sequence + 1;
+            position += length;
+        }
+
+        buffer.position( position );
+
+        return entries;
+    }
+
+    /**
+     * Appends a ticket change of an event.
+     *
+     * @return the sequence number of the record
+     * @throws IllegalStateException when the log is full
+     */
+    public synchronized long append( String eventId, int bookedDelta, int capacityDelta ) {
+        byte[] eventIdBytes = eventId.getBytes( StandardCharsets.UTF_8 );
+        int start = buffer.position();
+        int length = RECORD_OVERHEAD + eventIdBytes.length;
+
+        if ( start + length > buffer.capacity() ) {
+            throw new IllegalStateException( "The inventory log is full, bookings resume once it is written to the database." );
+        }
+
+        long sequence = nextSequence++;
+
+        buffer.putInt( length )
+                .putLong( sequence )
+                .putInt( bookedDelta )
+                .putInt( capacityDelta )
+                .putShort( (short) eventIdBytes.length )
+                .put( eventIdBytes );
+        buffer.putInt( checksum( start, buffer.position() ) );
+
+        return sequence;
+    }
+
+    /**
+     * @return the share of the log in use, from 0 to 1
+     */
+    public synchronized double usage() {
+        return (double) buffer.position() / buffer.capacity();
+    }
+
+    /**
+     * Empties the log under a new id. Only once every record is written to the database, the checkpoints of the
+     * event documents refer to the old id then.
+     */
+    public synchronized void reset() {
+        logId = UUID.randomUUID();
+        nextSequence = 1;
+
+        buffer.putLong( 0, logId.getMostSignificantBits() );
+        buffer.putLong( Long.BYTES, logId.getLeastSignificantBits() );
+        // records after the header are left over from the old id, their checksums don't match anymore
+        buffer.position( HEADER_SIZE );
+        buffer.force( 0, HEADER_SIZE );
+    }
+
+    /**
+     * Writes the log to the disk, so it survives a crash of the machine as well. Doesn't hold up appends meanwhile,
+     * records appended while it runs are written by the next call.
+     */
+    public void force() {
+        buffer.force();
+    }
+
+    @Override
+    public synchronized void close() {
+        buffer.force();
+
+        try {
+            channel.close();
+        } catch ( IOException e ) {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    // the checksum of a record covers the log id, so records of an emptied log never pass for records of this one
+    private int checksum( int from, int to ) {
+        CRC32C crc = new CRC32C();
+        crc.update( buffer.slice( 0, HEADER_SIZE ) );
+        crc.update( buffer.slice( from, to - from ) );
+
+        return (int) crc.getValue();
+    }
+}
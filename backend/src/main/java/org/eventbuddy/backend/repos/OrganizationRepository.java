@@ -2,14 +2,22 @@ package org.eventbuddy.backend.repos;
 
 import org.eventbuddy.backend.models.organization.Organization;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrganizationRepository extends MongoRepository<Organization, String> {
+public interface OrganizationRepository extends MongoRepository<Organization, String>, OrganizationRepositoryCustom {
 
     Optional<Organization> findByName( String name );
 
     Optional<Organization> findBySlug( String organizationSlug );
+
+    List<Organization> findAllByOwnersContaining( String userId );
+
+    // only id and slug are loaded, an anchored pattern is answered from the unique slug index
+    @Query(value = "{ 'slug': { $regex: ?0 } }", fields = "{ 'slug': 1 }")
+    List<Organization> findSlugsMatching( String slugPattern );
 }
@@ -0,0 +1,17 @@
+package org.eventbuddy.backend.repos;
+
+import org.eventbuddy.backend.models.organization.OrganizationDeletion;
+
+public interface OrganizationRepositoryCustom {
+
+    /**
+     * Deletes the organization together with its events and their bookings, and removes it from the
+     * organizations of its users. Every step is one server-side statement covering all affected documents
+     * (a deleteMany per collection, one updateMany for the users), so the number of round trips does not
+     * grow with the number of events or bookings. With {@code organization.delete.transaction=true} the steps
+     * run in one multi-document transaction, which needs MongoDB to run as a replica set.
+     * <p>
+     * Images are not part of the cascade, their ids are returned to be removed from the image storage.
+     */
+    OrganizationDeletion deleteCascade( String organizationId );
+}
@@ -0,0 +1,106 @@
+package org.eventbuddy.backend.repos;
+
+import org.bson.types.ObjectId;
+import org.eventbuddy.backend.models.app_user.AppUser;
+import org.eventbuddy.backend.models.booking.Booking;
+import org.eventbuddy.backend.models.booking.WaitlistCounter;
+import org.eventbuddy.backend.models.booking.WaitlistEntry;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.InventoryShard;
+import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.models.organization.OrganizationDeletion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+class OrganizationRepositoryCustomImpl implements OrganizationRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    // null without transaction, the steps then run one after another
+    private final TransactionTemplate transactionTemplate;
+
+    OrganizationRepositoryCustomImpl( MongoTemplate mongoTemplate,
+                                      @Value("${organization.delete.transaction:false}") boolean transactional ) {
+        this.mongoTemplate = mongoTemplate;
+        this.transactionTemplate = transactional
+                ? new TransactionTemplate( new MongoTransactionManager( mongoTemplate.getMongoDatabaseFactory() ) )
+                : null;
+    }
+
+    @Override
+    public OrganizationDeletion deleteCascade( String organizationId ) {
+        if ( transactionTemplate == null ) {
+            return cascade( organizationId );
+        }
+
+        return transactionTemplate.execute( status -> cascade( organizationId ) );
+    }
+
+    private OrganizationDeletion cascade( String organizationId ) {
+        Query organizationQuery = Query.query( Criteria.where( "_id" ).is( organizationId ) );
+        organizationQuery.fields().include( "imageId" );
+
+        Organization organization = mongoTemplate.findOne( organizationQuery, Organization.class );
+
+        // references are stored in their persisted id form, so query with that instead of the plain string
+        Query eventsQuery = Query.query( Criteria.where( "eventOrganization" ).is( toReference( organizationId ) ) );
+        // without eventOrganization in the projection, no organization lookup is triggered
+        eventsQuery.fields().include( "imageId" );
+
+        List<Event> events = mongoTemplate.find( eventsQuery, Event.class );
+
+        List<String> eventIds = events.stream().map( Event::getId ).toList();
+
+        List<String> imageIds = new ArrayList<>();
+        if ( organization != null && organization.getImageId() != null ) {
+            imageIds.add( organization.getImageId() );
+        }
+        events.stream().map( Event::getImageId ).filter( Objects::nonNull ).forEach( imageIds::add );
+
+        long deletedBookings = eventIds.isEmpty() ? 0 : mongoTemplate.remove( Query.query(
+                Criteria.where( "event" ).in( eventIds.stream().map( this::toReference ).toList() ) ), Booking.class ).getDeletedCount();
+
+        long deletedWaitlistEntries = eventIds.isEmpty() ? 0 : mongoTemplate.remove( Query.query(
+                Criteria.where( "eventId" ).in( eventIds ) ), WaitlistEntry.class ).getDeletedCount();
+
+        if ( !eventIds.isEmpty() ) {
+            mongoTemplate.remove( Query.query( Criteria.where( "_id" ).in( eventIds ) ), WaitlistCounter.class );
+            mongoTemplate.remove( Query.query( Criteria.where( "eventId" ).in( eventIds ) ), InventoryShard.class );
+        }
+
+        long deletedEvents = eventIds.isEmpty() ? 0 : mongoTemplate.remove( Query.query(
+                Criteria.where( "_id" ).in( eventIds ) ), Event.class ).getDeletedCount();
+
+        // organizations holds the plain ids
+        long updatedUsers = mongoTemplate.updateMulti(
+                Query.query( Criteria.where( "organizations" ).is( organizationId ) ),
+                new Update().pull( "organizations", organizationId ),
+                AppUser.class ).getModifiedCount();
+
+        long deletedOrganizations = mongoTemplate.remove( Query.query( Criteria.where( "_id" ).is( organizationId ) ),
+                Organization.class ).getDeletedCount();
+
+        return OrganizationDeletion.builder()
+                .eventIds( eventIds )
+                .imageIds( imageIds )
+                .deletedOrganizations( deletedOrganizations )
+                .deletedEvents( deletedEvents )
+                .deletedBookings( deletedBookings )
+                .deletedWaitlistEntries( deletedWaitlistEntries )
+                .updatedUsers( updatedUsers )
+                .build();
+    }
+
+    private Object toReference( String id ) {
+        return mongoTemplate.getConverter().convertId( id, ObjectId.class );
+    }
+}
@@ -0,0 +1,13 @@
+package org.eventbuddy.backend.repos;
+
+import org.eventbuddy.backend.models.event.PendingSummaryChange;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.Instant;
+import java.util.Collection;
+
+public interface PendingSummaryChangeRepository extends MongoRepository<PendingSummaryChange, String> {
+
+    // changes marked again since the propagation started stay for the next run
+    long deleteByIdInAndChangedAtLessThanEqual( Collection<String> ids, Instant changedAt );
+}
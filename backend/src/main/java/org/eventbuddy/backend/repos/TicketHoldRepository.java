@@ -0,0 +1,10 @@
+package org.eventbuddy.backend.repos;
+
+import org.eventbuddy.backend.enums.HoldStatus;
+import org.eventbuddy.backend.models.booking.TicketHold;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface TicketHoldRepository extends MongoRepository<TicketHold, String>, TicketHoldRepositoryCustom {
+
+    boolean existsByUserIdAndEventIdAndStatus( String userId, String eventId, HoldStatus status );
+}
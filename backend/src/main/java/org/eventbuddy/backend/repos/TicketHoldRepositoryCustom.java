@@ -0,0 +1,33 @@
+package org.eventbuddy.backend.repos;
+
+import org.eventbuddy.backend.models.booking.TicketHold;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface TicketHoldRepositoryCustom {
+
+    /**
+     * Atomically closes the hold as confirmed, if it is still open and not yet expired.
+     *
+     * @return the confirmed hold, or empty if it is missing, expired or already closed
+     */
+    Optional<TicketHold> confirm( String holdId, Instant now );
+
+    /**
+     * Atomically closes the hold as released, if it is still open. Of a release racing a confirmation or the
+     * sweeper only one closes the hold, so its tickets are given back once.
+     *
+     * @return the released hold, or empty if it is missing or already closed
+     */
+    Optional<TicketHold> release( String holdId, Instant now );
+
+    /**
+     * Releases up to {@code limit} open holds expired before {@code now}, in three statements however many
+     * holds the batch has.
+     *
+     * @return the holds released by this call, without those confirmed or released concurrently
+     */
+    List<TicketHold> releaseExpired( Instant now, int limit );
+}
@@ -0,0 +1,72 @@
+package org.eventbuddy.backend.repos;
+
+import org.eventbuddy.backend.enums.HoldStatus;
+import org.eventbuddy.backend.models.booking.TicketHold;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+class TicketHoldRepositoryCustomImpl implements TicketHoldRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    TicketHoldRepositoryCustomImpl( MongoTemplate mongoTemplate ) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<TicketHold> confirm( String holdId, Instant now ) {
+        return close( Criteria.where( "_id" ).is( holdId ).and( "status" ).is( HoldStatus.HELD ).and( "expiresAt" ).gt( now ),
+                HoldStatus.CONFIRMED, now );
+    }
+
+    @Override
+    public Optional<TicketHold> release( String holdId, Instant now ) {
+        return close( Criteria.where( "_id" ).is( holdId ).and( "status" ).is( HoldStatus.HELD ), HoldStatus.RELEASED, now );
+    }
+
+    @Override
+    public List<TicketHold> releaseExpired( Instant now, int limit ) {
+        Query expiredQuery = Query.query( Criteria.where( "status" ).is( HoldStatus.HELD ).and( "expiresAt" ).lt( now ) )
+                .limit( limit );
+        expiredQuery.fields().include( "_id" );
+
+        List<String> holdIds = mongoTemplate.find( expiredQuery, TicketHold.class ).stream()
+                .map( TicketHold::getId )
+                .toList();
+
+        if ( holdIds.isEmpty() ) {
+            return List.of();
+        }
+
+        String sweepId = UUID.randomUUID().toString();
+
+        // holds confirmed or released since the find keep their status and are not read back
+        mongoTemplate.updateMulti(
+                Query.query( Criteria.where( "_id" ).in( holdIds ).and( "status" ).is( HoldStatus.HELD ) ),
+                new Update().set( "status", HoldStatus.RELEASED ).set( "closedAt", now ).set( "sweepId", sweepId ),
+                TicketHold.class
+        );
+
+        Query releasedQuery = Query.query( Criteria.where( "_id" ).in( holdIds ).and( "sweepId" ).is( sweepId ) );
+        releasedQuery.fields().include( "eventId" ).include( "numberOfTickets" );
+
+        return mongoTemplate.find( releasedQuery, TicketHold.class );
+    }
+
+    private Optional<TicketHold> close( Criteria criteria, HoldStatus status, Instant now ) {
+        return Optional.ofNullable( mongoTemplate.findAndModify(
+                Query.query( criteria ),
+                new Update().set( "status", status ).set( "closedAt", now ),
+                FindAndModifyOptions.options().returnNew( true ),
+                TicketHold.class
+        ) );
+    }
+}
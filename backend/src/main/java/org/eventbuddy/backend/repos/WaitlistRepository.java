@@ -0,0 +1,21 @@
+package org.eventbuddy.backend.repos;
+
+import org.eventbuddy.backend.models.booking.WaitlistEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface WaitlistRepository extends MongoRepository<WaitlistEntry, String>, WaitlistRepositoryCustom {
+
+    Optional<WaitlistEntry> findByEventIdAndUserId( String eventId, String userId );
+
+    // the head of the line, read from the eventId_position index in order
+    List<WaitlistEntry> findByEventIdOrderByPositionAsc( String eventId, Limit limit );
+
+    boolean existsByEventId( String eventId );
+
+    // a range of the eventId_position index
+    long countByEventIdAndPositionLessThan( String eventId, long position );
+}
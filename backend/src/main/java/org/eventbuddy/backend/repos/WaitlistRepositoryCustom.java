@@ -0,0 +1,29 @@
+package org.eventbuddy.backend.repos;
+
+import org.eventbuddy.backend.models.booking.WaitlistEntry;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface WaitlistRepositoryCustom {
+
+    /**
+     * Hands out the next position of the event's waitlist. The counter is incremented atomically and created with
+     * the first entry, so concurrent joins never share a position.
+     */
+    long nextPosition( String eventId );
+
+    /**
+     * Atomically removes the entry, so of concurrent promotions only one gets it.
+     *
+     * @return the removed entry, or empty if it was already removed
+     */
+    Optional<WaitlistEntry> claim( String entryId );
+
+    /**
+     * Deletes the waitlists of the given events together with their counters.
+     *
+     * @return the number of deleted entries
+     */
+    long deleteAllByEventIds( Collection<String> eventIds );
+}
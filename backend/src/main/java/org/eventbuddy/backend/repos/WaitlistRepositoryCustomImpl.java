@@ -0,0 +1,53 @@
+package org.eventbuddy.backend.repos;
+
+import org.eventbuddy.backend.models.booking.WaitlistCounter;
+import org.eventbuddy.backend.models.booking.WaitlistEntry;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.Optional;
+
+class WaitlistRepositoryCustomImpl implements WaitlistRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    WaitlistRepositoryCustomImpl( MongoTemplate mongoTemplate ) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public long nextPosition( String eventId ) {
+        WaitlistCounter counter = mongoTemplate.findAndModify(
+                Query.query( Criteria.where( "_id" ).is( eventId ) ),
+                new Update().inc( "tail", 1 ),
+                FindAndModifyOptions.options().returnNew( true ).upsert( true ),
+                WaitlistCounter.class
+        );
+
+        return counter.getTail();
+    }
+
+    @Override
+    public Optional<WaitlistEntry> claim( String entryId ) {
+        return Optional.ofNullable( mongoTemplate.findAndRemove(
+                Query.query( Criteria.where( "_id" ).is( entryId ) ), WaitlistEntry.class ) );
+    }
+
+    @Override
+    public long deleteAllByEventIds( Collection<String> eventIds ) {
+        if ( eventIds.isEmpty() ) {
+            return 0;
+        }
+
+        long deletedEntries = mongoTemplate.remove( Query.query( Criteria.where( "eventId" ).in( eventIds ) ),
+                WaitlistEntry.class ).getDeletedCount();
+
+        mongoTemplate.remove( Query.query( Criteria.where( "_id" ).in( eventIds ) ), WaitlistCounter.class );
+
+        return deletedEntries;
+    }
+}
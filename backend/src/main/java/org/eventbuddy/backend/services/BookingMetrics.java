@@ -0,0 +1,101 @@
+package org.eventbuddy.backend.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Outcomes of booking requests, scraped as {@code bookings_total{outcome="..."}}, including joins of the waitlist,
+ * bookings made from it and ticket holds. The tickets of successful bookings are counted on their own, so the
+ * throughput shows in bookings as well as in seats, and so are the holds that expired without a booking and the
+ * ticket leases reclaimed from instances gone without returning them.
+ */
+@Component
+public class BookingMetrics {
+
+    private final Counter booked;
+
+    private final Counter soldOut;
+
+    private final Counter duplicate;
+
+    private final Counter maxPerBookingExceeded;
+
+    private final Counter waitlisted;
+
+    private final Counter promoted;
+
+    private final Counter held;
+
+    private final Counter expiredHolds;
+
+    private final Counter reclaimedTicketLeases;
+
+    private final Counter bookedTickets;
+
+    public BookingMetrics( MeterRegistry meterRegistry ) {
+        this.booked = outcome( meterRegistry, "success" );
+        this.soldOut = outcome( meterRegistry, "sold_out" );
+        this.duplicate = outcome( meterRegistry, "duplicate" );
+        this.maxPerBookingExceeded = outcome( meterRegistry, "max_per_booking" );
+        this.waitlisted = outcome( meterRegistry, "waitlisted" );
+        this.promoted = outcome( meterRegistry, "promoted" );
+        this.held = outcome( meterRegistry, "held" );
+        this.expiredHolds = Counter.builder( "bookings.holds.expired" )
+                .description( "Ticket holds released by the sweeper" )
+                .register( meterRegistry );
+        this.reclaimedTicketLeases = Counter.builder( "bookings.ticket_leases.reclaimed" )
+                .description( "Ticket leases of instances gone without returning them, ended by another instance" )
+                .register( meterRegistry );
+        this.bookedTickets = Counter.builder( "bookings.tickets" )
+                .description( "Tickets of successful bookings" )
+                .register( meterRegistry );
+    }
+
+    public void booked( int numberOfTickets ) {
+        booked.increment();
+        bookedTickets.increment( numberOfTickets );
+    }
+
+    public void soldOut() {
+        soldOut.increment();
+    }
+
+    public void duplicate() {
+        duplicate.increment();
+    }
+
+    public void maxPerBookingExceeded() {
+        maxPerBookingExceeded.increment();
+    }
+
+    public void waitlisted() {
+        waitlisted.increment();
+    }
+
+    // booked from the waitlist, the tickets count like those of any other booking
+    public void promoted( int numberOfTickets ) {
+        promoted.increment();
+        bookedTickets.increment( numberOfTickets );
+    }
+
+    // confirming the hold counts as a successful booking
+    public void held() {
+        held.increment();
+    }
+
+    public void holdsExpired( int numberOfHolds ) {
+        expiredHolds.increment( numberOfHolds );
+    }
+
+    public void ticketLeaseReclaimed() {
+        reclaimedTicketLeases.increment();
+    }
+
+    private static Counter outcome( MeterRegistry meterRegistry, String outcome ) {
+        return Counter.builder( "bookings" )
+                .description( "Booking requests by outcome" )
+                .tag( "outcome", outcome )
+                .register( meterRegistry );
+    }
+}
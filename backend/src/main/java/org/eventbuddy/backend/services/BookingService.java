@@ -2,38 +2,60 @@ package org.eventbuddy.backend.services;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.eventbuddy.backend.enums.HoldStatus;
 import org.eventbuddy.backend.exceptions.ResourceNotFoundException;
+import org.eventbuddy.backend.exceptions.SoldOutException;
 import org.eventbuddy.backend.models.booking.Booking;
+import org.eventbuddy.backend.models.booking.BookingIdempotencyKey;
 import org.eventbuddy.backend.models.booking.BookingRequestDto;
 import org.eventbuddy.backend.models.booking.BookingResponseDto;
 import org.eventbuddy.backend.models.event.Event;
-import org.eventbuddy.backend.models.event.EventResponseDto;
-import org.eventbuddy.backend.models.organization.Organization;
-import org.eventbuddy.backend.models.organization.OrganizationResponseDto;
+import org.eventbuddy.backend.models.event.EventSummary;
+import org.eventbuddy.backend.models.event.TicketsChangedEvent;
+import org.eventbuddy.backend.repos.BookingIdempotencyKeyRepository;
 import org.eventbuddy.backend.repos.BookingRepository;
 import org.eventbuddy.backend.repos.EventRepository;
 import org.eventbuddy.backend.repos.OrganizationRepository;
+import org.eventbuddy.backend.repos.TicketHoldRepository;
 import org.eventbuddy.backend.repos.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.List;
-import java.util.Set;
+import java.util.Optional;
 
 @Slf4j
 @Service
 @AllArgsConstructor
 public class BookingService {
 
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    private static final String ALREADY_BOOKED_MESSAGE = "You cannot book the same event more than once.";
+
+    static final String ALREADY_HELD_MESSAGE = "You already hold tickets for this event. Confirm or release your hold first.";
+
+    private static final String BOOKING_IN_PROGRESS_MESSAGE = "A booking with this Idempotency-Key is still in progress.";
+
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final OrganizationRepository organizationRepository;
     private final BookingRepository bookingRepository;
+    private final DtoCacheService dtoCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingIdempotencyKeyRepository idempotencyKeyRepository;
+    private final BookingMetrics bookingMetrics;
+    private final WaitlistService waitlistService;
+    private final InMemoryInventoryService inMemoryInventory;
+    private final TicketLeaseService ticketLeases;
+    private final TicketHoldRepository holdRepository;
 
     // === GET Methods ===
 
     public List<BookingResponseDto> getBookingsByUser( String userId ) {
-        return bookingRepository.findAll().stream()
-                .filter( booking -> booking.getUserId().equals( userId ) )
+        return bookingRepository.findAllByUserId( userId ).stream()
                 .map( this::bookingToBookingResponseDto )
                 .toList();
     }
@@ -45,55 +67,103 @@ public class BookingService {
 
 
     // === POST Methods ===
-    public BookingResponseDto makeBooking( BookingRequestDto bookingRequestDto ) {
 
-        Event associatedEvent = eventRepository.findById( bookingRequestDto.eventId() ).orElseThrow( () ->
-                new ResourceNotFoundException( "Event not found with id: " + bookingRequestDto.eventId() ) );
-
-        checkIfUserHasBookedEvent( bookingRequestDto.userId(), bookingRequestDto.eventId() );
+    // a retried request with the same key gets the response of the first one instead of a second booking
+    public BookingResponseDto makeBooking( BookingRequestDto bookingRequestDto, String idempotencyKey ) {
+        if ( idempotencyKey == null ) {
+            return makeBooking( bookingRequestDto );
+        }
 
+        if ( idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH ) {
+            throw new IllegalArgumentException( "Idempotency-Key must contain 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters." );
+        }
 
-        boolean maxPerBookingExceeded = associatedEvent.getMaxPerBooking() != null &&
-                bookingRequestDto.numberOfTickets() > associatedEvent.getMaxPerBooking();
+        BookingIdempotencyKey claim = BookingIdempotencyKey.builder()
+                .id( BookingIdempotencyKey.idOf( bookingRequestDto.userId(), idempotencyKey ) )
+                .eventId( bookingRequestDto.eventId() )
+                .numberOfTickets( bookingRequestDto.numberOfTickets() )
+                .createdDate( Instant.now() )
+                .build();
 
-        if ( maxPerBookingExceeded ) {
-            throw new IllegalStateException( "You cannot book more than " + associatedEvent.getMaxPerBooking() + " tickets for this event." );
+        try {
+            idempotencyKeyRepository.insert( claim );
+        } catch ( DuplicateKeyException e ) {
+            return replayBooking( claim.getId(), bookingRequestDto );
         }
 
-        boolean hasLimitlessTickets = associatedEvent.getMaxTicketCapacity() == null;
-        boolean hasEnoughTickets = hasLimitlessTickets || associatedEvent.getFreeTicketCapacity() >= bookingRequestDto.numberOfTickets();
+        BookingResponseDto bookingResponseDto;
 
-        if ( !hasEnoughTickets ) {
-            throw new IllegalStateException( "Not enough tickets available for your booking. Tickets left: " + associatedEvent.getFreeTicketCapacity() );
+        try {
+            bookingResponseDto = makeBooking( bookingRequestDto );
+        } catch ( RuntimeException e ) {
+            // nothing was booked, the client may retry with the same key
+            idempotencyKeyRepository.deleteById( claim.getId() );
+            throw e;
         }
 
-        Event updatedEvent = associatedEvent.toBuilder()
-                .bookedTicketsCount( associatedEvent.getBookedTicketsCount() + bookingRequestDto.numberOfTickets() )
-                .build();
+        idempotencyKeyRepository.save( claim.toBuilder().response( bookingResponseDto ).build() );
 
-        // calculate and update free ticket capacity and isSoldOut/ticketAlarm flags
-        if ( !hasLimitlessTickets ) {
-            int updatedFreeTicketCapacity = associatedEvent.getFreeTicketCapacity() - bookingRequestDto.numberOfTickets();
+        return bookingResponseDto;
+    }
 
-            boolean isSoldOut = updatedFreeTicketCapacity == 0;
+    public BookingResponseDto makeBooking( BookingRequestDto bookingRequestDto ) {
+        Event associatedEvent = findBookableEvent( bookingRequestDto.eventId(), bookingRequestDto.userId(),
+                bookingRequestDto.numberOfTickets() );
 
-            boolean isTicketAlarm = ( ( double ) updatedFreeTicketCapacity / associatedEvent.getMaxTicketCapacity() ) <= 0.2;
+        // taken from the ticket lease of this instance if the event leases its tickets, without a write to the event
+        Optional<String> ticketLeaseId = ticketLeases.reserveTickets( associatedEvent, bookingRequestDto.numberOfTickets() );
 
-            updatedEvent = updatedEvent.toBuilder()
-                    .freeTicketCapacity( updatedFreeTicketCapacity )
-                    .ticketAlarm( isTicketAlarm )
-                    .isSoldOut( isSoldOut )
-                    .build();
+        Event updatedEvent = ticketLeaseId.isPresent()
+                ? associatedEvent
+                : takeTickets( associatedEvent, bookingRequestDto.numberOfTickets() );
 
-        }
+        Booking newBooking = requestToBookingMapper( bookingRequestDto, updatedEvent, ticketLeaseId.orElse( null ) );
+
+        return bookingToBookingResponseDto( saveReservedBooking( newBooking ) );
+    }
 
-        eventRepository.save( updatedEvent );
+    /**
+     * Runs the checks of a booking and takes its tickets off the event, for bookings made right away as well as
+     * for ticket holds confirmed later.
+     *
+     * @return the event with the tickets taken off
+     */
+    Event reserveTickets( String eventId, String userId, int numberOfTickets ) {
+        return takeTickets( findBookableEvent( eventId, userId, numberOfTickets ), numberOfTickets );
+    }
+
+    /**
+     * Saves a booking whose tickets are already reserved. When it cannot be saved, the tickets are given back,
+     * otherwise they would be lost for good.
+     */
+    Booking saveReservedBooking( Booking newBooking ) {
+        Booking savedBooking;
+
+        try {
+            savedBooking = bookingRepository.save( newBooking );
+        } catch ( RuntimeException e ) {
+            releaseTickets( newBooking.getEvent().getId(), newBooking.getTicketLeaseId(), newBooking.getNumberOfTickets() );
+
+            // a concurrent request of the same user booked the event first
+            if ( e instanceof DuplicateKeyException ) {
+                bookingMetrics.duplicate();
+                throw new IllegalStateException( ALREADY_BOOKED_MESSAGE );
+            }
+
+            throw e;
+        }
 
-        Booking newBooking = requestToBookingMapper( bookingRequestDto );
+        bookingMetrics.booked( savedBooking.getNumberOfTickets() );
 
-        Booking savedBooking = bookingRepository.save( newBooking );
+        return savedBooking;
+    }
 
-        return bookingToBookingResponseDto( savedBooking );
+    /**
+     * Gives tickets back to the event, of cancelled bookings as well as of released holds, and hands them to the
+     * head of its waitlist.
+     */
+    void releaseTickets( String eventId, int numberOfTickets ) {
+        releaseTickets( eventId, null, numberOfTickets );
     }
 
 
@@ -103,107 +173,146 @@ public class BookingService {
         Booking bookingToDelete = bookingRepository.findById( bookingId ).orElseThrow( () ->
                 new ResourceNotFoundException( "Booking not found with id: " + bookingId ) );
 
-        Event associatedEvent = bookingToDelete.getEvent();
+        // only the request that actually removed the booking may give its tickets back
+        if ( bookingRepository.removeById( bookingId ) == 0 ) {
+            return;
+        }
 
-        Event updatedEvent = associatedEvent.toBuilder()
-                .bookedTicketsCount( associatedEvent.getBookedTicketsCount() - bookingToDelete.getNumberOfTickets() )
-                .build();
+        releaseTickets( bookingToDelete.getEvent().getId(), bookingToDelete.getTicketLeaseId(), bookingToDelete.getNumberOfTickets() );
+    }
+
+    // === Helper Methods ===
+
+    private Event findBookableEvent( String eventId, String userId, int numberOfTickets ) {
+
+        // the free tickets of a sharded event are on its shards
+        Event associatedEvent = eventRepository.findWithTicketCountsById( eventId ).orElseThrow( () ->
+                new ResourceNotFoundException( "Event not found with id: " + eventId ) );
 
-        // calculate and update free ticket capacity
-        if ( associatedEvent.getMaxTicketCapacity() != null ) {
-            int updatedFreeTicketCapacity = associatedEvent.getFreeTicketCapacity() + bookingToDelete.getNumberOfTickets();
+        checkIfUserHasBookedEvent( userId, eventId );
 
-            boolean isSoldOut = updatedFreeTicketCapacity == 0;
+        // the tickets of an open hold are already taken, confirming it books them
+        if ( holdRepository.existsByUserIdAndEventIdAndStatus( userId, eventId, HoldStatus.HELD ) ) {
+            bookingMetrics.duplicate();
+            throw new IllegalStateException( ALREADY_HELD_MESSAGE );
+        }
 
-            boolean isTicketAlarm = ( ( double ) updatedFreeTicketCapacity / associatedEvent.getMaxTicketCapacity() ) <= 0.2;
+        boolean maxPerBookingExceeded = associatedEvent.getMaxPerBooking() != null &&
+                numberOfTickets > associatedEvent.getMaxPerBooking();
 
-            updatedEvent = updatedEvent.toBuilder()
-                    .freeTicketCapacity( updatedFreeTicketCapacity )
-                    .ticketAlarm( isTicketAlarm )
-                    .isSoldOut( isSoldOut )
-                    .build();
+        if ( maxPerBookingExceeded ) {
+            bookingMetrics.maxPerBookingExceeded();
+            throw new IllegalStateException( "You cannot book more than " + associatedEvent.getMaxPerBooking() + " tickets for this event." );
+        }
 
+        boolean hasLimitlessTickets = associatedEvent.getMaxTicketCapacity() == null;
+
+        // tickets released by cancellations belong to the waitlist, new bookings have to queue behind it
+        if ( !hasLimitlessTickets && waitlistService.hasWaitlist( associatedEvent.getId() ) ) {
+            bookingMetrics.soldOut();
+            throw new SoldOutException( "This event is sold out. Join its waitlist to get tickets released by cancellations." );
         }
 
-        eventRepository.save( updatedEvent );
+        // flash sales are counted in memory, the counters of their document lag behind
+        boolean countedInMemory = inMemoryInventory.manages( associatedEvent.getId() );
 
-        bookingRepository.deleteById( bookingId );
+        boolean hasEnoughTickets = hasLimitlessTickets || countedInMemory || associatedEvent.getFreeTicketCapacity() >= numberOfTickets;
+
+        // fail fast without a write when the event is already known to be sold out
+        if ( !hasEnoughTickets ) {
+            bookingMetrics.soldOut();
+            throw new SoldOutException( "Not enough tickets available for your booking. Tickets left: " + associatedEvent.getFreeTicketCapacity() );
+        }
+
+        return associatedEvent;
     }
 
-    // === Helper Methods ===
+    private Event takeTickets( Event associatedEvent, int numberOfTickets ) {
+        boolean countedInMemory = inMemoryInventory.manages( associatedEvent.getId() );
+
+        // capacity check and counter update happen in one conditional update on the database, or under the lock of
+        // the event in memory
+        Optional<Event> reservedEvent = countedInMemory
+                ? inMemoryInventory.reserveTickets( associatedEvent, numberOfTickets )
+                : eventRepository.reserveTickets( associatedEvent, numberOfTickets );
 
-    private Booking requestToBookingMapper( BookingRequestDto bookingRequestDto ) {
+        Event updatedEvent = reservedEvent
+                .orElseThrow( () -> {
+                    bookingMetrics.soldOut();
+                    return new SoldOutException( "Not enough tickets available for your booking. The remaining tickets have just been booked by others." );
+                } );
 
-        Event associatedEvent = eventRepository.findById( bookingRequestDto.eventId() ).orElseThrow( () ->
-                new ResourceNotFoundException( "Event not found with id: " + bookingRequestDto.eventId() ) );
+        // the cached event shows the booked tickets count
+        dtoCache.evictEvent( updatedEvent.getId() );
+        eventPublisher.publishEvent( new TicketsChangedEvent( updatedEvent.getId() ) );
+
+        return updatedEvent;
+    }
+
+    // tickets booked from a lease count as booked from it until it is settled, their release is counted on the lease
+    private void releaseTickets( String eventId, String ticketLeaseId, int numberOfTickets ) {
+        if ( inMemoryInventory.manages( eventId ) ) {
+            inMemoryInventory.releaseTickets( eventId, numberOfTickets );
+        } else if ( ticketLeaseId == null || eventRepository.releaseLeasedTickets( eventId, ticketLeaseId, numberOfTickets ).isEmpty() ) {
+            eventRepository.releaseTickets( eventId, numberOfTickets );
+        }
 
+        dtoCache.evictEvent( eventId );
+        eventPublisher.publishEvent( new TicketsChangedEvent( eventId ) );
+
+        waitlistService.promote( eventId );
+    }
+
+    private Booking requestToBookingMapper( BookingRequestDto bookingRequestDto, Event associatedEvent, String ticketLeaseId ) {
         return Booking.builder()
                 .name( bookingRequestDto.name() )
                 .numberOfTickets( bookingRequestDto.numberOfTickets() )
                 .event( associatedEvent )
                 .userId( bookingRequestDto.userId() )
+                .ticketLeaseId( ticketLeaseId )
                 .build();
     }
 
     public void checkIfUserHasBookedEvent( String userId, String eventId ) {
 
-        List<Booking> allBookings = bookingRepository.findAll();
-
-        if ( allBookings.isEmpty() ) {
-            return;
-        }
-
-        List<Booking> userBookings = allBookings.stream()
-                .filter( booking -> booking.getUserId().equals( userId ) )
-                .filter( booking -> booking.getEvent().getId().equals( eventId ) )
-                .toList();
+        Event eventReference = Event.builder()
+                .id( eventId )
+                .build();
 
-        if ( !userBookings.isEmpty() ) {
-            throw new IllegalStateException( "You cannot book the same event more than once." );
+        if ( bookingRepository.existsByUserIdAndEvent( userId, eventReference ) ) {
+            bookingMetrics.duplicate();
+            throw new IllegalStateException( ALREADY_BOOKED_MESSAGE );
         }
     }
 
-    private BookingResponseDto bookingToBookingResponseDto( Booking booking ) {
-
-        Organization associatedOrganization = booking.getEvent().getEventOrganization();
+    private BookingResponseDto replayBooking( String idempotencyKeyId, BookingRequestDto bookingRequestDto ) {
+        // gone when the first request failed in the meantime or the key expired, the client retries then
+        BookingIdempotencyKey storedKey = idempotencyKeyRepository.findById( idempotencyKeyId )
+                .orElseThrow( () -> new IllegalStateException( BOOKING_IN_PROGRESS_MESSAGE ) );
 
-        Event associatedEvent = booking.getEvent();
+        if ( !storedKey.matches( bookingRequestDto ) ) {
+            throw new IllegalArgumentException( "The Idempotency-Key was already used for a different booking." );
+        }
 
-        OrganizationResponseDto organizationResponseDto = OrganizationResponseDto.builder()
-                .name( associatedOrganization.getName() )
-                .id( associatedOrganization.getId() )
-                .slug( associatedOrganization.getSlug() )
-                .owners( Set.of() )
-                .description( associatedOrganization.getDescription() )
-                .website( associatedOrganization.getWebsite() )
-                .imageId( associatedOrganization.getImageId() )
-                .location( associatedOrganization.getLocation() )
-                .contact( associatedOrganization.getContact() )
-                .build();
+        if ( storedKey.getResponse() == null ) {
+            throw new IllegalStateException( BOOKING_IN_PROGRESS_MESSAGE );
+        }
 
+        return storedKey.getResponse();
+    }
 
-        EventResponseDto eventResponseDto = EventResponseDto.builder()
-                .id( associatedEvent.getId() )
-                .eventOrganization( organizationResponseDto )
-                .title( associatedEvent.getTitle() )
-                .description( associatedEvent.getDescription() )
-                .location( associatedEvent.getLocation() )
-                .eventDateTime( associatedEvent.getEventDateTime() )
-                .imageId( associatedEvent.getImageId() )
-                .price( associatedEvent.getPrice() )
-                .bookedTicketsCount( associatedEvent.getBookedTicketsCount() )
-                .ticketAlarm( associatedEvent.getTicketAlarm() )
-                .isSoldOut( associatedEvent.getIsSoldOut() )
-                .maxPerBooking( associatedEvent.getMaxPerBooking() )
-                .build();
+    // bookings saved before the summary existed resolve their event until the backfill reached them
+    BookingResponseDto bookingToBookingResponseDto( Booking booking ) {
+        EventSummary eventSummary = booking.getEventSummary() != null
+                ? booking.getEventSummary()
+                : EventSummary.of( booking.getEvent() );
 
         return BookingResponseDto.builder()
-                .hostingEvent( eventResponseDto )
+                .hostingEvent( eventSummary )
                 .name( booking.getName() )
                 .bookingId( booking.getId() )
                 .numberOfTickets( booking.getNumberOfTickets() )
                 .build();
     }
 
-
 }
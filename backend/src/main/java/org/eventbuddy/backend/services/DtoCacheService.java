@@ -0,0 +1,187 @@
+package org.eventbuddy.backend.services;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.eventbuddy.backend.models.app_user.AppUserDto;
+import org.eventbuddy.backend.models.cache.CacheStatsDto;
+import org.eventbuddy.backend.models.event.EventResponseDto;
+import org.eventbuddy.backend.models.organization.OrganizationResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Read-through caches in front of the most requested single dtos: events by id, organizations by slug and
+ * users by id. Caffeine keeps the entries worth keeping (W-TinyLFU) within a fixed number of entries per cache.
+ * <p>
+ * The dtos embed data of other documents (events their organization and its owners, users their organizations
+ * and their co-owners), so every write evicts the changed document and all cached dtos containing it. Those are
+ * found by looking into the cached dtos themselves, no extra query is needed. The expiry only catches writes
+ * bypassing the services, e.g. from another instance.
+ */
+@Service
+public class DtoCacheService {
+
+    private final DtoCache<String, EventResponseDto> events;
+
+    private final DtoCache<String, OrganizationResponseDto> organizations;
+
+    private final DtoCache<String, AppUserDto> users;
+
+    public DtoCacheService( @Value("${cache.dto.maximum-size:10000}") long maximumSize,
+                            @Value("${cache.dto.expire-after-write:10m}") Duration expireAfterWrite ) {
+        this.events = new DtoCache<>( "events", maximumSize, expireAfterWrite );
+        this.organizations = new DtoCache<>( "organizations", maximumSize, expireAfterWrite );
+        this.users = new DtoCache<>( "users", maximumSize, expireAfterWrite );
+    }
+
+    // === Reads ===
+
+    public EventResponseDto getEvent( String eventId, Supplier<EventResponseDto> loader ) {
+        return events.get( eventId, loader );
+    }
+
+    public OrganizationResponseDto getOrganizationBySlug( String slug, Supplier<OrganizationResponseDto> loader ) {
+        return organizations.get( slug, loader );
+    }
+
+    public AppUserDto getUser( String userId, Supplier<AppUserDto> loader ) {
+        return users.get( userId, loader );
+    }
+
+    // === Evictions, called after the write ===
+
+    public void evictEvent( String eventId ) {
+        events.evict( eventId );
+    }
+
+    // organizations are cached by slug, so they are matched by id, which also covers a changed slug
+    public void evictOrganization( String organizationId ) {
+        organizations.evictIf( organization -> organizationId.equals( organization.id() ) );
+        events.evictIf( event -> event.eventOrganization() != null && organizationId.equals( event.eventOrganization().id() ) );
+        users.evictIf( user -> containsOrganization( user.organizations(), organizationId ) );
+    }
+
+    public void evictUser( String userId ) {
+        users.evict( userId );
+        organizations.evictIf( organization -> containsUser( organization.owners(), userId ) );
+        events.evictIf( event -> event.eventOrganization() != null && containsUser( event.eventOrganization().owners(), userId ) );
+        // co-owners list the user as owner of their organizations
+        users.evictIf( user -> user.organizations() != null && user.organizations().stream()
+                .anyMatch( organization -> containsUser( organization.owners(), userId ) ) );
+    }
+
+    public void evictAll() {
+        events.evictAll();
+        organizations.evictAll();
+        users.evictAll();
+    }
+
+    public List<CacheStatsDto> getStats() {
+        return List.of( events.stats(), organizations.stats(), users.stats() );
+    }
+
+    private static boolean containsOrganization( Collection<OrganizationResponseDto> organizations, String organizationId ) {
+        return organizations != null && organizations.stream()
+                .anyMatch( organization -> organizationId.equals( organization.id() ) );
+    }
+
+    private static boolean containsUser( Collection<AppUserDto> users, String userId ) {
+        return users != null && users.stream()
+                .anyMatch( user -> Objects.equals( userId, user.id() ) );
+    }
+
+    private static class DtoCache<K, V> {
+
+        private final String name;
+
+        // every entry, loads still running included
+        private final AsyncCache<K, V> loads;
+
+        // view of the completed entries, loads still running are skipped
+        private final Cache<K, V> cache;
+
+        // Caffeine only counts entries it drops itself
+        private final LongAdder invalidations = new LongAdder();
+
+        DtoCache( String name, long maximumSize, Duration expireAfterWrite ) {
+            this.name = name;
+            this.loads = Caffeine.newBuilder()
+                    .maximumSize( maximumSize )
+                    .expireAfterWrite( expireAfterWrite )
+                    .recordStats()
+                    .buildAsync();
+            this.cache = loads.synchronous();
+        }
+
+        // concurrent misses of the same key load it once, exceptions like a 404 are not cached.
+        // The map only holds the lock to insert the pending future, the query runs outside of it on the first
+        // caller's thread, so a virtual thread blocking on Mongo does not pin its carrier.
+        V get( K key, Supplier<V> loader ) {
+            CompletableFuture<V> load = new CompletableFuture<>();
+            CompletableFuture<V> entry = loads.get( key, ( ignored, executor ) -> load );
+
+            if ( entry == load ) {
+                try {
+                    load.complete( loader.get() );
+                } catch ( Throwable e ) {
+                    // waiting callers would hang on a future that is never completed
+                    load.completeExceptionally( e );
+                    throw e;
+                }
+            }
+
+            try {
+                return entry.join();
+            } catch ( CompletionException e ) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        // a load still running may have read the document before the write, it is dropped as well
+        void evict( K key ) {
+            if ( loads.asMap().remove( key ) != null ) {
+                invalidations.increment();
+            }
+        }
+
+        // loads still running are checked once they complete, only the exact future checked is removed
+        void evictIf( Predicate<V> containsChange ) {
+            loads.asMap().forEach( ( key, entry ) -> entry.thenAccept( value -> {
+                if ( value != null && containsChange.test( value ) && loads.asMap().remove( key, entry ) ) {
+                    invalidations.increment();
+                }
+            } ) );
+        }
+
+        void evictAll() {
+            invalidations.add( cache.estimatedSize() );
+            cache.invalidateAll();
+        }
+
+        CacheStatsDto stats() {
+            CacheStats stats = cache.stats();
+
+            return CacheStatsDto.builder()
+                    .name( name )
+                    .size( cache.estimatedSize() )
+                    .hitCount( stats.hitCount() )
+                    .missCount( stats.missCount() )
+                    .hitRate( stats.hitRate() )
+                    .evictionCount( stats.evictionCount() )
+                    .invalidationCount( invalidations.sum() )
+                    .build();
+        }
+    }
+}
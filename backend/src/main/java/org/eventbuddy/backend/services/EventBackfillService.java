@@ -0,0 +1,174 @@
+package org.eventbuddy.backend.services;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.eventbuddy.backend.models.booking.Booking;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventSummary;
+import org.eventbuddy.backend.models.organization.Location;
+import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.models.organization.OrganizationSummary;
+import org.eventbuddy.backend.repos.BookingRepository;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Fills the derived fields of events saved before they existed: the GeoJSON position behind the nearby search
+ * and the organization summary shown by listings and behind the text search, as well as the event summary of
+ * bookings. Runs on startup and only looks at documents still missing a value, so it can be resumed and is
+ * down to a few empty queries once every document is migrated. Summary changes the propagation had pending on
+ * shutdown are resumed by the propagation itself.
+ */
+@Slf4j
+@Service
+@AllArgsConstructor
+@ConditionalOnProperty(name = "event.backfill.enabled", havingValue = "true", matchIfMissing = true)
+public class EventBackfillService implements ApplicationRunner {
+
+    static final int BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final EventRepository eventRepo;
+
+    private final BookingRepository bookingRepo;
+
+    @Override
+    public void run( ApplicationArguments args ) {
+        backfillPositions();
+        // event summaries embed the organization summary, so those come first
+        backfillOrganizationSummaries();
+        backfillEventSummaries();
+    }
+
+    public int backfillPositions() {
+        Query query = Query.query( where( "position" ).exists( false )
+                .and( "location.latitude" ).ne( null )
+                .and( "location.longitude" ).ne( null ) );
+
+        query.fields().include( "location.latitude", "location.longitude" );
+
+        int updatedEvents = 0;
+        int batchedEvents = 0;
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps( BulkOperations.BulkMode.UNORDERED, Event.class );
+
+        // streamed with a cursor, the updates go out in unordered batches instead of one round trip per event
+        try ( Stream<Document> events = mongoTemplate.stream( query, Document.class, mongoTemplate.getCollectionName( Event.class ) ) ) {
+            for ( Document event : ( Iterable<Document> ) events::iterator ) {
+                Document location = event.get( "location", Document.class );
+
+                GeoJsonPoint position = Location.builder()
+                        .latitude( toDouble( location.get( "latitude" ) ) )
+                        .longitude( toDouble( location.get( "longitude" ) ) )
+                        .build()
+                        .toGeoJsonPoint();
+
+                // out of range coordinates can't be indexed, those events stay without position
+                if ( position == null ) {
+                    continue;
+                }
+
+                bulkOps.updateOne( Query.query( where( "_id" ).is( event.get( "_id" ) ) ), Update.update( "position", position ) );
+                batchedEvents++;
+
+                if ( batchedEvents == BATCH_SIZE ) {
+                    updatedEvents += bulkOps.execute().getModifiedCount();
+                    bulkOps = mongoTemplate.bulkOps( BulkOperations.BulkMode.UNORDERED, Event.class );
+                    batchedEvents = 0;
+                }
+            }
+        }
+
+        if ( batchedEvents > 0 ) {
+            updatedEvents += bulkOps.execute().getModifiedCount();
+        }
+
+        if ( updatedEvents > 0 ) {
+            log.info( "Set the position of {} events from their location", updatedEvents );
+        }
+
+        return updatedEvents;
+    }
+
+    // one update per organization with events still missing its summary
+    public long backfillOrganizationSummaries() {
+        List<String> organizationIds = findDistinctIds( Event.class, "eventOrganization",
+                where( "organizationSummary" ).exists( false ) );
+
+        if ( organizationIds.isEmpty() ) {
+            return 0;
+        }
+
+        Query query = Query.query( where( "_id" ).in( organizationIds ) );
+        query.fields().include( "name", "slug", "imageId", "location" );
+
+        long updatedEvents = 0;
+
+        try ( Stream<Organization> organizations = mongoTemplate.stream( query, Organization.class ) ) {
+            for ( Organization organization : ( Iterable<Organization> ) organizations::iterator ) {
+                updatedEvents += eventRepo.updateOrganizationSummary( OrganizationSummary.of( organization ) );
+            }
+        }
+
+        if ( updatedEvents > 0 ) {
+            log.info( "Set the organization summary of {} events", updatedEvents );
+        }
+
+        return updatedEvents;
+    }
+
+    // one bulk write per batch of events with bookings still missing their summary
+    public long backfillEventSummaries() {
+        List<String> eventIds = findDistinctIds( Booking.class, "event", where( "eventSummary" ).exists( false ) );
+
+        long updatedBookings = 0;
+
+        for ( int from = 0; from < eventIds.size(); from += BATCH_SIZE ) {
+            List<String> batchIds = eventIds.subList( from, Math.min( from + BATCH_SIZE, eventIds.size() ) );
+
+            // events still without an organization summary have none to embed yet
+            List<EventSummary> batch = eventRepo.findSummaryFieldsByIds( batchIds ).stream()
+                    .filter( event -> event.getOrganizationSummary() != null )
+                    .map( EventSummary::of )
+                    .toList();
+
+            updatedBookings += bookingRepo.updateEventSummaries( batch );
+        }
+
+        if ( updatedBookings > 0 ) {
+            log.info( "Set the event summary of {} bookings", updatedBookings );
+        }
+
+        return updatedBookings;
+    }
+
+    // read raw, mapping the referenced ids to the entity class would resolve the references
+    private List<String> findDistinctIds( Class<?> entityClass, String field, Criteria criteria ) {
+        return mongoTemplate.getCollection( mongoTemplate.getCollectionName( entityClass ) )
+                .distinct( field, criteria.getCriteriaObject(), BsonValue.class )
+                .map( id -> id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue() )
+                .into( new ArrayList<>() );
+    }
+
+    private static Double toDouble( Object coordinate ) {
+        return coordinate instanceof Number number ? number.doubleValue() : null;
+    }
+}
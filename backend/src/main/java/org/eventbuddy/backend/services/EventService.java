@@ -3,18 +3,37 @@ package org.eventbuddy.backend.services;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.eventbuddy.backend.configs.InventoryShardingConfig;
+import org.eventbuddy.backend.enums.EventTimeFilter;
 import org.eventbuddy.backend.exceptions.ResourceNotFoundException;
 import org.eventbuddy.backend.models.app_user.AppUser;
 import org.eventbuddy.backend.models.app_user.AppUserDto;
 import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventCardDto;
+import org.eventbuddy.backend.models.event.EventCursor;
+import org.eventbuddy.backend.models.event.EventPageDto;
 import org.eventbuddy.backend.models.event.EventRequestDto;
 import org.eventbuddy.backend.models.event.EventResponseDto;
+import org.eventbuddy.backend.models.event.EventSearchPageDto;
+import org.eventbuddy.backend.models.event.EventSummary;
+import org.eventbuddy.backend.models.event.EventSummaryChangedEvent;
+import org.eventbuddy.backend.models.event.NearbyEventCursor;
+import org.eventbuddy.backend.models.event.NearbyEventDto;
+import org.eventbuddy.backend.models.event.NearbyEventPageDto;
+import org.eventbuddy.backend.models.event.TicketsChangedEvent;
 import org.eventbuddy.backend.models.organization.Organization;
 import org.eventbuddy.backend.models.organization.OrganizationResponseDto;
 import org.eventbuddy.backend.repos.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -23,64 +42,198 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 public class EventService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public static final double DEFAULT_RADIUS_KM = 25;
+
+    public static final double MAX_RADIUS_KM = 500;
+
+    // text search pages by offset, deeper pages would have MongoDB skip ever more ranked matches
+    public static final int MAX_SEARCH_RESULTS = 1000;
+
+    public static final int MAX_SEARCH_TEXT_LENGTH = 100;
+
     private final EventRepository eventRepo;
 
     private final OrganizationRepository orgaRepo;
 
     private final UserRepository userRepo;
 
-    private final ImageRepository imageRepo;
+    private final ImageStore imageStore;
 
     private final BookingRepository bookingRepo;
+
+    private final WaitlistRepository waitlistRepo;
+
+    private final WaitlistService waitlistService;
+
+    private final InventoryShardRepository inventoryShardRepo;
+
+    private final InventoryShardingConfig inventoryShardingConfig;
+
+    private final InMemoryInventoryService inMemoryInventory;
+
+    private final DtoCacheService dtoCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     // === GET ===
 
 
-    public List<EventResponseDto> getAllEvents() {
-        List<Event> allEvents = eventRepo.findAll();
+    public EventPageDto getEventPage( EventTimeFilter timeFilter, String cursor, int size ) {
+        if ( size < 1 ) {
+            throw new IllegalArgumentException( "Page size must be at least 1" );
+        }
+
+        int pageSize = Math.min( size, MAX_PAGE_SIZE );
 
-        return allEvents.stream()
-                .map( this::eventToEventResponseDtoMapper )
-                .toList();
+        EventCursor after = cursor == null || cursor.isBlank() ? null : EventCursor.decode( cursor, timeFilter );
+
+        // one extra event tells whether there is a following page
+        List<Event> events = eventRepo.findPageWithOrganizations( timeFilter, Instant.now(), after, pageSize + 1 );
+
+        boolean hasNext = events.size() > pageSize;
+
+        List<Event> pageEvents = hasNext ? events.subList( 0, pageSize ) : events;
+
+        return EventPageDto.builder()
+                .events( eventsToEventCardDtosMapper( pageEvents ) )
+                .nextCursor( hasNext ? EventCursor.of( timeFilter, pageEvents.getLast() ).encode() : null )
+                .hasNext( hasNext )
+                .build();
+    }
+
+    public NearbyEventPageDto getNearbyEventPage( double latitude, double longitude, double radiusKm,
+                                                  Instant from, Instant to, String cursor, int size ) {
+        if ( size < 1 ) {
+            throw new IllegalArgumentException( "Page size must be at least 1" );
+        }
+
+        if ( Math.abs( latitude ) > 90 || Math.abs( longitude ) > 180 ) {
+            throw new IllegalArgumentException( "Latitude must be within ±90 and longitude within ±180 degrees" );
+        }
+
+        if ( !( radiusKm > 0 && radiusKm <= MAX_RADIUS_KM ) ) {
+            throw new IllegalArgumentException( "Radius must be greater than 0 and at most " + MAX_RADIUS_KM + " km" );
+        }
+
+        int pageSize = Math.min( size, MAX_PAGE_SIZE );
+
+        NearbyEventCursor after = cursor == null || cursor.isBlank()
+                ? null
+                : NearbyEventCursor.decode( cursor, latitude, longitude, radiusKm, from, to );
+
+        // the first page pins the window, so later pages don't drop events that started in between
+        Instant windowStart = after != null ? after.from() : from != null ? from : Instant.now();
+        Instant windowEnd = after != null ? after.to() : to;
+
+        if ( windowEnd != null && !windowEnd.isAfter( windowStart ) ) {
+            throw new IllegalArgumentException( "End of the date window must be after its start" );
+        }
+
+        // one extra event tells whether there is a following page
+        List<GeoResult<Event>> results = eventRepo.findNearWithOrganizations( new GeoJsonPoint( longitude, latitude ),
+                radiusKm * 1000, windowStart, windowEnd, after, pageSize + 1 );
+
+        boolean hasNext = results.size() > pageSize;
+
+        List<GeoResult<Event>> pageResults = hasNext ? results.subList( 0, pageSize ) : results;
+
+        List<EventCardDto> eventDtos = eventsToEventCardDtosMapper( pageResults.stream().map( GeoResult::getContent ).toList() );
+
+        List<NearbyEventDto> nearbyEvents = new ArrayList<>( pageResults.size() );
+
+        for ( int i = 0; i < pageResults.size(); i++ ) {
+            nearbyEvents.add( new NearbyEventDto( eventDtos.get( i ), pageResults.get( i ).getDistance().getValue() / 1000 ) );
+        }
+
+        return NearbyEventPageDto.builder()
+                .events( nearbyEvents )
+                .nextCursor( hasNext
+                        ? nextNearbyCursor( latitude, longitude, radiusKm, windowStart, windowEnd, after, pageResults ).encode()
+                        : null )
+                .hasNext( hasNext )
+                .build();
+    }
+
+    public EventSearchPageDto searchEvents( String text, EventTimeFilter timeFilter, String city, String organizationId,
+                                            int page, int size ) {
+        if ( text == null || text.isBlank() ) {
+            throw new IllegalArgumentException( "Search text must not be blank" );
+        }
+
+        if ( text.length() > MAX_SEARCH_TEXT_LENGTH ) {
+            throw new IllegalArgumentException( "Search text must be at most " + MAX_SEARCH_TEXT_LENGTH + " characters" );
+        }
+
+        if ( size < 1 ) {
+            throw new IllegalArgumentException( "Page size must be at least 1" );
+        }
+
+        int pageSize = Math.min( size, MAX_PAGE_SIZE );
+        long skip = ( long ) page * pageSize;
+
+        if ( page < 0 || skip >= MAX_SEARCH_RESULTS ) {
+            throw new IllegalArgumentException( "Only the first " + MAX_SEARCH_RESULTS + " matches can be paged, refine the search" );
+        }
+
+        int pageLimit = ( int ) Math.min( pageSize, MAX_SEARCH_RESULTS - skip );
+
+        // one extra event tells whether there is a following page
+        List<Event> events = eventRepo.searchWithOrganizations( text.strip(), timeFilter, Instant.now(),
+                blankToNull( city ), blankToNull( organizationId ), ( int ) skip, pageLimit + 1 );
+
+        boolean hasNext = events.size() > pageLimit && skip + pageLimit < MAX_SEARCH_RESULTS;
+
+        List<Event> pageEvents = events.size() > pageLimit ? events.subList( 0, pageLimit ) : events;
+
+        return EventSearchPageDto.builder()
+                .events( eventsToEventCardDtosMapper( pageEvents ) )
+                .page( page )
+                .hasNext( hasNext )
+                .build();
     }
 
     public EventResponseDto getEventById( String eventId ) {
-        Event event = eventRepo.findById( eventId ).orElseThrow(
-                () -> new ResourceNotFoundException( "Event not found with id: " + eventId )
-        );
+        return dtoCache.getEvent( eventId, () -> {
+            Event event = eventRepo.findWithTicketCountsById( eventId ).orElseThrow(
+                    () -> new ResourceNotFoundException( "Event not found with id: " + eventId )
+            );
 
-        return eventToEventResponseDtoMapper( event );
+            return eventToEventResponseDtoMapper( event );
+        } );
     }
 
     public Event getRawEventById( String eventId ) {
-        return eventRepo.findById( eventId ).orElseThrow(
+        return eventRepo.findWithTicketCountsById( eventId ).orElseThrow(
                 () -> new ResourceNotFoundException( "Event not found with id: " + eventId )
         );
     }
 
-    public List<EventResponseDto> getEventsByOrganizationId( String organizationId ) {
-        List<Event> events = eventRepo.findAll();
-
-        List<Event> filteredEvents = events.stream()
-                .filter( event -> event.getEventOrganization().getId().equals( organizationId ) )
-                .toList();
+    public List<EventCardDto> getEventsByOrganizationId( String organizationId ) {
+        List<Event> organizationEvents = eventRepo.findAllWithOrganizationsByOrganizationIds( List.of( organizationId ) );
 
-        return filteredEvents.stream()
-                .map( this::eventToEventResponseDtoMapper )
-                .toList();
+        return eventsToEventCardDtosMapper( organizationEvents );
     }
 
     // === POST ===
 
-    public List<EventResponseDto> getEventByUserId( String userId ) {
-        List<Event> events = eventRepo.findAll();
+    public List<EventCardDto> getEventByUserId( String userId ) {
+        List<Organization> ownedOrganizations = orgaRepo.findAllByOwnersContaining( userId );
 
-        List<Event> filteredEvents = events.stream()
-                .filter( event -> event.getEventOrganization().getOwners().contains( userId ) )
-                .toList();
+        if ( ownedOrganizations.isEmpty() ) {
+            return List.of();
+        }
 
-        return filteredEvents.stream()
-                .map( this::eventToEventResponseDtoMapper )
+        List<String> ownedOrganizationIds = ownedOrganizations.stream()
+                .map( Organization::getId )
                 .toList();
+
+        List<Event> ownedEvents = eventRepo.findAllWithOrganizationsByOrganizationIds( ownedOrganizationIds );
+
+        return eventsToEventCardDtosMapper( ownedEvents );
     }
 
     // === PUT ===
@@ -94,11 +247,20 @@ public class EventService {
                     .build();
         }
 
-        return eventRepo.save( mappedEvent );
+        Event savedEvent = eventRepo.save( mappedEvent );
+
+        if ( savedEvent.getInventoryShards() != null ) {
+            createInventoryShards( savedEvent );
+        }
+
+        inMemoryInventory.register( savedEvent );
+
+        return savedEvent;
     }
 
     public Event updateEvent( String eventId, @Valid EventRequestDto updateEventData ) {
-        Event existingEvent = eventRepo.findById( eventId ).orElseThrow( () ->
+        // the capacity is checked against the booked tickets, those of a sharded event are on its shards
+        Event existingEvent = eventRepo.findWithTicketCountsById( eventId ).orElseThrow( () ->
                 new ResourceNotFoundException( "Event not found with id:" + eventId )
         );
 
@@ -106,23 +268,53 @@ public class EventService {
                 () -> new ResourceNotFoundException( "Organization not found with id: " + updateEventData.organizationId() )
         );
 
-        Integer currentFreeTickets = getCurrentFreeTickets( updateEventData, existingEvent );
+        // the capacity goes first, it is the only part of the update that can be refused
+        Event countedInMemory = inMemoryInventory.manages( eventId )
+                ? inMemoryInventory.changeCapacity( existingEvent, updateEventData.maxTicketCapacity() )
+                : null;
 
+        if ( countedInMemory == null ) {
+            changeTicketCapacity( existingEvent, updateEventData.maxTicketCapacity() );
+        }
 
-        Event updatedEvent = existingEvent.toBuilder()
+        // only the edited fields are written, saving the event as read would undo the bookings made since
+        Event savedEvent = eventRepo.updateDetails( existingEvent.toBuilder()
                 .eventOrganization( organization )
                 .title( updateEventData.title() )
                 .description( updateEventData.description() )
                 .eventDateTime( updateEventData.eventDateTime() )
                 .location( updateEventData.location() )
                 .price( updateEventData.price() )
-                .maxTicketCapacity( updateEventData.maxTicketCapacity() )
-                .freeTicketCapacity( currentFreeTickets )
                 .maxPerBooking( updateEventData.maxPerBooking() )
-                .build();
+                .build()
+        ).orElseThrow( () -> new ResourceNotFoundException( "Event not found with id:" + eventId ) );
+
+        // the counters in memory are ahead of the document, which gets the new capacity with the next flush
+        if ( countedInMemory != null ) {
+            savedEvent = savedEvent.toBuilder()
+                    .maxTicketCapacity( countedInMemory.getMaxTicketCapacity() )
+                    .freeTicketCapacity( countedInMemory.getFreeTicketCapacity() )
+                    .bookedTicketsCount( countedInMemory.getBookedTicketsCount() )
+                    .isSoldOut( countedInMemory.getIsSoldOut() )
+                    .inventoryLogCheckpoint( countedInMemory.getInventoryLogCheckpoint() )
+                    .build();
+        }
+
+        dtoCache.evictEvent( eventId );
+        eventPublisher.publishEvent( new TicketsChangedEvent( eventId ) );
+
+        // bookings carry a summary of the event, the propagation brings them up to date
+        if ( !EventSummary.of( existingEvent ).equals( EventSummary.of( savedEvent ) ) ) {
+            eventPublisher.publishEvent( new EventSummaryChangedEvent( eventId ) );
+        }
 
+        // the tickets added by a higher or removed capacity go to the waitlist first, like the tickets of a cancellation
+        if ( existingEvent.getMaxTicketCapacity() != null && ( updateEventData.maxTicketCapacity() == null
+                || updateEventData.maxTicketCapacity() > existingEvent.getMaxTicketCapacity() ) ) {
+            waitlistService.promote( eventId );
+        }
 
-        return eventRepo.save( updatedEvent );
+        return savedEvent;
     }
 
     // === DELETE ===
@@ -133,36 +325,120 @@ public class EventService {
         );
 
         if ( existingEvent.getImageId() != null ) {
-            imageRepo.deleteById( existingEvent.getImageId() );
+            imageStore.deleteById( existingEvent.getImageId() );
         }
 
         bookingRepo.deleteAllByEvent( existingEvent );
 
+        waitlistRepo.deleteAllByEventIds( List.of( eventId ) );
+
+        if ( existingEvent.getInventoryShards() != null ) {
+            inventoryShardRepo.deleteAllByEventIds( List.of( eventId ) );
+        }
+
+        inMemoryInventory.remove( eventId );
+
         eventRepo.delete( existingEvent );
+
+        dtoCache.evictEvent( eventId );
+        // ends the availability streams of the event
+        eventPublisher.publishEvent( new TicketsChangedEvent( eventId ) );
     }
 
     // === Mappers & Helpers ===
 
 
-    private Integer getCurrentFreeTickets( EventRequestDto updateEventData, Event existingEvent ) {
+    // checks the new capacity against the counters as read to fail fast, the update checks it again atomically
+    private void changeTicketCapacity( Event existingEvent, Integer maxTicketCapacity ) {
+        if ( Objects.equals( maxTicketCapacity, existingEvent.getMaxTicketCapacity() ) ) {
+            return;
+        }
+
+        checkTicketCapacity( existingEvent, maxTicketCapacity );
 
-        if ( updateEventData.maxTicketCapacity() == null ) {
-            return null;
+        if ( existingEvent.getInventoryShards() != null ) {
+            changeShardedCapacity( existingEvent, maxTicketCapacity );
         }
 
-        boolean withNewMaxCapacity = !updateEventData.maxTicketCapacity().equals( existingEvent.getMaxTicketCapacity() );
+        if ( eventRepo.changeTicketCapacity( existingEvent, maxTicketCapacity ).isEmpty() ) {
+            // the shards follow the capacity of the document, which another update changed meanwhile
+            if ( existingEvent.getInventoryShards() != null ) {
+                inventoryShardRepo.changeCapacity( existingEvent.getId(), existingEvent.getInventoryShards(),
+                        existingEvent.getMaxTicketCapacity() - maxTicketCapacity );
+            }
 
-        Integer bookedTickets = existingEvent.getBookedTicketsCount();
-        Integer currentFreeTickets = existingEvent.getFreeTicketCapacity();
-        if ( withNewMaxCapacity ) {
+            throw new IllegalStateException( "The tickets of the event changed while it was updated, please try again" );
+        }
+    }
+
+    private void checkTicketCapacity( Event existingEvent, Integer maxTicketCapacity ) {
 
-            if ( updateEventData.maxTicketCapacity() < bookedTickets ) {
-                throw new IllegalArgumentException( "Max ticket capacity cannot be less than already booked tickets: " + bookedTickets );
+        // tickets leased to instances of the app may be booked already, they count as booked until they are returned
+        int leasedTickets = existingEvent.getLeasedTickets() == null ? 0 : existingEvent.getLeasedTickets();
+
+        if ( maxTicketCapacity == null ) {
+            if ( leasedTickets > 0 ) {
+                throw new IllegalArgumentException( "The max ticket capacity cannot be removed while tickets are leased: " + leasedTickets );
             }
 
-            currentFreeTickets = updateEventData.maxTicketCapacity() - bookedTickets;
+            return;
+        }
+
+        Integer bookedTickets = existingEvent.getBookedTicketsCount();
+
+        if ( maxTicketCapacity < bookedTickets ) {
+            throw new IllegalArgumentException( "Max ticket capacity cannot be less than already booked tickets: " + bookedTickets );
+        }
+
+        if ( maxTicketCapacity < bookedTickets + leasedTickets ) {
+            throw new IllegalArgumentException( "Max ticket capacity cannot be less than booked and leased tickets: "
+                    + ( bookedTickets + leasedTickets ) );
         }
-        return currentFreeTickets;
+    }
+
+    // no one knows the event before it is returned, so no booking can come before its shards
+    private void createInventoryShards( Event event ) {
+        try {
+            inventoryShardRepo.createShards( event.getId(), event.getMaxTicketCapacity(), event.getInventoryShards() );
+        } catch ( RuntimeException e ) {
+            inventoryShardRepo.deleteAllByEventIds( List.of( event.getId() ) );
+            eventRepo.delete( event );
+            throw e;
+        }
+    }
+
+    // the shards have the free tickets, the check against the booked tickets is repeated on them atomically
+    private void changeShardedCapacity( Event existingEvent, Integer maxTicketCapacity ) {
+        if ( maxTicketCapacity == null ) {
+            throw new IllegalArgumentException( "The max ticket capacity of this event cannot be removed" );
+        }
+
+        int capacityChange = maxTicketCapacity - existingEvent.getMaxTicketCapacity();
+
+        if ( capacityChange != 0 && !inventoryShardRepo.changeCapacity( existingEvent.getId(),
+                existingEvent.getInventoryShards(), capacityChange ) ) {
+            throw new IllegalArgumentException( "Max ticket capacity cannot be less than already booked tickets: "
+                    + existingEvent.getBookedTicketsCount() );
+        }
+    }
+
+    private static String blankToNull( String value ) {
+        return value == null || value.isBlank() ? null : value.strip();
+    }
+
+    // the following page starts at the distance of the page's last event and skips the events delivered at it
+    private NearbyEventCursor nextNearbyCursor( double latitude, double longitude, double radiusKm, Instant from, Instant to,
+                                                NearbyEventCursor after, List<GeoResult<Event>> pageResults ) {
+        double lastDistance = pageResults.getLast().getDistance().getValue();
+
+        List<String> idsAtLastDistance = pageResults.stream()
+                .filter( result -> result.getDistance().getValue() == lastDistance )
+                .map( result -> result.getContent().getId() )
+                .toList();
+
+        return after != null
+                ? after.next( lastDistance, idsAtLastDistance )
+                : new NearbyEventCursor( latitude, longitude, radiusKm, from, to, lastDistance, idsAtLastDistance );
     }
 
     private Event eventRequestDtoToEventMapper( EventRequestDto eventDto ) {
@@ -171,6 +447,8 @@ public class EventService {
                 () -> new ResourceNotFoundException( "Organization not found with id: " + eventDto.organizationId() )
         );
 
+        boolean isFlashSale = Boolean.TRUE.equals( eventDto.flashSale() ) && eventDto.maxTicketCapacity() != null;
+
         return Event.builder()
                 .eventOrganization( organization )
                 .title( eventDto.title() )
@@ -181,6 +459,9 @@ public class EventService {
                 .bookedTicketsCount( 0 )
                 .maxTicketCapacity( eventDto.maxTicketCapacity() )
                 .freeTicketCapacity( eventDto.maxTicketCapacity() != null ? eventDto.maxTicketCapacity() : null )
+                // flash sales are counted in memory, sharding their document would only add writes
+                .inventoryShards( isFlashSale ? null : inventoryShardingConfig.shardsFor( eventDto.maxTicketCapacity() ) )
+                .flashSale( isFlashSale ? true : null )
                 .maxPerBooking( eventDto.maxPerBooking() )
                 .build();
     }
@@ -194,21 +475,65 @@ public class EventService {
                 .build();
     }
 
+    // cards show the organization summary embedded in the event, so mapping a list takes no further query
+    private List<EventCardDto> eventsToEventCardDtosMapper( List<Event> events ) {
+        return events.stream()
+                .map( this::eventToEventCardDtoMapper )
+                .toList();
+    }
+
     private EventResponseDto eventToEventResponseDtoMapper( Event event ) {
+        return EventResponseDto.builder()
+                .id( event.getId() )
+                .eventOrganization( organizationToOrganizationResponseDtoMapper( event.getEventOrganization(), ownersOf( List.of( event ) ) ) )
+                .title( event.getTitle() )
+                .description( event.getDescription() )
+                .eventDateTime( event.getEventDateTime() )
+                .location( event.getLocation() )
+                .price( event.getPrice() )
+                .ticketAlarm( isTicketAlarm( event ) )
+                .bookedTicketsCount( event.getBookedTicketsCount() )
+                .isSoldOut( isSoldOut( event ) )
+                .maxPerBooking( event.getMaxPerBooking() )
+                .imageId( event.getImageId() )
+                .build();
+    }
+
+    private EventCardDto eventToEventCardDtoMapper( Event event ) {
+        return EventCardDto.builder()
+                .id( event.getId() )
+                .eventOrganization( event.getOrganizationSummary() )
+                .title( event.getTitle() )
+                .eventDateTime( event.getEventDateTime() )
+                .location( event.getLocation() )
+                .price( event.getPrice() )
+                .ticketAlarm( isTicketAlarm( event ) )
+                .bookedTicketsCount( event.getBookedTicketsCount() )
+                .isSoldOut( isSoldOut( event ) )
+                .maxPerBooking( event.getMaxPerBooking() )
+                .imageId( event.getImageId() )
+                .build();
+    }
 
-        Organization org = event.getEventOrganization();
+    private Map<String, AppUserDto> ownersOf( List<Event> events ) {
+        Set<String> ownerIds = events.stream()
+                .flatMap( event -> event.getEventOrganization().getOwners().stream() )
+                .collect( Collectors.toSet() );
 
-        List<AppUser> allOwners = userRepo.findAllById( org.getOwners() );
+        return userRepo.findAllById( ownerIds ).stream()
+                .collect( Collectors.toMap( AppUser::getId, this::appUserToAppUserDtoMapper ) );
+    }
 
-        if ( allOwners.size() != org.getOwners().size() ) {
+    private OrganizationResponseDto organizationToOrganizationResponseDtoMapper( Organization org, Map<String, AppUserDto> ownersById ) {
+        if ( !ownersById.keySet().containsAll( org.getOwners() ) ) {
             throw new ResourceNotFoundException( "One or more organization owners not found for organization with id: " + org.getId() );
         }
 
-        Set<AppUserDto> ownersDto = allOwners.stream()
-                .map( this::appUserToAppUserDtoMapper )
+        Set<AppUserDto> ownersDto = org.getOwners().stream()
+                .map( ownersById::get )
                 .collect( Collectors.toSet() );
 
-        OrganizationResponseDto orgDto = OrganizationResponseDto.builder()
+        return OrganizationResponseDto.builder()
                 .id( org.getId() )
                 .name( org.getName() )
                 .slug( org.getSlug() )
@@ -216,27 +541,21 @@ public class EventService {
                 .location( org.getLocation() )
                 .owners( ownersDto )
                 .build();
+    }
 
-        boolean hasMaxCapacity = event.getMaxTicketCapacity() != null && event.getMaxTicketCapacity() > 0;
-        boolean hasFreeCapacity = hasMaxCapacity && event.getFreeTicketCapacity() != null && event.getFreeTicketCapacity() > 0;
+    private static boolean isSoldOut( Event event ) {
+        return hasMaxCapacity( event ) && !hasFreeCapacity( event );
+    }
 
-        boolean isUnder20PercentLeft = hasFreeCapacity && ( ( double ) event.getFreeTicketCapacity() / event.getMaxTicketCapacity() ) <= 0.2;
+    private static boolean isTicketAlarm( Event event ) {
+        return hasFreeCapacity( event ) && ( ( double ) event.getFreeTicketCapacity() / event.getMaxTicketCapacity() ) <= 0.2;
+    }
 
-        boolean isSoldOut = hasMaxCapacity && !hasFreeCapacity;
+    private static boolean hasMaxCapacity( Event event ) {
+        return event.getMaxTicketCapacity() != null && event.getMaxTicketCapacity() > 0;
+    }
 
-        return EventResponseDto.builder()
-                .id( event.getId() )
-                .eventOrganization( orgDto )
-                .title( event.getTitle() )
-                .description( event.getDescription() )
-                .eventDateTime( event.getEventDateTime() )
-                .location( event.getLocation() )
-                .price( event.getPrice() )
-                .ticketAlarm( isUnder20PercentLeft )
-                .bookedTicketsCount( event.getBookedTicketsCount() )
-                .isSoldOut( isSoldOut )
-                .maxPerBooking( event.getMaxPerBooking() )
-                .imageId( event.getImageId() )
-                .build();
+    private static boolean hasFreeCapacity( Event event ) {
+        return hasMaxCapacity( event ) && event.getFreeTicketCapacity() != null && event.getFreeTicketCapacity() > 0;
     }
 }
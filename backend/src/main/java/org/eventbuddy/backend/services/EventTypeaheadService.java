@@ -0,0 +1,210 @@
+package org.eventbuddy.backend.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventSuggestionDto;
+import org.eventbuddy.backend.models.event.EventSummaryChangedEvent;
+import org.eventbuddy.backend.models.organization.SlugNormalizer;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * In-memory prefix index over the titles of upcoming events, answering the search box typeahead without a
+ * database round trip. Every word of a title is a key of a sorted skip list, so a lookup is one range scan.
+ * <p>
+ * Loaded once on startup and then kept in sync entry by entry from the mapping events of every event save
+ * and delete, and from the summary changes of edits, which write single fields without a mapping event.
+ * Events that have passed are dropped when a lookup runs into them.
+ */
+@Slf4j
+@Service
+public class EventTypeaheadService extends AbstractMongoEventListener<Event> implements ApplicationRunner {
+
+    public static final int DEFAULT_LIMIT = 8;
+
+    public static final int MAX_LIMIT = 20;
+
+    // sorts before every char a term can contain, so all keys of a term directly follow each other
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final MongoTemplate mongoTemplate;
+
+    // term + separator + event id, one key per distinct term of a title
+    private final ConcurrentSkipListMap<String, Entry> entries = new ConcurrentSkipListMap<>();
+
+    private final Map<String, List<String>> keysByEventId = new ConcurrentHashMap<>();
+
+    public EventTypeaheadService( MongoTemplate mongoTemplate ) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run( ApplicationArguments args ) {
+        rebuild();
+    }
+
+    public int rebuild() {
+        entries.clear();
+        keysByEventId.clear();
+
+        Query query = Query.query( where( "eventDateTime" ).gte( Instant.now() ) );
+        // without eventOrganization in the projection, no organization lookup is triggered
+        query.fields().include( "title", "eventDateTime" );
+
+        try ( Stream<Event> events = mongoTemplate.stream( query, Event.class ) ) {
+            events.forEach( this::index );
+        }
+
+        log.info( "Typeahead index holds {} upcoming events", keysByEventId.size() );
+
+        return keysByEventId.size();
+    }
+
+    /**
+     * Upcoming events with a title word starting with each word of the text, e.g. "jaz ni" finds "Jazz Night".
+     * Words are compared in the transliterated lowercase form of {@link SlugNormalizer}.
+     */
+    public List<EventSuggestionDto> suggest( String text, int limit ) {
+        List<String> terms = termsOf( text );
+
+        if ( terms.isEmpty() ) {
+            return List.of();
+        }
+
+        // the longest word narrows the scanned range the most
+        String lookupTerm = terms.stream().max( Comparator.comparingInt( String::length ) ).orElseThrow();
+
+        Instant now = Instant.now();
+        Map<String, EventSuggestionDto> suggestions = new LinkedHashMap<>();
+
+        for ( Entry entry : entries.subMap( lookupTerm, lookupTerm + Character.MAX_VALUE ).values() ) {
+            if ( suggestions.size() == limit ) {
+                break;
+            }
+
+            if ( entry.suggestion().eventDateTime().isBefore( now ) ) {
+                remove( entry.suggestion().id() );
+            } else if ( entry.matchesAll( terms ) ) {
+                suggestions.putIfAbsent( entry.suggestion().id(), entry.suggestion() );
+            }
+        }
+
+        return List.copyOf( suggestions.values() );
+    }
+
+    @Override
+    public void onAfterSave( @NonNull AfterSaveEvent<Event> event ) {
+        index( event.getSource() );
+    }
+
+    // title and date are part of the summary, the edited event is read again with both
+    @EventListener
+    public void onEventSummaryChanged( EventSummaryChangedEvent summaryChanged ) {
+        Query query = Query.query( where( "_id" ).is( summaryChanged.eventId() ) );
+        query.fields().include( "title", "eventDateTime" );
+
+        Event event = mongoTemplate.findOne( query, Event.class );
+
+        if ( event == null ) {
+            remove( summaryChanged.eventId() );
+        } else {
+            index( event );
+        }
+    }
+
+    /*
+     * Deletes only hand over their filter: a single id for deleteById, an $in over ids for the organization
+     * cascade and an empty one for deleteAll. Anything else is rare enough to simply reload the index.
+     */
+    @Override
+    public void onAfterDelete( @NonNull AfterDeleteEvent<Event> event ) {
+        Document filter = event.getSource();
+        Object id = filter.get( "_id" );
+
+        if ( filter.isEmpty() ) {
+            entries.clear();
+            keysByEventId.clear();
+        } else if ( id instanceof Document idFilter && idFilter.get( "$in" ) instanceof Collection<?> ids ) {
+            ids.forEach( eventId -> remove( eventId.toString() ) );
+        } else if ( id != null && !( id instanceof Document ) ) {
+            remove( id.toString() );
+        } else {
+            rebuild();
+        }
+    }
+
+    void index( Event event ) {
+        if ( event.getId() == null ) {
+            return;
+        }
+
+        // compute serializes concurrent updates of the same event, the old keys go before the new ones are added
+        keysByEventId.compute( event.getId(), ( eventId, oldKeys ) -> {
+            if ( oldKeys != null ) {
+                oldKeys.forEach( entries::remove );
+            }
+
+            if ( event.getTitle() == null || event.getEventDateTime() == null || event.getEventDateTime().isBefore( Instant.now() ) ) {
+                return null;
+            }
+
+            List<String> terms = termsOf( event.getTitle() );
+            Entry entry = new Entry( new EventSuggestionDto( eventId, event.getTitle(), event.getEventDateTime() ), terms );
+
+            List<String> keys = terms.stream()
+                    .distinct()
+                    .map( term -> term + KEY_SEPARATOR + eventId )
+                    .toList();
+
+            keys.forEach( key -> entries.put( key, entry ) );
+
+            return keys.isEmpty() ? null : keys;
+        } );
+    }
+
+    void remove( String eventId ) {
+        keysByEventId.computeIfPresent( eventId, ( id, keys ) -> {
+            keys.forEach( entries::remove );
+            return null;
+        } );
+    }
+
+    private static List<String> termsOf( String text ) {
+        if ( text == null ) {
+            return List.of();
+        }
+
+        return Arrays.stream( SlugNormalizer.normalize( text ).split( "-" ) )
+                .filter( term -> !term.isEmpty() )
+                .toList();
+    }
+
+    private record Entry( EventSuggestionDto suggestion, List<String> terms ) {
+
+        boolean matchesAll( List<String> prefixes ) {
+            return prefixes.stream().allMatch( prefix -> terms.stream().anyMatch( term -> term.startsWith( prefix ) ) );
+        }
+    }
+}
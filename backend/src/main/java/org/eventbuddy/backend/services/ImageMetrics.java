@@ -0,0 +1,53 @@
+package org.eventbuddy.backend.services;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.eventbuddy.backend.enums.ImageType;
+import org.eventbuddy.backend.models.image.Image;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+/**
+ * Bytes of uploaded and served images per image type, scraped as {@code images_uploaded_bytes} and
+ * {@code images_served_bytes}; their counts are the number of images. Served images are counted when they are
+ * handed to the response, a conditional request Spring answers with 304 afterward is included.
+ */
+@Component
+public class ImageMetrics {
+
+    private static final String OTHER_TYPE = "other";
+
+    private final MeterRegistry meterRegistry;
+
+    public ImageMetrics( MeterRegistry meterRegistry ) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void uploaded( String contentType, long contentLength ) {
+        summary( "images.uploaded", "Uploaded images", contentType ).record( contentLength );
+    }
+
+    public void served( Image image ) {
+        summary( "images.served", "Served images, variants and placeholders", image.getContentType() )
+                .record( image.getContentLength() );
+    }
+
+    // registered once per name and type, later calls look the summary up
+    private DistributionSummary summary( String name, String description, String contentType ) {
+        return DistributionSummary.builder( name )
+                .description( description )
+                .baseUnit( "bytes" )
+                .tag( "type", typeOf( contentType ) )
+                .register( meterRegistry );
+    }
+
+    // only the supported types become tags, anything else would let clients grow the number of series
+    private static String typeOf( String contentType ) {
+        return Stream.of( ImageType.values() )
+                .filter( type -> type.getContentType().equals( contentType ) )
+                .map( ImageType::getFileType )
+                .findFirst()
+                .orElse( OTHER_TYPE );
+    }
+}
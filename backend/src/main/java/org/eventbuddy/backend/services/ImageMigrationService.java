@@ -0,0 +1,84 @@
+package org.eventbuddy.backend.services;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.eventbuddy.backend.repos.ImageStore;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Moves images from the former "images" collection, which held every image as one binary field, into the
+ * configured {@link ImageStore}. Ids are kept, so organizations and events keep pointing to their images.
+ * Runs on startup and can be resumed: already moved images are skipped, moved documents are removed.
+ */
+@Slf4j
+@Service
+@AllArgsConstructor
+@ConditionalOnProperty(name = "image.migration.enabled", havingValue = "true", matchIfMissing = true)
+public class ImageMigrationService implements ApplicationRunner {
+
+    static final String LEGACY_COLLECTION = "images";
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ImageStore imageStore;
+
+    @Override
+    public void run( ApplicationArguments args ) {
+        migrateLegacyImages();
+    }
+
+    public int migrateLegacyImages() {
+        if ( !mongoTemplate.collectionExists( LEGACY_COLLECTION ) ) {
+            return 0;
+        }
+
+        int migratedImages = 0;
+
+        // streamed with a cursor, only one legacy image is held in memory at a time
+        try ( Stream<Document> legacyImages = mongoTemplate.stream( new Query(), Document.class, LEGACY_COLLECTION ) ) {
+            for ( Document legacyImage : ( Iterable<Document> ) legacyImages::iterator ) {
+                migrateLegacyImage( legacyImage );
+                migratedImages++;
+            }
+        }
+
+        mongoTemplate.dropCollection( LEGACY_COLLECTION );
+
+        if ( migratedImages > 0 ) {
+            log.info( "Moved {} images from the {} collection into the image store", migratedImages, LEGACY_COLLECTION );
+        }
+
+        return migratedImages;
+    }
+
+    private void migrateLegacyImage( Document legacyImage ) {
+        Object rawId = legacyImage.get( "_id" );
+        String imageId = rawId.toString();
+
+        Binary imageData = legacyImage.get( "imageData", Binary.class );
+
+        if ( imageData != null && !imageStore.existsById( imageId ) ) {
+            try {
+                imageStore.save( imageId, new ByteArrayInputStream( imageData.getData() ), legacyImage.getString( "contentType" ) );
+            } catch ( IOException e ) {
+                throw new UncheckedIOException( e );
+            }
+        }
+
+        mongoTemplate.remove( new Query( where( "_id" ).is( rawId ) ), LEGACY_COLLECTION );
+    }
+}
@@ -2,37 +2,74 @@ package org.eventbuddy.backend.services;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.bson.BsonBinarySubType;
-import org.bson.types.Binary;
 import org.eventbuddy.backend.enums.ImageType;
 import org.eventbuddy.backend.exceptions.ResourceNotFoundException;
 import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventSummaryChangedEvent;
 import org.eventbuddy.backend.models.image.Image;
 import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.models.organization.OrganizationSummaryChangedEvent;
 import org.eventbuddy.backend.repos.EventRepository;
-import org.eventbuddy.backend.repos.ImageRepository;
+import org.eventbuddy.backend.repos.ImageStore;
 import org.eventbuddy.backend.repos.OrganizationRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 @Slf4j
 @Service
 @AllArgsConstructor
 public class ImageService {
 
-    private final ImageRepository imageRepo;
+    private final ImageStore imageStore;
 
     private final OrganizationRepository organizationRepo;
 
     private final EventRepository eventRepo;
 
+    private final ImageVariantService imageVariantService;
+
+    private final DtoCacheService dtoCache;
+
+    private final ImageMetrics imageMetrics;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     public Image getImageById( String imageUrl ) {
-        return imageRepo.findById( imageUrl ).orElseThrow(
-                () -> new ResourceNotFoundException( "Image not found with URL: " + imageUrl )
-        );
+        Image image = findImage( imageUrl );
+        imageMetrics.served( image );
+
+        return image;
+    }
+
+    // serves the variant closest to the requested width, the original when no width is requested
+    public Image getImageById( String imageId, Integer width ) {
+        if ( width == null ) {
+            return getImageById( imageId );
+        }
+
+        if ( width < 1 ) {
+            throw new IllegalArgumentException( "Image width must be at least 1" );
+        }
+
+        Image variant = imageVariantService.findVariant( imageId, width )
+                .orElseGet( () -> imageVariantService.createVariant( findImage( imageId ), width ) );
+        imageMetrics.served( variant );
+
+        return variant;
+    }
+
+    public Image getImagePlaceholder( String imageId ) {
+        Image placeholder = imageVariantService.findPlaceholder( imageId )
+                .or( () -> imageVariantService.createPlaceholder( findImage( imageId ) ) )
+                .orElseThrow( () -> new ResourceNotFoundException( "No placeholder available for image: " + imageId ) );
+        imageMetrics.served( placeholder );
+
+        return placeholder;
     }
 
     public String storeImage( MultipartFile imageData ) throws IOException {
@@ -41,27 +78,27 @@ public class ImageService {
             throw new IllegalArgumentException( "Unsupported image type: " + imageData.getContentType() + " Allowed types are: " + String.join( ", ", ImageType.getAllFileTypes() ) );
         }
 
-        byte[] bytes = imageData.getBytes();
-
         // in MB, adjust as needed
         int maxFileSize = 5;
 
-        if ( bytes.length > 1024 * 1024 * maxFileSize ) {
+        // the size is known from the multipart headers, the content itself is only streamed into the store
+        if ( imageData.getSize() > 1024L * 1024 * maxFileSize ) {
             throw new MaxUploadSizeExceededException( maxFileSize );
         }
 
-        Binary imageBinary = new Binary( BsonBinarySubType.BINARY, imageData.getBytes() );
+        String imageId;
 
-        Image buildImage = Image.builder()
-                .imageData( imageBinary )
-                .contentType( imageData.getContentType() )
-                .build();
+        try ( InputStream content = imageData.getInputStream() ) {
+            imageId = imageStore.save( content, imageData.getContentType() );
+        }
 
-        Image savedImage = imageRepo.save( buildImage );
+        imageVariantService.generateVariantsInBackground( imageId, imageData.getContentType() );
+        imageMetrics.uploaded( imageData.getContentType(), imageData.getSize() );
 
-        return savedImage.getImageId();
+        return imageId;
     }
 
+    // stored images are never overwritten: the new image gets its own id and the old one is removed afterward
     public String updateOrganizationImage( String organizationId, MultipartFile imageData ) throws IOException {
 
         Organization organization = organizationRepo.findById( organizationId ).orElseThrow(
@@ -69,33 +106,22 @@ public class ImageService {
         );
 
         String existingImageId = organization.getImageId();
+        String newImageId = storeImage( imageData );
 
-        if ( existingImageId != null ) {
-            Image image = imageRepo.findById( existingImageId ).orElseThrow(
-                    () -> new ResourceNotFoundException( "Image not found with ID: " + existingImageId )
-            );
-
-            Binary imageBinary = new org.bson.types.Binary( BsonBinarySubType.BINARY, imageData.getBytes() );
-
-            Image updatedImage = image.toBuilder()
-                    .imageData( imageBinary )
-                    .contentType( imageData.getContentType() )
-                    .build();
-
-            Image savedImage = imageRepo.save( updatedImage );
-
-            return savedImage.getImageId();
-        } else {
-            String newImageId = storeImage( imageData );
-
-            Organization updatedOrganization = organization.toBuilder()
-                    .imageId( newImageId )
-                    .build();
+        Organization updatedOrganization = organization.toBuilder()
+                .imageId( newImageId )
+                .build();
 
-            Organization savedOrganization = organizationRepo.save( updatedOrganization );
+        Organization savedOrganization = organizationRepo.save( updatedOrganization );
+        dtoCache.evictOrganization( organizationId );
+        // events and bookings carry the image of the organization, the propagation brings them up to date
+        eventPublisher.publishEvent( new OrganizationSummaryChangedEvent( organizationId ) );
 
-            return savedOrganization.getImageId();
+        if ( existingImageId != null ) {
+            imageStore.deleteById( existingImageId );
         }
+
+        return savedOrganization.getImageId();
     }
 
     public String updateEventImage( String eventId, MultipartFile imageData ) throws IOException {
@@ -103,28 +129,23 @@ public class ImageService {
         Event event = eventRepo.findById( eventId ).orElseThrow(
                 () -> new ResourceNotFoundException( "Event not found with ID: " + eventId )
         );
+
         String existingImageId = event.getImageId();
+        String newImageId = storeImage( imageData );
 
-        if ( existingImageId != null ) {
-            Image image = imageRepo.findById( existingImageId ).orElseThrow(
-                    () -> new ResourceNotFoundException( "Image not found with ID: " + existingImageId )
-            );
-            Binary imageBinary = new org.bson.types.Binary( BsonBinarySubType.BINARY, imageData.getBytes() );
-            Image updatedImage = image.toBuilder()
-                    .imageData( imageBinary )
-                    .contentType( imageData.getContentType() )
-                    .build();
-            Image savedImage = imageRepo.save( updatedImage );
-            return savedImage.getImageId();
-        } else {
-            String newImageId = storeImage( imageData );
-            Event updatedEvent = event.toBuilder()
-                    .imageId( newImageId )
-                    .build();
-            Event savedEvent = eventRepo.save( updatedEvent );
+        // only the image is written, saving the event as read would undo the bookings made since
+        Event savedEvent = eventRepo.updateImageId( eventId, newImageId ).orElseThrow(
+                () -> new ResourceNotFoundException( "Event not found with ID: " + eventId )
+        );
+        dtoCache.evictEvent( eventId );
+        // bookings carry the image of the event, the propagation brings them up to date
+        eventPublisher.publishEvent( new EventSummaryChangedEvent( eventId ) );
 
-            return savedEvent.getImageId();
+        if ( existingImageId != null ) {
+            imageStore.deleteById( existingImageId );
         }
+
+        return savedEvent.getImageId();
     }
 
     public void deleteImageFromEvent( String eventId ) {
@@ -133,12 +154,10 @@ public class ImageService {
         );
 
         if ( event.getImageId() != null ) {
-            Event updatedEvent = event.toBuilder()
-                    .imageId( null )
-                    .build();
-
-            eventRepo.save( updatedEvent );
-            imageRepo.deleteById( event.getImageId() );
+            eventRepo.updateImageId( eventId, null );
+            dtoCache.evictEvent( eventId );
+            eventPublisher.publishEvent( new EventSummaryChangedEvent( eventId ) );
+            imageStore.deleteById( event.getImageId() );
         }
     }
 
@@ -153,7 +172,16 @@ public class ImageService {
                     .build();
 
             organizationRepo.save( updatedOrganization );
-            imageRepo.deleteById( organization.getImageId() );
+            dtoCache.evictOrganization( organizationId );
+            eventPublisher.publishEvent( new OrganizationSummaryChangedEvent( organizationId ) );
+            imageStore.deleteById( organization.getImageId() );
         }
     }
+
+    // the original the variants and placeholders are made from, not served itself
+    private Image findImage( String imageId ) {
+        return imageStore.findById( imageId ).orElseThrow(
+                () -> new ResourceNotFoundException( "Image not found with URL: " + imageId )
+        );
+    }
 }
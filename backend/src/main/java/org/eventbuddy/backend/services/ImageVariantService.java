@@ -0,0 +1,258 @@
+package org.eventbuddy.backend.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.eventbuddy.backend.models.image.Image;
+import org.eventbuddy.backend.repos.ImageStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * Derives fixed-width variants of uploaded images, so small cards don't have to load full size originals.
+ * Variants are generated in the background after an upload and on demand for images stored before.
+ * <p>
+ * Decoding a 5 MB photo takes far more memory than the file itself, so all work runs on a small bounded
+ * executor. When it is saturated the original is served and the variant is generated by a later request.
+ * Only formats the JDK can decode (JPEG and PNG) get variants, others are always served as uploaded.
+ * <p>
+ * Besides the variants a tiny placeholder is stored, which clients can inline as data URL and show blurred
+ * while the image itself loads.
+ */
+@Slf4j
+@Service
+public class ImageVariantService {
+
+    public static final List<Integer> VARIANT_WIDTHS = List.of( 320, 640, 1280 );
+
+    // stored like a variant, but always as PNG: at this size it stays far below 1 KB, a JPEG header alone doesn't
+    public static final int PLACEHOLDER_WIDTH = 16;
+
+    private static final String PLACEHOLDER_CONTENT_TYPE = "image/png";
+
+    private static final Map<String, String> WRITER_FORMATS = Map.of(
+            "image/jpeg", "jpeg",
+            "image/png", "png"
+    );
+
+    private static final List<Integer> GENERATED_WIDTHS = Stream.concat( VARIANT_WIDTHS.stream(), Stream.of( PLACEHOLDER_WIDTH ) ).toList();
+
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private static final long ON_DEMAND_TIMEOUT_SECONDS = 10;
+
+    private final ImageStore imageStore;
+
+    private final Executor executor;
+
+    @Autowired
+    public ImageVariantService( ImageStore imageStore,
+                                @Value("${image.variants.threads:2}") int threads,
+                                @Value("${image.variants.queue-capacity:50}") int queueCapacity ) {
+        this( imageStore, new ThreadPoolExecutor( threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>( queueCapacity ),
+                Thread.ofPlatform().name( "image-variant-", 0 ).daemon().factory() ) );
+    }
+
+    ImageVariantService( ImageStore imageStore, Executor executor ) {
+        this.imageStore = imageStore;
+        this.executor = executor;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if ( executor instanceof ExecutorService executorService ) {
+            executorService.shutdown();
+        }
+    }
+
+    // smallest variant that is at least as wide as requested, the widest one for anything larger
+    public static int variantWidthFor( int requestedWidth ) {
+        return VARIANT_WIDTHS.stream()
+                .filter( width -> width >= requestedWidth )
+                .findFirst()
+                .orElse( VARIANT_WIDTHS.getLast() );
+    }
+
+    public static boolean hasVariants( String contentType ) {
+        return contentType != null && WRITER_FORMATS.containsKey( contentType );
+    }
+
+    public void generateVariantsInBackground( String imageId, String contentType ) {
+        if ( !hasVariants( contentType ) ) {
+            return;
+        }
+
+        try {
+            executor.execute( () -> generateVariants( imageId, GENERATED_WIDTHS ) );
+        } catch ( RejectedExecutionException e ) {
+            log.warn( "Variant queue full, variants of image {} are generated on first request", imageId );
+        }
+    }
+
+    public Optional<Image> findVariant( String imageId, int requestedWidth ) {
+        return imageStore.findVariant( imageId, variantWidthFor( requestedWidth ) );
+    }
+
+    // generates the missing variant on the executor and waits for it, falls back to the original
+    public Image createVariant( Image original, int requestedWidth ) {
+        return generateOnDemand( original, variantWidthFor( requestedWidth ) ).orElse( original );
+    }
+
+    public Optional<Image> findPlaceholder( String imageId ) {
+        return imageStore.findVariant( imageId, PLACEHOLDER_WIDTH );
+    }
+
+    // for images stored before placeholders existed, empty if the format has none
+    public Optional<Image> createPlaceholder( Image original ) {
+        return generateOnDemand( original, PLACEHOLDER_WIDTH );
+    }
+
+    private Optional<Image> generateOnDemand( Image original, int width ) {
+        if ( !hasVariants( original.getContentType() ) ) {
+            return Optional.empty();
+        }
+
+        try {
+            CompletableFuture.runAsync( () -> generateVariants( original.getImageId(), List.of( width ) ), executor )
+                    .get( ON_DEMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS );
+        } catch ( RejectedExecutionException | ExecutionException | TimeoutException e ) {
+            log.warn( "Could not create variant {} of image {}: {}", width, original.getImageId(), e.toString() );
+            return Optional.empty();
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+
+        return imageStore.findVariant( original.getImageId(), width );
+    }
+
+    void generateVariants( String imageId, List<Integer> widths ) {
+        Optional<Image> original = imageStore.findById( imageId );
+
+        if ( original.isEmpty() || !hasVariants( original.get().getContentType() ) ) {
+            return;
+        }
+
+        String contentType = original.get().getContentType();
+
+        try ( InputStream content = original.get().getContent().getInputStream() ) {
+            BufferedImage decoded = decode( content, Collections.max( widths ) );
+
+            if ( decoded == null ) {
+                log.warn( "Image {} could not be decoded, no variants generated", imageId );
+                return;
+            }
+
+            for ( int width : widths ) {
+                String variantContentType = width == PLACEHOLDER_WIDTH ? PLACEHOLDER_CONTENT_TYPE : contentType;
+                byte[] encoded = encode( scaleToWidth( decoded, width ), variantContentType );
+
+                imageStore.saveVariant( imageId, width, new ByteArrayInputStream( encoded ), variantContentType );
+            }
+        } catch ( IOException e ) {
+            // e.g. CMYK JPEGs, the original keeps being served
+            log.warn( "Could not generate variants of image {}: {}", imageId, e.toString() );
+        }
+    }
+
+    // reads only every n-th pixel of large originals, so a 6000px photo never has to be decoded in full
+    private static BufferedImage decode( InputStream content, int largestWidth ) throws IOException {
+        try ( ImageInputStream input = ImageIO.createImageInputStream( content ) ) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders( input ) : Collections.emptyIterator();
+
+            if ( !readers.hasNext() ) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+
+            try {
+                reader.setInput( input, true, true );
+
+                // keep twice the target width, the final downscale smooths the subsampling artifacts
+                int subsampling = Math.max( 1, reader.getWidth( 0 ) / ( largestWidth * 2 ) );
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling( subsampling, subsampling, 0, 0 );
+
+                return reader.read( 0, param );
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // never upscales, narrow originals are re-encoded at their own size
+    private static BufferedImage scaleToWidth( BufferedImage source, int width ) {
+        int targetWidth = Math.min( width, source.getWidth() );
+        int targetHeight = Math.max( 1, Math.round( source.getHeight() * ( targetWidth / ( float ) source.getWidth() ) ) );
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage scaled = new BufferedImage( targetWidth, targetHeight, type );
+        Graphics2D graphics = scaled.createGraphics();
+
+        try {
+            graphics.setRenderingHint( RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC );
+            graphics.setRenderingHint( RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY );
+            graphics.drawImage( source, 0, 0, targetWidth, targetHeight, null );
+        } finally {
+            graphics.dispose();
+        }
+
+        return scaled;
+    }
+
+    private static byte[] encode( BufferedImage image, String contentType ) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName( WRITER_FORMATS.get( contentType ) ).next();
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+
+        try ( ImageOutputStream output = ImageIO.createImageOutputStream( encoded ) ) {
+            writer.setOutput( output );
+
+            ImageWriteParam param = writer.getDefaultWriteParam();
+
+            if ( "image/jpeg".equals( contentType ) ) {
+                param.setCompressionMode( ImageWriteParam.MODE_EXPLICIT );
+                param.setCompressionQuality( JPEG_QUALITY );
+            }
+
+            writer.write( null, new IIOImage( image, null, null ), param );
+        } finally {
+            writer.dispose();
+        }
+
+        return encoded.toByteArray();
+    }
+}
@@ -0,0 +1,410 @@
+package org.eventbuddy.backend.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.InventoryLogCheckpoint;
+import org.eventbuddy.backend.models.event.TicketsChangedEvent;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.eventbuddy.backend.repos.InventoryWriteAheadLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Ticket inventory of flash sales kept in memory. The free tickets of these events are plain counters in memory,
+ * a booking checks and takes them under the lock of its event and appends the change to the
+ * {@link InventoryWriteAheadLog}, without a round trip to the database. The counters are written to the event
+ * documents once per flush interval, with one update per changed event however many bookings came in.
+ * <p>
+ * The counters in memory are the truth, the documents lag behind by up to the flush interval. After a crash the
+ * records of the log not yet written are replayed on startup, the checkpoint stored with the counters of every
+ * event tells which records it already includes. That only holds with a single instance of the app, with more
+ * than one the instances would sell the same tickets, so it is turned off by default.
+ */
+@Slf4j
+@Service
+public class InMemoryInventoryService {
+
+    // the log is emptied by the flush once it is half full, bookings only empty it themselves when it runs full
+    static final double LOG_ROTATION_USAGE = 0.5;
+
+    private final EventRepository eventRepository;
+
+    private final DtoCacheService dtoCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final boolean enabled;
+
+    private final Path logPath;
+
+    private final DataSize logSize;
+
+    private final Map<String, EventInventory> inventories = new ConcurrentHashMap<>();
+
+    // shared by all changes of the counters, emptying the log takes it alone so no record is appended meanwhile
+    private final ReadWriteLock rotationLock = new ReentrantReadWriteLock();
+
+    /*
+     * Held from the snapshot of the counters until they are written, by the flush and the rotation alike. A flush
+     * writing a snapshot taken before a rotation would otherwise overwrite the newer counters the rotation wrote,
+     * with a checkpoint of the emptied log. Taken before the rotation lock, never while holding it.
+     */
+    private final Lock flushLock = new ReentrantLock();
+
+    private InventoryWriteAheadLog inventoryLog;
+
+    public InMemoryInventoryService( EventRepository eventRepository, DtoCacheService dtoCache,
+                                     ApplicationEventPublisher eventPublisher,
+                                     @Value("${booking.in-memory-inventory.enabled:false}") boolean enabled,
+                                     @Value("${booking.in-memory-inventory.log-path:./data/inventory.wal}") Path logPath,
+                                     @Value("${booking.in-memory-inventory.log-size:64MB}") DataSize logSize ) {
+        this.eventRepository = eventRepository;
+        this.dtoCache = dtoCache;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.logPath = logPath;
+        this.logSize = logSize;
+    }
+
+    /**
+     * Replays the log of the last run and takes the upcoming flash sales into memory. A log left over while the
+     * inventory is turned off is replayed as well and removed after.
+     */
+    @PostConstruct
+    void start() throws IOException {
+        if ( !enabled && !Files.exists( logPath ) ) {
+            return;
+        }
+
+        inventoryLog = new InventoryWriteAheadLog( logPath, Math.toIntExact( logSize.toBytes() ) );
+        recover();
+
+        if ( !enabled ) {
+            inventoryLog.close();
+            inventoryLog = null;
+            Files.delete( logPath );
+            return;
+        }
+
+        eventRepository.findAllByFlashSaleTrueAndEventDateTimeAfter( Instant.now() ).forEach( this::register );
+
+        log.info( "Counting the tickets of {} flash sales in memory", inventories.size() );
+    }
+
+    /**
+     * Writes the counters of every event to the database before the app goes down, the log is replayed on the
+     * next start if that fails.
+     */
+    @PreDestroy
+    void stop() {
+        if ( inventoryLog == null ) {
+            return;
+        }
+
+        flushLock.lock();
+
+        try {
+            inventories.values().forEach( this::writeTicketCounts );
+        } finally {
+            flushLock.unlock();
+            inventoryLog.close();
+        }
+    }
+
+    /**
+     * Takes a flash sale into memory, starting from the counters of its document. Events that aren't flash sales,
+     * have no max ticket capacity or come in while the inventory is turned off keep booking on their document.
+     */
+    public void register( Event event ) {
+        if ( inventoryLog == null || !Boolean.TRUE.equals( event.getFlashSale() ) || event.getMaxTicketCapacity() == null ) {
+            return;
+        }
+
+        inventories.putIfAbsent( event.getId(), new EventInventory( event ) );
+    }
+
+    public boolean manages( String eventId ) {
+        return inventories.containsKey( eventId );
+    }
+
+    /**
+     * Books tickets of a flash sale if enough of them are free.
+     *
+     * @return the event with the counters after the booking, or empty if not enough tickets are left
+     */
+    public Optional<Event> reserveTickets( Event event, int numberOfTickets ) {
+        EventInventory inventory = inventory( event.getId() );
+
+        if ( !change( inventory, numberOfTickets, 0 ) ) {
+            return Optional.empty();
+        }
+
+        return Optional.of( withTicketCounts( event, snapshot( inventory ) ) );
+    }
+
+    public void releaseTickets( String eventId, int numberOfTickets ) {
+        change( inventory( eventId ), -numberOfTickets, 0 );
+    }
+
+    /**
+     * Changes the max ticket capacity of a flash sale.
+     *
+     * @return the event with the counters after the change, to be saved with the rest of the changed event
+     * @throws IllegalArgumentException when the capacity is removed or less than the booked tickets
+     */
+    public Event changeCapacity( Event event, Integer maxTicketCapacity ) {
+        if ( maxTicketCapacity == null ) {
+            throw new IllegalArgumentException( "The max ticket capacity of this event cannot be removed" );
+        }
+
+        EventInventory inventory = inventory( event.getId() );
+        InventorySnapshot before = snapshot( inventory );
+        int capacityDelta = maxTicketCapacity - before.maxTicketCapacity();
+
+        if ( capacityDelta != 0 && !change( inventory, 0, capacityDelta ) ) {
+            throw new IllegalArgumentException( "Max ticket capacity cannot be less than already booked tickets: " + before.bookedTickets() );
+        }
+
+        return withTicketCounts( event, snapshot( inventory ) );
+    }
+
+    public void remove( String eventId ) {
+        inventories.remove( eventId );
+    }
+
+    /**
+     * Writes the counters of the events changed since the last run to their documents, or empties the log once
+     * it is half full.
+     */
+    @Scheduled(fixedDelayString = "${booking.in-memory-inventory.flush-interval:100ms}")
+    public void flush() {
+        if ( inventoryLog == null ) {
+            return;
+        }
+
+        if ( inventoryLog.usage() >= LOG_ROTATION_USAGE ) {
+            rotateLog();
+            return;
+        }
+
+        flushLock.lock();
+
+        try {
+            inventories.values().forEach( this::writeTicketCounts );
+        } finally {
+            flushLock.unlock();
+        }
+
+        inventoryLog.force();
+    }
+
+    // === Helper Methods ===
+
+    private EventInventory inventory( String eventId ) {
+        EventInventory inventory = inventories.get( eventId );
+
+        if ( inventory == null ) {
+            throw new IllegalStateException( "The tickets of event " + eventId + " are not counted in memory" );
+        }
+
+        return inventory;
+    }
+
+    private boolean change( EventInventory inventory, int bookedDelta, int capacityDelta ) {
+        try {
+            return appendChange( inventory, bookedDelta, capacityDelta );
+        } catch ( IllegalStateException e ) {
+            // the log ran full before the flush got to empty it, so the change waits for it to be emptied here
+            rotateLog();
+            return appendChange( inventory, bookedDelta, capacityDelta );
+        }
+    }
+
+    private boolean appendChange( EventInventory inventory, int bookedDelta, int capacityDelta ) {
+        rotationLock.readLock().lock();
+
+        try {
+            // a lock instead of a monitor, the append writes to the log and must not pin the carrier of a virtual thread
+            inventory.lock.lock();
+
+            try {
+                int freeTickets = inventory.freeTickets + capacityDelta - bookedDelta;
+
+                if ( freeTickets < 0 ) {
+                    return false;
+                }
+
+                // logged first, a full log leaves the counters as they are
+                inventory.sequence = inventoryLog.append( inventory.eventId, bookedDelta, capacityDelta );
+                inventory.maxTicketCapacity += capacityDelta;
+                inventory.freeTickets = freeTickets;
+                inventory.bookedTickets += bookedDelta;
+
+                return true;
+            } finally {
+                inventory.lock.unlock();
+            }
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+    }
+
+    private InventorySnapshot snapshot( EventInventory inventory ) {
+        rotationLock.readLock().lock();
+
+        try {
+            inventory.lock.lock();
+
+            try {
+                return new InventorySnapshot( inventory.maxTicketCapacity, inventory.freeTickets, inventory.bookedTickets,
+                        new InventoryLogCheckpoint( inventoryLog.logId(), inventory.sequence ) );
+            } finally {
+                inventory.lock.unlock();
+            }
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+    }
+
+    private void writeTicketCounts( EventInventory inventory ) {
+        InventorySnapshot snapshot = snapshot( inventory );
+
+        if ( snapshot.checkpoint().sequence() == inventory.writtenSequence ) {
+            return;
+        }
+
+        eventRepository.writeTicketCounts( inventory.eventId, snapshot.maxTicketCapacity(), snapshot.freeTickets(),
+                snapshot.bookedTickets(), snapshot.checkpoint() );
+        inventory.writtenSequence = snapshot.checkpoint().sequence();
+
+        // the cached event and the availability streams show the written counters
+        dtoCache.evictEvent( inventory.eventId );
+        eventPublisher.publishEvent( new TicketsChangedEvent( inventory.eventId ) );
+    }
+
+    private void rotateLog() {
+        flushLock.lock();
+        rotationLock.writeLock().lock();
+
+        try {
+            // emptied meanwhile by another thread waiting for the lock
+            if ( inventoryLog.usage() < LOG_ROTATION_USAGE ) {
+                return;
+            }
+
+            inventories.values().forEach( this::writeTicketCounts );
+            inventoryLog.reset();
+
+            // sequence numbers start over with the new log
+            inventories.values().forEach( inventory -> {
+                inventory.sequence = 0;
+                inventory.writtenSequence = 0;
+            } );
+        } finally {
+            rotationLock.writeLock().unlock();
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Brings the documents up to date with the records of the log they don't include yet. The counters of a
+     * document include the records of its event up to its checkpoint, or all records if the checkpoint is from an
+     * older log, which is only emptied once everything in it is written.
+     */
+    private void recover() {
+        String logId = inventoryLog.logId();
+
+        Map<String, List<InventoryWriteAheadLog.Entry>> entriesByEventId = inventoryLog.readEntries().stream()
+                .collect( Collectors.groupingBy( InventoryWriteAheadLog.Entry::eventId, LinkedHashMap::new, Collectors.toList() ) );
+
+        entriesByEventId.forEach( ( eventId, entries ) -> eventRepository.findById( eventId )
+                .filter( event -> event.getMaxTicketCapacity() != null )
+                .ifPresent( event -> {
+                    InventoryLogCheckpoint checkpoint = event.getInventoryLogCheckpoint();
+                    long writtenSequence = checkpoint != null && checkpoint.logId().equals( logId ) ? checkpoint.sequence() : 0;
+
+                    int maxTicketCapacity = event.getMaxTicketCapacity();
+                    int freeTickets = event.getFreeTicketCapacity();
+                    int bookedTickets = event.getBookedTicketsCount();
+                    long lastSequence = writtenSequence;
+
+                    for ( InventoryWriteAheadLog.Entry entry : entries ) {
+                        if ( entry.sequence() > writtenSequence ) {
+                            maxTicketCapacity += entry.capacityDelta();
+                            freeTickets += entry.capacityDelta() - entry.bookedDelta();
+                            bookedTickets += entry.bookedDelta();
+                            lastSequence = entry.sequence();
+                        }
+                    }
+
+                    if ( lastSequence > writtenSequence ) {
+                        eventRepository.writeTicketCounts( eventId, maxTicketCapacity, freeTickets, bookedTickets,
+                                new InventoryLogCheckpoint( logId, lastSequence ) );
+                        log.info( "Replayed {} inventory log records of event {}", lastSequence - writtenSequence, eventId );
+                    }
+                } ) );
+
+        inventoryLog.reset();
+    }
+
+    private Event withTicketCounts( Event event, InventorySnapshot snapshot ) {
+        return event.toBuilder()
+                .maxTicketCapacity( snapshot.maxTicketCapacity() )
+                .freeTicketCapacity( snapshot.freeTickets() )
+                .bookedTicketsCount( snapshot.bookedTickets() )
+                .isSoldOut( snapshot.freeTickets() <= 0 )
+                .inventoryLogCheckpoint( snapshot.checkpoint() )
+                .build();
+    }
+
+    private record InventorySnapshot(int maxTicketCapacity, int freeTickets, int bookedTickets,
+                                     InventoryLogCheckpoint checkpoint) {
+    }
+
+    // the counters of one event, changed under its own lock
+    private static final class EventInventory {
+
+        private final String eventId;
+
+        private final Lock lock = new ReentrantLock();
+
+        private int maxTicketCapacity;
+
+        private int freeTickets;
+
+        private int bookedTickets;
+
+        // of the last record of the event in the log
+        private long sequence;
+
+        // of the last record included in the counters of the document, only touched under the flush lock
+        private long writtenSequence;
+
+        private EventInventory( Event event ) {
+            this.eventId = event.getId();
+            this.maxTicketCapacity = event.getMaxTicketCapacity();
+            this.freeTickets = event.getFreeTicketCapacity();
+            this.bookedTickets = event.getBookedTicketsCount();
+        }
+    }
+}
@@ -6,11 +6,15 @@ import org.eventbuddy.backend.exceptions.ResourceNotFoundException;
 import org.eventbuddy.backend.models.app_user.AppUser;
 import org.eventbuddy.backend.models.app_user.AppUserDto;
 import org.eventbuddy.backend.models.app_user.UserSettings;
-import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.TicketsChangedEvent;
 import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.models.organization.OrganizationDeletion;
 import org.eventbuddy.backend.models.organization.OrganizationRequestDto;
 import org.eventbuddy.backend.models.organization.OrganizationResponseDto;
+import org.eventbuddy.backend.models.organization.OrganizationSummary;
+import org.eventbuddy.backend.models.organization.OrganizationSummaryChangedEvent;
 import org.eventbuddy.backend.repos.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.HashSet;
@@ -27,11 +31,13 @@ public class OrganizationService {
 
     private final UserRepository userRepo;
 
-    private final ImageRepository imageRepo;
+    private final ImageStore imageStore;
 
-    private final EventRepository eventRepo;
+    private final DtoCacheService dtoCache;
 
-    private final BookingRepository bookingRepo;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final InMemoryInventoryService inMemoryInventory;
 
     // === Public Organization Methods (DTO) ===
 
@@ -47,8 +53,10 @@ public class OrganizationService {
     }
 
     public OrganizationResponseDto getOrganizationDtoBySlug( String organizationName ) {
-        Organization organization = getOrganizationBySlugOrThrow( organizationName );
-        return organizationToDtoMapper( organization );
+        return dtoCache.getOrganizationBySlug( organizationName, () -> {
+            Organization organization = getOrganizationBySlugOrThrow( organizationName );
+            return organizationToDtoMapper( organization );
+        } );
     }
 
     // === Raw Organization Methods (Internal || Admins) ===
@@ -64,7 +72,16 @@ public class OrganizationService {
     public Organization updateOrganization( String organizationId, OrganizationRequestDto updateData ) {
         Organization existingOrganization = getOrganizationByIdOrThrow( organizationId );
 
-        return organizationRepo.save( organizationDtoToEntityMapper( existingOrganization, updateData ) );
+        Organization savedOrganization = organizationRepo.save( organizationDtoToEntityMapper( existingOrganization, updateData ) );
+
+        // events and bookings carry a summary of the organization, the propagation brings them up to date
+        if ( !OrganizationSummary.of( existingOrganization ).equals( OrganizationSummary.of( savedOrganization ) ) ) {
+            eventPublisher.publishEvent( new OrganizationSummaryChangedEvent( organizationId ) );
+        }
+
+        dtoCache.evictOrganization( organizationId );
+
+        return savedOrganization;
     }
 
     public Organization addOwnerToOrganization( String organizationId, String userId ) {
@@ -82,6 +99,8 @@ public class OrganizationService {
 
         Organization savedOrganization = organizationRepo.save( buildOrganization );
 
+        dtoCache.evictOrganization( organizationId );
+
         addOrganizationToUser( organizationId, userId );
 
         return savedOrganization;
@@ -105,7 +124,11 @@ public class OrganizationService {
 
         removeOrganizationFromUser( organizationId, ownerId );
 
-        return organizationRepo.save( updatedOrganization );
+        Organization savedOrganization = organizationRepo.save( updatedOrganization );
+
+        dtoCache.evictOrganization( organizationId );
+
+        return savedOrganization;
     }
 
 
@@ -132,45 +155,33 @@ public class OrganizationService {
 
     // === Delete Methods ===
 
-    public void deleteOrganizationById( String organizationId ) {
+    public OrganizationDeletion deleteOrganizationById( String organizationId ) {
 
-        Organization organization = getOrganizationByIdOrThrow( organizationId );
+        getOrganizationByIdOrThrow( organizationId );
 
-        if ( organization.getImageId() != null ) {
-            imageRepo.deleteById( organization.getImageId() );
-        }
+        // bookings, waitlists, events, the users' references and the organization, one statement each
+        OrganizationDeletion deletion = organizationRepo.deleteCascade( organizationId );
 
-        Set<String> ownerIds = organization.getOwners();
+        imageStore.deleteAllById( deletion.imageIds() );
 
+        // flash sales of the events would keep being counted and flushed to documents that are gone
+        deletion.eventIds().forEach( inMemoryInventory::remove );
 
-        for ( String ownerId : ownerIds ) {
-            removeOrganizationFromUser( organizationId, ownerId );
-        }
+        // also drops cached events and users still showing the organization
+        dtoCache.evictOrganization( organizationId );
+
+        // ends the availability streams of the events
+        deletion.eventIds().forEach( eventId -> eventPublisher.publishEvent( new TicketsChangedEvent( eventId ) ) );
 
-        deleteEventsOfOrganization( organizationId );
+        log.info( "Deleted organization {}: {} organization, {} events, {} bookings, {} waitlist entries, {} images, removed from {} users",
+                organizationId, deletion.deletedOrganizations(), deletion.deletedEvents(), deletion.deletedBookings(),
+                deletion.deletedWaitlistEntries(), deletion.imageIds().size(), deletion.updatedUsers() );
 
-        organizationRepo.deleteById( organizationId );
+        return deletion;
     }
 
     // === Private Helper Methods ===
 
-    private void deleteEventsOfOrganization( String organizationId ) {
-        List<Event> events = eventRepo.findAll();
-
-        List<Event> filteredEvents = events.stream()
-                .filter( event -> event.getEventOrganization().getId().equals( organizationId ) )
-                .toList();
-
-        for ( Event event : filteredEvents ) {
-            if ( event.getImageId() != null ) {
-                imageRepo.deleteById( event.getImageId() );
-            }
-
-            bookingRepo.deleteAllByEvent( event );
-            eventRepo.deleteById( event.getId() );
-        }
-    }
-
     private Organization getOrganizationByIdOrThrow( String organizationId ) {
         return organizationRepo.findById( organizationId )
                 .orElseThrow( () -> new ResourceNotFoundException( "Organization not found with id: " + organizationId ) );
@@ -199,7 +210,11 @@ public class OrganizationService {
                 .userSettings( updatedSettings )
                 .build();
 
-        return userRepo.save( updatedUser );
+        AppUser savedUser = userRepo.save( updatedUser );
+
+        dtoCache.evictUser( userId );
+
+        return savedUser;
     }
 
     private AppUser removeOrganizationFromUser( String organizationId, String userId ) {
@@ -218,7 +233,11 @@ public class OrganizationService {
                 .organizations( updatedOrganizations )
                 .build();
 
-        return userRepo.save( updatedUser );
+        AppUser savedUser = userRepo.save( updatedUser );
+
+        dtoCache.evictUser( userId );
+
+        return savedUser;
     }
 
     private AppUserDto userToDtoMapper( AppUser user ) {
@@ -0,0 +1,175 @@
+package org.eventbuddy.backend.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eventbuddy.backend.models.event.EventSummary;
+import org.eventbuddy.backend.models.event.EventSummaryChangedEvent;
+import org.eventbuddy.backend.models.event.PendingSummaryChange;
+import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.models.organization.OrganizationSummary;
+import org.eventbuddy.backend.models.organization.OrganizationSummaryChangedEvent;
+import org.eventbuddy.backend.repos.BookingRepository;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.eventbuddy.backend.repos.OrganizationRepository;
+import org.eventbuddy.backend.repos.PendingSummaryChangeRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Brings the summaries embedded in events and bookings up to date after an organization or event changed.
+ * <p>
+ * Like the ticket availability, changes are only marked when they happen and propagated in the background
+ * once per interval, so the request that changed an organization doesn't wait for the updates of all its events
+ * and bookings, and a burst of changes is written once. Until then listings show the previous summary. Failed
+ * propagations are tried again with the next run. Every change is also marked in the database until its
+ * propagation went through, changes still pending on shutdown are picked up from there on the next start.
+ */
+@Slf4j
+@Service
+public class SnapshotPropagationService {
+
+    private final OrganizationRepository organizationRepo;
+
+    private final EventRepository eventRepo;
+
+    private final BookingRepository bookingRepo;
+
+    private final PendingSummaryChangeRepository pendingChangeRepo;
+
+    // changed since the last run, marked once no matter how many updates came in
+    private final Set<String> changedOrganizationIds = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> changedEventIds = ConcurrentHashMap.newKeySet();
+
+    public SnapshotPropagationService( OrganizationRepository organizationRepo, EventRepository eventRepo,
+                                       BookingRepository bookingRepo, PendingSummaryChangeRepository pendingChangeRepo ) {
+        this.organizationRepo = organizationRepo;
+        this.eventRepo = eventRepo;
+        this.bookingRepo = bookingRepo;
+        this.pendingChangeRepo = pendingChangeRepo;
+    }
+
+    @EventListener
+    public void onOrganizationSummaryChanged( OrganizationSummaryChangedEvent summaryChanged ) {
+        markChanged( PendingSummaryChange.Type.ORGANIZATION, summaryChanged.organizationId(), changedOrganizationIds );
+    }
+
+    @EventListener
+    public void onEventSummaryChanged( EventSummaryChangedEvent summaryChanged ) {
+        markChanged( PendingSummaryChange.Type.EVENT, summaryChanged.eventId(), changedEventIds );
+    }
+
+    // one read of the few changes left over, instead of bringing every summary up to date on startup
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingChanges() {
+        try {
+            List<PendingSummaryChange> pendingChanges = pendingChangeRepo.findAll();
+
+            pendingChanges.forEach( pendingChange -> ( pendingChange.getType() == PendingSummaryChange.Type.ORGANIZATION
+                    ? changedOrganizationIds : changedEventIds ).add( pendingChange.getDocumentId() ) );
+
+            if ( !pendingChanges.isEmpty() ) {
+                log.info( "Resuming the propagation of {} summary changes", pendingChanges.size() );
+            }
+        } catch ( RuntimeException e ) {
+            log.warn( "Could not read the pending summary changes: {}", e.getMessage() );
+        }
+    }
+
+    // organizations first, the event summaries of the bookings carry the organization as well
+    @Scheduled(fixedDelayString = "${snapshot.propagation.interval:1s}")
+    public void propagateChanges() {
+        List<String> organizationIds = drain( changedOrganizationIds );
+        List<String> eventIds = drain( changedEventIds );
+
+        // marks written before this point are covered by the documents read below
+        Instant startedAt = Instant.now();
+
+        propagateOrganizations( organizationIds, startedAt );
+        propagateEvents( eventIds, startedAt );
+    }
+
+    private void markChanged( PendingSummaryChange.Type type, String documentId, Set<String> changedIds ) {
+        // the mark goes out first, so a propagation clearing it has the id to propagate as well
+        try {
+            pendingChangeRepo.save( PendingSummaryChange.of( type, documentId, Instant.now() ) );
+        } catch ( RuntimeException e ) {
+            log.warn( "Could not mark the summary of {} as changed, only propagating it until shutdown: {}",
+                    documentId, e.getMessage() );
+        }
+
+        changedIds.add( documentId );
+    }
+
+    private void propagateOrganizations( List<String> organizationIds, Instant startedAt ) {
+        if ( organizationIds.isEmpty() ) {
+            return;
+        }
+
+        try {
+            long updatedEvents = 0;
+            long updatedBookings = 0;
+
+            // deleted organizations are missing, nothing of them is left to update
+            for ( Organization organization : organizationRepo.findAllById( organizationIds ) ) {
+                OrganizationSummary organizationSummary = OrganizationSummary.of( organization );
+
+                updatedEvents += eventRepo.updateOrganizationSummary( organizationSummary );
+                updatedBookings += bookingRepo.updateOrganizationSummary( organizationSummary );
+            }
+
+            clearChanges( PendingSummaryChange.Type.ORGANIZATION, organizationIds, startedAt );
+
+            log.debug( "Propagated {} organization summaries to {} events and {} bookings",
+                    organizationIds.size(), updatedEvents, updatedBookings );
+        } catch ( RuntimeException e ) {
+            changedOrganizationIds.addAll( organizationIds );
+            log.warn( "Could not propagate {} organization summaries, retrying: {}", organizationIds.size(), e.getMessage() );
+        }
+    }
+
+    private void propagateEvents( List<String> eventIds, Instant startedAt ) {
+        if ( eventIds.isEmpty() ) {
+            return;
+        }
+
+        try {
+            // events still without an organization summary are left to the backfill
+            List<EventSummary> eventSummaries = eventRepo.findSummaryFieldsByIds( eventIds ).stream()
+                    .filter( event -> event.getOrganizationSummary() != null )
+                    .map( EventSummary::of )
+                    .toList();
+
+            long updatedBookings = bookingRepo.updateEventSummaries( eventSummaries );
+
+            clearChanges( PendingSummaryChange.Type.EVENT, eventIds, startedAt );
+
+            log.debug( "Propagated {} event summaries to {} bookings", eventSummaries.size(), updatedBookings );
+        } catch ( RuntimeException e ) {
+            changedEventIds.addAll( eventIds );
+            log.warn( "Could not propagate {} event summaries, retrying: {}", eventIds.size(), e.getMessage() );
+        }
+    }
+
+    private void clearChanges( PendingSummaryChange.Type type, List<String> documentIds, Instant startedAt ) {
+        List<String> ids = documentIds.stream()
+                .map( documentId -> PendingSummaryChange.idOf( type, documentId ) )
+                .toList();
+
+        pendingChangeRepo.deleteByIdInAndChangedAtLessThanEqual( ids, startedAt );
+    }
+
+    private static List<String> drain( Set<String> changedIds ) {
+        List<String> ids = new ArrayList<>( changedIds );
+        ids.forEach( changedIds::remove );
+
+        return ids;
+    }
+}
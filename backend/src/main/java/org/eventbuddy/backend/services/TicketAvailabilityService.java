@@ -0,0 +1,208 @@
+package org.eventbuddy.backend.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.eventbuddy.backend.exceptions.ResourceNotFoundException;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.TicketAvailabilityDto;
+import org.eventbuddy.backend.models.event.TicketsChangedEvent;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes the ticket availability of events to subscribed clients as server-sent events.
+ * <p>
+ * Changes are only marked when they happen and published once per coalescing window: a burst of bookings on
+ * one event results in a single read of its counters and a single update per subscriber. Idle subscriptions
+ * hold no thread, the async request just waits; sends run on virtual threads so a slow client doesn't hold up
+ * the others.
+ */
+@Slf4j
+@Service
+public class TicketAvailabilityService {
+
+    static final String AVAILABILITY_EVENT_NAME = "availability";
+
+    // same rule as the ticketAlarm of the event dto
+    private static final double TICKET_ALARM_THRESHOLD = 0.2;
+
+    private final EventRepository eventRepo;
+
+    private final ObjectMapper objectMapper;
+
+    private final Executor sendExecutor;
+
+    private final long timeoutMillis;
+
+    private final Map<String, Set<SseEmitter>> subscribersByEventId = new ConcurrentHashMap<>();
+
+    // events changed since the last publish, marked once no matter how many bookings came in
+    private final Set<String> changedEventIds = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public TicketAvailabilityService( EventRepository eventRepo,
+                                      ObjectMapper objectMapper,
+                                      @Value("${availability.stream.timeout:30m}") Duration timeout ) {
+        this( eventRepo, objectMapper,
+                Executors.newThreadPerTaskExecutor( Thread.ofVirtual().name( "availability-stream-", 0 ).factory() ),
+                timeout );
+    }
+
+    TicketAvailabilityService( EventRepository eventRepo, ObjectMapper objectMapper, Executor sendExecutor, Duration timeout ) {
+        this.eventRepo = eventRepo;
+        this.objectMapper = objectMapper;
+        this.sendExecutor = sendExecutor;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribersByEventId.values().forEach( subscribers -> subscribers.forEach( SseEmitter::complete ) );
+
+        if ( sendExecutor instanceof ExecutorService executorService ) {
+            executorService.shutdown();
+        }
+    }
+
+    // the current availability is sent right away, later changes follow
+    public SseEmitter subscribe( String eventId ) {
+        SseEmitter emitter = new SseEmitter( timeoutMillis );
+
+        // registered before reading, so a change in between is published again instead of lost
+        subscribersByEventId.compute( eventId, ( id, subscribers ) -> {
+            Set<SseEmitter> eventSubscribers = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            eventSubscribers.add( emitter );
+            return eventSubscribers;
+        } );
+
+        emitter.onCompletion( () -> unsubscribe( eventId, emitter ) );
+        emitter.onTimeout( emitter::complete );
+        emitter.onError( error -> unsubscribe( eventId, emitter ) );
+
+        List<Event> events = eventRepo.findTicketCountsByIds( List.of( eventId ) );
+
+        if ( events.isEmpty() ) {
+            unsubscribe( eventId, emitter );
+            throw new ResourceNotFoundException( "Event not found with id: " + eventId );
+        }
+
+        send( eventId, emitter, availabilityUpdate( toAvailability( events.getFirst() ) ) );
+
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribersByEventId.values().stream()
+                .mapToInt( Set::size )
+                .sum();
+    }
+
+    @EventListener
+    public void onTicketsChanged( TicketsChangedEvent ticketsChanged ) {
+        // nobody listens, nothing to publish
+        if ( subscribersByEventId.containsKey( ticketsChanged.eventId() ) ) {
+            changedEventIds.add( ticketsChanged.eventId() );
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${availability.stream.coalesce-window:500ms}")
+    public void publishChanges() {
+        if ( changedEventIds.isEmpty() ) {
+            return;
+        }
+
+        List<String> eventIds = new ArrayList<>( changedEventIds );
+        eventIds.forEach( changedEventIds::remove );
+
+        Map<String, Event> eventsById = eventRepo.findTicketCountsByIds( eventIds ).stream()
+                .collect( Collectors.toMap( Event::getId, Function.identity() ) );
+
+        for ( String eventId : eventIds ) {
+            Set<SseEmitter> subscribers = subscribersByEventId.getOrDefault( eventId, Set.of() );
+            Event event = eventsById.get( eventId );
+
+            // deleted events end the stream
+            if ( event == null ) {
+                subscribers.forEach( SseEmitter::complete );
+                continue;
+            }
+
+            // serialized once for all subscribers
+            Set<ResponseBodyEmitter.DataWithMediaType> update = availabilityUpdate( toAvailability( event ) );
+
+            subscribers.forEach( emitter -> sendExecutor.execute( () -> send( eventId, emitter, update ) ) );
+        }
+    }
+
+    // comments are ignored by EventSource clients, but keep proxies from closing idle connections
+    @Scheduled(fixedRateString = "${availability.stream.heartbeat:25s}")
+    public void sendHeartbeats() {
+        subscribersByEventId.forEach( ( eventId, subscribers ) -> {
+            Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment( "heartbeat" ).build();
+
+            subscribers.forEach( emitter -> sendExecutor.execute( () -> send( eventId, emitter, heartbeat ) ) );
+        } );
+    }
+
+    private void send( String eventId, SseEmitter emitter, Set<ResponseBodyEmitter.DataWithMediaType> update ) {
+        try {
+            emitter.send( update );
+        } catch ( Exception e ) {
+            // the client is gone, the container completes the request on its own
+            log.debug( "Dropping availability subscriber of event {}: {}", eventId, e.getMessage() );
+            unsubscribe( eventId, emitter );
+        }
+    }
+
+    private void unsubscribe( String eventId, SseEmitter emitter ) {
+        subscribersByEventId.computeIfPresent( eventId, ( id, subscribers ) -> {
+            subscribers.remove( emitter );
+            return subscribers.isEmpty() ? null : subscribers;
+        } );
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> availabilityUpdate( TicketAvailabilityDto availability ) {
+        try {
+            return SseEmitter.event()
+                    .name( AVAILABILITY_EVENT_NAME )
+                    .data( objectMapper.writeValueAsString( availability ) )
+                    .build();
+        } catch ( JsonProcessingException e ) {
+            throw new IllegalStateException( "Could not serialize availability of event " + availability.eventId(), e );
+        }
+    }
+
+    private TicketAvailabilityDto toAvailability( Event event ) {
+        boolean hasMaxCapacity = event.getMaxTicketCapacity() != null && event.getMaxTicketCapacity() > 0;
+        boolean hasFreeCapacity = hasMaxCapacity && event.getFreeTicketCapacity() != null && event.getFreeTicketCapacity() > 0;
+
+        return TicketAvailabilityDto.builder()
+                .eventId( event.getId() )
+                .maxTicketCapacity( event.getMaxTicketCapacity() )
+                .freeTicketCapacity( event.getFreeTicketCapacity() )
+                .bookedTicketsCount( event.getBookedTicketsCount() )
+                .ticketAlarm( hasFreeCapacity && ( ( double ) event.getFreeTicketCapacity() / event.getMaxTicketCapacity() ) <= TICKET_ALARM_THRESHOLD )
+                .isSoldOut( hasMaxCapacity && !hasFreeCapacity )
+                .build();
+    }
+}
@@ -0,0 +1,190 @@
+package org.eventbuddy.backend.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eventbuddy.backend.enums.HoldStatus;
+import org.eventbuddy.backend.exceptions.ResourceNotFoundException;
+import org.eventbuddy.backend.models.booking.Booking;
+import org.eventbuddy.backend.models.booking.BookingResponseDto;
+import org.eventbuddy.backend.models.booking.TicketHold;
+import org.eventbuddy.backend.models.booking.TicketHoldConfirmationDto;
+import org.eventbuddy.backend.models.booking.TicketHoldDto;
+import org.eventbuddy.backend.models.booking.TicketHoldRequestDto;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.eventbuddy.backend.repos.TicketHoldRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Two-phase bookings for checkout flows. A hold takes the tickets off the event right away, with the same checks
+ * and conditional update as a booking, so the user filling in the booking can't lose them to others. Confirming
+ * the hold turns it into the booking; holds neither confirmed nor released in time are released by the sweeper,
+ * which gives their tickets back.
+ * <p>
+ * Confirmation, release and sweeper close a hold with one conditional update each, so only one of them gets it
+ * and the tickets are never given back twice or booked after they were given back.
+ */
+@Slf4j
+@Service
+public class TicketHoldService {
+
+    // expired holds released at once, their tickets are given back with one update per event
+    static final int SWEEP_BATCH_SIZE = 500;
+
+    private final TicketHoldRepository holdRepository;
+
+    private final EventRepository eventRepository;
+
+    private final BookingService bookingService;
+
+    private final BookingMetrics bookingMetrics;
+
+    private final Duration holdDuration;
+
+    public TicketHoldService( TicketHoldRepository holdRepository, EventRepository eventRepository,
+                              BookingService bookingService, BookingMetrics bookingMetrics,
+                              @Value("${booking.hold.duration:10m}") Duration holdDuration ) {
+        this.holdRepository = holdRepository;
+        this.eventRepository = eventRepository;
+        this.bookingService = bookingService;
+        this.bookingMetrics = bookingMetrics;
+        this.holdDuration = holdDuration;
+    }
+
+    // === GET Methods ===
+
+    public TicketHold getRawHoldById( String holdId ) {
+        return holdRepository.findById( holdId ).orElseThrow( () ->
+                new ResourceNotFoundException( "Ticket hold not found with id: " + holdId ) );
+    }
+
+    // === POST Methods ===
+
+    public TicketHoldDto holdTickets( TicketHoldRequestDto ticketHoldRequestDto ) {
+        Event updatedEvent = bookingService.reserveTickets( ticketHoldRequestDto.eventId(), ticketHoldRequestDto.userId(),
+                ticketHoldRequestDto.numberOfTickets() );
+
+        Instant now = Instant.now();
+
+        TicketHold newHold = TicketHold.builder()
+                .eventId( updatedEvent.getId() )
+                .userId( ticketHoldRequestDto.userId() )
+                .numberOfTickets( ticketHoldRequestDto.numberOfTickets() )
+                .status( HoldStatus.HELD )
+                .createdDate( now )
+                .expiresAt( now.plus( holdDuration ) )
+                .build();
+
+        TicketHold savedHold;
+
+        try {
+            savedHold = holdRepository.insert( newHold );
+        } catch ( RuntimeException e ) {
+            // without the hold nobody would ever give the tickets back
+            bookingService.releaseTickets( updatedEvent.getId(), ticketHoldRequestDto.numberOfTickets() );
+
+            // a concurrent request of the same user opened a hold first
+            if ( e instanceof DuplicateKeyException ) {
+                throw new IllegalStateException( BookingService.ALREADY_HELD_MESSAGE );
+            }
+
+            throw e;
+        }
+
+        bookingMetrics.held();
+
+        return holdToTicketHoldDto( savedHold );
+    }
+
+    public BookingResponseDto confirmHold( String holdId, TicketHoldConfirmationDto ticketHoldConfirmationDto ) {
+        Instant now = Instant.now();
+
+        TicketHold confirmedHold = holdRepository.confirm( holdId, now ).orElseThrow( () -> holdNotConfirmable( holdId ) );
+
+        // deleted while held, its tickets are gone with it
+        Event associatedEvent = eventRepository.findById( confirmedHold.getEventId() ).orElseThrow( () ->
+                new ResourceNotFoundException( "Event not found with id: " + confirmedHold.getEventId() ) );
+
+        Booking newBooking = Booking.builder()
+                .name( ticketHoldConfirmationDto.name() )
+                .numberOfTickets( confirmedHold.getNumberOfTickets() )
+                .event( associatedEvent )
+                .userId( confirmedHold.getUserId() )
+                .build();
+
+        Booking savedBooking;
+
+        try {
+            savedBooking = bookingService.saveReservedBooking( newBooking );
+        } catch ( RuntimeException e ) {
+            // the tickets went back to the event, the hold is released with them
+            holdRepository.save( confirmedHold.toBuilder().status( HoldStatus.RELEASED ).build() );
+            throw e;
+        }
+
+        return bookingService.bookingToBookingResponseDto( savedBooking );
+    }
+
+    /**
+     * Releases the expired holds in batches and gives their tickets back. A hold confirmed or released while the
+     * sweeper runs is left to whoever closed it.
+     */
+    @Scheduled(fixedDelayString = "${booking.hold.sweep-interval:5s}")
+    public void releaseExpiredHolds() {
+        Instant now = Instant.now();
+        int releasedHolds = 0;
+        List<TicketHold> releasedBatch;
+
+        do {
+            releasedBatch = holdRepository.releaseExpired( now, SWEEP_BATCH_SIZE );
+
+            // one update per event, however many of its holds expired
+            releasedBatch.stream()
+                    .collect( Collectors.groupingBy( TicketHold::getEventId, Collectors.summingInt( TicketHold::getNumberOfTickets ) ) )
+                    .forEach( bookingService::releaseTickets );
+
+            releasedHolds += releasedBatch.size();
+        } while ( !releasedBatch.isEmpty() );
+
+        if ( releasedHolds > 0 ) {
+            bookingMetrics.holdsExpired( releasedHolds );
+            log.debug( "Released {} expired ticket holds", releasedHolds );
+        }
+    }
+
+    // === DELETE Methods ===
+
+    public void releaseHold( String holdId ) {
+        // only the request that actually closed the hold may give its tickets back
+        holdRepository.release( holdId, Instant.now() ).ifPresent( releasedHold ->
+                bookingService.releaseTickets( releasedHold.getEventId(), releasedHold.getNumberOfTickets() ) );
+    }
+
+    // === Helper Methods ===
+
+    private RuntimeException holdNotConfirmable( String holdId ) {
+        TicketHold hold = getRawHoldById( holdId );
+
+        if ( hold.getStatus() == HoldStatus.CONFIRMED ) {
+            return new IllegalStateException( "This ticket hold is already confirmed." );
+        }
+
+        return new IllegalStateException( "Your ticket hold has expired and its tickets were released. Please hold them again." );
+    }
+
+    private TicketHoldDto holdToTicketHoldDto( TicketHold hold ) {
+        return TicketHoldDto.builder()
+                .holdId( hold.getId() )
+                .eventId( hold.getEventId() )
+                .numberOfTickets( hold.getNumberOfTickets() )
+                .expiresAt( hold.getExpiresAt() )
+                .build();
+    }
+}
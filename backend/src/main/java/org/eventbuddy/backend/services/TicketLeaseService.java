@@ -0,0 +1,368 @@
+package org.eventbuddy.backend.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.TicketLease;
+import org.eventbuddy.backend.models.event.TicketsChangedEvent;
+import org.eventbuddy.backend.repos.BookingRepository;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.lang.Boolean.TRUE;
+
+/**
+ * Leases of free tickets for bookings spread over several instances of the app. Instead of a conditional update of
+ * the event document per booking, where all instances queue up behind each other, an instance leases a block of the
+ * free tickets of an event with one update and books from it in memory. The tickets booked from a lease are settled
+ * on the event once per settle interval, which extends the lease as well, so the counters and the sold-out and alarm
+ * flags of the event lag behind by at most that interval.
+ * <p>
+ * A lease is returned with its unused tickets when it is used up, when it expires without bookings, when the app
+ * shuts down and once the event is down to the sell-out threshold. From there on all instances book on the document
+ * again, so the last tickets don't get stuck in the lease of another instance. The leases of an instance gone without
+ * returning them are reclaimed by the others after they expired; the tickets booked from them are counted from the
+ * bookings, which carry the id of their lease.
+ * <p>
+ * Only direct bookings are made from leases, holds and waitlist promotions book on the document. Turned off by
+ * default.
+ */
+@Slf4j
+@Service
+public class TicketLeaseService {
+
+    private final EventRepository eventRepository;
+
+    private final BookingRepository bookingRepository;
+
+    private final DtoCacheService dtoCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final BookingMetrics bookingMetrics;
+
+    private final boolean enabled;
+
+    private final int leaseSize;
+
+    private final int sellOutThreshold;
+
+    private final Duration leaseDuration;
+
+    private final Duration settleInterval;
+
+    // tells the leases of this instance apart from those of the others
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, LeasedEvent> leasedEvents = new ConcurrentHashMap<>();
+
+    public TicketLeaseService( EventRepository eventRepository, BookingRepository bookingRepository,
+                               DtoCacheService dtoCache, ApplicationEventPublisher eventPublisher,
+                               BookingMetrics bookingMetrics,
+                               @Value("${booking.ticket-leasing.enabled:false}") boolean enabled,
+                               @Value("${booking.ticket-leasing.lease-size:50}") int leaseSize,
+                               @Value("${booking.ticket-leasing.sell-out-threshold:100}") int sellOutThreshold,
+                               @Value("${booking.ticket-leasing.duration:30s}") Duration leaseDuration,
+                               @Value("${booking.ticket-leasing.settle-interval:1s}") Duration settleInterval ) {
+        if ( leaseSize < 1 ) {
+            throw new IllegalArgumentException( "booking.ticket-leasing.lease-size must be at least 1" );
+        }
+
+        // an instance stops booking from a lease two settle intervals before it expires
+        if ( leaseDuration.compareTo( settleInterval.multipliedBy( 3 ) ) < 0 ) {
+            throw new IllegalArgumentException( "booking.ticket-leasing.duration must be at least three settle intervals" );
+        }
+
+        this.eventRepository = eventRepository;
+        this.bookingRepository = bookingRepository;
+        this.dtoCache = dtoCache;
+        this.eventPublisher = eventPublisher;
+        this.bookingMetrics = bookingMetrics;
+        this.enabled = enabled;
+        this.leaseSize = leaseSize;
+        this.sellOutThreshold = sellOutThreshold;
+        this.leaseDuration = leaseDuration;
+        this.settleInterval = settleInterval;
+    }
+
+    /**
+     * Books tickets from the lease of this instance on the event, leasing a new block first if there is none or it
+     * has not enough tickets left.
+     *
+     * @return the id of the lease the tickets were booked from, to be stored with the booking, or empty if the event
+     * doesn't lease its tickets to this instance right now and they have to be booked on its document
+     */
+    public Optional<String> reserveTickets( Event event, int numberOfTickets ) {
+        if ( !enabled || event.getMaxTicketCapacity() == null || event.getInventoryShards() != null
+                || TRUE.equals( event.getFlashSale() ) || numberOfTickets > leaseSize ) {
+            return Optional.empty();
+        }
+
+        while ( true ) {
+            LeasedEvent leasedEvent = leasedEvents.computeIfAbsent( event.getId(), LeasedEvent::new );
+
+            // a lock instead of a monitor, leasing and returning write to the event and must not pin the carrier of a virtual thread
+            leasedEvent.lock.lock();
+
+            try {
+                // dropped by the settlement while this thread waited for it
+                if ( leasedEvents.get( event.getId() ) != leasedEvent ) {
+                    continue;
+                }
+
+                return reserveTickets( leasedEvent, event, numberOfTickets, Instant.now() );
+            } finally {
+                leasedEvent.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Settles the tickets booked from the leases of this instance and extends them, and returns the leases that are
+     * used up, expire without bookings or belong to events down to the sell-out threshold.
+     */
+    @Scheduled(fixedDelayString = "${booking.ticket-leasing.settle-interval:1s}")
+    public void settleLeases() {
+        Instant now = Instant.now();
+
+        // the events whose leases had no bookings are read at once, to return their leases near the sell-out as well
+        List<String> unusedLeaseEventIds = leasedEvents.values().stream()
+                .filter( LeasedEvent::hasUnusedLease )
+                .map( leasedEvent -> leasedEvent.eventId )
+                .toList();
+
+        List<String> nearSellOutEventIds = unusedLeaseEventIds.isEmpty() ? List.of() : eventRepository
+                .findTicketCountsByIds( unusedLeaseEventIds ).stream()
+                .filter( event -> event.getFreeTicketCapacity() != null && event.getFreeTicketCapacity() <= sellOutThreshold )
+                .map( Event::getId )
+                .toList();
+
+        leasedEvents.values().forEach( leasedEvent -> {
+            leasedEvent.lock.lock();
+
+            try {
+                settle( leasedEvent, nearSellOutEventIds.contains( leasedEvent.eventId ), now );
+            } catch ( RuntimeException e ) {
+                log.warn( "Failed to settle the ticket lease of event {}, retrying on the next run", leasedEvent.eventId, e );
+            } finally {
+                if ( leasedEvent.leaseId == null && !now.isBefore( leasedEvent.noLeaseUntil ) ) {
+                    leasedEvents.remove( leasedEvent.eventId, leasedEvent );
+                }
+
+                leasedEvent.lock.unlock();
+            }
+        } );
+    }
+
+    /**
+     * Reclaims the leases of instances gone without returning them, once they expired. Runs also while leasing is
+     * turned off, for the leases left over from before.
+     */
+    @Scheduled(fixedDelayString = "${booking.ticket-leasing.sweep-interval:10s}")
+    public void reclaimExpiredLeases() {
+        reclaimExpiredLeases( Instant.now() );
+    }
+
+    // one lease duration after the expiry, the instance stopped booking from the lease long ago, even with its clock a bit off
+    void reclaimExpiredLeases( Instant now ) {
+        Instant expiredBefore = now.minus( leaseDuration );
+
+        for ( Event event : eventRepository.findTicketLeasesExpiredBefore( expiredBefore ) ) {
+            event.getTicketLeases().stream()
+                    .filter( lease -> lease.expiresAt().isBefore( expiredBefore ) )
+                    .forEach( lease -> reclaimLease( event.getId(), lease ) );
+        }
+    }
+
+    /**
+     * Returns the leases of this instance before the app goes down, their unused tickets would be stuck until they
+     * are reclaimed otherwise.
+     */
+    @PreDestroy
+    void returnLeases() {
+        leasedEvents.values().forEach( leasedEvent -> {
+            leasedEvent.lock.lock();
+
+            try {
+                if ( leasedEvent.leaseId != null ) {
+                    endLease( leasedEvent );
+                }
+            } catch ( RuntimeException e ) {
+                log.warn( "Failed to return the ticket lease of event {}, it is reclaimed once it expired", leasedEvent.eventId, e );
+            } finally {
+                leasedEvent.lock.unlock();
+            }
+        } );
+    }
+
+    // === Helper Methods ===
+
+    private Optional<String> reserveTickets( LeasedEvent leasedEvent, Event event, int numberOfTickets, Instant now ) {
+        boolean leaseUnusable = leasedEvent.leaseId != null && ( leasedEvent.leasedTickets - leasedEvent.usedTickets < numberOfTickets
+                || !now.isBefore( leasedEvent.bookableUntil() ) );
+
+        if ( leaseUnusable ) {
+            endLease( leasedEvent );
+        }
+
+        if ( leasedEvent.leaseId == null && !leaseTickets( leasedEvent, event, now ) ) {
+            return Optional.empty();
+        }
+
+        leasedEvent.usedTickets += numberOfTickets;
+
+        return Optional.of( leasedEvent.leaseId );
+    }
+
+    private boolean leaseTickets( LeasedEvent leasedEvent, Event event, Instant now ) {
+        // near the sell-out, or when the last lease was refused, the tickets are booked on the document for a while
+        if ( event.getFreeTicketCapacity() <= sellOutThreshold || now.isBefore( leasedEvent.noLeaseUntil ) ) {
+            return false;
+        }
+
+        TicketLease lease = new TicketLease( UUID.randomUUID().toString(), nodeId, leaseSize, 0, 0, now.plus( leaseDuration ) );
+
+        if ( eventRepository.leaseTickets( event.getId(), lease, sellOutThreshold ).isEmpty() ) {
+            leasedEvent.noLeaseUntil = now.plus( settleInterval );
+            return false;
+        }
+
+        leasedEvent.leaseId = lease.leaseId();
+        leasedEvent.leasedTickets = lease.tickets();
+        leasedEvent.usedTickets = 0;
+        leasedEvent.expiresAt = lease.expiresAt();
+
+        return true;
+    }
+
+    private void settle( LeasedEvent leasedEvent, boolean nearSellOut, Instant now ) {
+        if ( leasedEvent.leaseId == null ) {
+            return;
+        }
+
+        boolean leaseEnds = nearSellOut || leasedEvent.usedTickets == leasedEvent.leasedTickets
+                || !now.isBefore( leasedEvent.bookableUntil() );
+
+        if ( leaseEnds ) {
+            endLease( leasedEvent );
+            return;
+        }
+
+        // nothing to settle, without bookings the lease expires
+        if ( leasedEvent.usedTickets == 0 ) {
+            return;
+        }
+
+        int usedTickets = leasedEvent.usedTickets;
+        Instant expiresAt = now.plus( leaseDuration );
+
+        Optional<Event> settledEvent = eventRepository.settleTicketLease( leasedEvent.eventId, leasedEvent.leaseId,
+                usedTickets, expiresAt );
+
+        // reclaimed after all or deleted with the event, the tickets booked from it are counted from the bookings
+        if ( settledEvent.isEmpty() ) {
+            log.warn( "The ticket lease {} of event {} is gone before it was returned", leasedEvent.leaseId, leasedEvent.eventId );
+            leasedEvent.clearLease();
+            return;
+        }
+
+        leasedEvent.leasedTickets -= usedTickets;
+        leasedEvent.usedTickets = 0;
+        leasedEvent.expiresAt = expiresAt;
+
+        ticketsChanged( leasedEvent.eventId );
+
+        if ( settledEvent.get().getFreeTicketCapacity() <= sellOutThreshold ) {
+            endLease( leasedEvent );
+        }
+    }
+
+    private void endLease( LeasedEvent leasedEvent ) {
+        int usedTickets = leasedEvent.usedTickets;
+
+        Optional<Event> endedEvent = eventRepository.endTicketLease( leasedEvent.eventId, leasedEvent.leaseId,
+                leasedEvent.leasedTickets, usedTickets );
+
+        leasedEvent.clearLease();
+
+        if ( endedEvent.isPresent() && usedTickets > 0 ) {
+            ticketsChanged( leasedEvent.eventId );
+        }
+    }
+
+    private void reclaimLease( String eventId, TicketLease lease ) {
+        // the cancelled bookings of the lease are gone, but still count as booked from it
+        int bookedTickets = bookingRepository.sumTicketsByTicketLeaseId( lease.leaseId() ) + lease.cancelledTickets();
+
+        eventRepository.reclaimTicketLease( eventId, lease, bookedTickets - lease.settledTickets() ).ifPresent( event -> {
+            bookingMetrics.ticketLeaseReclaimed();
+            log.warn( "Reclaimed the expired ticket lease {} of event {} from instance {}", lease.leaseId(), eventId, lease.nodeId() );
+            ticketsChanged( eventId );
+        } );
+    }
+
+    // the cached event and the availability streams show the settled counters
+    private void ticketsChanged( String eventId ) {
+        dtoCache.evictEvent( eventId );
+        eventPublisher.publishEvent( new TicketsChangedEvent( eventId ) );
+    }
+
+    // the lease of this instance on one event, changed under its own lock
+    private final class LeasedEvent {
+
+        private final String eventId;
+
+        private final Lock lock = new ReentrantLock();
+
+        private String leaseId;
+
+        // leased tickets not settled yet, as the lease on the event has them
+        private int leasedTickets;
+
+        // booked from the lease since it was last settled
+        private int usedTickets;
+
+        private Instant expiresAt;
+
+        private Instant noLeaseUntil = Instant.MIN;
+
+        private LeasedEvent( String eventId ) {
+            this.eventId = eventId;
+        }
+
+        private boolean hasUnusedLease() {
+            lock.lock();
+
+            try {
+                return leaseId != null && usedTickets == 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // leaves the last settlement before the expiry to extend the lease or return it
+        private Instant bookableUntil() {
+            return expiresAt.minus( settleInterval.multipliedBy( 2 ) );
+        }
+
+        private void clearLease() {
+            leaseId = null;
+            leasedTickets = 0;
+            usedTickets = 0;
+            expiresAt = null;
+        }
+    }
+}
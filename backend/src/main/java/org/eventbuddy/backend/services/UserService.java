@@ -24,17 +24,20 @@ public class UserService {
 
     private final UserRepository userRepo;
     private final OrganizationRepository organizationRepo;
+    private final DtoCacheService dtoCache;
 
     // === Public User Methods (DTO) ===
 
     public AppUserDto getUserDtoById( String userId ) {
-        AppUser user = getUserOrThrow( userId );
+        return dtoCache.getUser( userId, () -> {
+            AppUser user = getUserOrThrow( userId );
 
-        if ( !user.getUserSettings().userVisible() ) {
-            throw new ResourceNotFoundException( "User not found with id: " + userId );
-        }
+            if ( !user.getUserSettings().userVisible() ) {
+                throw new ResourceNotFoundException( "User not found with id: " + userId );
+            }
 
-        return userToDtoMapper( user );
+            return userToDtoMapper( user );
+        } );
     }
 
     public Set<AppUserDto> getAllUserDtosById( Set<String> userIds ) {
@@ -94,7 +97,7 @@ public class UserService {
                 .userSettings( updateData.userSettings() != null ? updateData.userSettings() : existingUser.getUserSettings() )
                 .build();
 
-        return userRepo.save( updatedUser );
+        return saveAndEvict( updatedUser );
     }
 
     // === Role Management ===
@@ -106,7 +109,7 @@ public class UserService {
                 .role( Role.ADMIN )
                 .build();
 
-        return userRepo.save( updatedUser );
+        return saveAndEvict( updatedUser );
     }
 
     public AppUser makeUserSuperAdmin( String userId ) {
@@ -116,7 +119,7 @@ public class UserService {
                 .role( Role.SUPER_ADMIN )
                 .build();
 
-        return userRepo.save( updatedUser );
+        return saveAndEvict( updatedUser );
     }
 
     // === Delete Methods ===
@@ -127,6 +130,8 @@ public class UserService {
 
         userRepo.deleteById( userId );
 
+        dtoCache.evictUser( userId );
+
         // Remove user from all organizations they belong to
         Set<String> organizations = user.getOrganizations();
 
@@ -139,6 +144,14 @@ public class UserService {
 
     // === Private Helper Methods ===
 
+    private AppUser saveAndEvict( AppUser user ) {
+        AppUser savedUser = userRepo.save( user );
+
+        dtoCache.evictUser( user.getId() );
+
+        return savedUser;
+    }
+
     private AppUser getUserOrThrow( String userId ) {
         return userRepo.findById( userId ).orElseThrow( () ->
                 new ResourceNotFoundException( "User not found with id: " + userId )
@@ -189,7 +202,11 @@ public class UserService {
                 .owners( updatedOwners )
                 .build();
 
-        return organizationRepo.save( updatedOrganization );
+        Organization savedOrganization = organizationRepo.save( updatedOrganization );
+
+        dtoCache.evictOrganization( orgId );
+
+        return savedOrganization;
     }
 
     private OrganizationResponseDto organizationToDtoMapper( Organization organization ) {
@@ -0,0 +1,241 @@
+package org.eventbuddy.backend.services;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eventbuddy.backend.exceptions.ResourceNotFoundException;
+import org.eventbuddy.backend.models.booking.Booking;
+import org.eventbuddy.backend.models.booking.BookingRequestDto;
+import org.eventbuddy.backend.models.booking.WaitlistEntry;
+import org.eventbuddy.backend.models.booking.WaitlistPositionDto;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.TicketsChangedEvent;
+import org.eventbuddy.backend.repos.BookingRepository;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.eventbuddy.backend.repos.WaitlistRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * First come, first served waitlist of sold-out events. Instead of retrying a booking until a cancellation frees
+ * tickets, users join the waitlist with the booking they want. Released tickets are handed to the head of the line,
+ * as many entries at once as the tickets cover, and new bookings are refused as long as an event has a waitlist.
+ * <p>
+ * Every promotion reserves the tickets of the head with the same conditional update as a booking before it claims
+ * the entry, so a head that doesn't fit never leaves the line, an entry is never promoted twice and an event never
+ * oversold. The place in line is the number of entries ahead, counted on the index the line is read from.
+ */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class WaitlistService {
+
+    // entries read from the head of the line at once
+    static final int PROMOTION_BATCH_SIZE = 20;
+
+    private final WaitlistRepository waitlistRepository;
+    private final EventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+    private final DtoCacheService dtoCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingMetrics bookingMetrics;
+    private final InMemoryInventoryService inMemoryInventory;
+
+    // === GET Methods ===
+
+    public WaitlistPositionDto getPosition( String eventId, String userId ) {
+        WaitlistEntry entry = waitlistRepository.findByEventIdAndUserId( eventId, userId ).orElseThrow( () ->
+                new ResourceNotFoundException( "You are not on the waitlist of this event." ) );
+
+        return entryToWaitlistPositionDto( entry );
+    }
+
+    public boolean hasWaitlist( String eventId ) {
+        return waitlistRepository.existsByEventId( eventId );
+    }
+
+    // === POST Methods ===
+
+    public WaitlistPositionDto joinWaitlist( BookingRequestDto bookingRequestDto ) {
+        // only users the free tickets don't cover join, those of a sharded event are on its shards
+        Event event = eventRepository.findWithTicketCountsById( bookingRequestDto.eventId() ).orElseThrow( () ->
+                new ResourceNotFoundException( "Event not found with id: " + bookingRequestDto.eventId() ) );
+
+        Event eventReference = Event.builder()
+                .id( event.getId() )
+                .build();
+
+        if ( bookingRepository.existsByUserIdAndEvent( bookingRequestDto.userId(), eventReference ) ) {
+            throw new IllegalStateException( "You cannot book the same event more than once." );
+        }
+
+        if ( event.getMaxPerBooking() != null && bookingRequestDto.numberOfTickets() > event.getMaxPerBooking() ) {
+            throw new IllegalStateException( "You cannot book more than " + event.getMaxPerBooking() + " tickets for this event." );
+        }
+
+        boolean hasEnoughTickets = event.getMaxTicketCapacity() == null
+                || event.getFreeTicketCapacity() >= bookingRequestDto.numberOfTickets();
+
+        // with others waiting, the tickets left are theirs
+        if ( hasEnoughTickets && !hasWaitlist( event.getId() ) ) {
+            throw new IllegalStateException( "There are enough tickets left for your booking, book them directly." );
+        }
+
+        WaitlistEntry entry = WaitlistEntry.builder()
+                .eventId( event.getId() )
+                .userId( bookingRequestDto.userId() )
+                .name( bookingRequestDto.name() )
+                .numberOfTickets( bookingRequestDto.numberOfTickets() )
+                .position( waitlistRepository.nextPosition( event.getId() ) )
+                .createdDate( Instant.now() )
+                .build();
+
+        try {
+            entry = waitlistRepository.insert( entry );
+        } catch ( DuplicateKeyException e ) {
+            throw new IllegalStateException( "You are already on the waitlist of this event." );
+        }
+
+        bookingMetrics.waitlisted();
+
+        WaitlistPositionDto waitlistPositionDto = entryToWaitlistPositionDto( entry );
+
+        // tickets released while the entry was made would otherwise wait for the next cancellation
+        promote( event.getId() );
+
+        return waitlistPositionDto;
+    }
+
+    /**
+     * Books the free tickets of the event for the head of its waitlist, entry after entry in order, until the
+     * waitlist is empty or the head needs more tickets than are left. The entries behind a waiting head keep
+     * waiting as well, so nobody is overtaken by a smaller booking.
+     *
+     * @return the number of bookings made
+     */
+    public int promote( String eventId ) {
+        int promoted = 0;
+        boolean waiting = false;
+        List<WaitlistEntry> line;
+
+        do {
+            line = waitlistRepository.findByEventIdOrderByPositionAsc( eventId, Limit.of( PROMOTION_BATCH_SIZE ) );
+
+            for ( WaitlistEntry entry : line ) {
+                Promotion promotion = promoteEntry( entry );
+
+                if ( promotion == Promotion.WAITING ) {
+                    waiting = true;
+                    break;
+                }
+
+                promoted += promotion == Promotion.BOOKED ? 1 : 0;
+            }
+        } while ( !waiting && line.size() == PROMOTION_BATCH_SIZE );
+
+        if ( promoted > 0 ) {
+            // the cached event shows the booked tickets count
+            dtoCache.evictEvent( eventId );
+            eventPublisher.publishEvent( new TicketsChangedEvent( eventId ) );
+
+            log.debug( "Promoted {} waitlist entries of event {}", promoted, eventId );
+        }
+
+        return promoted;
+    }
+
+    // === DELETE Methods ===
+
+    public void leaveWaitlist( String eventId, String userId ) {
+        WaitlistEntry entry = waitlistRepository.findByEventIdAndUserId( eventId, userId ).orElseThrow( () ->
+                new ResourceNotFoundException( "You are not on the waitlist of this event." ) );
+
+        // a head waiting for more tickets than are free may have held up smaller bookings behind it
+        if ( waitlistRepository.claim( entry.getId() ).isPresent() ) {
+            promote( eventId );
+        }
+    }
+
+    // === Helper Methods ===
+
+    private Promotion promoteEntry( WaitlistEntry entry ) {
+        // the tickets come first, a head they don't cover stays in line for concurrent promotions to wait behind
+        Optional<Event> reservedEvent = reserveTickets( entry.getEventId(), entry.getNumberOfTickets() );
+
+        if ( reservedEvent.isEmpty() ) {
+            return Promotion.WAITING;
+        }
+
+        // promoted by a concurrent cancellation or left the waitlist, the tickets go to the next entry
+        if ( waitlistRepository.claim( entry.getId() ).isEmpty() ) {
+            releaseTickets( entry.getEventId(), entry.getNumberOfTickets() );
+            return Promotion.DROPPED;
+        }
+
+        Booking booking = Booking.builder()
+                .name( entry.getName() )
+                .numberOfTickets( entry.getNumberOfTickets() )
+                .event( reservedEvent.get() )
+                .userId( entry.getUserId() )
+                .build();
+
+        try {
+            bookingRepository.save( booking );
+        } catch ( DuplicateKeyException e ) {
+            // the user booked the event in the meantime, the tickets go to the next entry
+            releaseTickets( entry.getEventId(), entry.getNumberOfTickets() );
+            return Promotion.DROPPED;
+        } catch ( RuntimeException e ) {
+            releaseTickets( entry.getEventId(), entry.getNumberOfTickets() );
+            waitlistRepository.insert( entry );
+            throw e;
+        }
+
+        bookingMetrics.promoted( entry.getNumberOfTickets() );
+
+        return Promotion.BOOKED;
+    }
+
+    // flash sales take their tickets from the in-memory inventory, the others from the event document
+    private Optional<Event> reserveTickets( String eventId, int numberOfTickets ) {
+        if ( inMemoryInventory.manages( eventId ) ) {
+            return eventRepository.findById( eventId )
+                    .flatMap( event -> inMemoryInventory.reserveTickets( event, numberOfTickets ) );
+        }
+
+        return eventRepository.reserveTickets( eventId, numberOfTickets );
+    }
+
+    private void releaseTickets( String eventId, int numberOfTickets ) {
+        if ( inMemoryInventory.manages( eventId ) ) {
+            inMemoryInventory.releaseTickets( eventId, numberOfTickets );
+        } else {
+            eventRepository.releaseTickets( eventId, numberOfTickets );
+        }
+    }
+
+    // entries promoted or gone from anywhere in the line are no longer counted
+    private WaitlistPositionDto entryToWaitlistPositionDto( WaitlistEntry entry ) {
+        long entriesAhead = waitlistRepository.countByEventIdAndPositionLessThan( entry.getEventId(), entry.getPosition() );
+
+        return WaitlistPositionDto.builder()
+                .eventId( entry.getEventId() )
+                .numberOfTickets( entry.getNumberOfTickets() )
+                .position( entriesAhead + 1 )
+                .build();
+    }
+
+    private enum Promotion {
+        // the entry got its booking
+        BOOKED,
+        // the entry is gone without a booking, promoted elsewhere or booked by the user in the meantime
+        DROPPED,
+        // not enough tickets for the entry, it stays the head of the line
+        WAITING
+    }
+}
@@ -3,21 +3,28 @@ package org.eventbuddy.backend.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.eventbuddy.backend.TestcontainersConfiguration;
 import org.eventbuddy.backend.configs.CustomOAuth2User;
+import org.eventbuddy.backend.enums.HoldStatus;
 import org.eventbuddy.backend.mockUser.WithCustomMockUser;
 import org.eventbuddy.backend.mockUser.WithCustomSuperAdmin;
 import org.eventbuddy.backend.models.app_user.AppUser;
 import org.eventbuddy.backend.models.booking.Booking;
 import org.eventbuddy.backend.models.booking.BookingRequestDto;
 import org.eventbuddy.backend.models.booking.BookingResponseDto;
+import org.eventbuddy.backend.models.booking.TicketHold;
+import org.eventbuddy.backend.models.booking.TicketHoldConfirmationDto;
+import org.eventbuddy.backend.models.booking.TicketHoldRequestDto;
+import org.eventbuddy.backend.models.booking.WaitlistEntry;
 import org.eventbuddy.backend.models.event.Event;
-import org.eventbuddy.backend.models.event.EventResponseDto;
+import org.eventbuddy.backend.models.event.EventSummary;
 import org.eventbuddy.backend.models.organization.Location;
 import org.eventbuddy.backend.models.organization.Organization;
-import org.eventbuddy.backend.models.organization.OrganizationResponseDto;
+import org.eventbuddy.backend.repos.BookingIdempotencyKeyRepository;
 import org.eventbuddy.backend.repos.BookingRepository;
 import org.eventbuddy.backend.repos.EventRepository;
 import org.eventbuddy.backend.repos.OrganizationRepository;
+import org.eventbuddy.backend.repos.TicketHoldRepository;
 import org.eventbuddy.backend.repos.UserRepository;
+import org.eventbuddy.backend.repos.WaitlistRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -36,6 +43,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -67,6 +75,15 @@ class BookingControllerTest {
     @Autowired
     BookingRepository bookingRepo;
 
+    @Autowired
+    BookingIdempotencyKeyRepository idempotencyKeyRepo;
+
+    @Autowired
+    WaitlistRepository waitlistRepo;
+
+    @Autowired
+    TicketHoldRepository holdRepo;
+
     Booking testBooking;
     BookingRequestDto testBookingRequestDto;
     BookingResponseDto testBookingResponseDto;
@@ -78,6 +95,8 @@ class BookingControllerTest {
         organizationRepo.deleteAll();
         eventRepo.deleteAll();
         bookingRepo.deleteAll();
+        waitlistRepo.deleteAll();
+        holdRepo.deleteAll();
 
         // Save annotated test user to userRepo
         CustomOAuth2User customOAuth2User = ( CustomOAuth2User ) SecurityContextHolder
@@ -104,15 +123,6 @@ class BookingControllerTest {
                 .location( testLocation )
                 .build();
 
-        OrganizationResponseDto testOrganizationResponseDto = OrganizationResponseDto.builder()
-                .id( testOrganization.getId() )
-                .name( testOrganization.getName() )
-                .slug( testOrganization.getSlug() )
-                .owners( Set.of() )
-                .description( testOrganization.getDescription() )
-                .location( testOrganization.getLocation() )
-                .build();
-
 
         Event testEvent = Event.builder()
                 .title( "Test Event" )
@@ -133,16 +143,6 @@ class BookingControllerTest {
                 .userId( savedAuthenticatedUserId )
                 .build();
 
-        EventResponseDto eventResponseDto = EventResponseDto.builder()
-                .id( testEvent.getId() )
-                .eventOrganization( testOrganizationResponseDto )
-                .title( testEvent.getTitle() )
-                .eventDateTime( testEvent.getEventDateTime() )
-                .price( testEvent.getPrice() )
-                .location( testEvent.getLocation() )
-                .bookedTicketsCount( testEvent.getBookedTicketsCount() )
-                .build();
-
         testBookingRequestDto = BookingRequestDto.builder()
                 .name( testBooking.getName() )
                 .numberOfTickets( testBooking.getNumberOfTickets() )
@@ -154,7 +154,7 @@ class BookingControllerTest {
                 .bookingId( testBooking.getId() )
                 .name( testBooking.getName() )
                 .numberOfTickets( testBooking.getNumberOfTickets() )
-                .hostingEvent( eventResponseDto )
+                .hostingEvent( EventSummary.of( testEvent ) )
                 .build();
 
         userRepo.save( testUser );
@@ -214,11 +214,6 @@ class BookingControllerTest {
 
         bookingRepo.deleteAll();
 
-        testBookingResponseDto = testBookingResponseDto.toBuilder()
-                .hostingEvent( testBookingResponseDto.hostingEvent().toBuilder()
-                        .bookedTicketsCount( 3 ).build() )
-                .build();
-
         String requestBody = objectMapper.writeValueAsString( testBookingRequestDto );
 
         mockMvc.perform( post( "/api/booking/makeBooking" )
@@ -229,6 +224,32 @@ class BookingControllerTest {
                 .andExpect( jsonPath( "$.bookingId" ).isNotEmpty() );
     }
 
+    @Test
+    @DisplayName("Returns the first booking again when the request is retried with the same Idempotency-Key")
+    void makeBooking_replaysIdempotencyKey() throws Exception {
+
+        bookingRepo.deleteAll();
+        idempotencyKeyRepo.deleteAll();
+
+        String requestBody = objectMapper.writeValueAsString( testBookingRequestDto );
+
+        String firstResponse = mockMvc.perform( post( "/api/booking/makeBooking" )
+                        .header( "Idempotency-Key", "retry-key" )
+                        .contentType( MediaType.APPLICATION_JSON )
+                        .content( requestBody ) )
+                .andExpect( status().isOk() )
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform( post( "/api/booking/makeBooking" )
+                        .header( "Idempotency-Key", "retry-key" )
+                        .contentType( MediaType.APPLICATION_JSON )
+                        .content( requestBody ) )
+                .andExpect( status().isOk() )
+                .andExpect( content().json( firstResponse ) );
+
+        assertEquals( 1, bookingRepo.count() );
+    }
+
     @Test
     @DisplayName("Returns 403 when not logged in")
     void makeBooking_unauthenticated() throws Exception {
@@ -285,4 +306,148 @@ class BookingControllerTest {
                         .contentType( MediaType.APPLICATION_JSON ) )
                 .andExpect( status().isNoContent() );
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Returns the place of the user in the waitlist")
+    void getWaitlistPosition() throws Exception {
+        // one user ahead, positions left behind by entries gone from the line are not counted
+        waitlistRepo.save( testWaitlistEntry( "other-user" ).toBuilder().position( 0 ).build() );
+        waitlistRepo.save( testWaitlistEntry( savedAuthenticatedUserId ).toBuilder().position( 5 ).build() );
+
+        mockMvc.perform( get( "/api/booking/waitlist/test-event/byUser/" + savedAuthenticatedUserId )
+                        .contentType( MediaType.APPLICATION_JSON ) )
+                .andExpect( status().isOk() )
+                .andExpect( jsonPath( "$.eventId" ).value( "test-event" ) )
+                .andExpect( jsonPath( "$.numberOfTickets" ).value( 2 ) )
+                .andExpect( jsonPath( "$.position" ).value( 2 ) );
+    }
+
+    @Test
+    @DisplayName("Waitlist position returns 403 when not authorized")
+    void getWaitlistPosition_unauthorized() throws Exception {
+        waitlistRepo.save( testWaitlistEntry( "other-user" ) );
+
+        mockMvc.perform( get( "/api/booking/waitlist/test-event/byUser/other-user" )
+                        .contentType( MediaType.APPLICATION_JSON ) )
+                .andExpect( status().isForbidden() )
+                .andExpect( jsonPath( "$.error" ).value( "You do not have permission to perform this action." ) );
+    }
+
+    @Test
+    @DisplayName("Join waitlist returns 409 when the tickets can be booked directly")
+    void joinWaitlist_whenTicketsLeft() throws Exception {
+        bookingRepo.deleteAll();
+
+        String requestBody = objectMapper.writeValueAsString( testBookingRequestDto );
+
+        mockMvc.perform( post( "/api/booking/waitlist" )
+                        .contentType( MediaType.APPLICATION_JSON )
+                        .content( requestBody ) )
+                .andExpect( status().isConflict() )
+                .andExpect( jsonPath( "$.error" ).value( "There are enough tickets left for your booking, book them directly." ) );
+
+        assertEquals( 0, waitlistRepo.count() );
+    }
+
+    @Test
+    @DisplayName("Leaves the waitlist")
+    void leaveWaitlist() throws Exception {
+        waitlistRepo.save( testWaitlistEntry( savedAuthenticatedUserId ) );
+
+        mockMvc.perform( delete( "/api/booking/waitlist/test-event/byUser/" + savedAuthenticatedUserId )
+                        .contentType( MediaType.APPLICATION_JSON ) )
+                .andExpect( status().isNoContent() );
+
+        assertEquals( 0, waitlistRepo.count() );
+    }
+
+    @Test
+    @DisplayName("Leave waitlist returns 404 when not on the waitlist")
+    void leaveWaitlist_notFound() throws Exception {
+        mockMvc.perform( delete( "/api/booking/waitlist/test-event/byUser/" + savedAuthenticatedUserId )
+                        .contentType( MediaType.APPLICATION_JSON ) )
+                .andExpect( status().isNotFound() )
+                .andExpect( jsonPath( "$.error" ).value( "You are not on the waitlist of this event." ) );
+    }
+
+    @Test
+    @DisplayName("Hold tickets returns 403 when holding for another user")
+    void holdTickets_unauthorized() throws Exception {
+        String requestBody = objectMapper.writeValueAsString( TicketHoldRequestDto.builder()
+                .eventId( "test-event" )
+                .userId( "other-user" )
+                .numberOfTickets( 2 )
+                .build() );
+
+        mockMvc.perform( post( "/api/booking/holds" )
+                        .contentType( MediaType.APPLICATION_JSON )
+                        .content( requestBody ) )
+                .andExpect( status().isForbidden() )
+                .andExpect( jsonPath( "$.error" ).value( "You do not have permission to perform this action." ) );
+    }
+
+    @Test
+    @DisplayName("Confirm hold returns 409 when the hold expired")
+    void confirmHold_whenExpired() throws Exception {
+        TicketHold expiredHold = holdRepo.save( testHold( savedAuthenticatedUserId ).toBuilder()
+                .expiresAt( Instant.now().minusSeconds( 1 ) )
+                .build() );
+
+        String requestBody = objectMapper.writeValueAsString( new TicketHoldConfirmationDto( "Test Booking" ) );
+
+        mockMvc.perform( post( "/api/booking/holds/" + expiredHold.getId() + "/confirm" )
+                        .contentType( MediaType.APPLICATION_JSON )
+                        .content( requestBody ) )
+                .andExpect( status().isConflict() )
+                .andExpect( jsonPath( "$.error" ).value( "Your ticket hold has expired and its tickets were released. Please hold them again." ) );
+
+        assertEquals( 1, bookingRepo.count() );
+    }
+
+    @Test
+    @DisplayName("Confirm hold returns 403 when the hold belongs to another user")
+    void confirmHold_unauthorized() throws Exception {
+        TicketHold foreignHold = holdRepo.save( testHold( "other-user" ) );
+
+        String requestBody = objectMapper.writeValueAsString( new TicketHoldConfirmationDto( "Test Booking" ) );
+
+        mockMvc.perform( post( "/api/booking/holds/" + foreignHold.getId() + "/confirm" )
+                        .contentType( MediaType.APPLICATION_JSON )
+                        .content( requestBody ) )
+                .andExpect( status().isForbidden() )
+                .andExpect( jsonPath( "$.error" ).value( "You do not have permission to perform this action." ) );
+
+        assertEquals( HoldStatus.HELD, holdRepo.findById( foreignHold.getId() ).orElseThrow().getStatus() );
+    }
+
+    @Test
+    @DisplayName("Release hold returns 404 when the hold does not exist")
+    void releaseHold_notFound() throws Exception {
+        mockMvc.perform( delete( "/api/booking/holds/missing-hold" )
+                        .contentType( MediaType.APPLICATION_JSON ) )
+                .andExpect( status().isNotFound() )
+                .andExpect( jsonPath( "$.error" ).value( "Ticket hold not found with id: missing-hold" ) );
+    }
+
+    private TicketHold testHold( String userId ) {
+        return TicketHold.builder()
+                .eventId( "test-event" )
+                .userId( userId )
+                .numberOfTickets( 2 )
+                .status( HoldStatus.HELD )
+                .createdDate( Instant.now() )
+                .expiresAt( Instant.now().plusSeconds( 600 ) )
+                .build();
+    }
+
+    private WaitlistEntry testWaitlistEntry( String userId ) {
+        return WaitlistEntry.builder()
+                .eventId( "test-event" )
+                .userId( userId )
+                .name( "Test Booking" )
+                .numberOfTickets( 2 )
+                .position( 2 )
+                .createdDate( Instant.now() )
+                .build();
+    }
+}
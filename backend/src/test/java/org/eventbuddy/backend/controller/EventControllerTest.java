@@ -1,6 +1,7 @@
 package org.eventbuddy.backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.types.ObjectId;
 import org.eventbuddy.backend.TestcontainersConfiguration;
 import org.eventbuddy.backend.configs.CustomOAuth2User;
 import org.eventbuddy.backend.mockUser.WithCustomMockUser;
@@ -8,32 +9,44 @@ import org.eventbuddy.backend.mockUser.WithCustomSuperAdmin;
 import org.eventbuddy.backend.models.app_user.AppUser;
 import org.eventbuddy.backend.models.app_user.AppUserDto;
 import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventCardDto;
+import org.eventbuddy.backend.models.event.EventPageDto;
 import org.eventbuddy.backend.models.event.EventRequestDto;
 import org.eventbuddy.backend.models.event.EventResponseDto;
+import org.eventbuddy.backend.models.event.NearbyEventPageDto;
+import org.eventbuddy.backend.models.event.TicketsChangedEvent;
 import org.eventbuddy.backend.models.organization.Location;
 import org.eventbuddy.backend.models.organization.Organization;
 import org.eventbuddy.backend.models.organization.OrganizationResponseDto;
+import org.eventbuddy.backend.models.organization.OrganizationSummary;
 import org.eventbuddy.backend.repos.EventRepository;
 import org.eventbuddy.backend.repos.OrganizationRepository;
 import org.eventbuddy.backend.repos.UserRepository;
+import org.eventbuddy.backend.services.TicketAvailabilityService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockPart;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -49,6 +62,7 @@ class EventControllerTest {
     Organization savedOrganization;
     Event savedExampleEvent;
     EventResponseDto savedExampleEventResponse;
+    EventCardDto savedExampleEventCard;
     EventRequestDto exampleEventRequestDto;
 
 
@@ -62,6 +76,10 @@ class EventControllerTest {
     MockMvc mockMvc;
     @Autowired
     ObjectMapper objectMapper;
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+    @Autowired
+    TicketAvailabilityService ticketAvailabilityService;
 
     @BeforeEach
     void setUp() {
@@ -120,6 +138,7 @@ class EventControllerTest {
         Event exampleEvent = Event.builder()
                 .eventOrganization( savedOrganization )
                 .title( "Example Event" )
+                .description( "The annual meetup for all members." )
                 .eventDateTime( Instant.now().truncatedTo( ChronoUnit.MILLIS ) )
                 .location( testLocation )
                 .build();
@@ -130,6 +149,17 @@ class EventControllerTest {
                 .id( savedExampleEvent.getId() )
                 .eventOrganization( savedOrganizationDto )
                 .title( savedExampleEvent.getTitle() )
+                .description( savedExampleEvent.getDescription() )
+                .eventDateTime( savedExampleEvent.getEventDateTime() )
+                .isSoldOut( false )
+                .ticketAlarm( false )
+                .location( savedExampleEvent.getLocation() )
+                .build();
+
+        savedExampleEventCard = EventCardDto.builder()
+                .id( savedExampleEvent.getId() )
+                .eventOrganization( OrganizationSummary.of( savedOrganization ) )
+                .title( savedExampleEvent.getTitle() )
                 .eventDateTime( savedExampleEvent.getEventDateTime() )
                 .isSoldOut( false )
                 .ticketAlarm( false )
@@ -148,28 +178,252 @@ class EventControllerTest {
 
 
     @Test
-    @DisplayName("Get all event returns list of all event dtos")
+    @DisplayName("Get all events returns first page of event dtos")
     void getAllEvents() throws Exception {
-        String expectedJson = objectMapper.writeValueAsString( List.of( savedExampleEventResponse ) );
+        String expectedJson = objectMapper.writeValueAsString( EventPageDto.builder()
+                .events( List.of( savedExampleEventCard ) )
+                .hasNext( false )
+                .build() );
 
         mockMvc.perform( get( "/api/events/all" )
                         .contentType( MediaType.APPLICATION_JSON ) )
                 .andExpect( status().isOk() )
-                .andExpect( content().json( expectedJson ) );
+                .andExpect( content().json( expectedJson ) )
+                .andExpect( jsonPath( "$.events[0].description" ).doesNotExist() )
+                .andExpect( jsonPath( "$.nextCursor" ).doesNotExist() );
 
     }
 
     @Test
-    @DisplayName("Get all events returns empty list when no events found")
+    @DisplayName("Get all events returns empty page when no events found")
     void getAllEvents_returnsEmpty() throws Exception {
         eventRepo.deleteAll();
-        String expectedJson = objectMapper.writeValueAsString( List.of() );
 
         mockMvc.perform( get( "/api/events/all" )
                         .contentType( MediaType.APPLICATION_JSON ) )
                 .andExpect( status().isOk() )
-                .andExpect( content().json( expectedJson ) );
+                .andExpect( jsonPath( "$.events" ).isEmpty() )
+                .andExpect( jsonPath( "$.hasNext" ).value( false ) );
+
+    }
+
+    @Test
+    @DisplayName("Following the cursor visits every event exactly once in date order")
+    void getAllEvents_walksAllPagesWithCursor() throws Exception {
+        Instant sharedDateTime = Instant.now().truncatedTo( ChronoUnit.MILLIS ).plus( 3, ChronoUnit.DAYS );
+
+        // events at the same time must be split by id across page boundaries
+        for ( int i = 0; i < 5; i++ ) {
+            eventRepo.save( savedExampleEvent.toBuilder()
+                    .id( null )
+                    .title( "Event " + i )
+                    .eventDateTime( i < 3 ? sharedDateTime : sharedDateTime.plus( i, ChronoUnit.DAYS ) )
+                    .build() );
+        }
+
+        List<String> expectedIds = eventRepo.findAll().stream()
+                .sorted( Comparator.comparing( Event::getEventDateTime ).thenComparing( event -> new ObjectId( event.getId() ) ) )
+                .map( Event::getId )
+                .toList();
+
+        List<String> visitedIds = new ArrayList<>();
+        String cursor = null;
+
+        do {
+            var request = get( "/api/events/all" ).param( "size", "2" );
+
+            if ( cursor != null ) {
+                request.param( "cursor", cursor );
+            }
+
+            String responseBody = mockMvc.perform( request )
+                    .andExpect( status().isOk() )
+                    .andReturn().getResponse().getContentAsString();
+
+            EventPageDto page = objectMapper.readValue( responseBody, EventPageDto.class );
+
+            page.events().forEach( event -> visitedIds.add( event.id() ) );
+            cursor = page.nextCursor();
+        } while ( cursor != null );
+
+        assertEquals( expectedIds, visitedIds );
+    }
+
+    @Test
+    @DisplayName("Upcoming filter only returns future events, past filter newest first")
+    void getAllEvents_filtersUpcomingAndPast() throws Exception {
+        Event upcomingEvent = eventRepo.save( savedExampleEvent.toBuilder()
+                .id( null )
+                .eventDateTime( Instant.now().truncatedTo( ChronoUnit.MILLIS ).plus( 1, ChronoUnit.DAYS ) )
+                .build() );
+        Event olderPastEvent = eventRepo.save( savedExampleEvent.toBuilder()
+                .id( null )
+                .eventDateTime( savedExampleEvent.getEventDateTime().minus( 1, ChronoUnit.DAYS ) )
+                .build() );
 
+        mockMvc.perform( get( "/api/events/all" ).param( "filter", "UPCOMING" ) )
+                .andExpect( status().isOk() )
+                .andExpect( jsonPath( "$.events.length()" ).value( 1 ) )
+                .andExpect( jsonPath( "$.events[0].id" ).value( upcomingEvent.getId() ) );
+
+        mockMvc.perform( get( "/api/events/all" ).param( "filter", "PAST" ) )
+                .andExpect( status().isOk() )
+                .andExpect( jsonPath( "$.events.length()" ).value( 2 ) )
+                .andExpect( jsonPath( "$.events[0].id" ).value( savedExampleEvent.getId() ) )
+                .andExpect( jsonPath( "$.events[1].id" ).value( olderPastEvent.getId() ) );
+    }
+
+    @Test
+    @DisplayName("Get all events returns 400 for invalid cursor, filter or page size")
+    void getAllEvents_throws400WhenParamsInvalid() throws Exception {
+        mockMvc.perform( get( "/api/events/all" ).param( "cursor", "not-a-cursor" ) )
+                .andExpect( status().isBadRequest() );
+
+        mockMvc.perform( get( "/api/events/all" ).param( "filter", "SOMETIMES" ) )
+                .andExpect( status().isBadRequest() );
+
+        mockMvc.perform( get( "/api/events/all" ).param( "size", "0" ) )
+                .andExpect( status().isBadRequest() )
+                .andExpect( jsonPath( "$.error" ).value( "Page size must be at least 1" ) );
+    }
+
+    @Test
+    @DisplayName("Nearby events come nearest first and the cursor visits each once, also at a shared venue")
+    void getNearbyEvents_walksAllPagesByDistance() throws Exception {
+        Instant upcoming = Instant.now().truncatedTo( ChronoUnit.MILLIS ).plus( 2, ChronoUnit.DAYS );
+
+        Location venue = locationAt( 52.53, 13.41 );
+        Location farther = locationAt( 52.60, 13.50 );
+        Location outside = locationAt( 48.14, 11.58 );
+
+        List<String> venueIds = new ArrayList<>();
+
+        // three events at the same venue, a page boundary falls between them
+        for ( int i = 0; i < 3; i++ ) {
+            venueIds.add( eventRepo.save( savedExampleEvent.toBuilder().id( null ).eventDateTime( upcoming ).location( venue ).build() ).getId() );
+        }
+
+        Event fartherEvent = eventRepo.save( savedExampleEvent.toBuilder().id( null ).eventDateTime( upcoming ).location( farther ).build() );
+        eventRepo.save( savedExampleEvent.toBuilder().id( null ).eventDateTime( upcoming ).location( outside ).build() );
+        eventRepo.save( savedExampleEvent.toBuilder().id( null ).eventDateTime( upcoming.minus( 3, ChronoUnit.DAYS ) ).location( venue ).build() );
+
+        List<String> visitedIds = new ArrayList<>();
+        String cursor = null;
+
+        do {
+            var request = get( "/api/events/near" )
+                    .param( "lat", "52.52" )
+                    .param( "lng", "13.405" )
+                    .param( "radiusKm", "20" )
+                    .param( "size", "2" );
+
+            if ( cursor != null ) {
+                request.param( "cursor", cursor );
+            }
+
+            String responseBody = mockMvc.perform( request )
+                    .andExpect( status().isOk() )
+                    .andReturn().getResponse().getContentAsString();
+
+            NearbyEventPageDto page = objectMapper.readValue( responseBody, NearbyEventPageDto.class );
+
+            page.events().forEach( event -> visitedIds.add( event.event().id() ) );
+            cursor = page.nextCursor();
+        } while ( cursor != null );
+
+        assertEquals( 4, visitedIds.size() );
+        assertEquals( Set.copyOf( venueIds ), Set.copyOf( visitedIds.subList( 0, 3 ) ) );
+        assertEquals( fartherEvent.getId(), visitedIds.getLast() );
+    }
+
+    private Location locationAt( double latitude, double longitude ) {
+        Location location = savedExampleEvent.getLocation();
+
+        return Location.builder()
+                .address( location.address() )
+                .city( location.city() )
+                .zipCode( location.zipCode() )
+                .country( location.country() )
+                .latitude( latitude )
+                .longitude( longitude )
+                .build();
+    }
+
+    @Test
+    @DisplayName("Nearby events returns 400 for invalid coordinates, radius or date window")
+    void getNearbyEvents_throws400WhenParamsInvalid() throws Exception {
+        mockMvc.perform( get( "/api/events/near" ).param( "lat", "91" ).param( "lng", "13.405" ) )
+                .andExpect( status().isBadRequest() );
+
+        mockMvc.perform( get( "/api/events/near" ).param( "lat", "52.52" ).param( "lng", "13.405" ).param( "radiusKm", "0" ) )
+                .andExpect( status().isBadRequest() );
+
+        mockMvc.perform( get( "/api/events/near" ).param( "lat", "52.52" ).param( "lng", "13.405" )
+                        .param( "from", "2030-02-01T00:00:00Z" ).param( "to", "2030-01-01T00:00:00Z" ) )
+                .andExpect( status().isBadRequest() )
+                .andExpect( jsonPath( "$.error" ).value( "End of the date window must be after its start" ) );
+    }
+
+    @Test
+    @DisplayName("Search ranks title matches above description matches and filters by city")
+    void searchEvents_ranksByRelevance() throws Exception {
+        Instant upcoming = Instant.now().truncatedTo( ChronoUnit.MILLIS ).plus( 2, ChronoUnit.DAYS );
+
+        Event titleMatch = eventRepo.save( savedExampleEvent.toBuilder().id( null ).eventDateTime( upcoming )
+                .title( "Jazz Night" ).build() );
+        Event descriptionMatch = eventRepo.save( savedExampleEvent.toBuilder().id( null ).eventDateTime( upcoming )
+                .title( "Open Stage" ).description( "Bring your jazz standards" ).build() );
+        eventRepo.save( savedExampleEvent.toBuilder().id( null ).eventDateTime( upcoming )
+                .title( "Rock Night" ).build() );
+
+        mockMvc.perform( get( "/api/events/search" ).param( "q", "jazz" ) )
+                .andExpect( status().isOk() )
+                .andExpect( jsonPath( "$.events.length()" ).value( 2 ) )
+                .andExpect( jsonPath( "$.events[0].id" ).value( titleMatch.getId() ) )
+                .andExpect( jsonPath( "$.events[1].id" ).value( descriptionMatch.getId() ) )
+                .andExpect( jsonPath( "$.hasNext" ).value( false ) );
+
+        mockMvc.perform( get( "/api/events/search" ).param( "q", "jazz" ).param( "city", "otherCity" ) )
+                .andExpect( status().isOk() )
+                .andExpect( jsonPath( "$.events.length()" ).value( 0 ) );
+    }
+
+    @Test
+    @DisplayName("Search returns 400 for blank text or a page beyond the searchable matches")
+    void searchEvents_throws400WhenParamsInvalid() throws Exception {
+        mockMvc.perform( get( "/api/events/search" ).param( "q", " " ) )
+                .andExpect( status().isBadRequest() )
+                .andExpect( jsonPath( "$.error" ).value( "Search text must not be blank" ) );
+
+        mockMvc.perform( get( "/api/events/search" ).param( "q", "jazz" ).param( "page", "1000" ).param( "size", "1" ) )
+                .andExpect( status().isBadRequest() );
+    }
+
+    @Test
+    @DisplayName("Suggest returns upcoming events by title word prefixes and follows renames")
+    void suggestEvents() throws Exception {
+        Instant upcoming = Instant.now().truncatedTo( ChronoUnit.MILLIS ).plus( 2, ChronoUnit.DAYS );
+
+        Event jazzNight = eventRepo.save( savedExampleEvent.toBuilder().id( null ).eventDateTime( upcoming )
+                .title( "Jazz Night" ).build() );
+        eventRepo.save( savedExampleEvent.toBuilder().id( null ).eventDateTime( upcoming.minus( 3, ChronoUnit.DAYS ) )
+                .title( "Jazz Brunch" ).build() );
+
+        mockMvc.perform( get( "/api/events/suggest" ).param( "q", "jaz ni" ) )
+                .andExpect( status().isOk() )
+                .andExpect( jsonPath( "$.length()" ).value( 1 ) )
+                .andExpect( jsonPath( "$[0].id" ).value( jazzNight.getId() ) )
+                .andExpect( jsonPath( "$[0].title" ).value( "Jazz Night" ) );
+
+        eventRepo.save( jazzNight.toBuilder().title( "Soul Night" ).build() );
+
+        mockMvc.perform( get( "/api/events/suggest" ).param( "q", "jaz" ) )
+                .andExpect( status().isOk() )
+                .andExpect( jsonPath( "$.length()" ).value( 0 ) );
+
+        mockMvc.perform( get( "/api/events/suggest" ).param( "q", "soul" ).param( "limit", "0" ) )
+                .andExpect( status().isBadRequest() )
+                .andExpect( jsonPath( "$.error" ).value( "Limit must be at least 1" ) );
     }
 
     @Test
@@ -180,7 +434,48 @@ class EventControllerTest {
         mockMvc.perform( get( "/api/events/" + savedExampleEvent.getId() )
                         .contentType( MediaType.APPLICATION_JSON ) )
                 .andExpect( status().isOk() )
-                .andExpect( content().json( expectedJson ) );
+                .andExpect( content().json( expectedJson ) )
+                .andExpect( jsonPath( "$.description" ).value( "The annual meetup for all members." ) );
+    }
+
+    @Test
+    @DisplayName("Streams the current ticket availability and pushes changes")
+    void streamTicketAvailability() throws Exception {
+        Event limitedEvent = eventRepo.save( savedExampleEvent.toBuilder()
+                .maxTicketCapacity( 10 )
+                .freeTicketCapacity( 10 )
+                .bookedTicketsCount( 0 )
+                .build() );
+
+        MvcResult result = mockMvc.perform( get( "/api/events/" + limitedEvent.getId() + "/availability/stream" ) )
+                .andExpect( request().asyncStarted() )
+                .andReturn();
+
+        assertTrue( result.getResponse().getContentAsString().contains( "event:availability" ) );
+        assertTrue( result.getResponse().getContentAsString().contains( "\"freeTicketCapacity\":10" ) );
+
+        eventRepo.save( limitedEvent.toBuilder().freeTicketCapacity( 1 ).bookedTicketsCount( 9 ).build() );
+        eventPublisher.publishEvent( new TicketsChangedEvent( limitedEvent.getId() ) );
+        ticketAvailabilityService.publishChanges();
+
+        // sends run on their own virtual threads
+        String expectedUpdate = "\"freeTicketCapacity\":1,\"bookedTicketsCount\":9,\"ticketAlarm\":true,\"isSoldOut\":false";
+
+        for ( int i = 0; i < 50 && !result.getResponse().getContentAsString().contains( expectedUpdate ); i++ ) {
+            Thread.sleep( 100 );
+        }
+
+        assertTrue( result.getResponse().getContentAsString().contains( expectedUpdate ) );
+    }
+
+    @Test
+    @DisplayName("Throws 404 when streaming availability of an unknown event")
+    void streamTicketAvailability_throws404WhenNotFound() throws Exception {
+        String nonexistentEventId = new ObjectId().toHexString();
+
+        mockMvc.perform( get( "/api/events/" + nonexistentEventId + "/availability/stream" ) )
+                .andExpect( status().isNotFound() )
+                .andExpect( jsonPath( "$.error" ).value( "Event not found with id: " + nonexistentEventId ) );
     }
 
     @Test
@@ -268,23 +563,25 @@ class EventControllerTest {
     @Test
     @DisplayName("Returns list of events found by orga id")
     void getEventsByOrganizationId() throws Exception {
-        String expectedJson = objectMapper.writeValueAsString( List.of( savedExampleEventResponse ) );
+        String expectedJson = objectMapper.writeValueAsString( List.of( savedExampleEventCard ) );
 
         mockMvc.perform( get( "/api/events/byOrga/" + savedOrganization.getId() )
                         .contentType( MediaType.APPLICATION_JSON ) )
                 .andExpect( status().isOk() )
-                .andExpect( content().json( expectedJson ) );
+                .andExpect( content().json( expectedJson ) )
+                .andExpect( jsonPath( "$[0].description" ).doesNotExist() );
     }
 
     @Test
     @DisplayName("Returns list of events found by user id")
     void getEventsByUserId() throws Exception {
-        String expectedJson = objectMapper.writeValueAsString( List.of( savedExampleEventResponse ) );
+        String expectedJson = objectMapper.writeValueAsString( List.of( savedExampleEventCard ) );
 
         mockMvc.perform( get( "/api/events/byUser/" + savedAuthenticatedUserId )
                         .contentType( MediaType.APPLICATION_JSON ) )
                 .andExpect( status().isOk() )
-                .andExpect( content().json( expectedJson ) );
+                .andExpect( content().json( expectedJson ) )
+                .andExpect( jsonPath( "$[0].description" ).doesNotExist() );
     }
 
     @Test
@@ -1,10 +1,8 @@
 package org.eventbuddy.backend.controller;
 
-import org.bson.BsonBinarySubType;
-import org.bson.types.Binary;
+import org.bson.types.ObjectId;
 import org.eventbuddy.backend.TestcontainersConfiguration;
-import org.eventbuddy.backend.models.image.Image;
-import org.eventbuddy.backend.repos.ImageRepository;
+import org.eventbuddy.backend.repos.ImageStore;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,7 +11,19 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -23,7 +33,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class ImageControllerTest {
 
     @Autowired
-    private ImageRepository imageRepo;
+    private ImageStore imageStore;
     @Autowired
     private MockMvc mockMvc;
 
@@ -33,22 +43,99 @@ class ImageControllerTest {
         byte[] imageData = "imageData".getBytes();
         String contentType = "image/png";
 
-        Binary imageBinary = new Binary( BsonBinarySubType.BINARY, imageData );
-
-        Image newImage = Image.builder()
-                .imageData( imageBinary )
-                .contentType( contentType )
-                .build();
-
-        Image savedImage = imageRepo.save( newImage );
+        String savedImageId = imageStore.save( new ByteArrayInputStream( imageData ), contentType );
 
-        mockMvc.perform( get( "/api/images/" + savedImage.getImageId() ) )
+        mockMvc.perform( get( "/api/images/" + savedImageId ) )
                 .andExpect( status().isOk() )
                 .andExpect( content().contentType( contentType ) )
+                .andExpect( header().longValue( "Content-Length", imageData.length ) )
                 .andExpect( content().bytes( imageData ) );
 
     }
 
+    @Test
+    @DisplayName("Should return image with content hash ETag and immutable caching")
+    void getImage_returnsValidators() throws Exception {
+        byte[] imageData = "imageData".getBytes();
+
+        String savedImageId = imageStore.save( new ByteArrayInputStream( imageData ), "image/png" );
+
+        mockMvc.perform( get( "/api/images/" + savedImageId ) )
+                .andExpect( status().isOk() )
+                .andExpect( header().string( "ETag", "\"" + sha256Hex( imageData ) + "\"" ) )
+                .andExpect( header().string( "Cache-Control", "max-age=31536000, public, immutable" ) )
+                .andExpect( header().string( "Accept-Ranges", "bytes" ) );
+    }
+
+    @Test
+    @DisplayName("Should return 304 when ETag matches")
+    void getImage_returns304WhenNotModified() throws Exception {
+        byte[] imageData = "imageData".getBytes();
+
+        String savedImageId = imageStore.save( new ByteArrayInputStream( imageData ), "image/png" );
+
+        mockMvc.perform( get( "/api/images/" + savedImageId )
+                        .header( "If-None-Match", "\"" + sha256Hex( imageData ) + "\"" ) )
+                .andExpect( status().isNotModified() )
+                .andExpect( content().bytes( new byte[0] ) );
+    }
+
+    @Test
+    @DisplayName("Should return requested byte range")
+    void getImage_returnsRange() throws Exception {
+        byte[] imageData = "0123456789".getBytes();
+
+        String savedImageId = imageStore.save( new ByteArrayInputStream( imageData ), "image/png" );
+
+        mockMvc.perform( get( "/api/images/" + savedImageId )
+                        .header( "Range", "bytes=2-5" ) )
+                .andExpect( status().isPartialContent() )
+                .andExpect( header().string( "Content-Range", "bytes 2-5/10" ) )
+                .andExpect( content().bytes( "2345".getBytes() ) );
+    }
+
+    @Test
+    @DisplayName("Should return several byte ranges of one image")
+    void getImage_returnsMultipleRanges() throws Exception {
+        byte[] imageData = "0123456789".getBytes();
+
+        String savedImageId = imageStore.save( new ByteArrayInputStream( imageData ), "image/png" );
+
+        String body = mockMvc.perform( get( "/api/images/" + savedImageId )
+                        .header( "Range", "bytes=0-1,8-9" ) )
+                .andExpect( status().isPartialContent() )
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue( body.contains( "Content-Range: bytes 0-1/10" ) && body.contains( "01" ) );
+        assertTrue( body.contains( "Content-Range: bytes 8-9/10" ) && body.contains( "89" ) );
+    }
+
+    @Test
+    @DisplayName("Should return closest variant for requested width")
+    void getImage_returnsVariant() throws Exception {
+        ByteArrayOutputStream original = new ByteArrayOutputStream();
+        ImageIO.write( new BufferedImage( 1000, 500, BufferedImage.TYPE_INT_RGB ), "jpeg", original );
+
+        String savedImageId = imageStore.save( new ByteArrayInputStream( original.toByteArray() ), "image/jpeg" );
+
+        byte[] variant = mockMvc.perform( get( "/api/images/" + savedImageId ).param( "w", "300" ) )
+                .andExpect( status().isOk() )
+                .andExpect( content().contentType( "image/jpeg" ) )
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals( 320, ImageIO.read( new ByteArrayInputStream( variant ) ).getWidth() );
+    }
+
+    @Test
+    @DisplayName("Should throw 400 for invalid width")
+    void getImage_throws400ForInvalidWidth() throws Exception {
+        String savedImageId = imageStore.save( new ByteArrayInputStream( "imageData".getBytes() ), "image/png" );
+
+        mockMvc.perform( get( "/api/images/" + savedImageId ).param( "w", "0" ) )
+                .andExpect( status().isBadRequest() )
+                .andExpect( jsonPath( "$.error" ).value( "Image width must be at least 1" ) );
+    }
+
     @Test
     @DisplayName("Should throw 404 not found")
     void getImage_throws404() throws Exception {
@@ -61,30 +148,70 @@ class ImageControllerTest {
                 .andExpect( jsonPath( "$.id" ).isNotEmpty() );
     }
 
+    @Test
+    @DisplayName("Should throw 404 not found for unknown image id")
+    void getImage_throws404ForUnknownId() throws Exception {
+        String unknownImageId = new ObjectId().toHexString();
+
+        mockMvc.perform( get( "/api/images/" + unknownImageId ) )
+                .andExpect( status().isNotFound() )
+                .andExpect( jsonPath( "$.error" ).value( "Image not found with URL: " + unknownImageId ) );
+    }
+
     @Test
     @DisplayName("Should return image as base64 data url")
     void getImageAsDataUrl() throws Exception {
         byte[] imageData = "imageData".getBytes();
         String contentType = "image/jpeg";
 
-        Binary imageBinary = new Binary( BsonBinarySubType.BINARY, imageData );
-
-        Image newImage = Image.builder()
-                .imageData( imageBinary )
-                .contentType( contentType )
-                .build();
-
-        Image savedImage = imageRepo.save( newImage );
+        String savedImageId = imageStore.save( new ByteArrayInputStream( imageData ), contentType );
 
         String expectedBase64Data = java.util.Base64.getEncoder().encodeToString( imageData );
         String expectedDataUrl = "data:" + contentType + ";base64," + expectedBase64Data;
 
-        mockMvc.perform( get( "/api/images/data-url/" + savedImage.getImageId() ) )
+        MvcResult streaming = mockMvc.perform( get( "/api/images/data-url/" + savedImageId ) )
+                .andExpect( request().asyncStarted() )
+                .andReturn();
+
+        mockMvc.perform( asyncDispatch( streaming ) )
                 .andExpect( status().isOk() )
                 .andExpect( content().contentType( MediaType.TEXT_PLAIN ) )
+                .andExpect( header().longValue( "Content-Length", expectedDataUrl.length() ) )
                 .andExpect( content().string( expectedDataUrl ) );
     }
 
+    @Test
+    @DisplayName("Should stream base64 data url of images whose size is no multiple of three")
+    void getImageAsDataUrl_padsLastGroup() throws Exception {
+        byte[] imageData = new byte[100_000];
+        new Random( 42 ).nextBytes( imageData );
+
+        String savedImageId = imageStore.save( new ByteArrayInputStream( imageData ), "image/png" );
+
+        String expectedDataUrl = "data:image/png;base64," + java.util.Base64.getEncoder().encodeToString( imageData );
+
+        MvcResult streaming = mockMvc.perform( get( "/api/images/data-url/" + savedImageId ) )
+                .andReturn();
+
+        mockMvc.perform( asyncDispatch( streaming ) )
+                .andExpect( status().isOk() )
+                .andExpect( header().longValue( "Content-Length", expectedDataUrl.length() ) )
+                .andExpect( content().string( expectedDataUrl ) );
+    }
+
+    @Test
+    @DisplayName("Should return 304 for data url when ETag matches")
+    void getImageAsDataUrl_returns304WhenNotModified() throws Exception {
+        byte[] imageData = "imageData".getBytes();
+
+        String savedImageId = imageStore.save( new ByteArrayInputStream( imageData ), "image/jpeg" );
+
+        mockMvc.perform( get( "/api/images/data-url/" + savedImageId )
+                        .header( "If-None-Match", "\"" + sha256Hex( imageData ) + "\"" ) )
+                .andExpect( status().isNotModified() )
+                .andExpect( content().string( "" ) );
+    }
+
     @Test
     @DisplayName("Should throw 404 not found for data url")
     void getImageAsDataUrl_throws404() throws Exception {
@@ -96,4 +223,42 @@ class ImageControllerTest {
                 .andExpect( jsonPath( "$.error" ).value( "Image not found with URL: " + nonExistingImageId ) )
                 .andExpect( jsonPath( "$.id" ).isNotEmpty() );
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return tiny placeholder as data url")
+    void getImagePlaceholder() throws Exception {
+        ByteArrayOutputStream original = new ByteArrayOutputStream();
+        ImageIO.write( new BufferedImage( 1000, 500, BufferedImage.TYPE_INT_RGB ), "jpeg", original );
+
+        String savedImageId = imageStore.save( new ByteArrayInputStream( original.toByteArray() ), "image/jpeg" );
+
+        String dataUrl = mockMvc.perform( get( "/api/images/placeholder/" + savedImageId ) )
+                .andExpect( status().isOk() )
+                .andExpect( content().contentType( MediaType.TEXT_PLAIN ) )
+                .andExpect( header().string( "Cache-Control", "max-age=31536000, public, immutable" ) )
+                .andReturn().getResponse().getContentAsString();
+
+        String prefix = "data:image/png;base64,";
+        BufferedImage placeholder = ImageIO.read( new ByteArrayInputStream(
+                java.util.Base64.getDecoder().decode( dataUrl.substring( prefix.length() ) ) ) );
+
+        assertTrue( dataUrl.startsWith( prefix ) );
+        assertTrue( dataUrl.length() < 1024, "Placeholder data url has " + dataUrl.length() + " characters" );
+        assertEquals( 16, placeholder.getWidth() );
+        assertEquals( 8, placeholder.getHeight() );
+    }
+
+    @Test
+    @DisplayName("Should throw 404 when image format has no placeholder")
+    void getImagePlaceholder_throws404ForUnsupportedFormat() throws Exception {
+        String savedImageId = imageStore.save( new ByteArrayInputStream( "<svg/>".getBytes() ), "image/svg+xml" );
+
+        mockMvc.perform( get( "/api/images/placeholder/" + savedImageId ) )
+                .andExpect( status().isNotFound() )
+                .andExpect( jsonPath( "$.error" ).value( "No placeholder available for image: " + savedImageId ) );
+    }
+
+    private static String sha256Hex( byte[] data ) throws Exception {
+        return HexFormat.of().formatHex( MessageDigest.getInstance( "SHA-256" ).digest( data ) );
+    }
+}
@@ -10,12 +10,17 @@ import org.eventbuddy.backend.mockUser.WithCustomSuperAdmin;
 import org.eventbuddy.backend.models.app_user.AppUser;
 import org.eventbuddy.backend.models.app_user.AppUserDto;
 import org.eventbuddy.backend.models.app_user.UserSettings;
+import org.eventbuddy.backend.models.booking.Booking;
+import org.eventbuddy.backend.models.event.Event;
 import org.eventbuddy.backend.models.organization.Location;
 import org.eventbuddy.backend.models.organization.Organization;
 import org.eventbuddy.backend.models.organization.OrganizationRequestDto;
 import org.eventbuddy.backend.models.organization.OrganizationResponseDto;
+import org.eventbuddy.backend.repos.BookingRepository;
+import org.eventbuddy.backend.repos.EventRepository;
 import org.eventbuddy.backend.repos.OrganizationRepository;
 import org.eventbuddy.backend.repos.UserRepository;
+import org.eventbuddy.backend.services.SnapshotPropagationService;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -36,6 +41,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.List;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -56,6 +64,12 @@ class OrganizationControllerTest {
     @Autowired
     OrganizationRepository organizationRepo;
     @Autowired
+    EventRepository eventRepo;
+    @Autowired
+    BookingRepository bookingRepo;
+    @Autowired
+    SnapshotPropagationService snapshotPropagationService;
+    @Autowired
     MockMvc mockMvc;
     @Autowired
     ObjectMapper objectMapper;
@@ -270,6 +284,35 @@ class OrganizationControllerTest {
                 .andExpect( jsonPath( "$.id" ).isNotEmpty() );
     }
 
+    @Test
+    @DisplayName("Should suffix the slug when another organization name normalizes to the same slug")
+    void createOrganization_suffixesCollidingSlug() throws Exception {
+
+        OrganizationRequestDto createOrgaData = OrganizationRequestDto.builder()
+                .name( "Test Organization!" )
+                .location( Location.builder()
+                        .address( "newStreet 1" )
+                        .city( "newCity" )
+                        .zipCode( "54321" )
+                        .country( "NewCountry" )
+                        .build() )
+                .build();
+
+        String organizationJson = objectMapper.writeValueAsString( createOrgaData );
+
+        MockPart organizationPart = new MockPart( "organization", "organization.json", organizationJson.getBytes() ) {{
+            getHeaders().add( "Content-Type", MediaType.APPLICATION_JSON_VALUE );
+        }};
+
+        mockMvc.perform( multipart( "/api/organization" )
+                        .part( organizationPart )
+                        .contentType( MediaType.MULTIPART_FORM_DATA ) )
+                .andExpect( status().isOk() )
+                .andExpect( jsonPath( "$.slug" ).value( "test-organization-2" ) );
+
+        assertEquals( "test-organization", organizationRepo.findById( "testId" ).orElseThrow().getSlug() );
+    }
+
     @Test
     @DisplayName("Should throw 403 when not authenticated")
     void createOrganization_throws403WhenNotAuthenticated() throws Exception {
@@ -434,6 +477,108 @@ class OrganizationControllerTest {
                 .andExpect( jsonPath( "$.name" ).value( updateData.name() ) );
     }
 
+    @Test
+    @DisplayName("Should propagate a renamed orga to the summaries of its events and bookings")
+    void updateOrganization_propagatesSummary() throws Exception {
+        eventRepo.deleteAll();
+        bookingRepo.deleteAll();
+
+        Organization orgaToUpdate = organizationRepo.findByName( savedOrganizationName ).orElseThrow();
+
+        Event event = eventRepo.save( Event.builder()
+                .title( "Summarized Event" )
+                .eventOrganization( orgaToUpdate )
+                .location( orgaToUpdate.getLocation() )
+                .build() );
+        Booking booking = bookingRepo.save( Booking.builder()
+                .name( "Guest" )
+                .numberOfTickets( 1 )
+                .userId( "user-1" )
+                .event( event )
+                .build() );
+
+        OrganizationRequestDto updateData = OrganizationRequestDto.builder()
+                .name( "Renamed Organization" )
+                .location( orgaToUpdate.getLocation() )
+                .build();
+
+        MockPart organizationPart = new MockPart( "updateOrganization", "organization.json",
+                objectMapper.writeValueAsBytes( updateData ) ) {{
+            getHeaders().add( "Content-Type", MediaType.APPLICATION_JSON_VALUE );
+        }};
+
+        mockMvc.perform( multipart( "/api/organization/" + orgaToUpdate.getId() )
+                        .part( organizationPart )
+                        .with( request -> {
+                            request.setMethod( "PUT" );
+                            return request;
+                        } )
+                        .contentType( MediaType.MULTIPART_FORM_DATA ) )
+                .andExpect( status().isOk() );
+
+        snapshotPropagationService.propagateChanges();
+
+        assertEquals( "Renamed Organization",
+                eventRepo.findById( event.getId() ).orElseThrow().getOrganizationSummary().name() );
+        assertEquals( "Renamed Organization",
+                bookingRepo.findById( booking.getId() ).orElseThrow().getEventSummary().eventOrganization().name() );
+    }
+
+    @Test
+    @DisplayName("Should propagate a new orga image to the summaries of its events and bookings")
+    void updateOrganization_propagatesImage() throws Exception {
+        eventRepo.deleteAll();
+        bookingRepo.deleteAll();
+
+        Organization orgaToUpdate = organizationRepo.findByName( savedOrganizationName ).orElseThrow();
+
+        Event event = eventRepo.save( Event.builder()
+                .title( "Summarized Event" )
+                .eventOrganization( orgaToUpdate )
+                .location( orgaToUpdate.getLocation() )
+                .build() );
+        Booking booking = bookingRepo.save( Booking.builder()
+                .name( "Guest" )
+                .numberOfTickets( 1 )
+                .userId( "user-1" )
+                .event( event )
+                .build() );
+
+        // only the image changes, the rest of the orga is sent as it is
+        OrganizationRequestDto updateData = OrganizationRequestDto.builder()
+                .name( orgaToUpdate.getName() )
+                .location( orgaToUpdate.getLocation() )
+                .build();
+
+        MockPart organizationPart = new MockPart( "updateOrganization", "organization.json",
+                objectMapper.writeValueAsBytes( updateData ) ) {{
+            getHeaders().add( "Content-Type", MediaType.APPLICATION_JSON_VALUE );
+        }};
+
+        MockPart imagePart = new MockPart( "image", "image.png", "imageContent".getBytes() ) {{
+            getHeaders().add( "Content-Type", MediaType.IMAGE_PNG_VALUE );
+        }};
+
+        mockMvc.perform( multipart( "/api/organization/" + orgaToUpdate.getId() )
+                        .part( organizationPart )
+                        .part( imagePart )
+                        .with( request -> {
+                            request.setMethod( "PUT" );
+                            return request;
+                        } )
+                        .contentType( MediaType.MULTIPART_FORM_DATA ) )
+                .andExpect( status().isOk() );
+
+        snapshotPropagationService.propagateChanges();
+
+        String newImageId = organizationRepo.findById( orgaToUpdate.getId() ).orElseThrow().getImageId();
+
+        assertNotNull( newImageId );
+        assertEquals( newImageId, eventRepo.findById( event.getId() ).orElseThrow().getOrganizationSummary().imageId() );
+        assertEquals( newImageId,
+                bookingRepo.findById( booking.getId() ).orElseThrow().getEventSummary().eventOrganization().imageId() );
+    }
+
     @Test
     @DisplayName("Should return updated orga with image")
     void updateOrganization_withImage() throws Exception {
@@ -914,6 +1059,43 @@ class OrganizationControllerTest {
                 .andExpect( content().string( "" ) );
     }
 
+    @Test
+    @DisplayName("Should delete events and bookings of the organization and remove it from its users")
+    void deleteOrganization_deletesCascade() throws Exception {
+        eventRepo.deleteAll();
+        bookingRepo.deleteAll();
+
+        Organization orgaToDelete = organizationRepo.findByName( savedOrganizationName ).orElseThrow();
+        Organization otherOrga = organizationRepo.save( Organization.builder()
+                .name( "Other Organization" )
+                .owners( Set.of( savedAuthenticatedUserId ) )
+                .build() );
+
+        AppUser savedUser = userRepo.findById( savedAuthenticatedUserId ).orElseThrow();
+        userRepo.save( savedUser.toBuilder()
+                .organizations( Set.of( orgaToDelete.getId(), otherOrga.getId() ) )
+                .build() );
+
+        List<Event> eventsToDelete = eventRepo.saveAll( List.of(
+                Event.builder().title( "First Event" ).eventOrganization( orgaToDelete ).build(),
+                Event.builder().title( "Second Event" ).eventOrganization( orgaToDelete ).build() ) );
+        Event otherEvent = eventRepo.save( Event.builder().title( "Other Event" ).eventOrganization( otherOrga ).build() );
+
+        bookingRepo.saveAll( List.of(
+                Booking.builder().name( "First" ).numberOfTickets( 1 ).userId( "user-1" ).event( eventsToDelete.get( 0 ) ).build(),
+                Booking.builder().name( "Second" ).numberOfTickets( 1 ).userId( "user-1" ).event( eventsToDelete.get( 1 ) ).build(),
+                Booking.builder().name( "Other" ).numberOfTickets( 1 ).userId( "user-1" ).event( otherEvent ).build() ) );
+
+        mockMvc.perform( delete( "/api/organization/" + orgaToDelete.getId() )
+                        .contentType( MediaType.APPLICATION_JSON ) )
+                .andExpect( status().isNoContent() );
+
+        assertEquals( List.of( otherEvent.getId() ), eventRepo.findAll().stream().map( Event::getId ).toList() );
+        assertEquals( List.of( "Other" ), bookingRepo.findAll().stream().map( Booking::getName ).toList() );
+        assertEquals( Set.of( otherOrga.getId() ), userRepo.findById( savedAuthenticatedUserId ).orElseThrow().getOrganizations() );
+        assertFalse( organizationRepo.existsById( orgaToDelete.getId() ) );
+    }
+
     @Test
     @DisplayName("Should return empty 403 when not authenticated")
     void deleteOrganization_throws403WhenNotAuthenticated() throws Exception {
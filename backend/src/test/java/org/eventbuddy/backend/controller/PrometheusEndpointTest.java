@@ -0,0 +1,47 @@
+package org.eventbuddy.backend.controller;
+
+import org.eventbuddy.backend.TestcontainersConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the management port is only opened by a running server, the mock environment serves the endpoints on the app port
+@Import(TestcontainersConfiguration.class)
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(properties = "management.server.port=")
+@WithMockUser
+class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should expose request, mongodb and booking metrics for prometheus")
+    void prometheus_exposesHotPathMetrics() throws Exception {
+        mockMvc.perform( get( "/api/events/all" ) )
+                .andExpect( status().isOk() );
+
+        mockMvc.perform( get( "/actuator/prometheus" ) )
+                .andExpect( status().isOk() )
+                .andExpect( content().string( allOf(
+                        containsString( "http_server_requests_seconds_bucket{" ),
+                        containsString( "uri=\"/api/events/all\"" ),
+                        containsString( "mongodb_driver_commands_seconds_bucket{" ),
+                        containsString( "collection=\"events\"" ),
+                        containsString( "bookings_total{" ),
+                        containsString( "outcome=\"sold_out\"" ) ) ) );
+    }
+}
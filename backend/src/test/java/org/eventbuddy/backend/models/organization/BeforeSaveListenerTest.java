@@ -0,0 +1,131 @@
+package org.eventbuddy.backend.models.organization;
+
+import org.bson.Document;
+import org.eventbuddy.backend.repos.OrganizationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BeforeSaveListenerTest {
+
+    @Mock
+    private OrganizationRepository organizationRepo;
+
+    @InjectMocks
+    private BeforeSaveListener beforeSaveListener;
+
+    @ParameterizedTest
+    @DisplayName("Should create the same slugs as before for ascii and German names")
+    @CsvSource(delimiter = '|', value = {
+            "Test Organization|test-organization",
+            "Kulturverein Münchner Straße e.V.|kulturverein-muenchner-strasse-ev",
+            "  The   Very  Long Name -- Berlin / Brandenburg (2024)  |the-very-long-name-berlin-brandenburg-2024",
+            "ÄÖÜ Größe|aeoeue-groesse",
+            "snake_case & co.|snakecase-co"
+    })
+    void onBeforeSave_shouldKeepFormerSlugs( String name, String expectedSlug ) {
+        assertEquals( expectedSlug, saveNew( name ).getSlug() );
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should transliterate accented, Latin extended, Greek and Cyrillic names")
+    @CsvSource(delimiter = '|', value = {
+            "Café Crème|cafe-creme",
+            "Łódź Ørsted Æble|lodz-orsted-aeble",
+            "Þingvellir Ðorđe|thingvellir-dorde",
+            "Αθήνα|athina",
+            "Москва Клуб|moskva-klub",
+            "Одеса|odesa",
+            "Tiếng Việt|tieng-viet",
+            "non\u00A0breaking\u2013dash|non-breaking-dash"
+    })
+    void onBeforeSave_shouldTransliterate( String name, String expectedSlug ) {
+        assertEquals( expectedSlug, saveNew( name ).getSlug() );
+    }
+
+    @Test
+    @DisplayName("Should fall back to a generic slug for names without ascii form")
+    void onBeforeSave_shouldFallBackForUntransliterableNames() {
+        assertEquals( BeforeSaveListener.FALLBACK_SLUG, saveNew( "北京 🎉" ).getSlug() );
+    }
+
+    @Test
+    @DisplayName("Should not touch the entity or query slugs when the name is unchanged")
+    void onBeforeSave_shouldSkipUnchangedName() {
+        Organization organization = organization( "orgaId", "Café Crème", "cafe-creme" );
+        Document document = new Document( "name", organization.getName() ).append( "slug", organization.getSlug() );
+
+        assertSame( organization, beforeSaveListener.onBeforeSave( organization, document, "organizations" ) );
+        assertEquals( "cafe-creme", document.get( "slug" ) );
+        verifyNoInteractions( organizationRepo );
+    }
+
+    @Test
+    @DisplayName("Should suffix the slug with the first free number when it is taken")
+    void onBeforeSave_shouldSuffixTakenSlug() {
+        givenTakenSlugs( "cafe", "cafe-2", "cafe-4" );
+
+        Document document = new Document( "name", "Café" );
+        Organization saved = beforeSaveListener.onBeforeSave( organization( null, "Café", null ), document, "organizations" );
+
+        assertEquals( "cafe-3", saved.getSlug() );
+        assertEquals( "cafe-3", document.get( "slug" ) );
+    }
+
+    @Test
+    @DisplayName("Should not count the own slug as collision")
+    void onBeforeSave_shouldIgnoreOwnSlug() {
+        when( organizationRepo.findSlugsMatching( anyString() ) )
+                .thenReturn( List.of( organization( "orgaId", "Cafe", "cafe" ) ) );
+
+        Organization saved = beforeSaveListener.onBeforeSave(
+                organization( "orgaId", "Café", "old-slug" ), new Document( "name", "Café" ), "organizations" );
+
+        assertEquals( "cafe", saved.getSlug() );
+    }
+
+    @Test
+    @DisplayName("Should keep an existing suffixed slug while the base slug is taken")
+    void onBeforeSave_shouldKeepSuffixedSlug() {
+        givenTakenSlugs( "cafe" );
+
+        Organization organization = organization( "orgaId", "Café", "cafe-7" );
+
+        assertSame( organization, beforeSaveListener.onBeforeSave( organization, new Document( "name", "Café" ), "organizations" ) );
+    }
+
+    private Organization saveNew( String name ) {
+        when( organizationRepo.findSlugsMatching( anyString() ) ).thenReturn( List.of() );
+
+        return beforeSaveListener.onBeforeSave( organization( null, name, null ), new Document( "name", name ), "organizations" );
+    }
+
+    private void givenTakenSlugs( String... slugs ) {
+        when( organizationRepo.findSlugsMatching( anyString() ) ).thenReturn( Arrays.stream( slugs )
+                .map( slug -> organization( "id-" + slug, slug, slug ) )
+                .toList() );
+    }
+
+    private Organization organization( String id, String name, String slug ) {
+        return Organization.builder()
+                .id( id )
+                .name( name )
+                .slug( slug )
+                .build();
+    }
+}
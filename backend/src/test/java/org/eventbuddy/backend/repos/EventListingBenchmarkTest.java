@@ -0,0 +1,280 @@
+package org.eventbuddy.backend.repos;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.types.ObjectId;
+import org.eventbuddy.backend.TestcontainersConfiguration;
+import org.eventbuddy.backend.enums.EventTimeFilter;
+import org.eventbuddy.backend.enums.Role;
+import org.eventbuddy.backend.models.app_user.AppUser;
+import org.eventbuddy.backend.models.app_user.UserSettings;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.organization.Location;
+import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.models.organization.OrganizationSummary;
+import org.eventbuddy.backend.services.EventService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the card listings of {@code /api/events/all} and {@code /api/events/byOrga/{id}} with the same
+ * queries loading full event documents, as the listings did before. Every event carries a description of the
+ * maximum length and a guest list, so the full documents are what a busy production collection looks like.
+ * Reports the bytes MongoDB sends for the events and the median latency of both variants.
+ * <p>
+ * Only runs on request: {@code mvn test -Dtest=EventListingBenchmarkTest -Dbenchmark=true}
+ */
+@Import({ TestcontainersConfiguration.class, EventListingBenchmarkTest.EventReplyRecorder.class })
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EventListingBenchmarkTest {
+
+    private static final int EVENT_COUNT = 20_000;
+    private static final int ORGANIZATION_EVENT_COUNT = 500;
+    private static final int GUESTS_PER_EVENT = 100;
+    private static final int INSERT_BATCH_SIZE = 2_000;
+    private static final int WARMUP_RUNS = 20;
+    private static final int MEASURED_RUNS = 50;
+
+    // the card listing has to get by with at most this share of the bytes of the full documents
+    private static final double MAX_BYTE_SHARE = 0.25;
+
+    private static final Set<Integer> EVENT_REQUEST_IDS = ConcurrentHashMap.newKeySet();
+    private static final AtomicLong EVENT_REPLY_BYTES = new AtomicLong();
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @Autowired
+    EventRepository eventRepo;
+
+    @Autowired
+    OrganizationRepository organizationRepo;
+
+    @Autowired
+    UserRepository userRepo;
+
+    @Autowired
+    BookingRepository bookingRepo;
+
+    String busyOrganizationId;
+
+    @BeforeAll
+    void setUp() {
+        bookingRepo.deleteAll();
+        eventRepo.deleteAll();
+        organizationRepo.deleteAll();
+        userRepo.deleteAll();
+
+        AppUser owner = userRepo.save( AppUser.builder()
+                .providerId( "github_benchmark-owner" )
+                .name( "Benchmark Owner" )
+                .role( Role.USER )
+                .userSettings( UserSettings.builder().build() )
+                .build() );
+
+        Location location = Location.builder()
+                .address( "Example Street 1" )
+                .city( "Example City" )
+                .zipCode( "12345" )
+                .country( "Example Country" )
+                .build();
+
+        Organization busyOrganization = organizationRepo.save( Organization.builder()
+                .name( "Busy Organization" )
+                .owners( Set.of( owner.getId() ) )
+                .location( location )
+                .build() );
+
+        Organization otherOrganization = organizationRepo.save( Organization.builder()
+                .name( "Other Organization" )
+                .owners( Set.of( owner.getId() ) )
+                .location( location )
+                .build() );
+
+        busyOrganizationId = busyOrganization.getId();
+
+        insertEvents( busyOrganization, otherOrganization );
+    }
+
+    @Test
+    @DisplayName("Card listings load a fraction of the bytes of full documents and are not slower")
+    void cardListingsSaveBytesAndTime() {
+        MongoCollection<Document> events = mongoTemplate.getCollection( mongoTemplate.getCollectionName( Event.class ) );
+        Instant now = Instant.now();
+        int pageLimit = EventService.MAX_PAGE_SIZE + 1;
+
+        Document byOrganization = new Document( "eventOrganization", new ObjectId( busyOrganizationId ) );
+
+        // full documents first, then the card listing
+        Map<String, Runnable[]> scenarios = new LinkedHashMap<>();
+
+        scenarios.put( "/api/events/all", new Runnable[]{
+                () -> events.find().sort( new Document( "eventDateTime", 1 ).append( "_id", 1 ) ).limit( pageLimit ).into( new ArrayList<>() ),
+                () -> eventRepo.findPageWithOrganizations( EventTimeFilter.ALL, now, null, pageLimit )
+        } );
+        scenarios.put( "/api/events/byOrga/{id}", new Runnable[]{
+                () -> events.find( byOrganization ).into( new ArrayList<>() ),
+                () -> eventRepo.findAllWithOrganizationsByOrganizationIds( List.of( busyOrganizationId ) )
+        } );
+
+        System.out.println( "listing                 | full bytes | card bytes | full ms | card ms (median)" );
+
+        scenarios.forEach( ( listing, variants ) -> {
+            long fullBytes = measureEventReplyBytes( variants[0] );
+            long cardBytes = measureEventReplyBytes( variants[1] );
+
+            double fullMillis = measureMedianMillis( variants[0] );
+            double cardMillis = measureMedianMillis( variants[1] );
+
+            System.out.printf( "%-23s | %10d | %10d | %7.2f | %7.2f%n", listing, fullBytes, cardBytes, fullMillis, cardMillis );
+
+            assertTrue( cardBytes <= fullBytes * MAX_BYTE_SHARE,
+                    listing + " card listing loads " + cardBytes + " of " + fullBytes + " bytes" );
+            assertTrue( cardMillis <= fullMillis,
+                    listing + " card listing is slower than full documents: " + cardMillis + " ms > " + fullMillis + " ms" );
+        } );
+    }
+
+    // inserts raw event documents, every tenth one up to the organization count belongs to the busy organization
+    private void insertEvents( Organization busyOrganization, Organization otherOrganization ) {
+        MongoCollection<Document> events = mongoTemplate.getCollection( mongoTemplate.getCollectionName( Event.class ) );
+        ObjectId busyOrganizationId = new ObjectId( busyOrganization.getId() );
+        ObjectId otherOrganizationId = new ObjectId( otherOrganization.getId() );
+        Document busySummary = organizationSummaryOf( busyOrganization );
+        Document otherSummary = organizationSummaryOf( otherOrganization );
+        Instant start = Instant.now().truncatedTo( ChronoUnit.MINUTES ).plus( 1, ChronoUnit.DAYS );
+        String description = "Lorem ipsum dolor sit amet. ".repeat( 54 ).substring( 0, 1500 );
+
+        Document guestList = new Document();
+        for ( int guest = 0; guest < GUESTS_PER_EVENT; guest++ ) {
+            guestList.append( "Guest Number " + guest, 2 );
+        }
+
+        int busyEvents = 0;
+
+        for ( int batchStart = 0; batchStart < EVENT_COUNT; batchStart += INSERT_BATCH_SIZE ) {
+            List<Document> batch = new ArrayList<>( INSERT_BATCH_SIZE );
+
+            for ( int i = batchStart; i < Math.min( batchStart + INSERT_BATCH_SIZE, EVENT_COUNT ); i++ ) {
+                boolean busy = i % 10 == 0 && busyEvents < ORGANIZATION_EVENT_COUNT;
+                busyEvents += busy ? 1 : 0;
+
+                batch.add( new Document( "_id", new ObjectId() )
+                        .append( "eventOrganization", busy ? busyOrganizationId : otherOrganizationId )
+                        .append( "organizationSummary", busy ? busySummary : otherSummary )
+                        .append( "title", "Benchmark Event " + i )
+                        .append( "description", description )
+                        .append( "eventDateTime", Date.from( start.plus( i, ChronoUnit.MINUTES ) ) )
+                        .append( "location", new Document( "address", "Example Street 1" )
+                                .append( "city", "Example City" )
+                                .append( "zipCode", "12345" )
+                                .append( "country", "Example Country" ) )
+                        .append( "price", 10.0 )
+                        .append( "maxTicketCapacity", 500 )
+                        .append( "freeTicketCapacity", 300 )
+                        .append( "bookedTicketsCount", 200 )
+                        .append( "guestList", guestList ) );
+            }
+
+            events.insertMany( batch, new InsertManyOptions().ordered( false ) );
+        }
+    }
+
+    // written like the event save does it
+    private Document organizationSummaryOf( Organization organization ) {
+        Document summary = new Document();
+        mongoTemplate.getConverter().write( OrganizationSummary.of( organization ), summary );
+        summary.remove( "_class" );
+
+        return summary;
+    }
+
+    private long measureEventReplyBytes( Runnable listing ) {
+        EVENT_REPLY_BYTES.set( 0 );
+        listing.run();
+
+        return EVENT_REPLY_BYTES.get();
+    }
+
+    private double measureMedianMillis( Runnable listing ) {
+        for ( int i = 0; i < WARMUP_RUNS; i++ ) {
+            listing.run();
+        }
+
+        double[] millis = new double[MEASURED_RUNS];
+
+        for ( int i = 0; i < MEASURED_RUNS; i++ ) {
+            long start = System.nanoTime();
+            listing.run();
+            millis[i] = ( System.nanoTime() - start ) / 1_000_000.0;
+        }
+
+        Arrays.sort( millis );
+
+        return millis[MEASURED_RUNS / 2];
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class EventReplyRecorder {
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer eventReplyListener() {
+            return settings -> settings.addCommandListener( new CommandListener() {
+                @Override
+                public void commandStarted( CommandStartedEvent event ) {
+                    BsonDocument command = event.getCommand();
+                    boolean onEvents = switch ( event.getCommandName() ) {
+                        case "find" -> "events".equals( command.getString( "find" ).getValue() );
+                        case "getMore" -> "events".equals( command.getString( "collection" ).getValue() );
+                        default -> false;
+                    };
+
+                    if ( onEvents ) {
+                        EVENT_REQUEST_IDS.add( event.getRequestId() );
+                    }
+                }
+
+                @Override
+                public void commandSucceeded( CommandSucceededEvent event ) {
+                    if ( EVENT_REQUEST_IDS.remove( event.getRequestId() ) ) {
+                        EVENT_REPLY_BYTES.addAndGet( new RawBsonDocument( event.getResponse(), new BsonDocumentCodec() )
+                                .getByteBuffer().remaining() );
+                    }
+                }
+            } );
+        }
+    }
+}
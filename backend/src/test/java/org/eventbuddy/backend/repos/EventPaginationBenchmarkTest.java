@@ -0,0 +1,273 @@
+package org.eventbuddy.backend.repos;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.eventbuddy.backend.TestcontainersConfiguration;
+import org.eventbuddy.backend.enums.EventTimeFilter;
+import org.eventbuddy.backend.enums.Role;
+import org.eventbuddy.backend.models.app_user.AppUser;
+import org.eventbuddy.backend.models.app_user.UserSettings;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventCursor;
+import org.eventbuddy.backend.models.organization.Location;
+import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.services.EventService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Grows the events collection step by step up to a million documents and measures how long it takes to
+ * serve a page at the start and in the middle of the listing. With keyset pagination both must stay flat.
+ * Besides the timings, the execution plan of every page query is checked: it has to walk the
+ * eventDateTime/_id index without a blocking sort and only touch the keys of the requested page.
+ * <p>
+ * Takes a few minutes, so it only runs on request: {@code mvn test -Dtest=EventPaginationBenchmarkTest -Dbenchmark=true}
+ */
+@Import({ TestcontainersConfiguration.class, EventPaginationBenchmarkTest.EventFindRecorder.class })
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EventPaginationBenchmarkTest {
+
+    private static final int[] COLLECTION_SIZES = { 10_000, 100_000, 1_000_000 };
+    private static final int PAGE_SIZE = EventService.DEFAULT_PAGE_SIZE;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final int WARMUP_RUNS = 20;
+    private static final int MEASURED_RUNS = 50;
+
+    // latency of the largest collection may be at most this factor (or the fixed slack) above the smallest one
+    private static final double MAX_SLOWDOWN_FACTOR = 3.0;
+    private static final double SLACK_MILLIS = 10.0;
+
+    private static final AtomicReference<BsonDocument> LAST_EVENT_FIND = new AtomicReference<>();
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @Autowired
+    EventRepository eventRepo;
+
+    @Autowired
+    OrganizationRepository organizationRepo;
+
+    @Autowired
+    UserRepository userRepo;
+
+    @Autowired
+    BookingRepository bookingRepo;
+
+    ObjectId organizationId;
+    Document rawLocation;
+
+    @BeforeAll
+    void setUp() {
+        bookingRepo.deleteAll();
+        eventRepo.deleteAll();
+        organizationRepo.deleteAll();
+        userRepo.deleteAll();
+
+        AppUser owner = userRepo.save( AppUser.builder()
+                .providerId( "github_benchmark-owner" )
+                .name( "Benchmark Owner" )
+                .role( Role.USER )
+                .userSettings( UserSettings.builder().build() )
+                .build() );
+
+        Location location = Location.builder()
+                .address( "Example Street 1" )
+                .city( "Example City" )
+                .zipCode( "12345" )
+                .country( "Example Country" )
+                .build();
+
+        Organization organization = organizationRepo.save( Organization.builder()
+                .name( "Benchmark Organization" )
+                .owners( Set.of( owner.getId() ) )
+                .location( location )
+                .build() );
+
+        organizationId = new ObjectId( organization.getId() );
+        rawLocation = new Document( "address", location.address() )
+                .append( "city", location.city() )
+                .append( "zipCode", location.zipCode() )
+                .append( "country", location.country() );
+    }
+
+    @Test
+    @DisplayName("Page latency stays flat while the events collection grows to a million documents")
+    void pageLatencyStaysFlat() {
+        Map<Integer, double[]> medianMillisBySize = new LinkedHashMap<>();
+
+        for ( int collectionSize : COLLECTION_SIZES ) {
+            growEventsTo( collectionSize );
+
+            String middleCursor = cursorAtPosition( collectionSize / 2 );
+
+            double firstPage = measureMedianMillis( () -> eventService.getEventPage( EventTimeFilter.ALL, null, PAGE_SIZE ) );
+            assertIndexOnlyPagePlan();
+
+            double middlePage = measureMedianMillis( () -> eventService.getEventPage( EventTimeFilter.ALL, middleCursor, PAGE_SIZE ) );
+            assertIndexOnlyPagePlan();
+
+            double upcomingPage = measureMedianMillis( () -> eventService.getEventPage( EventTimeFilter.UPCOMING, null, PAGE_SIZE ) );
+            assertIndexOnlyPagePlan();
+
+            medianMillisBySize.put( collectionSize, new double[]{ firstPage, middlePage, upcomingPage } );
+        }
+
+        System.out.println( "events      | first page | middle page | upcoming page (median ms)" );
+        medianMillisBySize.forEach( ( size, medians ) ->
+                System.out.printf( "%-11d | %10.2f | %11.2f | %13.2f%n", size, medians[0], medians[1], medians[2] ) );
+
+        double[] smallest = medianMillisBySize.get( COLLECTION_SIZES[0] );
+        double[] largest = medianMillisBySize.get( COLLECTION_SIZES[COLLECTION_SIZES.length - 1] );
+
+        for ( int scenario = 0; scenario < smallest.length; scenario++ ) {
+            double allowed = Math.max( smallest[scenario] * MAX_SLOWDOWN_FACTOR, smallest[scenario] + SLACK_MILLIS );
+
+            assertTrue( largest[scenario] <= allowed,
+                    "Page latency grew with collection size: " + Arrays.toString( smallest ) + " -> " + Arrays.toString( largest ) );
+        }
+    }
+
+    // inserts raw event documents spread over four years around now until the collection has the given size
+    private void growEventsTo( int collectionSize ) {
+        MongoCollection<Document> events = mongoTemplate.getCollection( mongoTemplate.getCollectionName( Event.class ) );
+        Random random = new Random( collectionSize );
+        Instant start = Instant.now().truncatedTo( ChronoUnit.MINUTES ).minus( 730, ChronoUnit.DAYS );
+        long spreadMinutes = 1460L * 24 * 60;
+
+        long missing = collectionSize - events.countDocuments();
+
+        while ( missing > 0 ) {
+            int batchSize = ( int ) Math.min( INSERT_BATCH_SIZE, missing );
+            List<Document> batch = new ArrayList<>( batchSize );
+
+            for ( int i = 0; i < batchSize; i++ ) {
+                batch.add( new Document( "_id", new ObjectId() )
+                        .append( "eventOrganization", organizationId )
+                        .append( "title", "Benchmark Event" )
+                        // whole minutes, so plenty of events share their date and time
+                        .append( "eventDateTime", Date.from( start.plus( random.nextLong( spreadMinutes ), ChronoUnit.MINUTES ) ) )
+                        .append( "location", rawLocation )
+                        .append( "price", 10.0 )
+                        .append( "bookedTicketsCount", 0 ) );
+            }
+
+            events.insertMany( batch, new InsertManyOptions().ordered( false ) );
+            missing -= batchSize;
+        }
+    }
+
+    // skipping is only fine here in the setup, it is exactly the linear cost the cursor avoids
+    private String cursorAtPosition( int position ) {
+        Query query = new Query()
+                .with( Sort.by( "eventDateTime", "_id" ) )
+                .skip( position )
+                .limit( 1 );
+
+        query.fields().include( "eventDateTime" );
+
+        Document event = mongoTemplate.findOne( query, Document.class, mongoTemplate.getCollectionName( Event.class ) );
+
+        assertNotNull( event );
+
+        return new EventCursor( EventTimeFilter.ALL, event.getDate( "eventDateTime" ).toInstant(), event.getObjectId( "_id" ).toHexString() ).encode();
+    }
+
+    private double measureMedianMillis( Supplier<?> pageRequest ) {
+        for ( int i = 0; i < WARMUP_RUNS; i++ ) {
+            pageRequest.get();
+        }
+
+        double[] millis = new double[MEASURED_RUNS];
+
+        for ( int i = 0; i < MEASURED_RUNS; i++ ) {
+            long start = System.nanoTime();
+            pageRequest.get();
+            millis[i] = ( System.nanoTime() - start ) / 1_000_000.0;
+        }
+
+        Arrays.sort( millis );
+
+        return millis[MEASURED_RUNS / 2];
+    }
+
+    // explains the last page query sent to the events collection
+    private void assertIndexOnlyPagePlan() {
+        BsonDocument findCommand = LAST_EVENT_FIND.get();
+
+        assertNotNull( findCommand, "No page query recorded" );
+
+        Document explain = mongoTemplate.getDb().runCommand( new Document( "explain", findCommand )
+                .append( "verbosity", "executionStats" ) );
+
+        String winningPlan = explain.get( "queryPlanner", Document.class ).get( "winningPlan", Document.class ).toJson();
+        Document executionStats = explain.get( "executionStats", Document.class );
+
+        assertTrue( winningPlan.contains( "IXSCAN" ), "Expected index scan: " + winningPlan );
+        assertFalse( winningPlan.contains( "\"SORT\"" ), "Expected no blocking sort: " + winningPlan );
+        assertTrue( executionStats.getInteger( "totalKeysExamined" ) <= PAGE_SIZE + 2,
+                "Page query examined " + executionStats.getInteger( "totalKeysExamined" ) + " keys" );
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class EventFindRecorder {
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer eventFindListener() {
+            return settings -> settings.addCommandListener( new CommandListener() {
+                @Override
+                public void commandStarted( CommandStartedEvent event ) {
+                    if ( "find".equals( event.getCommandName() ) && "events".equals( event.getCommand().getString( "find" ).getValue() ) ) {
+                        // keep only the query itself, session and cluster fields can't be explained
+                        BsonDocument findCommand = new BsonDocument();
+
+                        event.getCommand().forEach( ( key, value ) -> {
+                            if ( !key.startsWith( "$" ) && !key.equals( "lsid" ) ) {
+                                findCommand.append( key, value );
+                            }
+                        } );
+
+                        LAST_EVENT_FIND.set( findCommand );
+                    }
+                }
+            } );
+        }
+    }
+}
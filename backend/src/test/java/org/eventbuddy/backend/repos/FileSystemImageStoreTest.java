@@ -0,0 +1,91 @@
+package org.eventbuddy.backend.repos;
+
+import org.eventbuddy.backend.models.image.Image;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSystemImageStoreTest {
+
+    @TempDir
+    Path root;
+
+    FileSystemImageStore imageStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        imageStore = new FileSystemImageStore( root );
+    }
+
+    @Test
+    @DisplayName("Should return stored image with content type, length and hash")
+    void save_shouldStoreImage() throws Exception {
+        byte[] imageData = "fake image content".getBytes();
+
+        String imageId = imageStore.save( new ByteArrayInputStream( imageData ), "image/webp" );
+
+        Image storedImage = imageStore.findById( imageId ).orElseThrow();
+
+        assertTrue( imageStore.existsById( imageId ) );
+        assertEquals( "image/webp", storedImage.getContentType() );
+        assertEquals( imageData.length, storedImage.getContentLength() );
+        assertArrayEquals( imageData, storedImage.getContent().getContentAsByteArray() );
+        assertEquals( HexFormat.of().formatHex( MessageDigest.getInstance( "SHA-256" ).digest( imageData ) ), storedImage.getContentHash() );
+    }
+
+    @Test
+    @DisplayName("Should return empty for unknown and invalid ids")
+    void findById_shouldReturnEmptyForUnknownIds() {
+        assertTrue( imageStore.findById( "507f1f77bcf86cd799439011" ).isEmpty() );
+        assertTrue( imageStore.findById( "../../etc/passwd" ).isEmpty() );
+    }
+
+    @Test
+    @DisplayName("Should delete image and its content type")
+    void deleteById_shouldDeleteImage() throws IOException {
+        String imageId = imageStore.save( new ByteArrayInputStream( "fake image content".getBytes() ), "image/png" );
+
+        imageStore.deleteById( imageId );
+
+        assertFalse( imageStore.existsById( imageId ) );
+        assertEquals( 0, root.toFile().list().length );
+    }
+
+    @Test
+    @DisplayName("Should store variants next to the image and delete them with it")
+    void saveVariant_shouldBeDeletedWithImage() throws IOException {
+        String imageId = imageStore.save( new ByteArrayInputStream( "original".getBytes() ), "image/png" );
+
+        imageStore.saveVariant( imageId, 320, new ByteArrayInputStream( "variant".getBytes() ), "image/png" );
+
+        Image variant = imageStore.findVariant( imageId, 320 ).orElseThrow();
+
+        assertEquals( imageId, variant.getImageId() );
+        assertArrayEquals( "variant".getBytes(), variant.getContent().getContentAsByteArray() );
+        assertTrue( imageStore.findVariant( imageId, 640 ).isEmpty() );
+
+        imageStore.deleteById( imageId );
+
+        assertTrue( imageStore.findVariant( imageId, 320 ).isEmpty() );
+        assertEquals( 0, root.toFile().list().length );
+    }
+
+    @Test
+    @DisplayName("Should reject invalid ids on save")
+    void save_shouldThrowForInvalidId() {
+        assertThatThrownBy( () ->
+                imageStore.save( "../outside", new ByteArrayInputStream( new byte[0] ), "image/png" ) )
+                .isInstanceOf( IllegalArgumentException.class )
+                .hasMessage( "Invalid image ID: ../outside" );
+    }
+}
@@ -0,0 +1,108 @@
+package org.eventbuddy.backend.repos;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryWriteAheadLogTest {
+
+    private static final int LOG_SIZE = 4096;
+
+    @TempDir
+    Path root;
+
+    @Test
+    @DisplayName("Should read the appended records back after the log is reopened")
+    void append_shouldSurviveReopening() throws IOException {
+        Path file = root.resolve( "inventory.wal" );
+        String logId;
+
+        try ( InventoryWriteAheadLog inventoryLog = new InventoryWriteAheadLog( file, LOG_SIZE ) ) {
+            logId = inventoryLog.logId();
+
+            assertEquals( 1, inventoryLog.append( "event-1", 2, 0 ) );
+            assertEquals( 2, inventoryLog.append( "event-2", -1, 0 ) );
+            assertEquals( 3, inventoryLog.append( "event-1", 0, 50 ) );
+        }
+
+        try ( InventoryWriteAheadLog inventoryLog = new InventoryWriteAheadLog( file, LOG_SIZE ) ) {
+            assertEquals( logId, inventoryLog.logId() );
+            assertEquals( List.of(
+                    new InventoryWriteAheadLog.Entry( 1, "event-1", 2, 0 ),
+                    new InventoryWriteAheadLog.Entry( 2, "event-2", -1, 0 ),
+                    new InventoryWriteAheadLog.Entry( 3, "event-1", 0, 50 )
+            ), inventoryLog.readEntries() );
+
+            // appends continue behind the records read
+            assertEquals( 4, inventoryLog.append( "event-2", 1, 0 ) );
+            assertEquals( 4, inventoryLog.readEntries().size() );
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop the records of the old log id when the log is emptied")
+    void reset_shouldDropRecordsAndChangeLogId() throws IOException {
+        try ( InventoryWriteAheadLog inventoryLog = new InventoryWriteAheadLog( root.resolve( "inventory.wal" ), LOG_SIZE ) ) {
+            String oldLogId = inventoryLog.logId();
+
+            inventoryLog.append( "event-1", 2, 0 );
+            inventoryLog.append( "event-1", 3, 0 );
+            inventoryLog.reset();
+
+            assertNotEquals( oldLogId, inventoryLog.logId() );
+            assertTrue( inventoryLog.readEntries().isEmpty() );
+
+            // the second old record stays in the file behind the new one, but isn't read as part of the new log
+            assertEquals( 1, inventoryLog.append( "event-1", 4, 0 ) );
+            assertEquals( List.of( new InventoryWriteAheadLog.Entry( 1, "event-1", 4, 0 ) ), inventoryLog.readEntries() );
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop reading at a record torn by a crash")
+    void readEntries_shouldStopAtTornRecord() throws IOException {
+        Path file = root.resolve( "inventory.wal" );
+
+        try ( InventoryWriteAheadLog inventoryLog = new InventoryWriteAheadLog( file, LOG_SIZE ) ) {
+            inventoryLog.append( "event-1", 2, 0 );
+            inventoryLog.append( "event-1", 3, 0 );
+        }
+
+        // the last byte of the second record, part of its checksum, never made it to the file
+        try ( FileChannel channel = FileChannel.open( file, StandardOpenOption.READ, StandardOpenOption.WRITE ) ) {
+            int lastChecksumByte = 2 * Long.BYTES + 2 * ( 26 + "event-1".length() ) - 1;
+            ByteBuffer lastByte = ByteBuffer.allocate( 1 );
+            channel.read( lastByte, lastChecksumByte );
+            channel.write( ByteBuffer.wrap( new byte[]{ (byte) ~lastByte.get( 0 ) } ), lastChecksumByte );
+        }
+
+        try ( InventoryWriteAheadLog inventoryLog = new InventoryWriteAheadLog( file, LOG_SIZE ) ) {
+            assertEquals( List.of( new InventoryWriteAheadLog.Entry( 1, "event-1", 2, 0 ) ), inventoryLog.readEntries() );
+            assertEquals( 2, inventoryLog.append( "event-1", 1, 0 ) );
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse records once the log is full")
+    void append_shouldThrowWhenFull() throws IOException {
+        try ( InventoryWriteAheadLog inventoryLog = new InventoryWriteAheadLog( root.resolve( "inventory.wal" ), 100 ) ) {
+            inventoryLog.append( "event-1", 1, 0 );
+            inventoryLog.append( "event-1", 1, 0 );
+
+            assertTrue( inventoryLog.usage() > 0.5 );
+            assertThatThrownBy( () -> inventoryLog.append( "event-1", 1, 0 ) )
+                    .isInstanceOf( IllegalStateException.class );
+            assertEquals( 2, inventoryLog.readEntries().size() );
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package org.eventbuddy.backend.repos;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.eventbuddy.backend.TestcontainersConfiguration;
+import org.eventbuddy.backend.enums.Role;
+import org.eventbuddy.backend.models.app_user.AppUser;
+import org.eventbuddy.backend.models.app_user.UserSettings;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.NearbyEventDto;
+import org.eventbuddy.backend.models.event.NearbyEventPageDto;
+import org.eventbuddy.backend.models.organization.Location;
+import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.services.EventService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Grows the events collection step by step up to a million documents spread over Germany and measures how
+ * long the nearby search takes for a first page, a page further down the cursor chain and a first page with
+ * a one-month date window. $geoNear only walks the index until the page is full, so all three must stay flat.
+ * Every search is checked to run on the position/eventDateTime 2dsphere index, and one search is walked to
+ * its end to make sure the cursor delivers each event once, nearest first, also when venues host many events.
+ * <p>
+ * Takes a few minutes, so it only runs on request: {@code mvn test -Dtest=NearbyEventsBenchmarkTest -Dbenchmark=true}
+ */
+@Import({ TestcontainersConfiguration.class, NearbyEventsBenchmarkTest.EventAggregateRecorder.class })
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class NearbyEventsBenchmarkTest {
+
+    private static final int[] COLLECTION_SIZES = { 10_000, 100_000, 1_000_000 };
+    private static final int PAGE_SIZE = EventService.DEFAULT_PAGE_SIZE;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final int WARMUP_RUNS = 20;
+    private static final int MEASURED_RUNS = 50;
+
+    // Berlin city center
+    private static final double CENTER_LATITUDE = 52.52;
+    private static final double CENTER_LONGITUDE = 13.405;
+    private static final double RADIUS_KM = 25;
+
+    // rough bounding box of Germany the events get spread over
+    private static final double MIN_LATITUDE = 47.3;
+    private static final double MAX_LATITUDE = 55.0;
+    private static final double MIN_LONGITUDE = 5.9;
+    private static final double MAX_LONGITUDE = 15.0;
+
+    // every third event takes place at one of these venues, so many events share their distance
+    private static final int VENUE_COUNT = 2_000;
+
+    // latency of the largest collection may be at most this factor (or the fixed slack) above the smallest one
+    private static final double MAX_SLOWDOWN_FACTOR = 3.0;
+    private static final double SLACK_MILLIS = 10.0;
+
+    private static final AtomicReference<BsonDocument> LAST_EVENT_AGGREGATE = new AtomicReference<>();
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @Autowired
+    EventRepository eventRepo;
+
+    @Autowired
+    OrganizationRepository organizationRepo;
+
+    @Autowired
+    UserRepository userRepo;
+
+    @Autowired
+    BookingRepository bookingRepo;
+
+    ObjectId organizationId;
+    double[][] venues;
+
+    @BeforeAll
+    void setUp() {
+        bookingRepo.deleteAll();
+        eventRepo.deleteAll();
+        organizationRepo.deleteAll();
+        userRepo.deleteAll();
+
+        AppUser owner = userRepo.save( AppUser.builder()
+                .providerId( "github_benchmark-owner" )
+                .name( "Benchmark Owner" )
+                .role( Role.USER )
+                .userSettings( UserSettings.builder().build() )
+                .build() );
+
+        Organization organization = organizationRepo.save( Organization.builder()
+                .name( "Benchmark Organization" )
+                .owners( Set.of( owner.getId() ) )
+                .location( Location.builder()
+                        .address( "Example Street 1" )
+                        .city( "Example City" )
+                        .zipCode( "12345" )
+                        .country( "Example Country" )
+                        .build() )
+                .build() );
+
+        organizationId = new ObjectId( organization.getId() );
+
+        Random random = new Random( 42 );
+        venues = new double[VENUE_COUNT][];
+
+        for ( int i = 0; i < VENUE_COUNT; i++ ) {
+            venues[i] = randomCoordinates( random );
+        }
+
+        // one venue right in the search area, it alone fills several pages at the very same distance
+        venues[0] = new double[]{ CENTER_LATITUDE + 0.01, CENTER_LONGITUDE + 0.01 };
+    }
+
+    @Test
+    @DisplayName("Nearby search latency stays flat while the events collection grows to a million documents")
+    void nearbyLatencyStaysFlat() {
+        Map<Integer, double[]> medianMillisBySize = new LinkedHashMap<>();
+
+        for ( int collectionSize : COLLECTION_SIZES ) {
+            growEventsTo( collectionSize );
+
+            Instant from = Instant.now();
+            Instant monthEnd = from.plus( 30, ChronoUnit.DAYS );
+
+            String secondPageCursor = nearbyPage( from, null, null ).nextCursor();
+            String thirdPageCursor = nearbyPage( from, null, secondPageCursor ).nextCursor();
+
+            double firstPage = measureMedianMillis( () -> nearbyPage( from, null, null ) );
+            assertGeoIndexPlan();
+
+            double thirdPage = measureMedianMillis( () -> nearbyPage( from, null, thirdPageCursor ) );
+            assertGeoIndexPlan();
+
+            double monthPage = measureMedianMillis( () -> nearbyPage( from, monthEnd, null ) );
+            assertGeoIndexPlan();
+
+            medianMillisBySize.put( collectionSize, new double[]{ firstPage, thirdPage, monthPage } );
+        }
+
+        System.out.println( "events      | first page | third page | one month window (median ms)" );
+        medianMillisBySize.forEach( ( size, medians ) ->
+                System.out.printf( "%-11d | %10.2f | %10.2f | %16.2f%n", size, medians[0], medians[1], medians[2] ) );
+
+        double[] smallest = medianMillisBySize.get( COLLECTION_SIZES[0] );
+        double[] largest = medianMillisBySize.get( COLLECTION_SIZES[COLLECTION_SIZES.length - 1] );
+
+        for ( int scenario = 0; scenario < smallest.length; scenario++ ) {
+            double allowed = Math.max( smallest[scenario] * MAX_SLOWDOWN_FACTOR, smallest[scenario] + SLACK_MILLIS );
+
+            assertTrue( largest[scenario] <= allowed,
+                    "Nearby search latency grew with collection size: " + Arrays.toString( smallest ) + " -> " + Arrays.toString( largest ) );
+        }
+
+        assertCursorWalksWholeResult();
+    }
+
+    // pages through a 5 km search and compares it with a plain count of the events in that circle
+    private void assertCursorWalksWholeResult() {
+        Instant from = Instant.now();
+        double radiusKm = 5;
+
+        Set<String> seenIds = new HashSet<>();
+        double lastDistance = 0;
+        String cursor = null;
+
+        do {
+            NearbyEventPageDto page = eventService.getNearbyEventPage( CENTER_LATITUDE, CENTER_LONGITUDE, radiusKm, from, null, cursor, PAGE_SIZE );
+
+            for ( NearbyEventDto nearbyEvent : page.events() ) {
+                assertTrue( seenIds.add( nearbyEvent.event().id() ), "Event delivered twice: " + nearbyEvent.event().id() );
+                assertTrue( nearbyEvent.distanceKm() >= lastDistance, "Events out of distance order" );
+                lastDistance = nearbyEvent.distanceKm();
+            }
+
+            cursor = page.nextCursor();
+        } while ( cursor != null );
+
+        // $centerSphere takes the radius in radians, MongoDB computes $geoNear distances with the same earth radius
+        Query inCircle = Query.query( Criteria.where( "eventDateTime" ).gte( from ).and( "position" ).withinSphere(
+                new Circle( CENTER_LONGITUDE, CENTER_LATITUDE, radiusKm / 6378.1 ) ) );
+
+        assertEquals( mongoTemplate.count( inCircle, Event.class ), seenIds.size() );
+    }
+
+    private NearbyEventPageDto nearbyPage( Instant from, Instant to, String cursor ) {
+        return eventService.getNearbyEventPage( CENTER_LATITUDE, CENTER_LONGITUDE, RADIUS_KM, from, to, cursor, PAGE_SIZE );
+    }
+
+    // inserts raw event documents spread over Germany and four years around now until the collection has the given size
+    private void growEventsTo( int collectionSize ) {
+        MongoCollection<Document> events = mongoTemplate.getCollection( mongoTemplate.getCollectionName( Event.class ) );
+        Random random = new Random( collectionSize );
+        Instant start = Instant.now().truncatedTo( ChronoUnit.MINUTES ).minus( 730, ChronoUnit.DAYS );
+        long spreadMinutes = 1460L * 24 * 60;
+
+        long missing = collectionSize - events.countDocuments();
+
+        while ( missing > 0 ) {
+            int batchSize = ( int ) Math.min( INSERT_BATCH_SIZE, missing );
+            List<Document> batch = new ArrayList<>( batchSize );
+
+            for ( int i = 0; i < batchSize; i++ ) {
+                double[] coordinates = random.nextInt( 3 ) == 0 ? venues[random.nextInt( VENUE_COUNT )] : randomCoordinates( random );
+
+                batch.add( new Document( "_id", new ObjectId() )
+                        .append( "eventOrganization", organizationId )
+                        .append( "title", "Benchmark Event" )
+                        .append( "eventDateTime", Date.from( start.plus( random.nextLong( spreadMinutes ), ChronoUnit.MINUTES ) ) )
+                        .append( "location", new Document( "address", "Example Street 1" )
+                                .append( "city", "Example City" )
+                                .append( "zipCode", "12345" )
+                                .append( "country", "Example Country" )
+                                .append( "latitude", coordinates[0] )
+                                .append( "longitude", coordinates[1] ) )
+                        .append( "position", new Document( "type", "Point" )
+                                .append( "coordinates", List.of( coordinates[1], coordinates[0] ) ) )
+                        .append( "price", 10.0 )
+                        .append( "bookedTicketsCount", 0 ) );
+            }
+
+            events.insertMany( batch, new InsertManyOptions().ordered( false ) );
+            missing -= batchSize;
+        }
+    }
+
+    private static double[] randomCoordinates( Random random ) {
+        return new double[]{
+                MIN_LATITUDE + random.nextDouble() * ( MAX_LATITUDE - MIN_LATITUDE ),
+                MIN_LONGITUDE + random.nextDouble() * ( MAX_LONGITUDE - MIN_LONGITUDE )
+        };
+    }
+
+    private double measureMedianMillis( Supplier<?> pageRequest ) {
+        for ( int i = 0; i < WARMUP_RUNS; i++ ) {
+            pageRequest.get();
+        }
+
+        double[] millis = new double[MEASURED_RUNS];
+
+        for ( int i = 0; i < MEASURED_RUNS; i++ ) {
+            long start = System.nanoTime();
+            pageRequest.get();
+            millis[i] = ( System.nanoTime() - start ) / 1_000_000.0;
+        }
+
+        Arrays.sort( millis );
+
+        return millis[MEASURED_RUNS / 2];
+    }
+
+    // explains the last nearby search sent to the events collection
+    private void assertGeoIndexPlan() {
+        BsonDocument aggregateCommand = LAST_EVENT_AGGREGATE.get();
+
+        assertNotNull( aggregateCommand, "No nearby search recorded" );
+
+        String explain = mongoTemplate.getDb().runCommand( new Document( "explain", aggregateCommand )
+                .append( "verbosity", "queryPlanner" ) ).toJson();
+
+        assertTrue( explain.contains( "GEO_NEAR_2DSPHERE" ), "Expected 2dsphere near search: " + explain );
+        assertTrue( explain.contains( "position_eventDateTime" ), "Expected position/eventDateTime index: " + explain );
+        assertFalse( explain.contains( "\"SORT\"" ), "Expected no blocking sort: " + explain );
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class EventAggregateRecorder {
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer eventAggregateListener() {
+            return settings -> settings.addCommandListener( new CommandListener() {
+                @Override
+                public void commandStarted( CommandStartedEvent event ) {
+                    if ( "aggregate".equals( event.getCommandName() ) && "events".equals( event.getCommand().getString( "aggregate" ).getValue() ) ) {
+                        // keep only the pipeline itself, session and cluster fields can't be explained
+                        BsonDocument aggregateCommand = new BsonDocument();
+
+                        event.getCommand().forEach( ( key, value ) -> {
+                            if ( !key.startsWith( "$" ) && !key.equals( "lsid" ) ) {
+                                aggregateCommand.append( key, value );
+                            }
+                        } );
+
+                        LAST_EVENT_AGGREGATE.set( aggregateCommand );
+                    }
+                }
+            } );
+        }
+    }
+}
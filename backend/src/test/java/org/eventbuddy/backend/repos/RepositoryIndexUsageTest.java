@@ -0,0 +1,216 @@
+package org.eventbuddy.backend.repos;
+
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.eventbuddy.backend.TestcontainersConfiguration;
+import org.eventbuddy.backend.enums.Role;
+import org.eventbuddy.backend.models.app_user.AppUser;
+import org.eventbuddy.backend.models.app_user.UserSettings;
+import org.eventbuddy.backend.models.booking.Booking;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.organization.Location;
+import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.services.BookingService;
+import org.eventbuddy.backend.services.EventService;
+import org.eventbuddy.backend.services.OrganizationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the service paths that used to scan whole collections with the database profiler switched on
+ * and explains every recorded query, so a missing index shows up as a collection scan.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class RepositoryIndexUsageTest {
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    BookingService bookingService;
+
+    @Autowired
+    OrganizationService organizationService;
+
+    @Autowired
+    UserRepository userRepo;
+
+    @Autowired
+    OrganizationRepository organizationRepo;
+
+    @Autowired
+    EventRepository eventRepo;
+
+    @Autowired
+    BookingRepository bookingRepo;
+
+    AppUser testUser;
+    Organization testOrganization;
+    Event testEvent;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepo.deleteAll();
+        eventRepo.deleteAll();
+        organizationRepo.deleteAll();
+        userRepo.deleteAll();
+
+        testUser = userRepo.save( AppUser.builder()
+                .providerId( "github_index-test" )
+                .name( "Index Tester" )
+                .role( Role.USER )
+                .userSettings( UserSettings.builder().build() )
+                .build() );
+
+        Location testLocation = Location.builder()
+                .address( "Example Street 1" )
+                .city( "Example City" )
+                .zipCode( "12345" )
+                .country( "Example Country" )
+                .build();
+
+        testOrganization = organizationRepo.save( Organization.builder()
+                .name( "Index Organization" )
+                .owners( Set.of( testUser.getId() ) )
+                .location( testLocation )
+                .build() );
+
+        testUser = userRepo.save( testUser.toBuilder()
+                .organizations( Set.of( testOrganization.getId() ) )
+                .build() );
+
+        testEvent = eventRepo.save( Event.builder()
+                .title( "Index Event" )
+                .eventOrganization( testOrganization )
+                .eventDateTime( Instant.now().plus( 5, ChronoUnit.DAYS ) )
+                .location( testLocation )
+                .price( 0.0 )
+                .bookedTicketsCount( 1 )
+                .build() );
+
+        bookingRepo.save( Booking.builder()
+                .name( "Index Guest" )
+                .numberOfTickets( 1 )
+                .event( testEvent )
+                .userId( testUser.getId() )
+                .build() );
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.getDb().runCommand( new Document( "profile", 0 ) );
+    }
+
+    @Test
+    @DisplayName("Events by organization use the eventOrganization index")
+    void getEventsByOrganizationId_usesIndex() {
+        assertIndexScan( "events", "eventOrganization",
+                () -> eventService.getEventsByOrganizationId( testOrganization.getId() ) );
+    }
+
+    @Test
+    @DisplayName("Events by user use the owners and eventOrganization indexes")
+    void getEventByUserId_usesIndex() {
+        assertIndexScan( "organizations", "owners", () -> eventService.getEventByUserId( testUser.getId() ) );
+        assertIndexScan( "events", "eventOrganization", () -> eventService.getEventByUserId( testUser.getId() ) );
+    }
+
+    @Test
+    @DisplayName("Bookings by user use the userId/event index")
+    void getBookingsByUser_usesIndex() {
+        assertIndexScan( "bookings", "userId", () -> bookingService.getBookingsByUser( testUser.getId() ) );
+    }
+
+    @Test
+    @DisplayName("Duplicate booking check uses the userId/event index")
+    void checkIfUserHasBookedEvent_usesIndex() {
+        assertIndexScan( "bookings", "userId", () -> assertThrows( IllegalStateException.class,
+                () -> bookingService.checkIfUserHasBookedEvent( testUser.getId(), testEvent.getId() ) ) );
+    }
+
+    @Test
+    @DisplayName("Organization cascade delete uses the eventOrganization index")
+    void deleteOrganizationById_usesIndex() {
+        assertIndexScan( "events", "eventOrganization",
+                () -> organizationService.deleteOrganizationById( testOrganization.getId() ) );
+    }
+
+    @Test
+    @DisplayName("Event cascade delete uses the event index on bookings")
+    void deleteEventById_usesIndex() {
+        assertIndexScan( "bookings", "event", () -> eventService.deleteEventById( testEvent.getId() ) );
+    }
+
+    private void assertIndexScan( String collection, String field, Runnable servicePath ) {
+        MongoDatabase database = mongoTemplate.getDb();
+
+        database.runCommand( new Document( "profile", 0 ) );
+        database.getCollection( "system.profile" ).drop();
+        database.runCommand( new Document( "profile", 2 ) );
+
+        servicePath.run();
+
+        database.runCommand( new Document( "profile", 0 ) );
+
+        List<Document> filters = recordedFilters( database, collection, field );
+
+        assertFalse( filters.isEmpty(), "No query on " + collection + "." + field + " recorded" );
+
+        for ( Document filter : filters ) {
+            Document explain = database.getCollection( collection ).find( filter ).explain();
+            String queryPlanner = explain.get( "queryPlanner", Document.class ).toJson();
+
+            assertTrue( queryPlanner.contains( "IXSCAN" ), "Expected index scan for " + filter.toJson() + " but got " + queryPlanner );
+            assertFalse( queryPlanner.contains( "COLLSCAN" ), "Collection scan for " + filter.toJson() );
+        }
+    }
+
+    // collects find filters and $match stages (count/exists queries run as aggregations) touching the field
+    private List<Document> recordedFilters( MongoDatabase database, String collection, String field ) {
+        List<Document> filters = new ArrayList<>();
+
+        for ( Document entry : database.getCollection( "system.profile" )
+                .find( new Document( "ns", database.getName() + "." + collection ) ) ) {
+
+            Document command = entry.get( "command", Document.class );
+
+            if ( command == null ) {
+                continue;
+            }
+
+            Document filter = command.get( "filter", Document.class );
+
+            if ( filter == null && command.containsKey( "pipeline" ) ) {
+                filter = command.getList( "pipeline", Document.class ).stream()
+                        .map( stage -> stage.get( "$match", Document.class ) )
+                        .filter( match -> match != null )
+                        .findFirst()
+                        .orElse( null );
+            }
+
+            if ( filter != null && filter.containsKey( field ) ) {
+                filters.add( filter );
+            }
+        }
+
+        return filters;
+    }
+}
@@ -0,0 +1,179 @@
+package org.eventbuddy.backend.services;
+
+import org.eventbuddy.backend.TestcontainersConfiguration;
+import org.eventbuddy.backend.exceptions.SoldOutException;
+import org.eventbuddy.backend.models.booking.BookingRequestDto;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.organization.Location;
+import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.repos.BookingRepository;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.eventbuddy.backend.repos.OrganizationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class BookingConcurrencyTest {
+
+    private static final int TICKET_CAPACITY = 50;
+    private static final int CONCURRENT_REQUESTS = 400;
+
+    @Autowired
+    BookingService bookingService;
+
+    @Autowired
+    EventRepository eventRepo;
+
+    @Autowired
+    BookingRepository bookingRepo;
+
+    @Autowired
+    OrganizationRepository organizationRepo;
+
+    Event testEvent;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepo.deleteAll();
+        eventRepo.deleteAll();
+        organizationRepo.deleteAll();
+
+        Location testLocation = Location.builder()
+                .address( "Example Street 1" )
+                .city( "Example City" )
+                .zipCode( "12345" )
+                .country( "Example Country" )
+                .build();
+
+        Organization testOrganization = organizationRepo.save( Organization.builder()
+                .name( "Stress Test Organization" )
+                .owners( Set.of( "owner-1" ) )
+                .location( testLocation )
+                .build() );
+
+        testEvent = eventRepo.save( Event.builder()
+                .title( "Ticket Drop" )
+                .eventOrganization( testOrganization )
+                .eventDateTime( Instant.now().plus( 10, ChronoUnit.DAYS ) )
+                .location( testLocation )
+                .price( 10.0 )
+                .maxTicketCapacity( TICKET_CAPACITY )
+                .freeTicketCapacity( TICKET_CAPACITY )
+                .bookedTicketsCount( 0 )
+                .ticketAlarm( false )
+                .isSoldOut( false )
+                .build() );
+    }
+
+    @Test
+    @DisplayName("Never oversells an event under concurrent bookings")
+    void makeBooking_shouldNotOversellUnderConcurrency() throws Exception {
+        AtomicInteger successfulBookings = new AtomicInteger();
+        AtomicInteger soldOutRejections = new AtomicInteger();
+        CountDownLatch startSignal = new CountDownLatch( 1 );
+
+        List<Future<?>> results = new ArrayList<>();
+
+        try ( ExecutorService executor = Executors.newFixedThreadPool( 64 ) ) {
+            for ( int i = 0; i < CONCURRENT_REQUESTS; i++ ) {
+                BookingRequestDto request = BookingRequestDto.builder()
+                        .eventId( testEvent.getId() )
+                        .userId( "user-" + i )
+                        .name( "Guest " + i )
+                        .numberOfTickets( 1 )
+                        .build();
+
+                results.add( executor.submit( () -> {
+                    startSignal.await();
+                    try {
+                        bookingService.makeBooking( request );
+                        successfulBookings.incrementAndGet();
+                    } catch ( SoldOutException e ) {
+                        soldOutRejections.incrementAndGet();
+                    }
+                    return null;
+                } ) );
+            }
+
+            startSignal.countDown();
+
+            for ( Future<?> result : results ) {
+                result.get( 60, TimeUnit.SECONDS );
+            }
+        }
+
+        Event soldOutEvent = eventRepo.findById( testEvent.getId() ).orElseThrow();
+
+        assertEquals( TICKET_CAPACITY, successfulBookings.get() );
+        assertEquals( CONCURRENT_REQUESTS - TICKET_CAPACITY, soldOutRejections.get() );
+        assertEquals( TICKET_CAPACITY, bookingRepo.count() );
+        assertEquals( 0, soldOutEvent.getFreeTicketCapacity() );
+        assertEquals( TICKET_CAPACITY, soldOutEvent.getBookedTicketsCount() );
+        assertTrue( soldOutEvent.getIsSoldOut() );
+        assertTrue( soldOutEvent.getTicketAlarm() );
+    }
+
+    @Test
+    @DisplayName("Gives tickets back when bookings are cancelled concurrently")
+    void deleteBookingById_shouldReleaseEachBookingOnce() throws Exception {
+        List<String> bookingIds = new ArrayList<>();
+
+        for ( int i = 0; i < TICKET_CAPACITY; i++ ) {
+            bookingIds.add( bookingService.makeBooking( BookingRequestDto.builder()
+                    .eventId( testEvent.getId() )
+                    .userId( "user-" + i )
+                    .name( "Guest " + i )
+                    .numberOfTickets( 1 )
+                    .build() ).bookingId() );
+        }
+
+        CountDownLatch startSignal = new CountDownLatch( 1 );
+        List<Future<?>> results = new ArrayList<>();
+
+        try ( ExecutorService executor = Executors.newFixedThreadPool( 32 ) ) {
+            // every booking is cancelled twice at the same time
+            for ( String bookingId : bookingIds ) {
+                for ( int attempt = 0; attempt < 2; attempt++ ) {
+                    results.add( executor.submit( () -> {
+                        startSignal.await();
+                        try {
+                            bookingService.deleteBookingById( bookingId );
+                        } catch ( RuntimeException e ) {
+                            // the slower request may not find the booking anymore
+                        }
+                        return null;
+                    } ) );
+                }
+            }
+
+            startSignal.countDown();
+
+            for ( Future<?> result : results ) {
+                result.get( 60, TimeUnit.SECONDS );
+            }
+        }
+
+        Event releasedEvent = eventRepo.findById( testEvent.getId() ).orElseThrow();
+
+        assertEquals( 0, bookingRepo.count() );
+        assertEquals( TICKET_CAPACITY, releasedEvent.getFreeTicketCapacity() );
+        assertEquals( 0, releasedEvent.getBookedTicketsCount() );
+        assertFalse( releasedEvent.getIsSoldOut() );
+        assertFalse( releasedEvent.getTicketAlarm() );
+    }
+}
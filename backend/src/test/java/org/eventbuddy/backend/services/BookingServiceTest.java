@@ -1,23 +1,36 @@
 package org.eventbuddy.backend.services;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eventbuddy.backend.enums.HoldStatus;
 import org.eventbuddy.backend.exceptions.ResourceNotFoundException;
+import org.eventbuddy.backend.exceptions.SoldOutException;
 import org.eventbuddy.backend.models.booking.Booking;
+import org.eventbuddy.backend.models.booking.BookingIdempotencyKey;
 import org.eventbuddy.backend.models.booking.BookingRequestDto;
 import org.eventbuddy.backend.models.booking.BookingResponseDto;
 import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventSummary;
+import org.eventbuddy.backend.models.event.TicketsChangedEvent;
 import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.repos.BookingIdempotencyKeyRepository;
 import org.eventbuddy.backend.repos.BookingRepository;
 import org.eventbuddy.backend.repos.EventRepository;
 import org.eventbuddy.backend.repos.OrganizationRepository;
+import org.eventbuddy.backend.repos.TicketHoldRepository;
 import org.eventbuddy.backend.repos.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -42,6 +55,33 @@ class BookingServiceTest {
     @Mock
     private OrganizationRepository organizationRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BookingIdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @Mock
+    private InMemoryInventoryService inMemoryInventory;
+
+    @Mock
+    private TicketLeaseService ticketLeases;
+
+    @Mock
+    private TicketHoldRepository holdRepository;
+
+    // real cache, so cached reads and evictions are part of the tested behaviour
+    @Spy
+    private DtoCacheService dtoCache = new DtoCacheService( 100, Duration.ofMinutes( 10 ) );
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private BookingMetrics bookingMetrics = new BookingMetrics( meterRegistry );
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -90,9 +130,8 @@ class BookingServiceTest {
     @DisplayName("Returns booking dto when created")
     void makeBooking_shouldCreateBookingSuccessfully() {
 
-        when( eventRepository.findById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
-        when( eventRepository.save( any( Event.class ) ) )
-                .thenReturn( testEvent );
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
+        when( eventRepository.reserveTickets( any( Event.class ), eq( 5 ) ) ).thenReturn( Optional.of( testEvent ) );
         when( bookingRepository.save( any( Booking.class ) ) ).thenReturn( testBooking );
 
         BookingResponseDto result = bookingService.makeBooking( bookingRequestDto );
@@ -102,20 +141,25 @@ class BookingServiceTest {
         assertEquals( "John Doe", result.name() );
         assertEquals( 5, result.numberOfTickets() );
         assertEquals( "Test Event", result.hostingEvent().title() );
-        verify( eventRepository ).save( any( Event.class ) );
+        verify( eventRepository ).reserveTickets( testEvent, 5 );
+        verify( dtoCache ).evictEvent( "event-1" );
+        verify( eventPublisher ).publishEvent( new TicketsChangedEvent( "event-1" ) );
+        verify( eventRepository, never() ).save( any( Event.class ) );
+        assertEquals( 1, bookingCount( "success" ) );
+        assertEquals( 5, meterRegistry.get( "bookings.tickets" ).counter().count() );
     }
 
     @Test
     @DisplayName("Throws 404 when event not found")
     void makeBooking_shouldThrowExceptionWhenEventNotFound() {
 
-        when( eventRepository.findById( "event-1" ) ).thenReturn( Optional.empty() );
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.empty() );
 
 
         assertThrows( ResourceNotFoundException.class, () ->
                 bookingService.makeBooking( bookingRequestDto )
         );
-        verify( eventRepository, never() ).save( any( Event.class ) );
+        verify( eventRepository, never() ).reserveTickets( any( Event.class ), anyInt() );
     }
 
     @Test
@@ -123,14 +167,247 @@ class BookingServiceTest {
     void makeBooking_shouldThrowExceptionWhenNotEnoughTickets() {
 
         testEvent = testEvent.toBuilder().freeTicketCapacity( 3 ).build();
-        when( eventRepository.findById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
+
+
+        IllegalStateException exception = assertThrows( SoldOutException.class, () ->
+                bookingService.makeBooking( bookingRequestDto )
+        );
+        assertTrue( exception.getMessage().contains( "Not enough tickets available" ) );
+        verify( eventRepository, never() ).reserveTickets( any( Event.class ), anyInt() );
+        assertEquals( 1, bookingCount( "sold_out" ) );
+    }
+
+    @Test
+    @DisplayName("Throws 409 while the user holds tickets of the event")
+    void makeBooking_shouldThrowWhileUserHoldsTickets() {
+
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
+        when( holdRepository.existsByUserIdAndEventIdAndStatus( "user-1", "event-1", HoldStatus.HELD ) ).thenReturn( true );
 
 
         IllegalStateException exception = assertThrows( IllegalStateException.class, () ->
                 bookingService.makeBooking( bookingRequestDto )
         );
+        assertEquals( BookingService.ALREADY_HELD_MESSAGE, exception.getMessage() );
+        verify( eventRepository, never() ).reserveTickets( any( Event.class ), anyInt() );
+        assertEquals( 1, bookingCount( "duplicate" ) );
+    }
+
+    @Test
+    @DisplayName("Throws 409 while the event has a waitlist")
+    void makeBooking_shouldThrowSoldOutWhileWaitlistExists() {
+
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
+        when( waitlistService.hasWaitlist( "event-1" ) ).thenReturn( true );
+
+
+        SoldOutException exception = assertThrows( SoldOutException.class, () ->
+                bookingService.makeBooking( bookingRequestDto )
+        );
+        assertTrue( exception.getMessage().contains( "waitlist" ) );
+        verify( eventRepository, never() ).reserveTickets( any( Event.class ), anyInt() );
+        assertEquals( 1, bookingCount( "sold_out" ) );
+    }
+
+    @Test
+    @DisplayName("Throws 409 when tickets were booked concurrently")
+    void makeBooking_shouldThrowSoldOutWhenReservationFails() {
+
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
+        when( eventRepository.reserveTickets( any( Event.class ), eq( 5 ) ) ).thenReturn( Optional.empty() );
+
+
+        SoldOutException exception = assertThrows( SoldOutException.class, () ->
+                bookingService.makeBooking( bookingRequestDto )
+        );
         assertTrue( exception.getMessage().contains( "Not enough tickets available" ) );
-        verify( eventRepository, never() ).save( any( Event.class ) );
+        verify( bookingRepository, never() ).save( any( Booking.class ) );
+        assertEquals( 1, bookingCount( "sold_out" ) );
+    }
+
+    @Test
+    @DisplayName("Books flash sales in memory even when the counters of the document lag behind")
+    void makeBooking_shouldReserveFlashSaleTicketsInMemory() {
+        Event laggingEvent = testEvent.toBuilder()
+                .freeTicketCapacity( 0 )
+                .flashSale( true )
+                .build();
+
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( laggingEvent ) );
+        when( inMemoryInventory.manages( "event-1" ) ).thenReturn( true );
+        when( inMemoryInventory.reserveTickets( laggingEvent, 5 ) ).thenReturn( Optional.of( laggingEvent ) );
+        when( bookingRepository.save( any( Booking.class ) ) ).thenReturn( testBooking );
+
+        BookingResponseDto result = bookingService.makeBooking( bookingRequestDto );
+
+        assertEquals( 5, result.numberOfTickets() );
+        verify( inMemoryInventory ).reserveTickets( laggingEvent, 5 );
+        verify( eventRepository, never() ).reserveTickets( any( Event.class ), anyInt() );
+        assertEquals( 1, bookingCount( "success" ) );
+    }
+
+    @Test
+    @DisplayName("Throws 409 when the in-memory inventory of a flash sale has too few tickets left")
+    void makeBooking_shouldThrowSoldOutWhenFlashSaleIsSoldOutInMemory() {
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
+        when( inMemoryInventory.manages( "event-1" ) ).thenReturn( true );
+        when( inMemoryInventory.reserveTickets( testEvent, 5 ) ).thenReturn( Optional.empty() );
+
+        assertThrows( SoldOutException.class, () -> bookingService.makeBooking( bookingRequestDto ) );
+
+        verify( bookingRepository, never() ).save( any( Booking.class ) );
+        assertEquals( 1, bookingCount( "sold_out" ) );
+    }
+
+    @Test
+    @DisplayName("Books from the ticket lease of the instance without a write to the event")
+    void makeBooking_shouldBookFromTicketLease() {
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
+        when( ticketLeases.reserveTickets( testEvent, 5 ) ).thenReturn( Optional.of( "lease-1" ) );
+        when( bookingRepository.save( any( Booking.class ) ) ).thenReturn( testBooking );
+
+        bookingService.makeBooking( bookingRequestDto );
+
+        ArgumentCaptor<Booking> savedBooking = ArgumentCaptor.forClass( Booking.class );
+        verify( bookingRepository ).save( savedBooking.capture() );
+        assertEquals( "lease-1", savedBooking.getValue().getTicketLeaseId() );
+        verify( eventRepository, never() ).reserveTickets( any( Event.class ), anyInt() );
+        verify( dtoCache, never() ).evictEvent( anyString() );
+        assertEquals( 1, bookingCount( "success" ) );
+    }
+
+    @Test
+    @DisplayName("Releases reserved tickets when booking cannot be saved")
+    void makeBooking_shouldReleaseTicketsWhenBookingSaveFails() {
+
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
+        when( eventRepository.reserveTickets( any( Event.class ), eq( 5 ) ) ).thenReturn( Optional.of( testEvent ) );
+        when( bookingRepository.save( any( Booking.class ) ) ).thenThrow( new RuntimeException( "write failed" ) );
+
+
+        assertThrows( RuntimeException.class, () ->
+                bookingService.makeBooking( bookingRequestDto )
+        );
+        verify( eventRepository ).releaseTickets( "event-1", 5 );
+        verify( dtoCache, times( 2 ) ).evictEvent( "event-1" );
+        verify( eventPublisher, times( 2 ) ).publishEvent( new TicketsChangedEvent( "event-1" ) );
+        assertEquals( 0, bookingCount( "success" ) );
+    }
+
+    @Test
+    @DisplayName("Throws 409 and releases the tickets when the same user booked the event concurrently")
+    void makeBooking_shouldThrowAlreadyBookedWhenUniqueIndexRejectsBooking() {
+
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
+        when( eventRepository.reserveTickets( any( Event.class ), eq( 5 ) ) ).thenReturn( Optional.of( testEvent ) );
+        when( bookingRepository.save( any( Booking.class ) ) ).thenThrow( new DuplicateKeyException( "E11000 duplicate key error" ) );
+
+
+        IllegalStateException exception = assertThrows( IllegalStateException.class, () ->
+                bookingService.makeBooking( bookingRequestDto )
+        );
+        assertEquals( "You cannot book the same event more than once.", exception.getMessage() );
+        verify( eventRepository ).releaseTickets( "event-1", 5 );
+        assertEquals( 1, bookingCount( "duplicate" ) );
+        assertEquals( 0, bookingCount( "success" ) );
+    }
+
+    @Test
+    @DisplayName("Books once and stores the response under the idempotency key")
+    void makeBooking_shouldStoreResponseUnderIdempotencyKey() {
+
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
+        when( eventRepository.reserveTickets( any( Event.class ), eq( 5 ) ) ).thenReturn( Optional.of( testEvent ) );
+        when( bookingRepository.save( any( Booking.class ) ) ).thenReturn( testBooking );
+
+        BookingResponseDto result = bookingService.makeBooking( bookingRequestDto, "key-1" );
+
+
+        assertEquals( "booking-1", result.bookingId() );
+        verify( idempotencyKeyRepository ).insert( argThat( ( BookingIdempotencyKey key ) ->
+                key.getId().equals( "user-1:key-1" ) && key.getResponse() == null ) );
+        verify( idempotencyKeyRepository ).save( argThat( key ->
+                key.getId().equals( "user-1:key-1" ) && result.equals( key.getResponse() ) ) );
+    }
+
+    @Test
+    @DisplayName("Returns the stored response for a replayed idempotency key without booking again")
+    void makeBooking_shouldReplayStoredResponse() {
+
+        BookingResponseDto storedResponse = BookingResponseDto.builder().bookingId( "booking-1" ).numberOfTickets( 5 ).build();
+        when( idempotencyKeyRepository.insert( any( BookingIdempotencyKey.class ) ) ).thenThrow( new DuplicateKeyException( "E11000 duplicate key error" ) );
+        when( idempotencyKeyRepository.findById( "user-1:key-1" ) ).thenReturn( Optional.of( BookingIdempotencyKey.builder()
+                .id( "user-1:key-1" )
+                .eventId( "event-1" )
+                .numberOfTickets( 5 )
+                .response( storedResponse )
+                .build() ) );
+
+        BookingResponseDto result = bookingService.makeBooking( bookingRequestDto, "key-1" );
+
+
+        assertSame( storedResponse, result );
+        verifyNoInteractions( eventRepository, bookingRepository );
+    }
+
+    @Test
+    @DisplayName("Throws 409 while the booking of the replayed idempotency key is in progress")
+    void makeBooking_shouldThrowWhenIdempotentBookingInProgress() {
+
+        when( idempotencyKeyRepository.insert( any( BookingIdempotencyKey.class ) ) ).thenThrow( new DuplicateKeyException( "E11000 duplicate key error" ) );
+        when( idempotencyKeyRepository.findById( "user-1:key-1" ) ).thenReturn( Optional.of( BookingIdempotencyKey.builder()
+                .id( "user-1:key-1" )
+                .eventId( "event-1" )
+                .numberOfTickets( 5 )
+                .build() ) );
+
+        IllegalStateException exception = assertThrows( IllegalStateException.class, () ->
+                bookingService.makeBooking( bookingRequestDto, "key-1" )
+        );
+        assertEquals( "A booking with this Idempotency-Key is still in progress.", exception.getMessage() );
+        verifyNoInteractions( eventRepository, bookingRepository );
+    }
+
+    @Test
+    @DisplayName("Throws 400 when the idempotency key was used for a different booking")
+    void makeBooking_shouldThrowWhenIdempotencyKeyReusedForOtherBooking() {
+
+        when( idempotencyKeyRepository.insert( any( BookingIdempotencyKey.class ) ) ).thenThrow( new DuplicateKeyException( "E11000 duplicate key error" ) );
+        when( idempotencyKeyRepository.findById( "user-1:key-1" ) ).thenReturn( Optional.of( BookingIdempotencyKey.builder()
+                .id( "user-1:key-1" )
+                .eventId( "event-2" )
+                .numberOfTickets( 5 )
+                .build() ) );
+
+        assertThrows( IllegalArgumentException.class, () ->
+                bookingService.makeBooking( bookingRequestDto, "key-1" )
+        );
+        verifyNoInteractions( eventRepository, bookingRepository );
+    }
+
+    @Test
+    @DisplayName("Frees the idempotency key when the booking fails")
+    void makeBooking_shouldDeleteIdempotencyKeyWhenBookingFails() {
+
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
+        when( eventRepository.reserveTickets( any( Event.class ), eq( 5 ) ) ).thenReturn( Optional.empty() );
+
+        assertThrows( SoldOutException.class, () ->
+                bookingService.makeBooking( bookingRequestDto, "key-1" )
+        );
+        verify( idempotencyKeyRepository ).deleteById( "user-1:key-1" );
+        verify( idempotencyKeyRepository, never() ).save( any( BookingIdempotencyKey.class ) );
+    }
+
+    @Test
+    @DisplayName("Throws 400 for an idempotency key longer than 255 characters")
+    void makeBooking_shouldThrowWhenIdempotencyKeyTooLong() {
+
+        assertThrows( IllegalArgumentException.class, () ->
+                bookingService.makeBooking( bookingRequestDto, "k".repeat( 256 ) )
+        );
+        verifyNoInteractions( idempotencyKeyRepository, eventRepository );
     }
 
     @Test
@@ -144,17 +421,21 @@ class BookingServiceTest {
         BookingRequestDto largeBooking = bookingRequestDto.toBuilder()
                 .numberOfTickets( 10 )
                 .build();
-        when( eventRepository.findById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
-        when( eventRepository.save( any( Event.class ) ) )
-                .thenReturn( testEvent );
-        when( bookingRepository.save( any( Booking.class ) ) ).thenReturn( testBooking );
+        Event reservedEvent = testEvent.toBuilder()
+                .freeTicketCapacity( 15 )
+                .ticketAlarm( true )
+                .build();
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
+        when( eventRepository.reserveTickets( any( Event.class ), eq( 10 ) ) ).thenReturn( Optional.of( reservedEvent ) );
+        when( bookingRepository.save( any( Booking.class ) ) ).thenAnswer( invocation -> invocation.getArgument( 0 ) );
 
 
-        bookingService.makeBooking( largeBooking );
+        BookingResponseDto result = bookingService.makeBooking( largeBooking );
 
 
-        verify( eventRepository ).save( argThat( event ->
-                event.getTicketAlarm() && event.getFreeTicketCapacity() == 15
+        assertEquals( "Test Event", result.hostingEvent().title() );
+        verify( bookingRepository ).save( argThat( booking ->
+                booking.getEvent() == reservedEvent && booking.getEvent().getTicketAlarm() && booking.getNumberOfTickets() == 10
         ) );
     }
 
@@ -163,17 +444,18 @@ class BookingServiceTest {
     void makeBooking_shouldSetSoldOutWhenNoTicketsLeft() {
 
         testEvent = testEvent.toBuilder().freeTicketCapacity( 5 ).build();
-        when( eventRepository.findById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
-        when( eventRepository.save( any( Event.class ) ) )
-                .thenReturn( testEvent );
-        when( bookingRepository.save( any( Booking.class ) ) ).thenReturn( testBooking );
+        Event reservedEvent = testEvent.toBuilder()
+                .freeTicketCapacity( 0 )
+                .isSoldOut( true )
+                .build();
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
+        when( eventRepository.reserveTickets( any( Event.class ), eq( 5 ) ) ).thenReturn( Optional.of( reservedEvent ) );
+        when( bookingRepository.save( any( Booking.class ) ) ).thenAnswer( invocation -> invocation.getArgument( 0 ) );
 
         bookingService.makeBooking( bookingRequestDto );
 
 
-        verify( eventRepository ).save( argThat( event ->
-                event.getIsSoldOut() && event.getFreeTicketCapacity() == 0
-        ) );
+        verify( bookingRepository ).save( argThat( booking -> booking.getEvent().getIsSoldOut() ) );
     }
 
     @Test
@@ -184,9 +466,8 @@ class BookingServiceTest {
                 .maxTicketCapacity( null )
                 .freeTicketCapacity( null )
                 .build();
-        when( eventRepository.findById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
-        when( eventRepository.save( any( Event.class ) ) )
-                .thenReturn( testEvent );
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
+        when( eventRepository.reserveTickets( any( Event.class ), eq( 5 ) ) ).thenReturn( Optional.of( testEvent ) );
         when( bookingRepository.save( any( Booking.class ) ) ).thenReturn( testBooking );
 
         BookingResponseDto result = bookingService.makeBooking( bookingRequestDto );
@@ -196,10 +477,8 @@ class BookingServiceTest {
         assertEquals( 5, result.numberOfTickets() );
         assertEquals( "Test Event", result.hostingEvent().title() );
 
-        verify( eventRepository, times( 2 ) ).findById( "event-1" );
-        verify( eventRepository ).save( argThat( event ->
-                event.getBookedTicketsCount() == testEvent.getBookedTicketsCount() + bookingRequestDto.numberOfTickets()
-        ) );
+        verify( eventRepository ).findWithTicketCountsById( "event-1" );
+        verify( eventRepository ).reserveTickets( any( Event.class ), eq( 5 ) );
         verify( bookingRepository ).save( any( Booking.class ) );
     }
 
@@ -211,25 +490,43 @@ class BookingServiceTest {
         BookingRequestDto largeBooking = bookingRequestDto.toBuilder()
                 .numberOfTickets( 5 )
                 .build();
-        when( eventRepository.findById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
         IllegalStateException exception = assertThrows( IllegalStateException.class, () ->
                 bookingService.makeBooking( largeBooking )
         );
         assertTrue( exception.getMessage().contains( "You cannot book more than 3 tickets for this event." ) );
-        verify( eventRepository, never() ).save( any( Event.class ) );
+        verify( eventRepository, never() ).reserveTickets( any( Event.class ), anyInt() );
+        assertEquals( 1, bookingCount( "max_per_booking" ) );
     }
 
     @Test
     @DisplayName("Returns bookings for a specific user")
     void getBookingsByUser_shouldReturnBookingsForUser() {
-        when( bookingRepository.findAll() ).thenReturn( List.of( testBooking ) );
+        when( bookingRepository.findAllByUserId( "user-1" ) ).thenReturn( List.of( testBooking ) );
 
         List<BookingResponseDto> result = bookingService.getBookingsByUser( "user-1" );
 
         assertNotNull( result );
         assertEquals( 1, result.size() );
         assertEquals( "John Doe", result.get( 0 ).name() );
-        verify( bookingRepository ).findAll();
+        assertEquals( "Test Organization", result.get( 0 ).hostingEvent().eventOrganization().name() );
+        verify( bookingRepository, never() ).findAll();
+    }
+
+    @Test
+    @DisplayName("Returns the embedded event summary without loading the event")
+    void getBookingsByUser_shouldUseEmbeddedEventSummary() {
+        Event lazyEvent = mock( Event.class );
+        Booking summarizedBooking = testBooking.toBuilder()
+                .event( lazyEvent )
+                .eventSummary( EventSummary.of( testEvent ) )
+                .build();
+        when( bookingRepository.findAllByUserId( "user-1" ) ).thenReturn( List.of( summarizedBooking ) );
+
+        List<BookingResponseDto> result = bookingService.getBookingsByUser( "user-1" );
+
+        assertEquals( EventSummary.of( testEvent ), result.getFirst().hostingEvent() );
+        verifyNoInteractions( lazyEvent, eventRepository, organizationRepository );
     }
 
     @Test
@@ -258,85 +555,101 @@ class BookingServiceTest {
     @Test
     @DisplayName("Throws exception when user has already booked the event")
     void checkIfUserHasBookedEvent_shouldThrowExceptionIfUserAlreadyBooked() {
-        when( bookingRepository.findAll() ).thenReturn( List.of( testBooking ) );
+        when( bookingRepository.existsByUserIdAndEvent( eq( "user-1" ), argThat( event -> event.getId().equals( "event-1" ) ) ) )
+                .thenReturn( true );
 
         IllegalStateException exception = assertThrows( IllegalStateException.class, () ->
                 bookingService.checkIfUserHasBookedEvent( "user-1", "event-1" )
         );
 
         assertTrue( exception.getMessage().contains( "You cannot book the same event more than once." ) );
-        verify( bookingRepository ).findAll();
+        verify( bookingRepository, never() ).findAll();
+        assertEquals( 1, bookingCount( "duplicate" ) );
     }
 
     @Test
     @DisplayName("Does not throw exception when user has not booked the event")
     void checkIfUserHasBookedEvent_shouldNotThrowExceptionIfUserHasNotBooked() {
-        when( bookingRepository.findAll() ).thenReturn( List.of() );
+        when( bookingRepository.existsByUserIdAndEvent( eq( "user-1" ), any( Event.class ) ) ).thenReturn( false );
 
         assertDoesNotThrow( () ->
                 bookingService.checkIfUserHasBookedEvent( "user-1", "event-1" )
         );
 
-        verify( bookingRepository ).findAll();
+        verify( bookingRepository, never() ).findAll();
     }
 
     @Test
-    @DisplayName("Deletes booking by id")
+    @DisplayName("Deletes booking by id, releases its tickets and promotes the waitlist")
     void deleteBooking_shouldDeleteBookingById() {
         when( bookingRepository.findById( "booking-1" ) ).thenReturn( Optional.of( testBooking ) );
-        when( eventRepository.save( any( Event.class ) ) ).thenReturn( testEvent );
+        when( bookingRepository.removeById( "booking-1" ) ).thenReturn( 1L );
 
         bookingService.deleteBookingById( "booking-1" );
 
-        verify( bookingRepository ).deleteById( "booking-1" );
-        verify( eventRepository ).save( any( Event.class ) );
+        verify( bookingRepository ).removeById( "booking-1" );
+        verify( eventRepository ).releaseTickets( "event-1", 5 );
+        verify( dtoCache ).evictEvent( "event-1" );
+        verify( eventPublisher ).publishEvent( new TicketsChangedEvent( "event-1" ) );
+        verify( eventRepository, never() ).save( any( Event.class ) );
+        verify( waitlistService ).promote( "event-1" );
     }
 
     @Test
-    @DisplayName("Deletes booking by id without updating ticketAlarm flag")
-    void deleteBooking_shouldDeleteBookingByIdWithoutUpdatingFlags() {
-        Event testEventWithMaxCapacityNull = testEvent.toBuilder()
-                .maxTicketCapacity( null )
-                .ticketAlarm( false )
-                .build();
+    @DisplayName("Gives the tickets of a deleted flash sale booking back to the in-memory inventory")
+    void deleteBooking_shouldReleaseFlashSaleTicketsInMemory() {
+        when( bookingRepository.findById( "booking-1" ) ).thenReturn( Optional.of( testBooking ) );
+        when( bookingRepository.removeById( "booking-1" ) ).thenReturn( 1L );
+        when( inMemoryInventory.manages( "event-1" ) ).thenReturn( true );
 
-        Booking testBookingWithEventWithMaxCapacityNull = testBooking.toBuilder()
-                .event( testEventWithMaxCapacityNull )
-                .build();
+        bookingService.deleteBookingById( "booking-1" );
 
-        when( bookingRepository.findById( "booking-1" ) ).thenReturn( Optional.of( testBookingWithEventWithMaxCapacityNull ) );
-        when( eventRepository.save( any( Event.class ) ) ).thenReturn( testEventWithMaxCapacityNull );
+        verify( inMemoryInventory ).releaseTickets( "event-1", 5 );
+        verify( eventRepository, never() ).releaseTickets( anyString(), anyInt() );
+        verify( waitlistService ).promote( "event-1" );
+    }
+
+    @Test
+    @DisplayName("Counts the tickets of a deleted booking made from a ticket lease on the lease")
+    void deleteBooking_shouldReleaseLeasedTicketsOnLease() {
+        when( bookingRepository.findById( "booking-1" ) )
+                .thenReturn( Optional.of( testBooking.toBuilder().ticketLeaseId( "lease-1" ).build() ) );
+        when( bookingRepository.removeById( "booking-1" ) ).thenReturn( 1L );
+        when( eventRepository.releaseLeasedTickets( "event-1", "lease-1", 5 ) ).thenReturn( Optional.of( testEvent ) );
 
         bookingService.deleteBookingById( "booking-1" );
 
-        verify( bookingRepository ).deleteById( "booking-1" );
-        verify( eventRepository ).save( any( Event.class ) );
+        verify( eventRepository, never() ).releaseTickets( anyString(), anyInt() );
+        verify( eventPublisher ).publishEvent( new TicketsChangedEvent( "event-1" ) );
+        verify( waitlistService ).promote( "event-1" );
     }
 
     @Test
-    @DisplayName("Deletes booking and updates event with ticketAlarm flag true")
-    void deleteBooking_shouldUpdateEventWithTicketAlarmTrue() {
-        testEvent = testEvent.toBuilder()
-                .freeTicketCapacity( 15 )
-                .ticketAlarm( true )
-                .build();
-        Booking bookingToDelete = Booking.builder()
-                .id( "booking-1" )
-                .numberOfTickets( 10 )
-                .event( testEvent )
-                .build();
+    @DisplayName("Gives the tickets of a deleted booking back to the event once its ticket lease has ended")
+    void deleteBooking_shouldReleaseTicketsOfEndedLeaseOnEvent() {
+        when( bookingRepository.findById( "booking-1" ) )
+                .thenReturn( Optional.of( testBooking.toBuilder().ticketLeaseId( "lease-1" ).build() ) );
+        when( bookingRepository.removeById( "booking-1" ) ).thenReturn( 1L );
+        when( eventRepository.releaseLeasedTickets( "event-1", "lease-1", 5 ) ).thenReturn( Optional.empty() );
 
-        when( bookingRepository.findById( "booking-1" ) ).thenReturn( Optional.of( bookingToDelete ) );
-        when( eventRepository.save( any( Event.class ) ) ).thenReturn( testEvent );
+        bookingService.deleteBookingById( "booking-1" );
+
+        verify( eventRepository ).releaseTickets( "event-1", 5 );
+        verify( waitlistService ).promote( "event-1" );
+    }
+
+    @Test
+    @DisplayName("Does not release tickets twice when booking was deleted concurrently")
+    void deleteBooking_shouldNotReleaseTicketsWhenAlreadyDeleted() {
+        when( bookingRepository.findById( "booking-1" ) ).thenReturn( Optional.of( testBooking ) );
+        when( bookingRepository.removeById( "booking-1" ) ).thenReturn( 0L );
 
         bookingService.deleteBookingById( "booking-1" );
 
-        verify( bookingRepository ).deleteById( "booking-1" );
-        verify( eventRepository ).save( argThat( event ->
-                event.getFreeTicketCapacity() == 15 + 10 &&
-                        !event.getTicketAlarm() &&
-                        !event.getIsSoldOut()
-        ) );
+        verify( eventRepository, never() ).releaseTickets( anyString(), anyInt() );
+        verify( dtoCache, never() ).evictEvent( anyString() );
+        verify( eventPublisher, never() ).publishEvent( any() );
+        verify( waitlistService, never() ).promote( anyString() );
     }
 
     @Test
@@ -348,7 +661,11 @@ class BookingServiceTest {
                 bookingService.deleteBookingById( "booking-1" )
         );
 
-        verify( bookingRepository, never() ).deleteById( anyString() );
-        verify( eventRepository, never() ).save( any( Event.class ) );
+        verify( bookingRepository, never() ).removeById( anyString() );
+        verify( eventRepository, never() ).releaseTickets( anyString(), anyInt() );
+    }
+
+    private double bookingCount( String outcome ) {
+        return meterRegistry.get( "bookings" ).tag( "outcome", outcome ).counter().count();
     }
 }
@@ -0,0 +1,278 @@
+package org.eventbuddy.backend.services;
+
+import org.eventbuddy.backend.exceptions.ResourceNotFoundException;
+import org.eventbuddy.backend.models.app_user.AppUserDto;
+import org.eventbuddy.backend.models.cache.CacheStatsDto;
+import org.eventbuddy.backend.models.event.EventResponseDto;
+import org.eventbuddy.backend.models.organization.OrganizationResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DtoCacheServiceTest {
+
+    DtoCacheService dtoCache;
+
+    AppUserDto owner;
+    AppUserDto coOwner;
+    OrganizationResponseDto organization;
+    OrganizationResponseDto otherOrganization;
+    EventResponseDto event;
+    EventResponseDto otherEvent;
+
+    // counts the loads per cache key, i.e. the misses
+    AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        dtoCache = new DtoCacheService( 100, Duration.ofMinutes( 10 ) );
+        loads = new AtomicInteger();
+
+        owner = AppUserDto.builder().id( "ownerId" ).name( "Owner" ).build();
+        coOwner = AppUserDto.builder().id( "coOwnerId" ).name( "Co Owner" ).build();
+
+        organization = OrganizationResponseDto.builder()
+                .id( "orgaId" )
+                .slug( "orga" )
+                .owners( Set.of( owner, coOwner ) )
+                .build();
+
+        otherOrganization = OrganizationResponseDto.builder()
+                .id( "otherOrgaId" )
+                .slug( "other-orga" )
+                .owners( Set.of( coOwner ) )
+                .build();
+
+        event = EventResponseDto.builder().id( "eventId" ).eventOrganization( organization ).build();
+        otherEvent = EventResponseDto.builder().id( "otherEventId" ).eventOrganization( otherOrganization ).build();
+    }
+
+    @Test
+    @DisplayName("Should load a missing entry once and serve it from the cache afterward")
+    void getEvent_shouldLoadOnce() {
+        dtoCache.getEvent( "eventId", this::loadEvent );
+
+        assertSame( event, dtoCache.getEvent( "eventId", this::loadEvent ) );
+        assertEquals( 1, loads.get() );
+    }
+
+    @Test
+    @DisplayName("Should not cache failed loads")
+    void getEvent_shouldNotCacheExceptions() {
+        for ( int i = 0; i < 2; i++ ) {
+            assertThatThrownBy( () -> dtoCache.getEvent( "missingId", () -> {
+                loads.incrementAndGet();
+                throw new ResourceNotFoundException( "Event not found with id: missingId" );
+            } ) ).isInstanceOf( ResourceNotFoundException.class );
+        }
+
+        assertEquals( 2, loads.get() );
+    }
+
+    @Test
+    @DisplayName("Should load once for concurrent misses and let the waiting virtual threads share the result")
+    void getEvent_shouldLoadOnceForConcurrentMisses() throws Exception {
+        CountDownLatch loading = new CountDownLatch( 1 );
+        CountDownLatch release = new CountDownLatch( 1 );
+
+        try ( ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor() ) {
+            Future<EventResponseDto> first = executor.submit( () -> dtoCache.getEvent( "eventId", () -> {
+                loading.countDown();
+                await( release );
+                return loadEvent();
+            } ) );
+            loading.await();
+
+            List<Future<EventResponseDto>> waiting = new ArrayList<>();
+            for ( int i = 0; i < 20; i++ ) {
+                waiting.add( executor.submit( () -> dtoCache.getEvent( "eventId", this::loadEvent ) ) );
+            }
+            release.countDown();
+
+            assertSame( event, first.get( 5, TimeUnit.SECONDS ) );
+            for ( Future<EventResponseDto> result : waiting ) {
+                assertSame( event, result.get( 5, TimeUnit.SECONDS ) );
+            }
+        }
+
+        assertEquals( 1, loads.get() );
+    }
+
+    @Test
+    @DisplayName("Should evict only the changed event")
+    void evictEvent_shouldEvictOnlyChangedEvent() {
+        cacheAll();
+
+        dtoCache.evictEvent( "eventId" );
+
+        assertEquals( Set.of( "events" ), reloadedCaches() );
+    }
+
+    @Test
+    @DisplayName("Should evict organization together with its events and the users listing it")
+    void evictOrganization_shouldEvictDependentDtos() {
+        cacheAll();
+
+        dtoCache.evictOrganization( "orgaId" );
+
+        assertEquals( 1, reload( () -> dtoCache.getEvent( "eventId", this::loadEvent ) ) );
+        assertEquals( 0, reload( () -> dtoCache.getEvent( "otherEventId", this::loadOtherEvent ) ) );
+        assertEquals( 1, reload( () -> dtoCache.getOrganizationBySlug( "orga", this::loadOrganization ) ) );
+        assertEquals( 0, reload( () -> dtoCache.getOrganizationBySlug( "other-orga", this::loadOtherOrganization ) ) );
+        assertEquals( 1, reload( () -> dtoCache.getUser( "ownerId", this::loadOwner ) ) );
+        assertEquals( 1, reload( () -> dtoCache.getUser( "coOwnerId", this::loadCoOwner ) ) );
+    }
+
+    @Test
+    @DisplayName("Should not keep the result of a load running while a dto it contains is evicted")
+    void evictOrganization_shouldDropRunningLoads() throws Exception {
+        CountDownLatch loading = new CountDownLatch( 1 );
+        CountDownLatch release = new CountDownLatch( 1 );
+
+        try ( ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor() ) {
+            Future<EventResponseDto> runningLoad = executor.submit( () -> dtoCache.getEvent( "eventId", () -> {
+                loading.countDown();
+                await( release );
+                return loadEvent();
+            } ) );
+            loading.await();
+
+            dtoCache.evictOrganization( "orgaId" );
+            release.countDown();
+
+            assertSame( event, runningLoad.get( 5, TimeUnit.SECONDS ) );
+        }
+
+        assertEquals( 1, reload( () -> dtoCache.getEvent( "eventId", this::loadEvent ) ) );
+    }
+
+    @Test
+    @DisplayName("Should evict user together with owned organizations, their events and co-owners")
+    void evictUser_shouldEvictDependentDtos() {
+        cacheAll();
+
+        dtoCache.evictUser( "ownerId" );
+
+        assertEquals( 1, reload( () -> dtoCache.getEvent( "eventId", this::loadEvent ) ) );
+        assertEquals( 0, reload( () -> dtoCache.getEvent( "otherEventId", this::loadOtherEvent ) ) );
+        assertEquals( 1, reload( () -> dtoCache.getOrganizationBySlug( "orga", this::loadOrganization ) ) );
+        assertEquals( 0, reload( () -> dtoCache.getOrganizationBySlug( "other-orga", this::loadOtherOrganization ) ) );
+        assertEquals( 1, reload( () -> dtoCache.getUser( "ownerId", this::loadOwner ) ) );
+        // lists the owner as co-owner of the shared organization
+        assertEquals( 1, reload( () -> dtoCache.getUser( "coOwnerId", this::loadCoOwner ) ) );
+    }
+
+    @Test
+    @DisplayName("Should report hits, misses and invalidations per cache")
+    void getStats_shouldCountHitsMissesAndInvalidations() {
+        dtoCache.getEvent( "eventId", this::loadEvent );
+        dtoCache.getEvent( "eventId", this::loadEvent );
+        dtoCache.getEvent( "eventId", this::loadEvent );
+        dtoCache.evictEvent( "eventId" );
+        dtoCache.evictEvent( "eventId" );
+
+        Map<String, CacheStatsDto> stats = dtoCache.getStats().stream()
+                .collect( Collectors.toMap( CacheStatsDto::name, Function.identity() ) );
+
+        CacheStatsDto events = stats.get( "events" );
+
+        assertEquals( Set.of( "events", "organizations", "users" ), stats.keySet() );
+        assertEquals( 2, events.hitCount() );
+        assertEquals( 1, events.missCount() );
+        assertEquals( 2.0 / 3, events.hitRate(), 0.0001 );
+        assertEquals( 1, events.invalidationCount() );
+        assertEquals( 0, events.size() );
+    }
+
+    private void cacheAll() {
+        dtoCache.getEvent( "eventId", this::loadEvent );
+        dtoCache.getEvent( "otherEventId", this::loadOtherEvent );
+        dtoCache.getOrganizationBySlug( "orga", this::loadOrganization );
+        dtoCache.getOrganizationBySlug( "other-orga", this::loadOtherOrganization );
+        dtoCache.getUser( "ownerId", this::loadOwner );
+        dtoCache.getUser( "coOwnerId", this::loadCoOwner );
+        loads.set( 0 );
+    }
+
+    // number of loads the request caused, 1 when the entry had been evicted
+    private int reload( Runnable request ) {
+        int before = loads.get();
+        request.run();
+        return loads.get() - before;
+    }
+
+    // names of the caches that had to reload at least one of the cached entries
+    private Set<String> reloadedCaches() {
+        Map<String, Integer> reloads = Map.of(
+                "events", reload( () -> dtoCache.getEvent( "eventId", this::loadEvent ) )
+                        + reload( () -> dtoCache.getEvent( "otherEventId", this::loadOtherEvent ) ),
+                "organizations", reload( () -> dtoCache.getOrganizationBySlug( "orga", this::loadOrganization ) )
+                        + reload( () -> dtoCache.getOrganizationBySlug( "other-orga", this::loadOtherOrganization ) ),
+                "users", reload( () -> dtoCache.getUser( "ownerId", this::loadOwner ) )
+                        + reload( () -> dtoCache.getUser( "coOwnerId", this::loadCoOwner ) )
+        );
+
+        return reloads.entrySet().stream()
+                .filter( entry -> entry.getValue() > 0 )
+                .map( Map.Entry::getKey )
+                .collect( Collectors.toSet() );
+    }
+
+    private EventResponseDto loadEvent() {
+        loads.incrementAndGet();
+        return event;
+    }
+
+    private EventResponseDto loadOtherEvent() {
+        loads.incrementAndGet();
+        return otherEvent;
+    }
+
+    private OrganizationResponseDto loadOrganization() {
+        loads.incrementAndGet();
+        return organization;
+    }
+
+    private OrganizationResponseDto loadOtherOrganization() {
+        loads.incrementAndGet();
+        return otherOrganization;
+    }
+
+    // users list their organizations, with the owners of each
+    private AppUserDto loadOwner() {
+        loads.incrementAndGet();
+        return owner.toBuilder().organizations( List.of( organization ) ).build();
+    }
+
+    private AppUserDto loadCoOwner() {
+        loads.incrementAndGet();
+        return coOwner.toBuilder().organizations( List.of( organization, otherOrganization ) ).build();
+    }
+
+    private static void await( CountDownLatch latch ) {
+        try {
+            latch.await();
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( e );
+        }
+    }
+}
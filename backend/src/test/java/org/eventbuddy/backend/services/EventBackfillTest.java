@@ -0,0 +1,140 @@
+package org.eventbuddy.backend.services;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.eventbuddy.backend.TestcontainersConfiguration;
+import org.eventbuddy.backend.models.booking.Booking;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventSummary;
+import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.repos.BookingRepository;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.eventbuddy.backend.repos.OrganizationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class EventBackfillTest {
+
+    @Autowired
+    EventBackfillService eventBackfillService;
+
+    @Autowired
+    EventRepository eventRepo;
+
+    @Autowired
+    OrganizationRepository organizationRepo;
+
+    @Autowired
+    BookingRepository bookingRepo;
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepo.deleteAll();
+        eventRepo.deleteAll();
+        organizationRepo.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should set the position of events with coordinates and leave the others alone")
+    void backfillPositions_setsPositionFromLocation() {
+        ObjectId locatedEventId = insertEvent( new Document( "latitude", 52.52 ).append( "longitude", 13.405 ) );
+        ObjectId outOfRangeEventId = insertEvent( new Document( "latitude", 95.0 ).append( "longitude", 13.405 ) );
+        ObjectId unlocatedEventId = insertEvent( new Document( "city", "Sample City" ) );
+
+        assertEquals( 1, eventBackfillService.backfillPositions() );
+
+        Document position = findEvent( locatedEventId ).get( "position", Document.class );
+
+        assertEquals( "Point", position.getString( "type" ) );
+        assertEquals( List.of( 13.405, 52.52 ), position.getList( "coordinates", Double.class ) );
+        assertFalse( findEvent( outOfRangeEventId ).containsKey( "position" ) );
+        assertFalse( findEvent( unlocatedEventId ).containsKey( "position" ) );
+    }
+
+    @Test
+    @DisplayName("Should do nothing when resumed after a finished backfill")
+    void backfillPositions_skipsEventsWithPosition() {
+        insertEvent( new Document( "latitude", 52.52 ).append( "longitude", 13.405 ) );
+
+        eventBackfillService.backfillPositions();
+
+        assertEquals( 0, eventBackfillService.backfillPositions() );
+    }
+
+    @Test
+    @DisplayName("Should copy the organization summary to its events and replace the organization name")
+    void backfillOrganizationSummaries_setsSummaryOfOrganization() {
+        Organization organization = organizationRepo.save( Organization.builder().name( "Jazz Club" ).build() );
+
+        ObjectId eventId = new ObjectId();
+        mongoTemplate.getCollection( mongoTemplate.getCollectionName( Event.class ) )
+                .insertOne( new Document( "_id", eventId )
+                        .append( "eventOrganization", new ObjectId( organization.getId() ) )
+                        .append( "organizationName", "Jazz Club" ) );
+
+        assertEquals( 1, eventBackfillService.backfillOrganizationSummaries() );
+
+        Document event = findEvent( eventId );
+
+        assertEquals( "Jazz Club", event.get( "organizationSummary", Document.class ).getString( "name" ) );
+        assertEquals( "jazz-club", event.get( "organizationSummary", Document.class ).getString( "slug" ) );
+        assertFalse( event.containsKey( "organizationName" ) );
+        assertEquals( 0, eventBackfillService.backfillOrganizationSummaries() );
+    }
+
+    @Test
+    @DisplayName("Should copy the event summary to bookings missing it and leave the others to the propagation")
+    void backfillEventSummaries_setsSummaryOfEvent() {
+        Organization organization = organizationRepo.save( Organization.builder().name( "Jazz Club" ).build() );
+        Event event = eventRepo.save( Event.builder()
+                .title( "Jazz Night" )
+                .eventOrganization( organization )
+                .eventDateTime( Instant.now().truncatedTo( ChronoUnit.MILLIS ).plus( 1, ChronoUnit.DAYS ) )
+                .build() );
+
+        ObjectId bookingId = new ObjectId();
+        mongoTemplate.getCollection( mongoTemplate.getCollectionName( Booking.class ) )
+                .insertOne( new Document( "_id", bookingId ).append( "event", new ObjectId( event.getId() ) ) );
+
+        assertEquals( 1, eventBackfillService.backfillEventSummaries() );
+        assertEquals( EventSummary.of( event ), bookingRepo.findById( bookingId.toHexString() ).orElseThrow().getEventSummary() );
+        assertEquals( 0, eventBackfillService.backfillEventSummaries() );
+
+        // an update the propagation had pending on shutdown, it resumes those itself
+        mongoTemplate.getCollection( mongoTemplate.getCollectionName( Event.class ) )
+                .updateOne( new Document( "_id", new ObjectId( event.getId() ) ), new Document( "$set", new Document( "title", "Jazz Brunch" ) ) );
+
+        assertEquals( 0, eventBackfillService.backfillEventSummaries() );
+        assertEquals( "Jazz Night", bookingRepo.findById( bookingId.toHexString() ).orElseThrow().getEventSummary().title() );
+    }
+
+    private ObjectId insertEvent( Document location ) {
+        ObjectId eventId = new ObjectId();
+
+        mongoTemplate.getCollection( mongoTemplate.getCollectionName( Event.class ) )
+                .insertOne( new Document( "_id", eventId ).append( "location", location ) );
+
+        return eventId;
+    }
+
+    private Document findEvent( ObjectId eventId ) {
+        return mongoTemplate.getCollection( mongoTemplate.getCollectionName( Event.class ) )
+                .find( new Document( "_id", eventId ) ).first();
+    }
+}
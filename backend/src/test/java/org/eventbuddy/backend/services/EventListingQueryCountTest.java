@@ -0,0 +1,171 @@
+package org.eventbuddy.backend.services;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.eventbuddy.backend.TestcontainersConfiguration;
+import org.eventbuddy.backend.enums.EventTimeFilter;
+import org.eventbuddy.backend.enums.Role;
+import org.eventbuddy.backend.models.app_user.AppUser;
+import org.eventbuddy.backend.models.app_user.UserSettings;
+import org.eventbuddy.backend.models.booking.Booking;
+import org.eventbuddy.backend.models.booking.BookingResponseDto;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventCardDto;
+import org.eventbuddy.backend.models.organization.Location;
+import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.repos.BookingRepository;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.eventbuddy.backend.repos.OrganizationRepository;
+import org.eventbuddy.backend.repos.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the find commands sent to MongoDB while listing events and bookings. Events carry a summary of their
+ * organization and bookings one of their event, so a listing is a single query however many entries it has.
+ */
+@Import({ TestcontainersConfiguration.class, EventListingQueryCountTest.FindCommandRecorder.class })
+@SpringBootTest
+class EventListingQueryCountTest {
+
+    // the listed collection only, no organization, owner or event lookups
+    private static final int EXPECTED_FIND_COMMANDS = 1;
+
+    private static final List<String> FIND_COMMANDS = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    EventRepository eventRepo;
+
+    @Autowired
+    OrganizationRepository organizationRepo;
+
+    @Autowired
+    UserRepository userRepo;
+
+    @Autowired
+    BookingRepository bookingRepo;
+
+    @Autowired
+    BookingService bookingService;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepo.deleteAll();
+        eventRepo.deleteAll();
+        organizationRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @DisplayName("Listing a page of events costs a constant number of queries")
+    void getEventPage_constantNumberOfQueries( int numberOfEvents ) {
+        createEvents( numberOfEvents );
+
+        FIND_COMMANDS.clear();
+
+        List<EventCardDto> allEvents = eventService.getEventPage( EventTimeFilter.ALL, null, EventService.MAX_PAGE_SIZE ).events();
+
+        assertEquals( numberOfEvents, allEvents.size() );
+        assertEquals( EXPECTED_FIND_COMMANDS, FIND_COMMANDS.size(), "Find commands sent: " + FIND_COMMANDS );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @DisplayName("Listing the bookings of a user costs a constant number of queries")
+    void getBookingsByUser_constantNumberOfQueries( int numberOfBookings ) {
+        List<Event> events = createEvents( numberOfBookings );
+
+        bookingRepo.saveAll( events.stream()
+                .map( event -> Booking.builder()
+                        .name( "Guest" )
+                        .numberOfTickets( 1 )
+                        .event( event )
+                        .userId( "guest-user" )
+                        .build() )
+                .toList() );
+
+        FIND_COMMANDS.clear();
+
+        List<BookingResponseDto> bookings = bookingService.getBookingsByUser( "guest-user" );
+
+        assertEquals( numberOfBookings, bookings.size() );
+        assertEquals( "Organization 0", bookings.getFirst().hostingEvent().eventOrganization().name() );
+        assertEquals( EXPECTED_FIND_COMMANDS, FIND_COMMANDS.size(), "Find commands sent: " + FIND_COMMANDS );
+    }
+
+    // spreads the events over a few organizations with different owners
+    private List<Event> createEvents( int numberOfEvents ) {
+        Location testLocation = Location.builder()
+                .address( "Example Street 1" )
+                .city( "Example City" )
+                .zipCode( "12345" )
+                .country( "Example Country" )
+                .build();
+
+        List<Organization> organizations = IntStream.range( 0, 3 )
+                .mapToObj( index -> {
+                    AppUser owner = userRepo.save( AppUser.builder()
+                            .providerId( "github_owner-" + index )
+                            .name( "Owner " + index )
+                            .email( "owner-" + index + "@example.com" )
+                            .role( Role.USER )
+                            .userSettings( UserSettings.builder().build() )
+                            .build() );
+
+                    return organizationRepo.save( Organization.builder()
+                            .name( "Organization " + index )
+                            .owners( Set.of( owner.getId() ) )
+                            .location( testLocation )
+                            .build() );
+                } )
+                .toList();
+
+        return IntStream.range( 0, numberOfEvents )
+                .mapToObj( index -> eventRepo.save( Event.builder()
+                        .title( "Event " + index )
+                        .eventOrganization( organizations.get( index % organizations.size() ) )
+                        .eventDateTime( Instant.now().plus( index + 1, ChronoUnit.DAYS ) )
+                        .location( testLocation )
+                        .price( 0.0 )
+                        .bookedTicketsCount( 0 )
+                        .build() ) )
+                .toList();
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class FindCommandRecorder {
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer findCommandListener() {
+            return settings -> settings.addCommandListener( new CommandListener() {
+                @Override
+                public void commandStarted( CommandStartedEvent event ) {
+                    if ( "find".equals( event.getCommandName() ) ) {
+                        FIND_COMMANDS.add( event.getCommand().getString( "find" ).getValue() );
+                    }
+                }
+            } );
+        }
+    }
+}
@@ -1,16 +1,28 @@
 package org.eventbuddy.backend.services;
 
+import org.eventbuddy.backend.configs.InventoryShardingConfig;
+import org.eventbuddy.backend.enums.EventTimeFilter;
 import org.eventbuddy.backend.enums.Role;
 import org.eventbuddy.backend.exceptions.ResourceNotFoundException;
 import org.eventbuddy.backend.models.app_user.AppUser;
 import org.eventbuddy.backend.models.app_user.AppUserDto;
 import org.eventbuddy.backend.models.app_user.UserSettings;
 import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventCardDto;
+import org.eventbuddy.backend.models.event.EventCursor;
+import org.eventbuddy.backend.models.event.EventPageDto;
 import org.eventbuddy.backend.models.event.EventRequestDto;
 import org.eventbuddy.backend.models.event.EventResponseDto;
+import org.eventbuddy.backend.models.event.EventSearchPageDto;
+import org.eventbuddy.backend.models.event.EventSummaryChangedEvent;
+import org.eventbuddy.backend.models.event.InventoryLogCheckpoint;
+import org.eventbuddy.backend.models.event.NearbyEventCursor;
+import org.eventbuddy.backend.models.event.NearbyEventPageDto;
+import org.eventbuddy.backend.models.event.TicketsChangedEvent;
 import org.eventbuddy.backend.models.organization.Location;
 import org.eventbuddy.backend.models.organization.Organization;
 import org.eventbuddy.backend.models.organization.OrganizationResponseDto;
+import org.eventbuddy.backend.models.organization.OrganizationSummary;
 import org.eventbuddy.backend.repos.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -21,18 +33,29 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -51,7 +74,29 @@ class EventServiceTest {
     BookingRepository bookingRepo;
 
     @Mock
-    ImageRepository imageRepo;
+    WaitlistRepository waitlistRepo;
+
+    @Mock
+    WaitlistService waitlistService;
+
+    @Mock
+    InventoryShardRepository inventoryShardRepo;
+
+    @Mock
+    InventoryShardingConfig inventoryShardingConfig;
+
+    @Mock
+    InMemoryInventoryService inMemoryInventory;
+
+    @Mock
+    ImageStore imageStore;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    // real cache, so cached reads and evictions are part of the tested behaviour
+    @Spy
+    DtoCacheService dtoCache = new DtoCacheService( 100, Duration.ofMinutes( 10 ) );
 
     @InjectMocks
     EventService eventService;
@@ -59,6 +104,7 @@ class EventServiceTest {
     Event exampleEvent;
     EventRequestDto exampleEventRequestDto;
     EventResponseDto exampleEventResponseDto;
+    EventCardDto exampleEventCardDto;
     Organization exampleOrganization;
     AppUser exampleUser;
 
@@ -132,7 +178,9 @@ class EventServiceTest {
         exampleEvent = Event.builder()
                 .id( "exampleEventId" )
                 .eventOrganization( exampleOrganization )
+                .organizationSummary( OrganizationSummary.of( exampleOrganization ) )
                 .title( "Sample Event" )
+                .description( "This is a sample event." )
                 .eventDateTime( Instant.now() )
                 .location( exampleLocation )
                 .build();
@@ -148,6 +196,17 @@ class EventServiceTest {
                 .id( "exampleEventId" )
                 .eventOrganization( exampleOrganizationResponseDto )
                 .title( exampleEvent.getTitle() )
+                .description( exampleEvent.getDescription() )
+                .eventDateTime( exampleEvent.getEventDateTime() )
+                .ticketAlarm( false )
+                .isSoldOut( false )
+                .location( exampleLocation )
+                .build();
+
+        exampleEventCardDto = EventCardDto.builder()
+                .id( "exampleEventId" )
+                .eventOrganization( OrganizationSummary.of( exampleOrganization ) )
+                .title( exampleEvent.getTitle() )
                 .eventDateTime( exampleEvent.getEventDateTime() )
                 .ticketAlarm( false )
                 .isSoldOut( false )
@@ -156,31 +215,263 @@ class EventServiceTest {
     }
 
     @Test
-    @DisplayName("Returns list of event dtos")
-    void getAllEvents() {
-        when( eventRepo.findAll() ).thenReturn( List.of( exampleEvent ) );
-        when( userRepo.findAllById( exampleOrganization.getOwners() ) ).thenReturn( List.of( exampleUser ) );
+    @DisplayName("Returns first page of event dtos")
+    void getEventPage() {
+        when( eventRepo.findPageWithOrganizations( eq( EventTimeFilter.ALL ), any( Instant.class ), isNull(), eq( 21 ) ) )
+                .thenReturn( List.of( exampleEvent ) );
 
-        List<EventResponseDto> actualEvents = eventService.getAllEvents();
+        EventPageDto actualPage = eventService.getEventPage( EventTimeFilter.ALL, null, 20 );
 
-        assertEquals( List.of( exampleEventResponseDto ), actualEvents );
+        assertEquals( List.of( exampleEventCardDto ), actualPage.events() );
+        assertFalse( actualPage.hasNext() );
+        assertNull( actualPage.nextCursor() );
 
-        verify( eventRepo ).findAll();
-        verify( userRepo ).findAllById( exampleOrganization.getOwners() );
+        verifyNoInteractions( userRepo );
     }
 
     @Test
-    @DisplayName("Returns 404 when orga owner not found")
-    void getAllEvents_throws404OrgaOwnerNotFound() {
-        when( eventRepo.findAll() ).thenReturn( List.of( exampleEvent ) );
-        when( userRepo.findAllById( exampleOrganization.getOwners() ) ).thenReturn( List.of() );
+    @DisplayName("Returns cursor of last event when there is a following page")
+    void getEventPage_returnsNextCursor() {
+        Event secondEvent = exampleEvent.toBuilder()
+                .id( "secondEventId" )
+                .eventDateTime( exampleEvent.getEventDateTime().plusSeconds( 60 ) )
+                .build();
+        Event thirdEvent = exampleEvent.toBuilder()
+                .id( "thirdEventId" )
+                .eventDateTime( exampleEvent.getEventDateTime().plusSeconds( 120 ) )
+                .build();
 
-        assertThatThrownBy( () -> eventService.getAllEvents() )
-                .isInstanceOf( ResourceNotFoundException.class )
-                .hasMessage( "One or more organization owners not found for organization with id: " + exampleOrganization.getId() );
+        when( eventRepo.findPageWithOrganizations( eq( EventTimeFilter.UPCOMING ), any( Instant.class ), isNull(), eq( 3 ) ) )
+                .thenReturn( List.of( exampleEvent, secondEvent, thirdEvent ) );
 
-        verify( eventRepo ).findAll();
-        verify( userRepo ).findAllById( exampleOrganization.getOwners() );
+        EventPageDto actualPage = eventService.getEventPage( EventTimeFilter.UPCOMING, null, 2 );
+
+        assertEquals( 2, actualPage.events().size() );
+        assertTrue( actualPage.hasNext() );
+        assertEquals( new EventCursor( EventTimeFilter.UPCOMING, secondEvent.getEventDateTime().truncatedTo( ChronoUnit.MILLIS ), secondEvent.getId() ),
+                EventCursor.decode( actualPage.nextCursor(), EventTimeFilter.UPCOMING ) );
+    }
+
+    @Test
+    @DisplayName("Passes decoded cursor on to the repository")
+    void getEventPage_withCursor() {
+        EventCursor cursor = new EventCursor( EventTimeFilter.PAST, Instant.ofEpochMilli( 1_700_000_000_000L ), "lastEventId" );
+
+        when( eventRepo.findPageWithOrganizations( eq( EventTimeFilter.PAST ), any( Instant.class ), eq( cursor ), eq( 11 ) ) )
+                .thenReturn( List.of() );
+
+        EventPageDto actualPage = eventService.getEventPage( EventTimeFilter.PAST, cursor.encode(), 10 );
+
+        assertEquals( List.of(), actualPage.events() );
+        assertFalse( actualPage.hasNext() );
+
+        verify( userRepo, never() ).findAllById( any() );
+    }
+
+    @Test
+    @DisplayName("Caps page size at the maximum")
+    void getEventPage_capsPageSize() {
+        when( eventRepo.findPageWithOrganizations( any(), any(), any(), anyInt() ) ).thenReturn( List.of() );
+
+        eventService.getEventPage( EventTimeFilter.ALL, null, 10_000 );
+
+        verify( eventRepo ).findPageWithOrganizations( eq( EventTimeFilter.ALL ), any( Instant.class ), isNull(), eq( EventService.MAX_PAGE_SIZE + 1 ) );
+    }
+
+    @Test
+    @DisplayName("Returns 400 when page size is below 1")
+    void getEventPage_throws400WhenPageSizeTooSmall() {
+        assertThatThrownBy( () -> eventService.getEventPage( EventTimeFilter.ALL, null, 0 ) )
+                .isInstanceOf( IllegalArgumentException.class )
+                .hasMessage( "Page size must be at least 1" );
+
+        verify( eventRepo, never() ).findPageWithOrganizations( any(), any(), any(), anyInt() );
+    }
+
+    @Test
+    @DisplayName("Returns 400 for malformed cursor or cursor of another filter")
+    void getEventPage_throws400WhenCursorInvalid() {
+        String upcomingCursor = new EventCursor( EventTimeFilter.UPCOMING, Instant.now(), "someId" ).encode();
+
+        assertThatThrownBy( () -> eventService.getEventPage( EventTimeFilter.ALL, "not-a-cursor", 20 ) )
+                .isInstanceOf( IllegalArgumentException.class );
+        assertThatThrownBy( () -> eventService.getEventPage( EventTimeFilter.PAST, upcomingCursor, 20 ) )
+                .isInstanceOf( IllegalArgumentException.class );
+
+        verify( eventRepo, never() ).findPageWithOrganizations( any(), any(), any(), anyInt() );
+    }
+
+    @Test
+    @DisplayName("Shows the organization summaries embedded in the listed events without further queries")
+    void getEventPage_usesEmbeddedOrganizationSummaries() {
+        Organization otherOrganization = exampleOrganization.toBuilder()
+                .id( "otherOrgId" )
+                .name( "Other Organization" )
+                .build();
+
+        List<Event> events = List.of(
+                exampleEvent,
+                exampleEvent.toBuilder().id( "secondEventId" ).build(),
+                exampleEvent.toBuilder().id( "thirdEventId" ).organizationSummary( OrganizationSummary.of( otherOrganization ) ).build()
+        );
+
+        when( eventRepo.findPageWithOrganizations( any(), any(), any(), anyInt() ) ).thenReturn( events );
+
+        List<EventCardDto> actualEvents = eventService.getEventPage( EventTimeFilter.ALL, null, 20 ).events();
+
+        assertEquals( 3, actualEvents.size() );
+        assertEquals( "Sample Organization", actualEvents.getFirst().eventOrganization().name() );
+        assertEquals( "Other Organization", actualEvents.getLast().eventOrganization().name() );
+
+        verifyNoInteractions( userRepo, orgaRepo );
+    }
+
+    @Test
+    @DisplayName("Returns nearby events with their distance in kilometers")
+    void getNearbyEventPage() {
+        when( eventRepo.findNearWithOrganizations( eq( new GeoJsonPoint( 13.405, 52.52 ) ), eq( 10_000.0 ), any( Instant.class ),
+                isNull(), isNull(), eq( 21 ) ) )
+                .thenReturn( List.of( new GeoResult<>( exampleEvent, new Distance( 2370.5 ) ) ) );
+
+        NearbyEventPageDto actualPage = eventService.getNearbyEventPage( 52.52, 13.405, 10, null, null, null, 20 );
+
+        assertEquals( 1, actualPage.events().size() );
+        assertEquals( exampleEventCardDto, actualPage.events().getFirst().event() );
+        assertEquals( 2.3705, actualPage.events().getFirst().distanceKm(), 1e-9 );
+        assertFalse( actualPage.hasNext() );
+        assertNull( actualPage.nextCursor() );
+    }
+
+    @Test
+    @DisplayName("Returns cursor with the last distance and all ids delivered at it")
+    void getNearbyEventPage_returnsNextCursor() {
+        Instant from = Instant.parse( "2030-01-01T00:00:00Z" );
+
+        Event secondEvent = exampleEvent.toBuilder().id( "secondEventId" ).build();
+        Event thirdEvent = exampleEvent.toBuilder().id( "thirdEventId" ).build();
+
+        // second and third event share a venue, the cursor has to skip the second one only
+        when( eventRepo.findNearWithOrganizations( any(), anyDouble(), eq( from ), isNull(), isNull(), eq( 3 ) ) )
+                .thenReturn( List.of(
+                        new GeoResult<>( exampleEvent, new Distance( 100 ) ),
+                        new GeoResult<>( secondEvent, new Distance( 500 ) ),
+                        new GeoResult<>( thirdEvent, new Distance( 500 ) ) ) );
+
+        NearbyEventPageDto actualPage = eventService.getNearbyEventPage( 52.52, 13.405, 10, from, null, null, 2 );
+
+        assertTrue( actualPage.hasNext() );
+        assertEquals( new NearbyEventCursor( 52.52, 13.405, 10, from, null, 500, List.of( "secondEventId" ) ),
+                NearbyEventCursor.decode( actualPage.nextCursor(), 52.52, 13.405, 10, null, null ) );
+    }
+
+    @Test
+    @DisplayName("Keeps the date window of the first page and skips ids of earlier pages at the same distance")
+    void getNearbyEventPage_withCursor() {
+        Instant from = Instant.parse( "2030-01-01T00:00:00Z" );
+        Instant to = Instant.parse( "2030-02-01T00:00:00Z" );
+
+        NearbyEventCursor cursor = new NearbyEventCursor( 52.52, 13.405, 10, from, to, 500, List.of( "secondEventId" ) );
+
+        Event fourthEvent = exampleEvent.toBuilder().id( "fourthEventId" ).build();
+
+        when( eventRepo.findNearWithOrganizations( any(), anyDouble(), eq( from ), eq( to ), eq( cursor ), eq( 2 ) ) )
+                .thenReturn( List.of(
+                        new GeoResult<>( exampleEvent, new Distance( 500 ) ),
+                        new GeoResult<>( fourthEvent, new Distance( 800 ) ) ) );
+
+        NearbyEventPageDto actualPage = eventService.getNearbyEventPage( 52.52, 13.405, 10, null, null, cursor.encode(), 1 );
+
+        assertTrue( actualPage.hasNext() );
+        assertEquals( new NearbyEventCursor( 52.52, 13.405, 10, from, to, 500, List.of( "secondEventId", exampleEvent.getId() ) ),
+                NearbyEventCursor.decode( actualPage.nextCursor(), 52.52, 13.405, 10, from, to ) );
+    }
+
+    @ParameterizedTest
+    @DisplayName("Returns 400 for invalid coordinates or radius")
+    @MethodSource("provideInvalidNearbySearches")
+    void getNearbyEventPage_throws400WhenSearchInvalid( double latitude, double longitude, double radiusKm ) {
+        assertThatThrownBy( () -> eventService.getNearbyEventPage( latitude, longitude, radiusKm, null, null, null, 20 ) )
+                .isInstanceOf( IllegalArgumentException.class );
+
+        verify( eventRepo, never() ).findNearWithOrganizations( any(), anyDouble(), any(), any(), any(), anyInt() );
+    }
+
+    static Stream<Arguments> provideInvalidNearbySearches() {
+        return Stream.of(
+                Arguments.of( 91, 13.405, 10 ),
+                Arguments.of( 52.52, -181, 10 ),
+                Arguments.of( 52.52, 13.405, 0 ),
+                Arguments.of( 52.52, 13.405, EventService.MAX_RADIUS_KM + 1 ),
+                Arguments.of( 52.52, 13.405, Double.NaN )
+        );
+    }
+
+    @Test
+    @DisplayName("Returns 400 for an empty date window or a cursor of another search")
+    void getNearbyEventPage_throws400WhenWindowOrCursorInvalid() {
+        Instant from = Instant.parse( "2030-01-01T00:00:00Z" );
+        String cursor = new NearbyEventCursor( 52.52, 13.405, 10, from, null, 500, List.of( "someId" ) ).encode();
+
+        assertThatThrownBy( () -> eventService.getNearbyEventPage( 52.52, 13.405, 10, from, from, null, 20 ) )
+                .isInstanceOf( IllegalArgumentException.class )
+                .hasMessage( "End of the date window must be after its start" );
+        assertThatThrownBy( () -> eventService.getNearbyEventPage( 48.14, 11.58, 10, null, null, cursor, 20 ) )
+                .isInstanceOf( IllegalArgumentException.class );
+        assertThatThrownBy( () -> eventService.getNearbyEventPage( 52.52, 13.405, 10, from.plusSeconds( 1 ), null, cursor, 20 ) )
+                .isInstanceOf( IllegalArgumentException.class );
+        assertThatThrownBy( () -> eventService.getNearbyEventPage( 52.52, 13.405, 10, null, null, "not-a-cursor", 20 ) )
+                .isInstanceOf( IllegalArgumentException.class );
+
+        verify( eventRepo, never() ).findNearWithOrganizations( any(), anyDouble(), any(), any(), any(), anyInt() );
+    }
+
+    @Test
+    @DisplayName("Returns a page of search results with blank filters left out")
+    void searchEvents() {
+        when( eventRepo.searchWithOrganizations( eq( "jazz night" ), eq( EventTimeFilter.UPCOMING ), any( Instant.class ),
+                isNull(), eq( "exampleOrgaId" ), eq( 0 ), eq( 21 ) ) )
+                .thenReturn( List.of( exampleEvent ) );
+
+        EventSearchPageDto actualPage = eventService.searchEvents( "  jazz night ", EventTimeFilter.UPCOMING, " ", "exampleOrgaId", 0, 20 );
+
+        assertEquals( List.of( exampleEventCardDto ), actualPage.events() );
+        assertEquals( 0, actualPage.page() );
+        assertFalse( actualPage.hasNext() );
+    }
+
+    @Test
+    @DisplayName("Skips the earlier pages and ends paging at the maximum number of results")
+    void searchEvents_stopsAtMaxResults() {
+        when( eventRepo.searchWithOrganizations( any(), any(), any(), any(), any(), anyInt(), anyInt() ) )
+                .thenReturn( List.of( exampleEvent, exampleEvent.toBuilder().id( "secondEventId" ).build() ) );
+
+        EventSearchPageDto middlePage = eventService.searchEvents( "jazz", EventTimeFilter.ALL, null, null, 3, 1 );
+        EventSearchPageDto lastPage = eventService.searchEvents( "jazz", EventTimeFilter.ALL, null, null, EventService.MAX_SEARCH_RESULTS - 1, 1 );
+
+        assertTrue( middlePage.hasNext() );
+        assertFalse( lastPage.hasNext() );
+        assertEquals( 1, lastPage.events().size() );
+
+        verify( eventRepo ).searchWithOrganizations( eq( "jazz" ), eq( EventTimeFilter.ALL ), any( Instant.class ), isNull(), isNull(), eq( 3 ), eq( 2 ) );
+    }
+
+    @Test
+    @DisplayName("Returns 400 for blank or too long search text and pages beyond the maximum")
+    void searchEvents_throws400WhenParamsInvalid() {
+        assertThatThrownBy( () -> eventService.searchEvents( " ", EventTimeFilter.ALL, null, null, 0, 20 ) )
+                .isInstanceOf( IllegalArgumentException.class )
+                .hasMessage( "Search text must not be blank" );
+        assertThatThrownBy( () -> eventService.searchEvents( "a".repeat( EventService.MAX_SEARCH_TEXT_LENGTH + 1 ), EventTimeFilter.ALL, null, null, 0, 20 ) )
+                .isInstanceOf( IllegalArgumentException.class );
+        assertThatThrownBy( () -> eventService.searchEvents( "jazz", EventTimeFilter.ALL, null, null, -1, 20 ) )
+                .isInstanceOf( IllegalArgumentException.class );
+        assertThatThrownBy( () -> eventService.searchEvents( "jazz", EventTimeFilter.ALL, null, null, EventService.MAX_SEARCH_RESULTS / 20, 20 ) )
+                .isInstanceOf( IllegalArgumentException.class );
+        assertThatThrownBy( () -> eventService.searchEvents( "jazz", EventTimeFilter.ALL, null, null, 0, 0 ) )
+                .isInstanceOf( IllegalArgumentException.class )
+                .hasMessage( "Page size must be at least 1" );
+
+        verify( eventRepo, never() ).searchWithOrganizations( any(), any(), any(), any(), any(), anyInt(), anyInt() );
     }
 
     @ParameterizedTest
@@ -197,7 +488,7 @@ class EventServiceTest {
                 .freeTicketCapacity( freeCapacity )
                 .build();
 
-        when( eventRepo.findById( exampleEvent.getId() ) ).thenReturn( Optional.of( eventWithCapacities ) );
+        when( eventRepo.findWithTicketCountsById( exampleEvent.getId() ) ).thenReturn( Optional.of( eventWithCapacities ) );
         when( userRepo.findAllById( exampleOrganization.getOwners() ) ).thenReturn( List.of( exampleUser ) );
 
         EventResponseDto actualEvent = eventService.getEventById( exampleEvent.getId() );
@@ -205,111 +496,145 @@ class EventServiceTest {
         assertEquals( expectedTicketAlarm, actualEvent.ticketAlarm() );
         assertEquals( expectedSoldOut, actualEvent.isSoldOut() );
 
-        verify( eventRepo ).findById( exampleEvent.getId() );
+        verify( eventRepo ).findWithTicketCountsById( exampleEvent.getId() );
         verify( userRepo ).findAllById( exampleOrganization.getOwners() );
     }
 
     @Test
     @DisplayName("Returns event dto found by id")
     void getEventById() {
-        when( eventRepo.findById( exampleEvent.getId() ) ).thenReturn( Optional.of( exampleEvent ) );
+        when( eventRepo.findWithTicketCountsById( exampleEvent.getId() ) ).thenReturn( Optional.of( exampleEvent ) );
         when( userRepo.findAllById( exampleOrganization.getOwners() ) ).thenReturn( List.of( exampleUser ) );
 
         EventResponseDto actualEvent = eventService.getEventById( exampleEvent.getId() );
 
         assertEquals( exampleEventResponseDto, actualEvent );
 
-        verify( eventRepo ).findById( exampleEvent.getId() );
+        verify( eventRepo ).findWithTicketCountsById( exampleEvent.getId() );
         verify( userRepo ).findAllById( exampleOrganization.getOwners() );
     }
 
+    @Test
+    @DisplayName("Serves repeated requests of an event from the cache")
+    void getEventById_servesRepeatedRequestsFromCache() {
+        when( eventRepo.findWithTicketCountsById( exampleEvent.getId() ) ).thenReturn( Optional.of( exampleEvent ) );
+        when( userRepo.findAllById( exampleOrganization.getOwners() ) ).thenReturn( List.of( exampleUser ) );
+
+        eventService.getEventById( exampleEvent.getId() );
+        EventResponseDto cachedEvent = eventService.getEventById( exampleEvent.getId() );
+
+        assertEquals( exampleEventResponseDto, cachedEvent );
+
+        verify( eventRepo, times( 1 ) ).findWithTicketCountsById( exampleEvent.getId() );
+        verify( userRepo, times( 1 ) ).findAllById( exampleOrganization.getOwners() );
+    }
+
+    @Test
+    @DisplayName("Reloads cached event after it was updated")
+    void getEventById_reloadsEventAfterUpdate() {
+        Event updatedEvent = exampleEvent.toBuilder()
+                .title( "Updated Event Title" )
+                .build();
+
+        when( eventRepo.findWithTicketCountsById( exampleEvent.getId() ) ).thenReturn( Optional.of( exampleEvent ), Optional.of( exampleEvent ), Optional.of( updatedEvent ) );
+        when( userRepo.findAllById( exampleOrganization.getOwners() ) ).thenReturn( List.of( exampleUser ) );
+        when( orgaRepo.findById( exampleEventRequestDto.organizationId() ) ).thenReturn( Optional.of( exampleOrganization ) );
+        when( eventRepo.updateDetails( any( Event.class ) ) ).thenReturn( Optional.of( updatedEvent ) );
+
+        eventService.getEventById( exampleEvent.getId() );
+        eventService.updateEvent( exampleEvent.getId(), exampleEventRequestDto.toBuilder().title( "Updated Event Title" ).build() );
+
+        assertEquals( "Updated Event Title", eventService.getEventById( exampleEvent.getId() ).title() );
+    }
+
     @Test
     @DisplayName("Returns 404 when event not found by id")
     void getEventById_throws404WhenNotFound() {
         String notExistingEventId = "nonExistentEventId";
-        when( eventRepo.findById( notExistingEventId ) ).thenReturn( Optional.empty() );
+        when( eventRepo.findWithTicketCountsById( notExistingEventId ) ).thenReturn( Optional.empty() );
         assertThatThrownBy( () ->
                 eventService.getEventById( notExistingEventId ) )
                 .isInstanceOf( ResourceNotFoundException.class )
                 .hasMessage( "Event not found with id: " + notExistingEventId );
-        verify( eventRepo ).findById( notExistingEventId );
+        verify( eventRepo ).findWithTicketCountsById( notExistingEventId );
     }
 
     @Test
     @DisplayName("Returns raw event when found by id")
     void getRawEventById() {
-        when( eventRepo.findById( exampleEvent.getId() ) ).thenReturn( Optional.of( exampleEvent ) );
+        when( eventRepo.findWithTicketCountsById( exampleEvent.getId() ) ).thenReturn( Optional.of( exampleEvent ) );
 
         Event actualEvent = eventService.getRawEventById( exampleEvent.getId() );
 
         assertEquals( exampleEvent, actualEvent );
-        verify( eventRepo ).findById( exampleEvent.getId() );
+        verify( eventRepo ).findWithTicketCountsById( exampleEvent.getId() );
     }
 
     @Test
     @DisplayName("Returns 404 when raw event not found by id")
     void getRawEventById_throws404WhenNotFound() {
         String notExistingEventId = "nonExistentEventId";
-        when( eventRepo.findById( notExistingEventId ) ).thenReturn( Optional.empty() );
+        when( eventRepo.findWithTicketCountsById( notExistingEventId ) ).thenReturn( Optional.empty() );
 
         assertThatThrownBy( () ->
                 eventService.getRawEventById( notExistingEventId ) )
                 .isInstanceOf( ResourceNotFoundException.class )
                 .hasMessage( "Event not found with id: " + notExistingEventId );
 
-        verify( eventRepo ).findById( notExistingEventId );
+        verify( eventRepo ).findWithTicketCountsById( notExistingEventId );
     }
 
     @Test
     @DisplayName("Returns list of events found by orga id")
     void getEventsByOrganizationId() {
-        when( eventRepo.findAll() ).thenReturn( List.of( exampleEvent ) );
-        when( userRepo.findAllById( exampleOrganization.getOwners() ) ).thenReturn( List.of( exampleUser ) );
+        when( eventRepo.findAllWithOrganizationsByOrganizationIds( List.of( exampleOrganization.getId() ) ) )
+                .thenReturn( List.of( exampleEvent ) );
 
-        List<EventResponseDto> actualEvents = eventService.getEventsByOrganizationId( exampleOrganization.getId() );
+        List<EventCardDto> actualEvents = eventService.getEventsByOrganizationId( exampleOrganization.getId() );
 
-        assertEquals( List.of( exampleEventResponseDto ), actualEvents );
+        assertEquals( List.of( exampleEventCardDto ), actualEvents );
 
-        verify( eventRepo ).findAll();
-        verify( userRepo ).findAllById( exampleOrganization.getOwners() );
+        verify( eventRepo, never() ).findAll();
+        verifyNoInteractions( userRepo );
     }
 
     @Test
     @DisplayName("Returns empty list when no events found by orga id")
     void getEventsByOrganizationId_noEventsFound() {
-        when( eventRepo.findAll() ).thenReturn( List.of() );
+        when( eventRepo.findAllWithOrganizationsByOrganizationIds( List.of( exampleOrganization.getId() ) ) ).thenReturn( List.of() );
 
-        List<EventResponseDto> actualEvents = eventService.getEventsByOrganizationId( exampleOrganization.getId() );
+        List<EventCardDto> actualEvents = eventService.getEventsByOrganizationId( exampleOrganization.getId() );
 
         assertEquals( List.of(), actualEvents );
 
-        verify( eventRepo ).findAll();
+        verify( eventRepo, never() ).findAll();
+        verify( userRepo, never() ).findAllById( any() );
     }
 
     @Test
     @DisplayName("Returns list of events found by user id")
     void getEventByUserId() {
-        when( eventRepo.findAll() ).thenReturn( List.of( exampleEvent ) );
-        when( userRepo.findAllById( exampleOrganization.getOwners() ) ).thenReturn( List.of( exampleUser ) );
+        when( orgaRepo.findAllByOwnersContaining( exampleUser.getId() ) ).thenReturn( List.of( exampleOrganization ) );
+        when( eventRepo.findAllWithOrganizationsByOrganizationIds( List.of( exampleOrganization.getId() ) ) ).thenReturn( List.of( exampleEvent ) );
 
-        List<EventResponseDto> actualEvents = eventService.getEventByUserId( exampleUser.getId() );
+        List<EventCardDto> actualEvents = eventService.getEventByUserId( exampleUser.getId() );
 
-        assertEquals( List.of( exampleEventResponseDto ), actualEvents );
+        assertEquals( List.of( exampleEventCardDto ), actualEvents );
 
-        verify( eventRepo ).findAll();
-        verify( userRepo ).findAllById( exampleOrganization.getOwners() );
+        verify( eventRepo, never() ).findAll();
+        verifyNoInteractions( userRepo );
     }
 
     @Test
     @DisplayName("Returns empty list when no events found by user id")
     void getEventByUserId_noEventsFound() {
-        when( eventRepo.findAll() ).thenReturn( List.of() );
+        when( orgaRepo.findAllByOwnersContaining( "nonExistentUserId" ) ).thenReturn( List.of() );
 
-        List<EventResponseDto> actualEvents = eventService.getEventByUserId( "nonExistentUserId" );
+        List<EventCardDto> actualEvents = eventService.getEventByUserId( "nonExistentUserId" );
 
         assertEquals( List.of(), actualEvents );
 
-        verify( eventRepo ).findAll();
+        verify( eventRepo, never() ).findAllWithOrganizationsByOrganizationIds( any() );
     }
 
 
@@ -351,6 +676,84 @@ class EventServiceTest {
         verify( orgaRepo ).findById( exampleEventRequestDto.organizationId() );
     }
 
+    @Test
+    @DisplayName("Should split the capacity of a large event across inventory shards")
+    void createEvent_shouldCreateInventoryShardsForLargeEvents() {
+        EventRequestDto largeEventRequest = exampleEventRequestDto.toBuilder()
+                .maxTicketCapacity( 50000 )
+                .build();
+
+        Event largeEvent = exampleEvent.toBuilder()
+                .maxTicketCapacity( 50000 )
+                .freeTicketCapacity( 50000 )
+                .inventoryShards( 16 )
+                .build();
+
+        when( inventoryShardingConfig.shardsFor( 50000 ) ).thenReturn( 16 );
+        when( eventRepo.save( argThat( event -> Integer.valueOf( 16 ).equals( event.getInventoryShards() ) ) ) ).thenReturn( largeEvent );
+        when( orgaRepo.findById( exampleEventRequestDto.organizationId() ) ).thenReturn( Optional.of( exampleOrganization ) );
+
+        Event actualCreatedEvent = eventService.createEvent( largeEventRequest, null );
+
+        assertEquals( largeEvent, actualCreatedEvent );
+
+        verify( inventoryShardRepo ).createShards( largeEvent.getId(), 50000, 16 );
+    }
+
+    @Test
+    @DisplayName("Should remove the created event when its inventory shards can't be created")
+    void createEvent_removesEventWhenInventoryShardsFail() {
+        EventRequestDto largeEventRequest = exampleEventRequestDto.toBuilder()
+                .maxTicketCapacity( 50000 )
+                .build();
+
+        Event largeEvent = exampleEvent.toBuilder()
+                .maxTicketCapacity( 50000 )
+                .freeTicketCapacity( 50000 )
+                .inventoryShards( 16 )
+                .build();
+
+        when( inventoryShardingConfig.shardsFor( 50000 ) ).thenReturn( 16 );
+        when( eventRepo.save( any( Event.class ) ) ).thenReturn( largeEvent );
+        when( orgaRepo.findById( exampleEventRequestDto.organizationId() ) ).thenReturn( Optional.of( exampleOrganization ) );
+        doThrow( new IllegalStateException( "write failed" ) )
+                .when( inventoryShardRepo ).createShards( largeEvent.getId(), 50000, 16 );
+
+        assertThatThrownBy( () -> eventService.createEvent( largeEventRequest, null ) )
+                .isInstanceOf( IllegalStateException.class )
+                .hasMessage( "write failed" );
+
+        verify( inventoryShardRepo ).deleteAllByEventIds( List.of( largeEvent.getId() ) );
+        verify( eventRepo ).delete( largeEvent );
+    }
+
+    @Test
+    @DisplayName("Should count the tickets of a flash sale in memory instead of sharding them")
+    void createEvent_shouldRegisterFlashSaleInMemory() {
+        EventRequestDto flashSaleRequest = exampleEventRequestDto.toBuilder()
+                .maxTicketCapacity( 50000 )
+                .flashSale( true )
+                .build();
+
+        Event flashSale = exampleEvent.toBuilder()
+                .maxTicketCapacity( 50000 )
+                .freeTicketCapacity( 50000 )
+                .flashSale( true )
+                .build();
+
+        when( eventRepo.save( argThat( event -> Boolean.TRUE.equals( event.getFlashSale() ) && event.getInventoryShards() == null ) ) )
+                .thenReturn( flashSale );
+        when( orgaRepo.findById( exampleEventRequestDto.organizationId() ) ).thenReturn( Optional.of( exampleOrganization ) );
+
+        Event actualCreatedEvent = eventService.createEvent( flashSaleRequest, null );
+
+        assertEquals( flashSale, actualCreatedEvent );
+
+        verify( inMemoryInventory ).register( flashSale );
+        verify( inventoryShardingConfig, never() ).shardsFor( any() );
+        verify( inventoryShardRepo, never() ).createShards( anyString(), anyInt(), anyInt() );
+    }
+
     @Test
     @DisplayName("Should return created event with image")
     void createEvent_withImage() {
@@ -389,9 +792,9 @@ class EventServiceTest {
                 .description( "Updated description" )
                 .build();
 
-        when( eventRepo.findById( exampleEvent.getId() ) ).thenReturn( Optional.of( exampleEvent ) );
+        when( eventRepo.findWithTicketCountsById( exampleEvent.getId() ) ).thenReturn( Optional.of( exampleEvent ) );
         when( orgaRepo.findById( exampleEventRequestDto.organizationId() ) ).thenReturn( Optional.of( exampleOrganization ) );
-        when( eventRepo.save( any( Event.class ) ) ).thenReturn( updatedEvent );
+        when( eventRepo.updateDetails( any( Event.class ) ) ).thenReturn( Optional.of( updatedEvent ) );
 
         EventRequestDto updateDto = exampleEventRequestDto.toBuilder()
                 .title( "Updated Event Title" )
@@ -402,29 +805,37 @@ class EventServiceTest {
 
         assertEquals( updatedEvent, actualUpdatedEvent );
 
-        verify( eventRepo ).findById( exampleEvent.getId() );
+        verify( dtoCache ).evictEvent( exampleEvent.getId() );
+        verify( eventPublisher ).publishEvent( new TicketsChangedEvent( exampleEvent.getId() ) );
+        verify( eventPublisher ).publishEvent( new EventSummaryChangedEvent( exampleEvent.getId() ) );
+
+        verify( eventRepo ).findWithTicketCountsById( exampleEvent.getId() );
         verify( orgaRepo ).findById( exampleEventRequestDto.organizationId() );
-        verify( eventRepo ).save( any( Event.class ) );
+        verify( eventRepo ).updateDetails( argThat( event -> "Updated Event Title".equals( event.getTitle() )
+                && "Updated description".equals( event.getDescription() ) ) );
+        // the capacity was left as it was, so its counters are not touched
+        verify( eventRepo, never() ).changeTicketCapacity( any(), any() );
+        verify( eventRepo, never() ).save( any( Event.class ) );
     }
 
     @Test
     @DisplayName("Should throw 404 when event not found during update")
     void updateEvent_throws404WhenEventNotFound() {
         String nonExistentEventId = "nonExistentEventId";
-        when( eventRepo.findById( nonExistentEventId ) ).thenReturn( Optional.empty() );
+        when( eventRepo.findWithTicketCountsById( nonExistentEventId ) ).thenReturn( Optional.empty() );
 
         assertThatThrownBy( () ->
                 eventService.updateEvent( nonExistentEventId, exampleEventRequestDto ) )
                 .isInstanceOf( ResourceNotFoundException.class )
                 .hasMessage( "Event not found with id:" + nonExistentEventId );
 
-        verify( eventRepo ).findById( nonExistentEventId );
+        verify( eventRepo ).findWithTicketCountsById( nonExistentEventId );
     }
 
     @Test
     @DisplayName("Should throw 404 when organization not found during update")
     void updateEvent_throws404WhenOrgaNotFound() {
-        when( eventRepo.findById( exampleEvent.getId() ) ).thenReturn( Optional.of( exampleEvent ) );
+        when( eventRepo.findWithTicketCountsById( exampleEvent.getId() ) ).thenReturn( Optional.of( exampleEvent ) );
         when( orgaRepo.findById( exampleEventRequestDto.organizationId() ) ).thenReturn( Optional.empty() );
 
         assertThatThrownBy( () ->
@@ -432,7 +843,7 @@ class EventServiceTest {
                 .isInstanceOf( ResourceNotFoundException.class )
                 .hasMessage( "Organization not found with id: " + exampleEventRequestDto.organizationId() );
 
-        verify( eventRepo ).findById( exampleEvent.getId() );
+        verify( eventRepo ).findWithTicketCountsById( exampleEvent.getId() );
         verify( orgaRepo ).findById( exampleEventRequestDto.organizationId() );
     }
 
@@ -454,17 +865,96 @@ class EventServiceTest {
                 .freeTicketCapacity( 50 )
                 .build();
 
-        when( eventRepo.findById( exampleEvent.getId() ) ).thenReturn( Optional.of( eventWithCapacities ) );
+        when( eventRepo.findWithTicketCountsById( exampleEvent.getId() ) ).thenReturn( Optional.of( eventWithCapacities ) );
         when( orgaRepo.findById( exampleEventRequestDto.organizationId() ) ).thenReturn( Optional.of( exampleOrganization ) );
-        when( eventRepo.save( any( Event.class ) ) ).thenReturn( updatedEvent );
+        when( eventRepo.changeTicketCapacity( eventWithCapacities, 150 ) ).thenReturn( Optional.of( updatedEvent ) );
+        when( eventRepo.updateDetails( any( Event.class ) ) ).thenReturn( Optional.of( updatedEvent ) );
 
         Event actualUpdatedEvent = eventService.updateEvent( exampleEvent.getId(), updateDto );
 
         assertEquals( 50, actualUpdatedEvent.getFreeTicketCapacity() );
+        // capacities are no part of the event summary the bookings carry
+        verify( eventPublisher, never() ).publishEvent( any( EventSummaryChangedEvent.class ) );
 
-        verify( eventRepo ).findById( exampleEvent.getId() );
+        verify( eventRepo ).findWithTicketCountsById( exampleEvent.getId() );
         verify( orgaRepo ).findById( exampleEventRequestDto.organizationId() );
-        verify( eventRepo ).save( any( Event.class ) );
+        verify( eventRepo ).changeTicketCapacity( eventWithCapacities, 150 );
+        verify( eventRepo ).updateDetails( any( Event.class ) );
+    }
+
+    @Test
+    @DisplayName("Should hand the tickets of a higher capacity to the waitlist")
+    void updateEvent_promotesWaitlistWhenCapacityIsRaised() {
+        Event soldOutEvent = exampleEvent.toBuilder()
+                .maxTicketCapacity( 100 )
+                .freeTicketCapacity( 0 )
+                .bookedTicketsCount( 100 )
+                .isSoldOut( true )
+                .build();
+
+        Event raisedEvent = soldOutEvent.toBuilder()
+                .maxTicketCapacity( 120 )
+                .freeTicketCapacity( 20 )
+                .isSoldOut( false )
+                .build();
+
+        when( eventRepo.findWithTicketCountsById( exampleEvent.getId() ) ).thenReturn( Optional.of( soldOutEvent ) );
+        when( orgaRepo.findById( exampleEventRequestDto.organizationId() ) ).thenReturn( Optional.of( exampleOrganization ) );
+        when( eventRepo.changeTicketCapacity( soldOutEvent, 120 ) ).thenReturn( Optional.of( raisedEvent ) );
+        when( eventRepo.updateDetails( any( Event.class ) ) ).thenReturn( Optional.of( raisedEvent ) );
+
+        eventService.updateEvent( exampleEvent.getId(), exampleEventRequestDto.toBuilder().maxTicketCapacity( 120 ).build() );
+
+        verify( waitlistService ).promote( exampleEvent.getId() );
+    }
+
+    @Test
+    @DisplayName("Should leave the waitlist alone when the capacity is lowered")
+    void updateEvent_doesNotPromoteWaitlistWhenCapacityIsLowered() {
+        Event eventWithCapacities = exampleEvent.toBuilder()
+                .maxTicketCapacity( 100 )
+                .freeTicketCapacity( 50 )
+                .bookedTicketsCount( 50 )
+                .build();
+
+        Event loweredEvent = eventWithCapacities.toBuilder()
+                .maxTicketCapacity( 80 )
+                .freeTicketCapacity( 30 )
+                .build();
+
+        when( eventRepo.findWithTicketCountsById( exampleEvent.getId() ) ).thenReturn( Optional.of( eventWithCapacities ) );
+        when( orgaRepo.findById( exampleEventRequestDto.organizationId() ) ).thenReturn( Optional.of( exampleOrganization ) );
+        when( eventRepo.changeTicketCapacity( eventWithCapacities, 80 ) ).thenReturn( Optional.of( loweredEvent ) );
+        when( eventRepo.updateDetails( any( Event.class ) ) ).thenReturn( Optional.of( loweredEvent ) );
+
+        eventService.updateEvent( exampleEvent.getId(), exampleEventRequestDto.toBuilder().maxTicketCapacity( 80 ).build() );
+
+        verifyNoInteractions( waitlistService );
+    }
+
+    @Test
+    @DisplayName("Should refuse the update when the tickets of the event changed while it was updated")
+    void updateEvent_throws409WhenTicketsChangedMeanwhile() {
+        Event eventWithCapacities = exampleEvent.toBuilder()
+                .maxTicketCapacity( 100 )
+                .freeTicketCapacity( 50 )
+                .bookedTicketsCount( 50 )
+                .build();
+
+        EventRequestDto updateDto = exampleEventRequestDto.toBuilder()
+                .maxTicketCapacity( 60 )
+                .build();
+
+        when( eventRepo.findWithTicketCountsById( exampleEvent.getId() ) ).thenReturn( Optional.of( eventWithCapacities ) );
+        when( orgaRepo.findById( exampleEventRequestDto.organizationId() ) ).thenReturn( Optional.of( exampleOrganization ) );
+        // the bookings made since the event was read leave fewer free tickets than the capacity takes away
+        when( eventRepo.changeTicketCapacity( eventWithCapacities, 60 ) ).thenReturn( Optional.empty() );
+
+        assertThatThrownBy( () -> eventService.updateEvent( exampleEvent.getId(), updateDto ) )
+                .isInstanceOf( IllegalStateException.class )
+                .hasMessage( "The tickets of the event changed while it was updated, please try again" );
+
+        verify( eventRepo, never() ).updateDetails( any( Event.class ) );
     }
 
     @Test
@@ -480,7 +970,7 @@ class EventServiceTest {
                 .maxTicketCapacity( 50 ) // lower than bookedTicketsCount
                 .build();
 
-        when( eventRepo.findById( exampleEvent.getId() ) ).thenReturn( Optional.of( eventWithBookings ) );
+        when( eventRepo.findWithTicketCountsById( exampleEvent.getId() ) ).thenReturn( Optional.of( eventWithBookings ) );
         when( orgaRepo.findById( exampleEventRequestDto.organizationId() ) ).thenReturn( Optional.of( exampleOrganization ) );
 
         assertThatThrownBy( () ->
@@ -488,10 +978,34 @@ class EventServiceTest {
                 .isInstanceOf( IllegalArgumentException.class )
                 .hasMessage( "Max ticket capacity cannot be less than already booked tickets: " + eventWithBookings.getBookedTicketsCount() );
 
-        verify( eventRepo ).findById( exampleEvent.getId() );
+        verify( eventRepo ).findWithTicketCountsById( exampleEvent.getId() );
         verify( orgaRepo ).findById( exampleEventRequestDto.organizationId() );
     }
 
+    @Test
+    @DisplayName("Should refuse a capacity below the booked tickets and the tickets leased to instances of the app")
+    void updateEvent_throwsWhenCapacityIsLowerThanBookedAndLeasedTickets() {
+        Event leasedEvent = exampleEvent.toBuilder()
+                .maxTicketCapacity( 100 )
+                .freeTicketCapacity( 40 )
+                .bookedTicketsCount( 60 )
+                .leasedTickets( 10 )
+                .build();
+
+        EventRequestDto updateDto = exampleEventRequestDto.toBuilder()
+                .maxTicketCapacity( 65 )
+                .build();
+
+        when( eventRepo.findWithTicketCountsById( exampleEvent.getId() ) ).thenReturn( Optional.of( leasedEvent ) );
+        when( orgaRepo.findById( exampleEventRequestDto.organizationId() ) ).thenReturn( Optional.of( exampleOrganization ) );
+
+        assertThatThrownBy( () -> eventService.updateEvent( exampleEvent.getId(), updateDto ) )
+                .isInstanceOf( IllegalArgumentException.class )
+                .hasMessage( "Max ticket capacity cannot be less than booked and leased tickets: 70" );
+        verify( eventRepo, never() ).changeTicketCapacity( any(), any() );
+        verify( eventRepo, never() ).updateDetails( any( Event.class ) );
+    }
+
     @Test
     @DisplayName("Should delete event by id")
     void deleteEventById() {
@@ -502,6 +1016,122 @@ class EventServiceTest {
         verify( eventRepo ).findById( exampleEvent.getId() );
         verify( eventRepo ).delete( exampleEvent );
         verify( bookingRepo ).deleteAllByEvent( exampleEvent );
+        verify( waitlistRepo ).deleteAllByEventIds( List.of( exampleEvent.getId() ) );
+        verify( dtoCache ).evictEvent( exampleEvent.getId() );
+        verify( eventPublisher ).publishEvent( new TicketsChangedEvent( exampleEvent.getId() ) );
+    }
+
+    @Test
+    @DisplayName("Should change the capacity of an event with sharded inventory on its shards")
+    void updateEvent_changesCapacityOnInventoryShards() {
+        Event shardedEvent = exampleEvent.toBuilder()
+                .maxTicketCapacity( 50000 )
+                .freeTicketCapacity( 30000 )
+                .bookedTicketsCount( 20000 )
+                .inventoryShards( 16 )
+                .build();
+
+        EventRequestDto updateDto = exampleEventRequestDto.toBuilder()
+                .maxTicketCapacity( 40000 )
+                .build();
+
+        when( eventRepo.findWithTicketCountsById( exampleEvent.getId() ) ).thenReturn( Optional.of( shardedEvent ) );
+        when( orgaRepo.findById( exampleEventRequestDto.organizationId() ) ).thenReturn( Optional.of( exampleOrganization ) );
+        when( inventoryShardRepo.changeCapacity( exampleEvent.getId(), 16, -10000 ) ).thenReturn( true );
+        when( eventRepo.changeTicketCapacity( shardedEvent, 40000 ) )
+                .thenReturn( Optional.of( shardedEvent.toBuilder().maxTicketCapacity( 40000 ).build() ) );
+        when( eventRepo.updateDetails( any( Event.class ) ) )
+                .thenReturn( Optional.of( shardedEvent.toBuilder().maxTicketCapacity( 40000 ).build() ) );
+
+        Event actualUpdatedEvent = eventService.updateEvent( exampleEvent.getId(), updateDto );
+
+        assertEquals( 40000, actualUpdatedEvent.getMaxTicketCapacity() );
+        assertEquals( 16, actualUpdatedEvent.getInventoryShards() );
+
+        verify( inventoryShardRepo ).changeCapacity( exampleEvent.getId(), 16, -10000 );
+    }
+
+    @Test
+    @DisplayName("Should change the capacity of a flash sale in memory and save the counters held there")
+    void updateEvent_changesCapacityOfFlashSaleInMemory() {
+        Event flashSale = exampleEvent.toBuilder()
+                .maxTicketCapacity( 50000 )
+                .freeTicketCapacity( 30000 )
+                .bookedTicketsCount( 20000 )
+                .flashSale( true )
+                .build();
+
+        // bookings in memory since the document was last written
+        Event countedInMemory = flashSale.toBuilder()
+                .maxTicketCapacity( 40000 )
+                .freeTicketCapacity( 15000 )
+                .bookedTicketsCount( 25000 )
+                .inventoryLogCheckpoint( new InventoryLogCheckpoint( "log-1", 42 ) )
+                .build();
+
+        EventRequestDto updateDto = exampleEventRequestDto.toBuilder()
+                .maxTicketCapacity( 40000 )
+                .build();
+
+        when( eventRepo.findWithTicketCountsById( exampleEvent.getId() ) ).thenReturn( Optional.of( flashSale ) );
+        when( orgaRepo.findById( exampleEventRequestDto.organizationId() ) ).thenReturn( Optional.of( exampleOrganization ) );
+        when( inMemoryInventory.manages( exampleEvent.getId() ) ).thenReturn( true );
+        when( inMemoryInventory.changeCapacity( flashSale, 40000 ) ).thenReturn( countedInMemory );
+        when( eventRepo.updateDetails( any( Event.class ) ) ).thenAnswer( invocation -> Optional.of( invocation.getArgument( 0 ) ) );
+
+        Event actualUpdatedEvent = eventService.updateEvent( exampleEvent.getId(), updateDto );
+
+        assertEquals( 40000, actualUpdatedEvent.getMaxTicketCapacity() );
+        assertEquals( 15000, actualUpdatedEvent.getFreeTicketCapacity() );
+        assertEquals( 25000, actualUpdatedEvent.getBookedTicketsCount() );
+        assertEquals( new InventoryLogCheckpoint( "log-1", 42 ), actualUpdatedEvent.getInventoryLogCheckpoint() );
+
+        // the document gets the counters with the next flush of the inventory
+        verify( eventRepo, never() ).changeTicketCapacity( any(), any() );
+    }
+
+    @Test
+    @DisplayName("Should refuse to lower the capacity by more than the free tickets left on the shards")
+    void updateEvent_throwsWhenInventoryShardsHaveTooFewFreeTickets() {
+        Event shardedEvent = exampleEvent.toBuilder()
+                .maxTicketCapacity( 50000 )
+                .freeTicketCapacity( 30000 )
+                .bookedTicketsCount( 20000 )
+                .inventoryShards( 16 )
+                .build();
+
+        // bookings took the free tickets since the event was read
+        EventRequestDto updateDto = exampleEventRequestDto.toBuilder()
+                .maxTicketCapacity( 25000 )
+                .build();
+
+        when( eventRepo.findWithTicketCountsById( exampleEvent.getId() ) ).thenReturn( Optional.of( shardedEvent ) );
+        when( orgaRepo.findById( exampleEventRequestDto.organizationId() ) ).thenReturn( Optional.of( exampleOrganization ) );
+        when( inventoryShardRepo.changeCapacity( exampleEvent.getId(), 16, -25000 ) ).thenReturn( false );
+
+        assertThatThrownBy( () -> eventService.updateEvent( exampleEvent.getId(), updateDto ) )
+                .isInstanceOf( IllegalArgumentException.class )
+                .hasMessage( "Max ticket capacity cannot be less than already booked tickets: 20000" );
+
+        verify( eventRepo, never() ).changeTicketCapacity( any(), any() );
+        verify( eventRepo, never() ).updateDetails( any( Event.class ) );
+    }
+
+    @Test
+    @DisplayName("Should delete the inventory shards with the event")
+    void deleteEventById_withInventoryShards() {
+        Event shardedEvent = exampleEvent.toBuilder()
+                .maxTicketCapacity( 50000 )
+                .inventoryShards( 16 )
+                .build();
+
+        when( eventRepo.findById( exampleEvent.getId() ) ).thenReturn( Optional.of( shardedEvent ) );
+
+        eventService.deleteEventById( exampleEvent.getId() );
+
+        verify( inventoryShardRepo ).deleteAllByEventIds( List.of( exampleEvent.getId() ) );
+        verify( eventRepo ).delete( shardedEvent );
+        verify( inMemoryInventory ).remove( exampleEvent.getId() );
     }
 
     @Test
@@ -516,7 +1146,7 @@ class EventServiceTest {
 
         eventService.deleteEventById( exampleEvent.getId() );
 
-        verify( imageRepo ).deleteById( eventWithImage.getImageId() );
+        verify( imageStore ).deleteById( eventWithImage.getImageId() );
         verify( eventRepo ).findById( exampleEvent.getId() );
         verify( eventRepo ).delete( eventWithImage );
         verify( bookingRepo ).deleteAllByEvent( eventWithImage );
@@ -0,0 +1,156 @@
+package org.eventbuddy.backend.services;
+
+import org.bson.Document;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventSuggestionDto;
+import org.eventbuddy.backend.models.event.EventSummaryChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventTypeaheadServiceTest {
+
+    @Mock
+    MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    EventTypeaheadService eventTypeaheadService;
+
+    Instant upcoming;
+
+    @BeforeEach
+    void setUp() {
+        upcoming = Instant.now().truncatedTo( ChronoUnit.MILLIS ).plus( 1, ChronoUnit.DAYS );
+    }
+
+    @Test
+    @DisplayName("Should suggest events with a title word starting with every typed word")
+    void suggest_matchesWordPrefixes() {
+        save( "jazzId", "Berlin Jazz Night" );
+        save( "jamId", "Jam Session" );
+        save( "cafeId", "Café Crème Jazz" );
+
+        assertEquals( List.of( "jamId", "cafeId", "jazzId" ), suggestedIds( "ja" ) );
+        assertEquals( List.of( "jazzId" ), suggestedIds( "jaz ni" ) );
+        assertEquals( List.of( "jazzId" ), suggestedIds( "NIGHT" ) );
+        assertEquals( List.of( "cafeId" ), suggestedIds( "cafe crè" ) );
+        assertEquals( List.of(), suggestedIds( "rock" ) );
+        assertEquals( List.of(), suggestedIds( " - " ) );
+    }
+
+    @Test
+    @DisplayName("Should suggest every event once and stop at the limit")
+    void suggest_respectsLimit() {
+        save( "firstId", "Jazz Jam" );
+        save( "secondId", "Jazz Brunch" );
+        save( "thirdId", "Jazz Club" );
+
+        List<EventSuggestionDto> suggestions = eventTypeaheadService.suggest( "ja", 2 );
+
+        assertEquals( 2, suggestions.size() );
+        assertEquals( List.of( "firstId" ), suggestedIds( "jam" ) );
+    }
+
+    @Test
+    @DisplayName("Should replace the words of a renamed event and leave out past events")
+    void onAfterSave_replacesEntriesOfEvent() {
+        save( "eventId", "Jazz Night" );
+        save( "eventId", "Rock Night" );
+
+        assertEquals( List.of(), suggestedIds( "jazz" ) );
+        assertEquals( List.of( "eventId" ), suggestedIds( "rock" ) );
+
+        eventTypeaheadService.onAfterSave( new AfterSaveEvent<>( Event.builder()
+                .id( "eventId" )
+                .title( "Rock Night" )
+                .eventDateTime( Instant.now().minus( 1, ChronoUnit.DAYS ) )
+                .build(), new Document(), "events" ) );
+
+        assertEquals( List.of(), suggestedIds( "rock" ) );
+    }
+
+    @Test
+    @DisplayName("Should read an edited event again, and drop it once it is gone")
+    void onEventSummaryChanged_reindexesEditedEvent() {
+        save( "eventId", "Jazz Night" );
+
+        when( mongoTemplate.findOne( any( Query.class ), eq( Event.class ) ) )
+                .thenReturn( Event.builder().id( "eventId" ).title( "Rock Night" ).eventDateTime( upcoming ).build() )
+                .thenReturn( null );
+
+        eventTypeaheadService.onEventSummaryChanged( new EventSummaryChangedEvent( "eventId" ) );
+
+        assertEquals( List.of(), suggestedIds( "jazz" ) );
+        assertEquals( List.of( "eventId" ), suggestedIds( "rock" ) );
+
+        eventTypeaheadService.onEventSummaryChanged( new EventSummaryChangedEvent( "eventId" ) );
+
+        assertEquals( List.of(), suggestedIds( "rock" ) );
+    }
+
+    @Test
+    @DisplayName("Should remove events deleted by id, by a list of ids or all at once")
+    void onAfterDelete_removesEntries() {
+        save( "firstId", "Jazz Night" );
+        save( "secondId", "Jazz Brunch" );
+        save( "thirdId", "Jazz Club" );
+
+        delete( new Document( "_id", "firstId" ) );
+        assertEquals( List.of( "secondId", "thirdId" ), suggestedIds( "jazz" ) );
+
+        delete( new Document( "_id", new Document( "$in", List.of( "secondId" ) ) ) );
+        assertEquals( List.of( "thirdId" ), suggestedIds( "jazz" ) );
+
+        delete( new Document() );
+        assertEquals( List.of(), suggestedIds( "jazz" ) );
+    }
+
+    @Test
+    @DisplayName("Should load the upcoming events from the database on rebuild")
+    void rebuild_loadsUpcomingEvents() {
+        save( "staleId", "Stale Event" );
+
+        when( mongoTemplate.stream( any( Query.class ), eq( Event.class ) ) ).thenReturn( Stream.of(
+                Event.builder().id( "loadedId" ).title( "Loaded Event" ).eventDateTime( upcoming ).build() ) );
+
+        assertEquals( 1, eventTypeaheadService.rebuild() );
+        assertEquals( List.of( "loadedId" ), suggestedIds( "event" ) );
+    }
+
+    private void save( String eventId, String title ) {
+        eventTypeaheadService.onAfterSave( new AfterSaveEvent<>( Event.builder()
+                .id( eventId )
+                .title( title )
+                .eventDateTime( upcoming )
+                .build(), new Document(), "events" ) );
+    }
+
+    private void delete( Document filter ) {
+        eventTypeaheadService.onAfterDelete( new AfterDeleteEvent<>( filter, Event.class, "events" ) );
+    }
+
+    private List<String> suggestedIds( String text ) {
+        return eventTypeaheadService.suggest( text, EventTypeaheadService.MAX_LIMIT ).stream()
+                .map( EventSuggestionDto::id )
+                .toList();
+    }
+}
@@ -1,14 +1,16 @@
 package org.eventbuddy.backend.services;
 
-import org.bson.BsonBinarySubType;
-import org.bson.types.Binary;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.eventbuddy.backend.enums.ImageType;
 import org.eventbuddy.backend.exceptions.ResourceNotFoundException;
 import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventSummaryChangedEvent;
 import org.eventbuddy.backend.models.image.Image;
 import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.models.organization.OrganizationSummaryChangedEvent;
 import org.eventbuddy.backend.repos.EventRepository;
-import org.eventbuddy.backend.repos.ImageRepository;
+import org.eventbuddy.backend.repos.ImageStore;
 import org.eventbuddy.backend.repos.OrganizationRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,23 +19,30 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ImageServiceTest {
 
     @Mock
-    ImageRepository mockImageRepo;
+    ImageStore mockImageStore;
 
     @Mock
     OrganizationRepository mockOrganizationRepo;
@@ -41,6 +50,21 @@ class ImageServiceTest {
     @Mock
     EventRepository mockEventRepo;
 
+    @Mock
+    ImageVariantService mockImageVariantService;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    // real cache, so cached reads and evictions are part of the tested behaviour
+    @Spy
+    DtoCacheService dtoCache = new DtoCacheService( 100, Duration.ofMinutes( 10 ) );
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    ImageMetrics imageMetrics = new ImageMetrics( meterRegistry );
+
     @InjectMocks
     ImageService mockImageService;
 
@@ -54,12 +78,12 @@ class ImageServiceTest {
                 .imageId( imageId )
                 .build();
 
-        when( mockImageRepo.findById( imageId ) ).thenReturn( Optional.of( expectedImage ) );
+        when( mockImageStore.findById( imageId ) ).thenReturn( Optional.of( expectedImage ) );
 
         Image actualImage = mockImageService.getImageById( imageId );
 
         assertEquals( expectedImage, actualImage );
-        verify( mockImageRepo ).findById( imageId );
+        verify( mockImageStore ).findById( imageId );
     }
 
     @Test
@@ -69,14 +93,143 @@ class ImageServiceTest {
 
         String expectedMessage = "Image not found with URL: " + imageId;
 
-        when( mockImageRepo.findById( imageId ) ).thenReturn( Optional.empty() );
+        when( mockImageStore.findById( imageId ) ).thenReturn( Optional.empty() );
 
         assertThatThrownBy( () ->
                 mockImageService.getImageById( imageId ) )
                 .isInstanceOf( ResourceNotFoundException.class )
                 .hasMessage( expectedMessage );
 
-        verify( mockImageRepo ).findById( imageId );
+        verify( mockImageStore ).findById( imageId );
+    }
+
+    @Test
+    @DisplayName("Should return stored variant for requested width")
+    void getImageByIdWithWidth_shouldReturnVariant() {
+        String imageId = "testImageId";
+
+        Image variant = Image.builder()
+                .imageId( imageId )
+                .contentType( "image/jpeg" )
+                .build();
+
+        when( mockImageVariantService.findVariant( imageId, 600 ) ).thenReturn( Optional.of( variant ) );
+
+        Image actualImage = mockImageService.getImageById( imageId, 600 );
+
+        assertEquals( variant, actualImage );
+        verifyNoInteractions( mockImageStore );
+    }
+
+    @Test
+    @DisplayName("Should create missing variant from original")
+    void getImageByIdWithWidth_shouldCreateMissingVariant() {
+        String imageId = "testImageId";
+
+        Image original = Image.builder()
+                .imageId( imageId )
+                .contentType( "image/jpeg" )
+                .build();
+
+        Image variant = original.toBuilder()
+                .contentLength( 42 )
+                .build();
+
+        when( mockImageVariantService.findVariant( imageId, 600 ) ).thenReturn( Optional.empty() );
+        when( mockImageStore.findById( imageId ) ).thenReturn( Optional.of( original ) );
+        when( mockImageVariantService.createVariant( original, 600 ) ).thenReturn( variant );
+
+        Image actualImage = mockImageService.getImageById( imageId, 600 );
+
+        assertEquals( variant, actualImage );
+
+        // only the variant went out, the original it was made from is not counted
+        DistributionSummary served = meterRegistry.get( "images.served" ).tag( "type", "jpeg" ).summary();
+        assertEquals( 1, served.count() );
+        assertEquals( 42, served.totalAmount() );
+    }
+
+    @Test
+    @DisplayName("Should throw 404 when original of missing variant not found")
+    void getImageByIdWithWidth_shouldThrowWhenImageNotFound() {
+        String imageId = "testImageId";
+
+        when( mockImageVariantService.findVariant( imageId, 600 ) ).thenReturn( Optional.empty() );
+        when( mockImageStore.findById( imageId ) ).thenReturn( Optional.empty() );
+
+        assertThatThrownBy( () ->
+                mockImageService.getImageById( imageId, 600 ) )
+                .isInstanceOf( ResourceNotFoundException.class )
+                .hasMessage( "Image not found with URL: " + imageId );
+    }
+
+    @Test
+    @DisplayName("Should return stored placeholder")
+    void getImagePlaceholder_shouldReturnStoredPlaceholder() {
+        String imageId = "testImageId";
+
+        Image placeholder = Image.builder()
+                .imageId( imageId )
+                .contentType( "image/png" )
+                .build();
+
+        when( mockImageVariantService.findPlaceholder( imageId ) ).thenReturn( Optional.of( placeholder ) );
+
+        assertEquals( placeholder, mockImageService.getImagePlaceholder( imageId ) );
+        verifyNoInteractions( mockImageStore );
+    }
+
+    @Test
+    @DisplayName("Should create missing placeholder from original")
+    void getImagePlaceholder_shouldCreateMissingPlaceholder() {
+        String imageId = "testImageId";
+
+        Image original = Image.builder()
+                .imageId( imageId )
+                .contentType( "image/jpeg" )
+                .build();
+
+        Image placeholder = original.toBuilder()
+                .contentType( "image/png" )
+                .build();
+
+        when( mockImageVariantService.findPlaceholder( imageId ) ).thenReturn( Optional.empty() );
+        when( mockImageStore.findById( imageId ) ).thenReturn( Optional.of( original ) );
+        when( mockImageVariantService.createPlaceholder( original ) ).thenReturn( Optional.of( placeholder ) );
+
+        assertEquals( placeholder, mockImageService.getImagePlaceholder( imageId ) );
+    }
+
+    @Test
+    @DisplayName("Should throw 404 when format has no placeholder")
+    void getImagePlaceholder_shouldThrowWhenNoPlaceholderAvailable() {
+        String imageId = "testImageId";
+
+        Image original = Image.builder()
+                .imageId( imageId )
+                .contentType( "image/svg+xml" )
+                .build();
+
+        when( mockImageVariantService.findPlaceholder( imageId ) ).thenReturn( Optional.empty() );
+        when( mockImageStore.findById( imageId ) ).thenReturn( Optional.of( original ) );
+        when( mockImageVariantService.createPlaceholder( original ) ).thenReturn( Optional.empty() );
+
+        assertThatThrownBy( () ->
+                mockImageService.getImagePlaceholder( imageId ) )
+                .isInstanceOf( ResourceNotFoundException.class )
+                .hasMessage( "No placeholder available for image: " + imageId );
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should throw when width is not positive")
+    @ValueSource(ints = { 0, -320 })
+    void getImageByIdWithWidth_shouldThrowWhenWidthInvalid( int width ) {
+        assertThatThrownBy( () ->
+                mockImageService.getImageById( "testImageId", width ) )
+                .isInstanceOf( IllegalArgumentException.class )
+                .hasMessage( "Image width must be at least 1" );
+
+        verifyNoInteractions( mockImageVariantService );
     }
 
     @ParameterizedTest
@@ -88,25 +241,25 @@ class ImageServiceTest {
 
         MultipartFile mockFile = new MockMultipartFile( "file", null, contentType, imageDataBytes );
 
-        Binary imageBinary = new Binary( BsonBinarySubType.BINARY, imageDataBytes );
-
         String expectedImageId = "123";
 
-        Image givenImage = Image.builder()
-                .contentType( mockFile.getContentType() )
-                .imageData( imageBinary )
-                .build();
+        when( mockImageStore.save( any( InputStream.class ), eq( contentType ) ) ).thenAnswer( invocation -> {
+            InputStream content = invocation.getArgument( 0 );
 
-        Image expectedImage = givenImage.toBuilder()
-                .imageId( expectedImageId )
-                .build();
+            assertArrayEquals( imageDataBytes, content.readAllBytes() );
 
-        when( mockImageRepo.save( givenImage ) ).thenReturn( expectedImage );
+            return expectedImageId;
+        } );
 
         String actualImageId = mockImageService.storeImage( mockFile );
 
         assertEquals( expectedImageId, actualImageId );
-        verify( mockImageRepo ).save( givenImage );
+        verify( mockImageStore ).save( any( InputStream.class ), eq( contentType ) );
+        verify( mockImageVariantService ).generateVariantsInBackground( expectedImageId, contentType );
+
+        DistributionSummary uploaded = meterRegistry.get( "images.uploaded" ).summary();
+        assertEquals( 1, uploaded.count() );
+        assertEquals( imageDataBytes.length, uploaded.totalAmount() );
     }
 
     @ParameterizedTest
@@ -142,7 +295,7 @@ class ImageServiceTest {
     }
 
     @Test
-    @DisplayName("Should return true when Image updated")
+    @DisplayName("Should store new image and delete old one when Image updated")
     void updateImage_shouldReturnTrueWhenOrganizationImageUpdated() throws IOException {
 
         byte[] imageDataBytes = "fake image content".getBytes();
@@ -151,30 +304,30 @@ class ImageServiceTest {
 
         String givenOrganizationId = "org123";
 
-        String givenImageId = "123";
+        String existingImageId = "123";
 
-        Image givenImage = Image.builder()
-                .imageId( givenImageId )
-                .contentType( mockFile.getContentType() )
-                .imageData( new Binary( BsonBinarySubType.BINARY, imageDataBytes ) )
-                .build();
+        String newImageId = "456";
 
         Organization givenOrganization = Organization.builder()
                 .id( givenOrganizationId )
-                .imageId( givenImageId )
+                .imageId( existingImageId )
+                .build();
+
+        Organization updatedOrganization = givenOrganization.toBuilder()
+                .imageId( newImageId )
                 .build();
 
         when( mockOrganizationRepo.findById( givenOrganizationId ) ).thenReturn( Optional.of( givenOrganization ) );
-        when( mockImageRepo.save( givenImage ) ).thenReturn( givenImage );
-        when( mockImageRepo.findById( givenImageId ) ).thenReturn( Optional.of( givenImage ) );
+        when( mockImageStore.save( any( InputStream.class ), eq( "image/jpeg" ) ) ).thenReturn( newImageId );
+        when( mockOrganizationRepo.save( updatedOrganization ) ).thenReturn( updatedOrganization );
 
         String actualImageId = mockImageService.updateOrganizationImage( givenOrganizationId, mockFile );
 
-        assertEquals( givenImageId, actualImageId );
+        assertEquals( newImageId, actualImageId );
 
-        verify( mockImageRepo ).save( givenImage );
-        verify( mockImageRepo ).findById( givenImageId );
         verify( mockOrganizationRepo ).findById( givenOrganizationId );
+        verify( mockOrganizationRepo ).save( updatedOrganization );
+        verify( mockImageStore ).deleteById( existingImageId );
     }
 
     @Test
@@ -189,15 +342,6 @@ class ImageServiceTest {
 
         String givenImageId = "123";
 
-        Image imageToSave = Image.builder()
-                .contentType( mockFile.getContentType() )
-                .imageData( new Binary( BsonBinarySubType.BINARY, imageDataBytes ) )
-                .build();
-
-        Image savedImage = imageToSave.toBuilder()
-                .imageId( givenImageId )
-                .build();
-
         Organization givenOrganization = Organization.builder()
                 .id( givenOrganizationId )
                 .build();
@@ -207,28 +351,30 @@ class ImageServiceTest {
                 .build();
 
         when( mockOrganizationRepo.findById( givenOrganizationId ) ).thenReturn( Optional.of( givenOrganization ) );
-        when( mockImageRepo.save( imageToSave ) ).thenReturn( savedImage );
+        when( mockImageStore.save( any( InputStream.class ), eq( "image/jpeg" ) ) ).thenReturn( givenImageId );
         when( mockOrganizationRepo.save( updatedOrganization ) ).thenReturn( updatedOrganization );
 
         String actualImageId = mockImageService.updateOrganizationImage( givenOrganizationId, mockFile );
 
         assertEquals( givenImageId, actualImageId );
 
-        verify( mockImageRepo ).save( imageToSave );
+        verify( mockImageStore ).save( any( InputStream.class ), eq( "image/jpeg" ) );
+        verify( mockImageStore, never() ).deleteById( any() );
         verify( mockOrganizationRepo ).save( updatedOrganization );
         verify( mockOrganizationRepo ).findById( givenOrganizationId );
+        // events and bookings show the image of the organization
+        verify( eventPublisher ).publishEvent( new OrganizationSummaryChangedEvent( givenOrganizationId ) );
     }
 
     @Test
-    @DisplayName("Should throw when Image not found on update")
-    void updateImage_shouldThrowWhenOrganizationImageNotFound() {
+    @DisplayName("Should keep old Image when new one is rejected on update")
+    void updateImage_shouldKeepOrganizationImageWhenNewImageRejected() {
         String organizationId = "org123";
         String imageId = "img123";
 
-
         byte[] imageDataBytes = "fake image content".getBytes();
 
-        MultipartFile mockFile = new MockMultipartFile( "file", null, "image/jpeg", imageDataBytes );
+        MultipartFile mockFile = new MockMultipartFile( "file", null, "text/plain", imageDataBytes );
 
         Organization givenOrganization = Organization.builder()
                 .id( organizationId )
@@ -236,15 +382,14 @@ class ImageServiceTest {
                 .build();
 
         when( mockOrganizationRepo.findById( organizationId ) ).thenReturn( Optional.of( givenOrganization ) );
-        when( mockImageRepo.findById( imageId ) ).thenReturn( Optional.empty() );
 
         assertThatThrownBy( () ->
                 mockImageService.updateOrganizationImage( organizationId, mockFile ) )
-                .isInstanceOf( ResourceNotFoundException.class )
-                .hasMessage( "Image not found with ID: " + imageId );
+                .isInstanceOf( IllegalArgumentException.class );
 
         verify( mockOrganizationRepo ).findById( organizationId );
-        verify( mockImageRepo ).findById( imageId );
+        verify( mockOrganizationRepo, never() ).save( any() );
+        verifyNoInteractions( mockImageStore, eventPublisher );
     }
 
     @Test
@@ -288,6 +433,7 @@ class ImageServiceTest {
 
         verify( mockOrganizationRepo ).findById( organizationId );
         verify( mockOrganizationRepo ).save( updatedOrganization );
+        verify( dtoCache ).evictOrganization( organizationId );
     }
 
     @Test
@@ -320,40 +466,43 @@ class ImageServiceTest {
         mockImageService.deleteImageFromOrganization( organizationId );
 
         verify( mockOrganizationRepo ).findById( organizationId );
-        verifyNoInteractions( mockImageRepo );
+        verifyNoInteractions( mockImageStore );
     }
 
     @Test
-    @DisplayName("Should return true when Event Image updated")
+    @DisplayName("Should store new image and delete old one when Event Image updated")
     void updateEventImage_shouldReturnTrueWhenEventImageUpdated() throws IOException {
         byte[] imageDataBytes = "fake image content".getBytes();
         MultipartFile mockFile = new MockMultipartFile( "file", null, "image/jpeg", imageDataBytes );
 
         String givenEventId = "event123";
-        String givenImageId = "123";
-
-        Image givenImage = Image.builder()
-                .imageId( givenImageId )
-                .contentType( mockFile.getContentType() )
-                .imageData( new Binary( BsonBinarySubType.BINARY, imageDataBytes ) )
-                .build();
+        String existingImageId = "123";
+        String newImageId = "456";
 
         Event givenEvent = Event.builder()
                 .id( givenEventId )
-                .imageId( givenImageId )
+                .imageId( existingImageId )
+                .build();
+
+        Event updatedEvent = givenEvent.toBuilder()
+                .imageId( newImageId )
                 .build();
 
         when( mockEventRepo.findById( givenEventId ) ).thenReturn( Optional.of( givenEvent ) );
-        when( mockImageRepo.findById( givenImageId ) ).thenReturn( Optional.of( givenImage ) );
-        when( mockImageRepo.save( givenImage ) ).thenReturn( givenImage );
+        when( mockImageStore.save( any( InputStream.class ), eq( "image/jpeg" ) ) ).thenReturn( newImageId );
+        when( mockEventRepo.updateImageId( givenEventId, newImageId ) ).thenReturn( Optional.of( updatedEvent ) );
 
         String actualImageId = mockImageService.updateEventImage( givenEventId, mockFile );
 
-        assertEquals( givenImageId, actualImageId );
+        assertEquals( newImageId, actualImageId );
 
         verify( mockEventRepo ).findById( givenEventId );
-        verify( mockImageRepo ).findById( givenImageId );
-        verify( mockImageRepo ).save( givenImage );
+        verify( mockEventRepo ).updateImageId( givenEventId, newImageId );
+        verify( mockEventRepo, never() ).save( any() );
+        verify( dtoCache ).evictEvent( givenEventId );
+        verify( mockImageStore ).deleteById( existingImageId );
+        // bookings show the image of the event
+        verify( eventPublisher ).publishEvent( new EventSummaryChangedEvent( givenEventId ) );
     }
 
     @Test
@@ -365,15 +514,6 @@ class ImageServiceTest {
         String givenEventId = "event123";
         String givenImageId = "123";
 
-        Image imageToSave = Image.builder()
-                .contentType( mockFile.getContentType() )
-                .imageData( new Binary( BsonBinarySubType.BINARY, imageDataBytes ) )
-                .build();
-
-        Image savedImage = imageToSave.toBuilder()
-                .imageId( givenImageId )
-                .build();
-
         Event givenEvent = Event.builder()
                 .id( givenEventId )
                 .build();
@@ -383,26 +523,25 @@ class ImageServiceTest {
                 .build();
 
         when( mockEventRepo.findById( givenEventId ) ).thenReturn( Optional.of( givenEvent ) );
-        when( mockImageRepo.save( imageToSave ) ).thenReturn( savedImage );
-        when( mockEventRepo.save( updatedEvent ) ).thenReturn( updatedEvent );
+        when( mockImageStore.save( any( InputStream.class ), eq( "image/jpeg" ) ) ).thenReturn( givenImageId );
+        when( mockEventRepo.updateImageId( givenEventId, givenImageId ) ).thenReturn( Optional.of( updatedEvent ) );
 
         String actualImageId = mockImageService.updateEventImage( givenEventId, mockFile );
 
         assertEquals( givenImageId, actualImageId );
 
         verify( mockEventRepo ).findById( givenEventId );
-        verify( mockImageRepo ).save( imageToSave );
-        verify( mockEventRepo ).save( updatedEvent );
+        verify( mockImageStore, never() ).deleteById( any() );
+        verify( mockEventRepo ).updateImageId( givenEventId, givenImageId );
     }
 
     @Test
-    @DisplayName("Should throw when Event Image not found on update")
-    void updateEventImage_shouldThrowWhenEventImageNotFound() {
+    @DisplayName("Should keep old Event Image when new one is too large")
+    void updateEventImage_shouldKeepEventImageWhenNewImageTooLarge() {
         String eventId = "event123";
         String imageId = "img123";
 
-        byte[] imageDataBytes = "fake image content".getBytes();
-        MultipartFile mockFile = new MockMultipartFile( "file", null, "image/jpeg", imageDataBytes );
+        MultipartFile mockFile = new MockMultipartFile( "file", null, "image/jpeg", new byte[6 * 1024 * 1024] );
 
         Event givenEvent = Event.builder()
                 .id( eventId )
@@ -410,15 +549,14 @@ class ImageServiceTest {
                 .build();
 
         when( mockEventRepo.findById( eventId ) ).thenReturn( Optional.of( givenEvent ) );
-        when( mockImageRepo.findById( imageId ) ).thenReturn( Optional.empty() );
 
         assertThatThrownBy( () ->
                 mockImageService.updateEventImage( eventId, mockFile ) )
-                .isInstanceOf( ResourceNotFoundException.class )
-                .hasMessage( "Image not found with ID: " + imageId );
+                .isInstanceOf( MaxUploadSizeExceededException.class );
 
         verify( mockEventRepo ).findById( eventId );
-        verify( mockImageRepo ).findById( imageId );
+        verify( mockEventRepo, never() ).save( any() );
+        verifyNoInteractions( mockImageStore );
     }
 
     @Test
@@ -455,13 +593,14 @@ class ImageServiceTest {
                 .build();
 
         when( mockEventRepo.findById( eventId ) ).thenReturn( Optional.of( givenEvent ) );
-        when( mockEventRepo.save( updatedEvent ) ).thenReturn( updatedEvent );
+        when( mockEventRepo.updateImageId( eventId, null ) ).thenReturn( Optional.of( updatedEvent ) );
 
         mockImageService.deleteImageFromEvent( eventId );
 
         verify( mockEventRepo ).findById( eventId );
-        verify( mockEventRepo ).save( updatedEvent );
-        verify( mockImageRepo ).deleteById( imageId );
+        verify( mockEventRepo ).updateImageId( eventId, null );
+        verify( mockImageStore ).deleteById( imageId );
+        verify( eventPublisher ).publishEvent( new EventSummaryChangedEvent( eventId ) );
     }
 
     @Test
@@ -494,7 +633,27 @@ class ImageServiceTest {
         mockImageService.deleteImageFromEvent( eventId );
 
         verify( mockEventRepo ).findById( eventId );
-        verifyNoInteractions( mockImageRepo );
+        verifyNoInteractions( mockImageStore, eventPublisher );
+    }
+
+    @Test
+    @DisplayName("Should delete image from Organization and mark its summary changed")
+    void deleteImageFromOrganization_shouldDeleteImageSuccessfully() {
+        String organizationId = "org123";
+        String imageId = "img123";
+
+        Organization givenOrganization = Organization.builder()
+                .id( organizationId )
+                .imageId( imageId )
+                .build();
+
+        when( mockOrganizationRepo.findById( organizationId ) ).thenReturn( Optional.of( givenOrganization ) );
+
+        mockImageService.deleteImageFromOrganization( organizationId );
+
+        verify( mockOrganizationRepo ).save( givenOrganization.toBuilder().imageId( null ).build() );
+        verify( mockImageStore ).deleteById( imageId );
+        verify( eventPublisher ).publishEvent( new OrganizationSummaryChangedEvent( organizationId ) );
     }
 
 
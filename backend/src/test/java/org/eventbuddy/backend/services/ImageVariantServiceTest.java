@@ -0,0 +1,173 @@
+package org.eventbuddy.backend.services;
+
+import org.eventbuddy.backend.models.image.Image;
+import org.eventbuddy.backend.repos.FileSystemImageStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageVariantServiceTest {
+
+    @TempDir
+    Path root;
+
+    FileSystemImageStore imageStore;
+
+    ImageVariantService imageVariantService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        imageStore = new FileSystemImageStore( root );
+        // runs generation on the calling thread
+        imageVariantService = new ImageVariantService( imageStore, Runnable::run );
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should map requested width to closest variant")
+    @CsvSource({ "1, 320", "320, 320", "321, 640", "700, 1280", "4000, 1280" })
+    void variantWidthFor_shouldPickClosestVariant( int requestedWidth, int expectedWidth ) {
+        assertEquals( expectedWidth, ImageVariantService.variantWidthFor( requestedWidth ) );
+    }
+
+    @Test
+    @DisplayName("Should store all variants of a wide JPEG after upload")
+    void generateVariantsInBackground_shouldStoreAllWidths() throws IOException {
+        String imageId = storeImage( 2000, 1000, BufferedImage.TYPE_INT_RGB, "jpeg", "image/jpeg" );
+
+        imageVariantService.generateVariantsInBackground( imageId, "image/jpeg" );
+
+        for ( int width : ImageVariantService.VARIANT_WIDTHS ) {
+            Image variant = imageStore.findVariant( imageId, width ).orElseThrow();
+            BufferedImage decoded = ImageIO.read( variant.getContent().getInputStream() );
+
+            assertEquals( "image/jpeg", variant.getContentType() );
+            assertEquals( width, decoded.getWidth() );
+            assertEquals( width / 2, decoded.getHeight() );
+        }
+    }
+
+    @Test
+    @DisplayName("Should not upscale narrow PNGs and keep transparency")
+    void generateVariantsInBackground_shouldNotUpscale() throws IOException {
+        String imageId = storeImage( 400, 200, BufferedImage.TYPE_INT_ARGB, "png", "image/png" );
+
+        imageVariantService.generateVariantsInBackground( imageId, "image/png" );
+
+        BufferedImage widest = ImageIO.read( imageStore.findVariant( imageId, 1280 ).orElseThrow().getContent().getInputStream() );
+        BufferedImage smallest = ImageIO.read( imageStore.findVariant( imageId, 320 ).orElseThrow().getContent().getInputStream() );
+
+        assertEquals( 400, widest.getWidth() );
+        assertEquals( 320, smallest.getWidth() );
+        assertTrue( smallest.getColorModel().hasAlpha() );
+    }
+
+    @Test
+    @DisplayName("Should create missing variant on demand")
+    void createVariant_shouldGenerateRequestedWidthOnly() throws IOException {
+        String imageId = storeImage( 1600, 900, BufferedImage.TYPE_INT_RGB, "jpeg", "image/jpeg" );
+        Image original = imageStore.findById( imageId ).orElseThrow();
+
+        Image variant = imageVariantService.createVariant( original, 500 );
+
+        assertNotEquals( original.getContentHash(), variant.getContentHash() );
+        assertEquals( 640, ImageIO.read( variant.getContent().getInputStream() ).getWidth() );
+        assertTrue( imageStore.findVariant( imageId, 320 ).isEmpty() );
+        assertTrue( imageVariantService.findVariant( imageId, 600 ).isPresent() );
+    }
+
+    @Test
+    @DisplayName("Should serve original for formats without variants")
+    void createVariant_shouldReturnOriginalForUnsupportedType() throws IOException {
+        String imageId = imageStore.save( new ByteArrayInputStream( "<svg/>".getBytes() ), "image/svg+xml" );
+        Image original = imageStore.findById( imageId ).orElseThrow();
+
+        assertSame( original, imageVariantService.createVariant( original, 320 ) );
+        assertTrue( imageStore.findVariant( imageId, 320 ).isEmpty() );
+    }
+
+    @Test
+    @DisplayName("Should serve original when the executor is saturated")
+    void createVariant_shouldReturnOriginalWhenRejected() throws IOException {
+        ImageVariantService saturatedService = new ImageVariantService( imageStore, task -> {
+            throw new RejectedExecutionException( "queue full" );
+        } );
+
+        String imageId = storeImage( 1600, 900, BufferedImage.TYPE_INT_RGB, "jpeg", "image/jpeg" );
+        Image original = imageStore.findById( imageId ).orElseThrow();
+
+        assertSame( original, saturatedService.createVariant( original, 320 ) );
+
+        saturatedService.generateVariantsInBackground( imageId, "image/jpeg" );
+
+        assertTrue( imageStore.findVariant( imageId, 320 ).isEmpty() );
+    }
+
+    @Test
+    @DisplayName("Should store a PNG placeholder below 1 KB even for noisy photos")
+    void generateVariantsInBackground_shouldStoreTinyPlaceholder() throws IOException {
+        BufferedImage noise = new BufferedImage( 2000, 1500, BufferedImage.TYPE_INT_RGB );
+        Random random = new Random( 42 );
+
+        for ( int y = 0; y < noise.getHeight(); y++ ) {
+            for ( int x = 0; x < noise.getWidth(); x++ ) {
+                noise.setRGB( x, y, random.nextInt() );
+            }
+        }
+
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageIO.write( noise, "jpeg", encoded );
+        String imageId = imageStore.save( new ByteArrayInputStream( encoded.toByteArray() ), "image/jpeg" );
+
+        imageVariantService.generateVariantsInBackground( imageId, "image/jpeg" );
+
+        Image placeholder = imageVariantService.findPlaceholder( imageId ).orElseThrow();
+        BufferedImage decoded = ImageIO.read( placeholder.getContent().getInputStream() );
+
+        assertEquals( "image/png", placeholder.getContentType() );
+        assertTrue( placeholder.getContentLength() < 700, "Placeholder has " + placeholder.getContentLength() + " bytes" );
+        assertEquals( ImageVariantService.PLACEHOLDER_WIDTH, decoded.getWidth() );
+        assertEquals( 12, decoded.getHeight() );
+    }
+
+    @Test
+    @DisplayName("Should create missing placeholder on demand")
+    void createPlaceholder_shouldGeneratePlaceholderOnly() throws IOException {
+        String imageId = storeImage( 1600, 900, BufferedImage.TYPE_INT_RGB, "jpeg", "image/jpeg" );
+        Image original = imageStore.findById( imageId ).orElseThrow();
+
+        Image placeholder = imageVariantService.createPlaceholder( original ).orElseThrow();
+
+        assertEquals( "image/png", placeholder.getContentType() );
+        assertTrue( imageStore.findVariant( imageId, 320 ).isEmpty() );
+    }
+
+    @Test
+    @DisplayName("Should create no placeholder for formats without variants")
+    void createPlaceholder_shouldReturnEmptyForUnsupportedType() throws IOException {
+        String imageId = imageStore.save( new ByteArrayInputStream( "<svg/>".getBytes() ), "image/svg+xml" );
+
+        assertTrue( imageVariantService.createPlaceholder( imageStore.findById( imageId ).orElseThrow() ).isEmpty() );
+    }
+
+    private String storeImage( int width, int height, int type, String format, String contentType ) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+
+        ImageIO.write( new BufferedImage( width, height, type ), format, encoded );
+
+        return imageStore.save( new ByteArrayInputStream( encoded.toByteArray() ), contentType );
+    }
+}
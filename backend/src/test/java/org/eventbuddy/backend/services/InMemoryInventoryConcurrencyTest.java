@@ -0,0 +1,188 @@
+package org.eventbuddy.backend.services;
+
+import org.eventbuddy.backend.TestcontainersConfiguration;
+import org.eventbuddy.backend.exceptions.SoldOutException;
+import org.eventbuddy.backend.models.booking.BookingRequestDto;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventRequestDto;
+import org.eventbuddy.backend.models.organization.Location;
+import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.repos.BookingRepository;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.eventbuddy.backend.repos.OrganizationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the counters are written to the documents by the tests themselves, the scheduled flush is kept out of the way
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = {
+        "booking.in-memory-inventory.enabled=true",
+        "booking.in-memory-inventory.log-path=target/in-memory-inventory-test/inventory.wal",
+        "booking.in-memory-inventory.flush-interval=1h"
+})
+class InMemoryInventoryConcurrencyTest {
+
+    private static final int TICKET_CAPACITY = 200;
+    private static final int CONCURRENT_REQUESTS = 600;
+
+    @Autowired
+    BookingService bookingService;
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    InMemoryInventoryService inMemoryInventory;
+
+    @Autowired
+    EventRepository eventRepo;
+
+    @Autowired
+    BookingRepository bookingRepo;
+
+    @Autowired
+    OrganizationRepository organizationRepo;
+
+    Event testEvent;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepo.deleteAll();
+        eventRepo.deleteAll();
+        organizationRepo.deleteAll();
+
+        Location testLocation = Location.builder()
+                .address( "Example Street 1" )
+                .city( "Example City" )
+                .zipCode( "12345" )
+                .country( "Example Country" )
+                .build();
+
+        Organization testOrganization = organizationRepo.save( Organization.builder()
+                .name( "Stress Test Organization" )
+                .owners( Set.of( "owner-1" ) )
+                .location( testLocation )
+                .build() );
+
+        testEvent = eventService.createEvent( EventRequestDto.builder()
+                .organizationId( testOrganization.getId() )
+                .title( "Flash Sale Ticket Drop" )
+                .eventDateTime( Instant.now().plus( 10, ChronoUnit.DAYS ) )
+                .location( testLocation )
+                .price( 10.0 )
+                .maxTicketCapacity( TICKET_CAPACITY )
+                .flashSale( true )
+                .build(), null );
+    }
+
+    @Test
+    @DisplayName("Never oversells a flash sale under concurrent bookings and writes its counters on the flush")
+    void makeBooking_shouldNotOversellFlashSale() throws Exception {
+        AtomicInteger successfulBookings = new AtomicInteger();
+        AtomicInteger soldOutRejections = new AtomicInteger();
+
+        assertTrue( inMemoryInventory.manages( testEvent.getId() ) );
+
+        runConcurrently( 64, CONCURRENT_REQUESTS, i -> {
+            try {
+                bookingService.makeBooking( bookingRequest( i, 1 ) );
+                successfulBookings.incrementAndGet();
+            } catch ( SoldOutException e ) {
+                soldOutRejections.incrementAndGet();
+            }
+        } );
+
+        assertEquals( TICKET_CAPACITY, successfulBookings.get() );
+        assertEquals( CONCURRENT_REQUESTS - TICKET_CAPACITY, soldOutRejections.get() );
+        assertEquals( TICKET_CAPACITY, bookingRepo.count() );
+
+        // the bookings were only counted in memory so far
+        assertEquals( TICKET_CAPACITY, eventRepo.findById( testEvent.getId() ).orElseThrow().getFreeTicketCapacity() );
+
+        inMemoryInventory.flush();
+
+        Event soldOutEvent = eventRepo.findById( testEvent.getId() ).orElseThrow();
+
+        assertEquals( 0, soldOutEvent.getFreeTicketCapacity() );
+        assertEquals( TICKET_CAPACITY, soldOutEvent.getBookedTicketsCount() );
+        assertTrue( soldOutEvent.getIsSoldOut() );
+        assertTrue( soldOutEvent.getTicketAlarm() );
+    }
+
+    @Test
+    @DisplayName("Gives the tickets of a flash sale back once when bookings are cancelled concurrently")
+    void deleteBookingById_shouldReleaseEachBookingOnceInMemory() throws Exception {
+        List<String> bookingIds = new ArrayList<>();
+
+        for ( int i = 0; i < TICKET_CAPACITY; i++ ) {
+            bookingIds.add( bookingService.makeBooking( bookingRequest( i, 1 ) ).bookingId() );
+        }
+
+        inMemoryInventory.flush();
+
+        // every booking is cancelled twice at the same time
+        runConcurrently( 32, bookingIds.size() * 2, i -> {
+            try {
+                bookingService.deleteBookingById( bookingIds.get( i / 2 ) );
+            } catch ( RuntimeException e ) {
+                // the slower request may not find the booking anymore
+            }
+        } );
+
+        inMemoryInventory.flush();
+
+        Event releasedEvent = eventRepo.findById( testEvent.getId() ).orElseThrow();
+
+        assertEquals( 0, bookingRepo.count() );
+        assertEquals( TICKET_CAPACITY, releasedEvent.getFreeTicketCapacity() );
+        assertEquals( 0, releasedEvent.getBookedTicketsCount() );
+        assertFalse( releasedEvent.getIsSoldOut() );
+    }
+
+    private BookingRequestDto bookingRequest( int i, int numberOfTickets ) {
+        return BookingRequestDto.builder()
+                .eventId( testEvent.getId() )
+                .userId( "user-" + i )
+                .name( "Guest " + i )
+                .numberOfTickets( numberOfTickets )
+                .build();
+    }
+
+    private void runConcurrently( int threads, int tasks, IntConsumer task ) throws Exception {
+        CountDownLatch startSignal = new CountDownLatch( 1 );
+        List<Future<?>> results = new ArrayList<>();
+
+        try ( ExecutorService executor = Executors.newFixedThreadPool( threads ) ) {
+            for ( int i = 0; i < tasks; i++ ) {
+                int taskIndex = i;
+
+                results.add( executor.submit( () -> {
+                    startSignal.await();
+                    task.accept( taskIndex );
+                    return null;
+                } ) );
+            }
+
+            startSignal.countDown();
+
+            for ( Future<?> result : results ) {
+                result.get( 120, TimeUnit.SECONDS );
+            }
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package org.eventbuddy.backend.services;
+
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.InventoryLogCheckpoint;
+import org.eventbuddy.backend.models.event.TicketsChangedEvent;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryInventoryServiceTest {
+
+    private static final DataSize LOG_SIZE = DataSize.ofKilobytes( 64 );
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private DtoCacheService dtoCache = new DtoCacheService( 100, Duration.ofMinutes( 10 ) );
+
+    @TempDir
+    Path root;
+
+    private Path logPath;
+
+    private Event flashSale;
+
+    @BeforeEach
+    void setUp() {
+        logPath = root.resolve( "inventory.wal" );
+
+        flashSale = Event.builder()
+                .id( "event-1" )
+                .title( "Ticket Drop" )
+                .eventDateTime( Instant.now().plus( 10, ChronoUnit.DAYS ) )
+                .maxTicketCapacity( 100 )
+                .freeTicketCapacity( 100 )
+                .bookedTicketsCount( 0 )
+                .flashSale( true )
+                .build();
+    }
+
+    @Test
+    @DisplayName("Never oversells under concurrent bookings and writes the counters once per flush")
+    void reserveTickets_shouldNotOversellConcurrently() throws Exception {
+        InMemoryInventoryService inventory = start( true, LOG_SIZE, flashSale );
+        AtomicInteger reserved = new AtomicInteger();
+        List<Future<?>> results = new ArrayList<>();
+
+        try ( ExecutorService executor = Executors.newFixedThreadPool( 16 ) ) {
+            for ( int i = 0; i < 300; i++ ) {
+                results.add( executor.submit( () -> inventory.reserveTickets( flashSale, 1 )
+                        .ifPresent( event -> reserved.incrementAndGet() ) ) );
+            }
+
+            for ( Future<?> result : results ) {
+                result.get( 30, TimeUnit.SECONDS );
+            }
+        }
+
+        inventory.flush();
+        inventory.flush();
+
+        ArgumentCaptor<InventoryLogCheckpoint> checkpoint = ArgumentCaptor.forClass( InventoryLogCheckpoint.class );
+
+        assertEquals( 100, reserved.get() );
+        assertTrue( inventory.reserveTickets( flashSale, 1 ).isEmpty() );
+        verify( eventRepository ).writeTicketCounts( eq( "event-1" ), eq( 100 ), eq( 0 ), eq( 100 ), checkpoint.capture() );
+        assertEquals( 100, checkpoint.getValue().sequence() );
+        verify( dtoCache ).evictEvent( "event-1" );
+        verify( eventPublisher ).publishEvent( new TicketsChangedEvent( "event-1" ) );
+    }
+
+    @Test
+    @DisplayName("Returns the event with the counters held in memory")
+    void reserveTickets_shouldReturnCountersInMemory() {
+        InMemoryInventoryService inventory = start( true, LOG_SIZE, flashSale );
+
+        inventory.reserveTickets( flashSale, 60 );
+        inventory.releaseTickets( "event-1", 10 );
+
+        Event reservedEvent = inventory.reserveTickets( flashSale, 50 ).orElseThrow();
+
+        assertEquals( 0, reservedEvent.getFreeTicketCapacity() );
+        assertEquals( 100, reservedEvent.getBookedTicketsCount() );
+        assertTrue( reservedEvent.getIsSoldOut() );
+        assertEquals( 3, reservedEvent.getInventoryLogCheckpoint().sequence() );
+        verify( eventRepository, never() ).writeTicketCounts( any(), anyInt(), anyInt(), anyInt(), any() );
+    }
+
+    @Test
+    @DisplayName("Changes the capacity in memory and refuses to go below the booked tickets")
+    void changeCapacity_shouldNotGoBelowBookedTickets() {
+        InMemoryInventoryService inventory = start( true, LOG_SIZE, flashSale );
+
+        inventory.reserveTickets( flashSale, 30 );
+
+        assertThatThrownBy( () -> inventory.changeCapacity( flashSale, 20 ) )
+                .isInstanceOf( IllegalArgumentException.class )
+                .hasMessage( "Max ticket capacity cannot be less than already booked tickets: 30" );
+        assertThatThrownBy( () -> inventory.changeCapacity( flashSale, null ) )
+                .isInstanceOf( IllegalArgumentException.class );
+
+        Event changedEvent = inventory.changeCapacity( flashSale, 150 );
+
+        assertEquals( 150, changedEvent.getMaxTicketCapacity() );
+        assertEquals( 120, changedEvent.getFreeTicketCapacity() );
+        assertEquals( 30, changedEvent.getBookedTicketsCount() );
+        assertEquals( 2, changedEvent.getInventoryLogCheckpoint().sequence() );
+    }
+
+    @Test
+    @DisplayName("Replays the records the document doesn't include yet after a crash")
+    void start_shouldReplayRecordsNotWrittenBeforeCrash() {
+        InMemoryInventoryService crashedInventory = start( true, LOG_SIZE, flashSale );
+
+        crashedInventory.reserveTickets( flashSale, 5 );
+        crashedInventory.flush();
+        crashedInventory.reserveTickets( flashSale, 3 );
+        crashedInventory.releaseTickets( "event-1", 1 );
+        crashedInventory.changeCapacity( flashSale, 120 );
+
+        ArgumentCaptor<InventoryLogCheckpoint> writtenCheckpoint = ArgumentCaptor.forClass( InventoryLogCheckpoint.class );
+        verify( eventRepository ).writeTicketCounts( eq( "event-1" ), eq( 100 ), eq( 95 ), eq( 5 ), writtenCheckpoint.capture() );
+
+        // the document as the only flush before the crash left it
+        when( eventRepository.findById( "event-1" ) ).thenReturn( Optional.of( flashSale.toBuilder()
+                .freeTicketCapacity( 95 )
+                .bookedTicketsCount( 5 )
+                .inventoryLogCheckpoint( writtenCheckpoint.getValue() )
+                .build() ) );
+
+        InMemoryInventoryService restartedInventory = start( true, LOG_SIZE );
+
+        verify( eventRepository ).writeTicketCounts( "event-1", 120, 113, 7,
+                new InventoryLogCheckpoint( writtenCheckpoint.getValue().logId(), 4 ) );
+        assertFalse( restartedInventory.manages( "event-1" ) );
+    }
+
+    @Test
+    @DisplayName("Replays all records when the checkpoint of the document is from an older log")
+    void start_shouldReplayAllRecordsOfCheckpointFromOlderLog() {
+        InMemoryInventoryService crashedInventory = start( true, LOG_SIZE, flashSale );
+
+        crashedInventory.reserveTickets( flashSale, 2 );
+        crashedInventory.reserveTickets( flashSale, 4 );
+
+        when( eventRepository.findById( "event-1" ) ).thenReturn( Optional.of( flashSale.toBuilder()
+                .inventoryLogCheckpoint( new InventoryLogCheckpoint( "older-log", 99 ) )
+                .build() ) );
+
+        start( true, LOG_SIZE );
+
+        verify( eventRepository ).writeTicketCounts( eq( "event-1" ), eq( 100 ), eq( 94 ), eq( 6 ),
+                argThat( checkpoint -> checkpoint.sequence() == 2 && !checkpoint.logId().equals( "older-log" ) ) );
+    }
+
+    @Test
+    @DisplayName("Empties the log once it is half full and starts the sequence numbers over")
+    void flush_shouldEmptyLogOnceHalfFull() {
+        InMemoryInventoryService inventory = start( true, DataSize.ofBytes( 1024 ), flashSale );
+
+        // 33 bytes per record after the 16 bytes of the header
+        for ( int i = 0; i < 16; i++ ) {
+            inventory.reserveTickets( flashSale, 1 );
+        }
+
+        inventory.flush();
+
+        ArgumentCaptor<InventoryLogCheckpoint> checkpoint = ArgumentCaptor.forClass( InventoryLogCheckpoint.class );
+        verify( eventRepository ).writeTicketCounts( eq( "event-1" ), eq( 100 ), eq( 84 ), eq( 16 ), checkpoint.capture() );
+        assertEquals( 16, checkpoint.getValue().sequence() );
+
+        Event reservedEvent = inventory.reserveTickets( flashSale, 1 ).orElseThrow();
+
+        assertEquals( 1, reservedEvent.getInventoryLogCheckpoint().sequence() );
+        assertNotEquals( checkpoint.getValue().logId(), reservedEvent.getInventoryLogCheckpoint().logId() );
+    }
+
+    @Test
+    @DisplayName("Empties a full log itself when the bookings outrun the flush")
+    void reserveTickets_shouldEmptyFullLogWithoutFlush() {
+        InMemoryInventoryService inventory = start( true, DataSize.ofBytes( 1024 ), flashSale );
+
+        // 30 records fit into the log, the 31st booking empties it
+        for ( int i = 0; i < 40; i++ ) {
+            assertTrue( inventory.reserveTickets( flashSale, 1 ).isPresent() );
+        }
+
+        verify( eventRepository ).writeTicketCounts( eq( "event-1" ), eq( 100 ), eq( 70 ), eq( 30 ),
+                argThat( checkpoint -> checkpoint.sequence() == 30 ) );
+        assertEquals( 11, inventory.reserveTickets( flashSale, 1 ).orElseThrow().getInventoryLogCheckpoint().sequence() );
+    }
+
+    @Test
+    @DisplayName("Lets a rotation wait for a running flush, so the flush never overwrites the counters it wrote")
+    void flush_shouldNotOverwriteCountersOfConcurrentRotation() throws Exception {
+        InMemoryInventoryService inventory = start( true, DataSize.ofBytes( 1024 ), flashSale );
+        CountDownLatch flushWriting = new CountDownLatch( 1 );
+        CountDownLatch flushReleased = new CountDownLatch( 1 );
+        AtomicInteger writtenFree = new AtomicInteger();
+        AtomicLong writtenSequence = new AtomicLong();
+
+        for ( int i = 0; i < 5; i++ ) {
+            inventory.reserveTickets( flashSale, 1 );
+        }
+
+        // the first write, the one of the flush, stalls on the database before it lands in the document
+        doAnswer( invocation -> {
+            if ( flushWriting.getCount() > 0 ) {
+                flushWriting.countDown();
+                flushReleased.await( 30, TimeUnit.SECONDS );
+            }
+
+            writtenFree.set( invocation.getArgument( 2 ) );
+            writtenSequence.set( invocation.<InventoryLogCheckpoint> getArgument( 4 ).sequence() );
+            return null;
+        } ).when( eventRepository ).writeTicketCounts( any(), anyInt(), anyInt(), anyInt(), any() );
+
+        try ( ExecutorService executor = Executors.newFixedThreadPool( 2 ) ) {
+            Future<?> flush = executor.submit( inventory::flush );
+            assertTrue( flushWriting.await( 30, TimeUnit.SECONDS ) );
+
+            // 30 records fit into the log, the last booking runs it full and empties it meanwhile
+            Future<?> bookings = executor.submit( () -> {
+                for ( int i = 0; i < 26; i++ ) {
+                    inventory.reserveTickets( flashSale, 1 );
+                }
+            } );
+
+            // gives the booking the time to empty the log before the flush lands, unless it waits for the flush
+            Thread.sleep( 200 );
+            flushReleased.countDown();
+            flush.get( 30, TimeUnit.SECONDS );
+            bookings.get( 30, TimeUnit.SECONDS );
+        }
+
+        assertEquals( 70, writtenFree.get() );
+        assertEquals( 30, writtenSequence.get() );
+
+        inventory.flush();
+
+        assertEquals( 69, writtenFree.get() );
+        assertEquals( 1, writtenSequence.get() );
+    }
+
+    @Test
+    @DisplayName("Replays and removes a log left over while the in-memory inventory is turned off")
+    void start_shouldRemoveLeftoverLogWhenDisabled() {
+        InMemoryInventoryService crashedInventory = start( true, LOG_SIZE, flashSale );
+
+        crashedInventory.reserveTickets( flashSale, 2 );
+
+        when( eventRepository.findById( "event-1" ) ).thenReturn( Optional.of( flashSale ) );
+
+        InMemoryInventoryService disabledInventory = start( false, LOG_SIZE );
+        disabledInventory.register( flashSale );
+
+        verify( eventRepository ).writeTicketCounts( eq( "event-1" ), eq( 100 ), eq( 98 ), eq( 2 ), any() );
+        assertFalse( Files.exists( logPath ) );
+        assertFalse( disabledInventory.manages( "event-1" ) );
+    }
+
+    @Test
+    @DisplayName("Keeps events that aren't flash sales or have no capacity out of memory")
+    void register_shouldSkipEventsNotCountedInMemory() {
+        InMemoryInventoryService inventory = start( true, LOG_SIZE );
+
+        inventory.register( flashSale.toBuilder().id( "event-2" ).flashSale( null ).build() );
+        inventory.register( flashSale.toBuilder().id( "event-3" ).maxTicketCapacity( null ).freeTicketCapacity( null ).build() );
+        inventory.register( flashSale );
+
+        assertFalse( inventory.manages( "event-2" ) );
+        assertFalse( inventory.manages( "event-3" ) );
+        assertTrue( inventory.manages( "event-1" ) );
+    }
+
+    private InMemoryInventoryService start( boolean enabled, DataSize logSize, Event... upcomingFlashSales ) {
+        InMemoryInventoryService inventory = new InMemoryInventoryService( eventRepository, dtoCache, eventPublisher,
+                enabled, logPath, logSize );
+
+        if ( enabled ) {
+            when( eventRepository.findAllByFlashSaleTrueAndEventDateTimeAfter( any() ) ).thenReturn( List.of( upcomingFlashSales ) );
+        }
+
+        try {
+            inventory.start();
+        } catch ( Exception e ) {
+            throw new IllegalStateException( e );
+        }
+
+        return inventory;
+    }
+}
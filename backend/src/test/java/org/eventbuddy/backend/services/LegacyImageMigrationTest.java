@@ -0,0 +1,92 @@
+package org.eventbuddy.backend.services;
+
+import org.bson.BsonBinarySubType;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.eventbuddy.backend.TestcontainersConfiguration;
+import org.eventbuddy.backend.models.image.Image;
+import org.eventbuddy.backend.repos.ImageStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class LegacyImageMigrationTest {
+
+    @Autowired
+    ImageMigrationService imageMigrationService;
+
+    @Autowired
+    ImageStore imageStore;
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        imageStore.deleteAll();
+        mongoTemplate.dropCollection( ImageMigrationService.LEGACY_COLLECTION );
+    }
+
+    @Test
+    @DisplayName("Should move legacy images into the image store and keep their ids")
+    void migrateLegacyImages_movesImagesWithSameId() throws IOException {
+        ObjectId legacyImageId = new ObjectId();
+        byte[] imageData = "legacy image".getBytes();
+
+        insertLegacyImage( legacyImageId, imageData, "image/png" );
+
+        int migratedImages = imageMigrationService.migrateLegacyImages();
+
+        assertEquals( 1, migratedImages );
+        assertFalse( mongoTemplate.collectionExists( ImageMigrationService.LEGACY_COLLECTION ) );
+
+        Image migratedImage = imageStore.findById( legacyImageId.toHexString() ).orElseThrow();
+
+        assertEquals( "image/png", migratedImage.getContentType() );
+        assertEquals( imageData.length, migratedImage.getContentLength() );
+        assertNotNull( migratedImage.getContentHash() );
+        assertArrayEquals( imageData, migratedImage.getContent().getContentAsByteArray() );
+    }
+
+    @Test
+    @DisplayName("Should skip images already in the store when resumed")
+    void migrateLegacyImages_skipsAlreadyMovedImages() throws IOException {
+        ObjectId legacyImageId = new ObjectId();
+        byte[] movedImageData = "already moved".getBytes();
+
+        imageStore.save( legacyImageId.toHexString(), new ByteArrayInputStream( movedImageData ), "image/jpeg" );
+        insertLegacyImage( legacyImageId, "legacy image".getBytes(), "image/jpeg" );
+
+        int migratedImages = imageMigrationService.migrateLegacyImages();
+
+        assertEquals( 1, migratedImages );
+
+        Image storedImage = imageStore.findById( legacyImageId.toHexString() ).orElseThrow();
+
+        assertArrayEquals( movedImageData, storedImage.getContent().getContentAsByteArray() );
+    }
+
+    @Test
+    @DisplayName("Should do nothing without legacy images")
+    void migrateLegacyImages_doesNothingWithoutLegacyCollection() {
+        assertEquals( 0, imageMigrationService.migrateLegacyImages() );
+    }
+
+    private void insertLegacyImage( ObjectId imageId, byte[] imageData, String contentType ) {
+        mongoTemplate.getCollection( ImageMigrationService.LEGACY_COLLECTION ).insertOne( new Document( "_id", imageId )
+                .append( "contentType", contentType )
+                .append( "imageData", new Binary( BsonBinarySubType.BINARY, imageData ) ) );
+    }
+}
@@ -5,7 +5,7 @@ import org.eventbuddy.backend.exceptions.ResourceNotFoundException;
 import org.eventbuddy.backend.models.app_user.AppUser;
 import org.eventbuddy.backend.models.app_user.AppUserDto;
 import org.eventbuddy.backend.models.app_user.UserSettings;
-import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.TicketsChangedEvent;
 import org.eventbuddy.backend.models.organization.*;
 import org.eventbuddy.backend.repos.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,8 +14,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -36,13 +39,17 @@ class OrganizationServiceTest {
     UserRepository mockUserRepo;
 
     @Mock
-    EventRepository mockEventRepo;
+    ImageStore mockImageStore;
 
     @Mock
-    ImageRepository mockImageRepo;
+    ApplicationEventPublisher eventPublisher;
 
     @Mock
-    BookingRepository mockBookingRepo;
+    InMemoryInventoryService inMemoryInventory;
+
+    // real cache, so cached reads and evictions are part of the tested behaviour
+    @Spy
+    DtoCacheService dtoCache = new DtoCacheService( 100, Duration.ofMinutes( 10 ) );
 
     @InjectMocks
     OrganizationService organizationService;
@@ -225,6 +232,41 @@ class OrganizationServiceTest {
         verify( mockUserRepo ).findAllById( exampleOrga.getOwners() );
     }
 
+    @Test
+    @DisplayName("Should serve repeated requests of a slug from the cache")
+    void getOrganizationDtoBySlug_shouldServeRepeatedRequestsFromCache() {
+        String givenSlug = "exampleSlug";
+
+        when( mockOrgaRepo.findBySlug( givenSlug ) ).thenReturn( Optional.of( exampleOrga ) );
+        when( mockUserRepo.findAllById( exampleOrga.getOwners() ) ).thenReturn( List.of( exampleUser ) );
+
+        organizationService.getOrganizationDtoBySlug( givenSlug );
+        organizationService.getOrganizationDtoBySlug( givenSlug );
+
+        verify( mockOrgaRepo, times( 1 ) ).findBySlug( givenSlug );
+    }
+
+    @Test
+    @DisplayName("Should reload organization after owner was added")
+    void getOrganizationDtoBySlug_shouldReloadAfterOwnerAdded() {
+        String givenSlug = "exampleSlug";
+        AppUser newOwner = exampleUser.toBuilder()
+                .id( "newOwnerId" )
+                .build();
+
+        when( mockOrgaRepo.findBySlug( givenSlug ) ).thenReturn( Optional.of( exampleOrga ) );
+        when( mockUserRepo.findAllById( any() ) ).thenReturn( List.of( exampleUser ) );
+        when( mockOrgaRepo.findById( exampleOrga.getId() ) ).thenReturn( Optional.of( exampleOrga ) );
+        when( mockUserRepo.findById( newOwner.getId() ) ).thenReturn( Optional.of( newOwner ) );
+
+        organizationService.getOrganizationDtoBySlug( givenSlug );
+        organizationService.addOwnerToOrganization( exampleOrga.getId(), newOwner.getId() );
+        organizationService.getOrganizationDtoBySlug( givenSlug );
+
+        verify( mockOrgaRepo, times( 2 ) ).findBySlug( givenSlug );
+        verify( dtoCache ).evictUser( newOwner.getId() );
+    }
+
     @Test
     @DisplayName("Should throw when orga not found")
     void getOrganizationDtoBySlug_shouldThrowWhenOrgaNotFound() {
@@ -294,6 +336,26 @@ class OrganizationServiceTest {
         assertEquals( actualUpdatedOrga, updatedOrganization );
         verify( mockOrgaRepo ).findById( orgaIdToUpdate );
         verify( mockOrgaRepo ).save( updatedOrganization );
+        verify( eventPublisher ).publishEvent( new OrganizationSummaryChangedEvent( orgaIdToUpdate ) );
+    }
+
+    @Test
+    @DisplayName("Should leave the events alone when their summary of the organization stays the same")
+    void updateOrganization_shouldNotTouchEventsWithoutSummaryChange() {
+        String orgaIdToUpdate = "exampleOrgaId";
+
+        OrganizationRequestDto updatedOrga = OrganizationRequestDto.builder()
+                .name( exampleOrga.getName() )
+                .location( exampleOrga.getLocation() )
+                .description( "updatedDescription" )
+                .build();
+
+        when( mockOrgaRepo.findById( orgaIdToUpdate ) ).thenReturn( Optional.of( exampleOrga ) );
+        when( mockOrgaRepo.save( any( Organization.class ) ) ).thenAnswer( invocation -> invocation.getArgument( 0 ) );
+
+        organizationService.updateOrganization( orgaIdToUpdate, updatedOrga );
+
+        verify( eventPublisher, never() ).publishEvent( any( OrganizationSummaryChangedEvent.class ) );
     }
 
     @Test
@@ -515,36 +577,47 @@ class OrganizationServiceTest {
     }
 
     @Test
-    @DisplayName("Should return true when organization deleted")
-    void deleteOrganizationById_shouldReturnTrueWhenDeleted() {
+    @DisplayName("Should delete organization with its events, bookings and images in one cascade")
+    void deleteOrganizationById_shouldDeleteCascade() {
         String orgaIdToDelete = "exampleOrgaId";
 
-        AppUser modifiedExampleUser = exampleUser.toBuilder()
-                .organizations( Set.of() )
-                .build();
-
-        Event exampleEvent = Event.builder()
-                .id( "exampleEventId" )
-                .imageId( "exampleEventImageId" )
-                .eventOrganization( exampleOrga )
+        OrganizationDeletion deletion = OrganizationDeletion.builder()
+                .eventIds( List.of( "exampleEventId", "otherEventId" ) )
+                .imageIds( List.of( exampleOrga.getImageId(), "exampleEventImageId" ) )
+                .deletedOrganizations( 1 )
+                .deletedEvents( 2 )
+                .deletedBookings( 7 )
+                .updatedUsers( 1 )
                 .build();
 
         when( mockOrgaRepo.findById( orgaIdToDelete ) ).thenReturn( Optional.of( exampleOrga ) );
-        when( mockUserRepo.findById( "exampleOwnerId" ) ).thenReturn( Optional.of( exampleUser ) );
-        when( mockUserRepo.save( modifiedExampleUser ) ).thenReturn( modifiedExampleUser );
-        when( mockEventRepo.findAll() ).thenReturn( List.of( exampleEvent ) );
-
-        organizationService.deleteOrganizationById( orgaIdToDelete );
-
-        verify( mockBookingRepo ).deleteAllByEvent( any( Event.class ) );
-        verify( mockOrgaRepo ).findById( orgaIdToDelete );
-        verify( mockOrgaRepo ).deleteById( orgaIdToDelete );
-        verify( mockEventRepo ).findAll();
-        verify( mockEventRepo ).deleteById( "exampleEventId" );
-        verify( mockImageRepo ).deleteById( exampleOrga.getImageId() );
-        verify( mockImageRepo ).deleteById( "exampleEventImageId" );
-        verify( mockUserRepo ).findById( "exampleOwnerId" );
-        verify( mockUserRepo ).save( modifiedExampleUser );
+        when( mockOrgaRepo.deleteCascade( orgaIdToDelete ) ).thenReturn( deletion );
+
+        OrganizationDeletion result = organizationService.deleteOrganizationById( orgaIdToDelete );
+
+        assertEquals( deletion, result );
+        verify( mockOrgaRepo ).deleteCascade( orgaIdToDelete );
+        verify( mockImageStore ).deleteAllById( List.of( exampleOrga.getImageId(), "exampleEventImageId" ) );
+        verify( dtoCache ).evictOrganization( orgaIdToDelete );
+        verify( eventPublisher ).publishEvent( new TicketsChangedEvent( "exampleEventId" ) );
+        verify( eventPublisher ).publishEvent( new TicketsChangedEvent( "otherEventId" ) );
+        verify( inMemoryInventory ).remove( "exampleEventId" );
+        verify( inMemoryInventory ).remove( "otherEventId" );
+        verifyNoInteractions( mockUserRepo );
+        verify( mockOrgaRepo, never() ).deleteById( anyString() );
+    }
+
+    @Test
+    @DisplayName("Should throw 404 and delete nothing when organization does not exist")
+    void deleteOrganizationById_shouldThrowWhenNotFound() {
+        when( mockOrgaRepo.findById( "missingOrgaId" ) ).thenReturn( Optional.empty() );
+
+        assertThatThrownBy( () -> organizationService.deleteOrganizationById( "missingOrgaId" ) )
+                .isInstanceOf( ResourceNotFoundException.class )
+                .hasMessage( "Organization not found with id: missingOrgaId" );
+
+        verify( mockOrgaRepo, never() ).deleteCascade( anyString() );
+        verifyNoInteractions( mockImageStore, inMemoryInventory );
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,219 @@
+package org.eventbuddy.backend.services;
+
+import org.bson.Document;
+import org.eventbuddy.backend.TestcontainersConfiguration;
+import org.eventbuddy.backend.exceptions.SoldOutException;
+import org.eventbuddy.backend.models.booking.BookingRequestDto;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventRequestDto;
+import org.eventbuddy.backend.models.event.InventoryShard;
+import org.eventbuddy.backend.models.organization.Location;
+import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.repos.BookingRepository;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.eventbuddy.backend.repos.InventoryShardRepository;
+import org.eventbuddy.backend.repos.OrganizationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// small events get sharded here, so a few hundred bookings are enough to run the shards dry
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = { "booking.inventory.shards=8", "booking.inventory.sharding-min-capacity=100" })
+class ShardedInventoryConcurrencyTest {
+
+    private static final int TICKET_CAPACITY = 200;
+    private static final int CONCURRENT_REQUESTS = 600;
+
+    @Autowired
+    BookingService bookingService;
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    EventRepository eventRepo;
+
+    @Autowired
+    BookingRepository bookingRepo;
+
+    @Autowired
+    InventoryShardRepository inventoryShardRepo;
+
+    @Autowired
+    OrganizationRepository organizationRepo;
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    Event testEvent;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepo.deleteAll();
+        inventoryShardRepo.deleteAll();
+        eventRepo.deleteAll();
+        organizationRepo.deleteAll();
+
+        Location testLocation = Location.builder()
+                .address( "Example Street 1" )
+                .city( "Example City" )
+                .zipCode( "12345" )
+                .country( "Example Country" )
+                .build();
+
+        Organization testOrganization = organizationRepo.save( Organization.builder()
+                .name( "Stress Test Organization" )
+                .owners( Set.of( "owner-1" ) )
+                .location( testLocation )
+                .build() );
+
+        testEvent = eventService.createEvent( EventRequestDto.builder()
+                .organizationId( testOrganization.getId() )
+                .title( "Stadium Ticket Drop" )
+                .eventDateTime( Instant.now().plus( 10, ChronoUnit.DAYS ) )
+                .location( testLocation )
+                .price( 10.0 )
+                .maxTicketCapacity( TICKET_CAPACITY )
+                .build(), null );
+    }
+
+    @Test
+    @DisplayName("Never oversells a sharded event under concurrent bookings and leaves its document untouched")
+    void makeBooking_shouldNotOversellShardedEvent() throws Exception {
+        AtomicInteger successfulBookings = new AtomicInteger();
+        AtomicInteger soldOutRejections = new AtomicInteger();
+
+        assertEquals( 8, testEvent.getInventoryShards() );
+        assertEquals( 8, inventoryShardRepo.count() );
+
+        runConcurrently( 64, CONCURRENT_REQUESTS, i -> {
+            try {
+                bookingService.makeBooking( bookingRequest( i, 1 ) );
+                successfulBookings.incrementAndGet();
+            } catch ( SoldOutException e ) {
+                soldOutRejections.incrementAndGet();
+            }
+        } );
+
+        Event soldOutEvent = eventRepo.findWithTicketCountsById( testEvent.getId() ).orElseThrow();
+
+        assertEquals( TICKET_CAPACITY, successfulBookings.get() );
+        assertEquals( CONCURRENT_REQUESTS - TICKET_CAPACITY, soldOutRejections.get() );
+        assertEquals( TICKET_CAPACITY, bookingRepo.count() );
+        assertEquals( 0, soldOutEvent.getFreeTicketCapacity() );
+        assertEquals( TICKET_CAPACITY, soldOutEvent.getBookedTicketsCount() );
+        assertTrue( inventoryShardRepo.findAll().stream().allMatch( shard -> shard.getFreeTickets() == 0 ) );
+
+        // the counters on the event document itself were never written
+        Document rawEvent = mongoTemplate.findById( testEvent.getId(), Document.class, "events" );
+        assertEquals( 0, rawEvent.getInteger( "bookedTicketsCount" ) );
+    }
+
+    @Test
+    @DisplayName("Books the tickets left over on several shards together")
+    void makeBooking_shouldSpillOverToOtherShards() throws Exception {
+        AtomicInteger bookedTickets = new AtomicInteger();
+
+        // 25 tickets per shard don't divide by 3, every shard ends up with a ticket no single booking fits
+        runConcurrently( 64, CONCURRENT_REQUESTS, i -> {
+            try {
+                bookingService.makeBooking( bookingRequest( i, 3 ) );
+                bookedTickets.addAndGet( 3 );
+            } catch ( SoldOutException e ) {
+                // sold out or the left over tickets were just taken by others
+            }
+        } );
+
+        int userIndex = CONCURRENT_REQUESTS;
+
+        try {
+            while ( true ) {
+                bookingService.makeBooking( bookingRequest( userIndex++, 3 ) );
+                bookedTickets.addAndGet( 3 );
+            }
+        } catch ( SoldOutException e ) {
+            // no 3 tickets left on all shards together
+        }
+
+        int freeTickets = inventoryShardRepo.findAll().stream().mapToInt( InventoryShard::getFreeTickets ).sum();
+        Event shardedEvent = eventRepo.findWithTicketCountsById( testEvent.getId() ).orElseThrow();
+
+        assertEquals( TICKET_CAPACITY % 3, freeTickets );
+        assertEquals( TICKET_CAPACITY - TICKET_CAPACITY % 3, bookedTickets.get() );
+        assertEquals( freeTickets, shardedEvent.getFreeTicketCapacity() );
+        assertEquals( bookedTickets.get(), shardedEvent.getBookedTicketsCount() );
+    }
+
+    @Test
+    @DisplayName("Gives the tickets of a sharded event back when bookings are cancelled concurrently")
+    void deleteBookingById_shouldReleaseEachBookingOnceToTheShards() throws Exception {
+        List<String> bookingIds = new ArrayList<>();
+
+        for ( int i = 0; i < TICKET_CAPACITY; i++ ) {
+            bookingIds.add( bookingService.makeBooking( bookingRequest( i, 1 ) ).bookingId() );
+        }
+
+        // every booking is cancelled twice at the same time
+        runConcurrently( 32, bookingIds.size() * 2, i -> {
+            try {
+                bookingService.deleteBookingById( bookingIds.get( i / 2 ) );
+            } catch ( RuntimeException e ) {
+                // the slower request may not find the booking anymore
+            }
+        } );
+
+        Event releasedEvent = eventRepo.findWithTicketCountsById( testEvent.getId() ).orElseThrow();
+
+        assertEquals( 0, bookingRepo.count() );
+        assertEquals( TICKET_CAPACITY, releasedEvent.getFreeTicketCapacity() );
+        assertEquals( 0, releasedEvent.getBookedTicketsCount() );
+    }
+
+    private BookingRequestDto bookingRequest( int i, int numberOfTickets ) {
+        return BookingRequestDto.builder()
+                .eventId( testEvent.getId() )
+                .userId( "user-" + i )
+                .name( "Guest " + i )
+                .numberOfTickets( numberOfTickets )
+                .build();
+    }
+
+    private void runConcurrently( int threads, int tasks, IntConsumer task ) throws Exception {
+        CountDownLatch startSignal = new CountDownLatch( 1 );
+        List<Future<?>> results = new ArrayList<>();
+
+        try ( ExecutorService executor = Executors.newFixedThreadPool( threads ) ) {
+            for ( int i = 0; i < tasks; i++ ) {
+                int taskIndex = i;
+
+                results.add( executor.submit( () -> {
+                    startSignal.await();
+                    task.accept( taskIndex );
+                    return null;
+                } ) );
+            }
+
+            startSignal.countDown();
+
+            for ( Future<?> result : results ) {
+                result.get( 120, TimeUnit.SECONDS );
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package org.eventbuddy.backend.services;
+
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventSummary;
+import org.eventbuddy.backend.models.event.EventSummaryChangedEvent;
+import org.eventbuddy.backend.models.event.PendingSummaryChange;
+import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.models.organization.OrganizationSummary;
+import org.eventbuddy.backend.models.organization.OrganizationSummaryChangedEvent;
+import org.eventbuddy.backend.repos.BookingRepository;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.eventbuddy.backend.repos.OrganizationRepository;
+import org.eventbuddy.backend.repos.PendingSummaryChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SnapshotPropagationServiceTest {
+
+    @Mock
+    OrganizationRepository organizationRepo;
+
+    @Mock
+    EventRepository eventRepo;
+
+    @Mock
+    BookingRepository bookingRepo;
+
+    @Mock
+    PendingSummaryChangeRepository pendingChangeRepo;
+
+    @InjectMocks
+    SnapshotPropagationService snapshotPropagationService;
+
+    Organization exampleOrganization;
+
+    Event exampleEvent;
+
+    @BeforeEach
+    void setUp() {
+        exampleOrganization = Organization.builder()
+                .id( "exampleOrgId" )
+                .name( "Jazz Club" )
+                .slug( "jazz-club" )
+                .build();
+
+        exampleEvent = Event.builder()
+                .id( "exampleEventId" )
+                .title( "Jazz Night" )
+                .eventDateTime( Instant.parse( "2030-01-01T20:00:00Z" ) )
+                .organizationSummary( OrganizationSummary.of( exampleOrganization ) )
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should update events and bookings once for a burst of changes of one organization")
+    void propagateChanges_updatesOrganizationSummaryOnce() {
+        when( organizationRepo.findAllById( List.of( "exampleOrgId" ) ) ).thenReturn( List.of( exampleOrganization ) );
+
+        snapshotPropagationService.onOrganizationSummaryChanged( new OrganizationSummaryChangedEvent( "exampleOrgId" ) );
+        snapshotPropagationService.onOrganizationSummaryChanged( new OrganizationSummaryChangedEvent( "exampleOrgId" ) );
+        snapshotPropagationService.propagateChanges();
+        snapshotPropagationService.propagateChanges();
+
+        verify( eventRepo, times( 1 ) ).updateOrganizationSummary( OrganizationSummary.of( exampleOrganization ) );
+        verify( bookingRepo, times( 1 ) ).updateOrganizationSummary( OrganizationSummary.of( exampleOrganization ) );
+    }
+
+    @Test
+    @DisplayName("Should mark a change in the database until it is propagated")
+    void propagateChanges_clearsMarkOfPropagatedChange() {
+        when( organizationRepo.findAllById( List.of( "exampleOrgId" ) ) ).thenReturn( List.of( exampleOrganization ) );
+
+        snapshotPropagationService.onOrganizationSummaryChanged( new OrganizationSummaryChangedEvent( "exampleOrgId" ) );
+
+        ArgumentCaptor<PendingSummaryChange> markCaptor = ArgumentCaptor.forClass( PendingSummaryChange.class );
+        verify( pendingChangeRepo ).save( markCaptor.capture() );
+        assertEquals( "ORGANIZATION:exampleOrgId", markCaptor.getValue().getId() );
+
+        snapshotPropagationService.propagateChanges();
+
+        verify( pendingChangeRepo ).deleteByIdInAndChangedAtLessThanEqual( eq( List.of( "ORGANIZATION:exampleOrgId" ) ), any() );
+    }
+
+    @Test
+    @DisplayName("Should resume the changes left pending on shutdown")
+    void resumePendingChanges_propagatesMarkedChanges() {
+        when( pendingChangeRepo.findAll() ).thenReturn( List.of(
+                PendingSummaryChange.of( PendingSummaryChange.Type.ORGANIZATION, "exampleOrgId", Instant.now() ),
+                PendingSummaryChange.of( PendingSummaryChange.Type.EVENT, "exampleEventId", Instant.now() ) ) );
+        when( organizationRepo.findAllById( List.of( "exampleOrgId" ) ) ).thenReturn( List.of( exampleOrganization ) );
+        when( eventRepo.findSummaryFieldsByIds( List.of( "exampleEventId" ) ) ).thenReturn( List.of( exampleEvent ) );
+
+        snapshotPropagationService.resumePendingChanges();
+        snapshotPropagationService.propagateChanges();
+
+        verify( eventRepo ).updateOrganizationSummary( OrganizationSummary.of( exampleOrganization ) );
+        verify( bookingRepo ).updateEventSummaries( List.of( EventSummary.of( exampleEvent ) ) );
+    }
+
+    @Test
+    @DisplayName("Should update the bookings of changed events and leave events without organization summary to the backfill")
+    void propagateChanges_updatesEventSummaries() {
+        Event unsummarizedEvent = exampleEvent.toBuilder()
+                .id( "unsummarizedEventId" )
+                .organizationSummary( null )
+                .build();
+
+        when( eventRepo.findSummaryFieldsByIds( any() ) ).thenReturn( List.of( exampleEvent, unsummarizedEvent ) );
+
+        snapshotPropagationService.onEventSummaryChanged( new EventSummaryChangedEvent( "exampleEventId" ) );
+        snapshotPropagationService.onEventSummaryChanged( new EventSummaryChangedEvent( "unsummarizedEventId" ) );
+        snapshotPropagationService.propagateChanges();
+
+        verify( bookingRepo ).updateEventSummaries( List.of( EventSummary.of( exampleEvent ) ) );
+        verifyNoInteractions( organizationRepo );
+    }
+
+    @Test
+    @DisplayName("Should retry a failed propagation with the next run")
+    void propagateChanges_retriesAfterFailure() {
+        when( organizationRepo.findAllById( List.of( "exampleOrgId" ) ) ).thenReturn( List.of( exampleOrganization ) );
+        when( eventRepo.updateOrganizationSummary( any() ) )
+                .thenThrow( new DataAccessResourceFailureException( "timed out" ) )
+                .thenReturn( 1L );
+
+        snapshotPropagationService.onOrganizationSummaryChanged( new OrganizationSummaryChangedEvent( "exampleOrgId" ) );
+        snapshotPropagationService.propagateChanges();
+        snapshotPropagationService.propagateChanges();
+
+        verify( eventRepo, times( 2 ) ).updateOrganizationSummary( OrganizationSummary.of( exampleOrganization ) );
+        verify( bookingRepo, times( 1 ) ).updateOrganizationSummary( OrganizationSummary.of( exampleOrganization ) );
+        // only cleared once the retry went through
+        verify( pendingChangeRepo, times( 1 ) ).deleteByIdInAndChangedAtLessThanEqual( any(), any() );
+    }
+
+    @Test
+    @DisplayName("Should do nothing without changes")
+    void propagateChanges_withoutChanges() {
+        snapshotPropagationService.propagateChanges();
+
+        verifyNoInteractions( organizationRepo, eventRepo, bookingRepo, pendingChangeRepo );
+    }
+}
@@ -0,0 +1,94 @@
+package org.eventbuddy.backend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eventbuddy.backend.exceptions.ResourceNotFoundException;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.TicketsChangedEvent;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketAvailabilityServiceTest {
+
+    @Mock
+    EventRepository eventRepo;
+
+    TicketAvailabilityService ticketAvailabilityService;
+
+    Event event;
+
+    @BeforeEach
+    void setUp() {
+        // sends run on the calling thread
+        ticketAvailabilityService = new TicketAvailabilityService( eventRepo, new ObjectMapper(), Runnable::run, Duration.ofMinutes( 1 ) );
+
+        event = Event.builder()
+                .id( "event-1" )
+                .maxTicketCapacity( 100 )
+                .freeTicketCapacity( 10 )
+                .bookedTicketsCount( 90 )
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should register a subscriber of an existing event")
+    void subscribe_shouldRegisterSubscriber() {
+        when( eventRepo.findTicketCountsByIds( List.of( "event-1" ) ) ).thenReturn( List.of( event ) );
+
+        ticketAvailabilityService.subscribe( "event-1" );
+        ticketAvailabilityService.subscribe( "event-1" );
+
+        assertEquals( 2, ticketAvailabilityService.getSubscriberCount() );
+    }
+
+    @Test
+    @DisplayName("Should throw 404 and keep no subscriber when the event does not exist")
+    void subscribe_shouldThrowWhenEventNotFound() {
+        when( eventRepo.findTicketCountsByIds( List.of( "missing" ) ) ).thenReturn( List.of() );
+
+        assertThatThrownBy( () -> ticketAvailabilityService.subscribe( "missing" ) )
+                .isInstanceOf( ResourceNotFoundException.class )
+                .hasMessage( "Event not found with id: missing" );
+
+        assertEquals( 0, ticketAvailabilityService.getSubscriberCount() );
+    }
+
+    @Test
+    @DisplayName("Should read the counters once per window no matter how many bookings came in")
+    void publishChanges_shouldCoalesceChanges() {
+        when( eventRepo.findTicketCountsByIds( List.of( "event-1" ) ) ).thenReturn( List.of( event ) );
+        ticketAvailabilityService.subscribe( "event-1" );
+
+        for ( int i = 0; i < 50; i++ ) {
+            ticketAvailabilityService.onTicketsChanged( new TicketsChangedEvent( "event-1" ) );
+        }
+
+        ticketAvailabilityService.publishChanges();
+        ticketAvailabilityService.publishChanges();
+
+        // one read for the initial state on subscribe, one for the whole burst
+        verify( eventRepo, times( 2 ) ).findTicketCountsByIds( List.of( "event-1" ) );
+    }
+
+    @Test
+    @DisplayName("Should ignore changes of events nobody subscribed to")
+    void publishChanges_shouldIgnoreEventsWithoutSubscribers() {
+        ticketAvailabilityService.onTicketsChanged( new TicketsChangedEvent( "event-1" ) );
+
+        ticketAvailabilityService.publishChanges();
+
+        verifyNoInteractions( eventRepo );
+    }
+}
@@ -0,0 +1,197 @@
+package org.eventbuddy.backend.services;
+
+import org.eventbuddy.backend.TestcontainersConfiguration;
+import org.eventbuddy.backend.enums.HoldStatus;
+import org.eventbuddy.backend.exceptions.SoldOutException;
+import org.eventbuddy.backend.models.booking.TicketHold;
+import org.eventbuddy.backend.models.booking.TicketHoldDto;
+import org.eventbuddy.backend.models.booking.TicketHoldRequestDto;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.organization.Location;
+import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.repos.BookingRepository;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.eventbuddy.backend.repos.OrganizationRepository;
+import org.eventbuddy.backend.repos.TicketHoldRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// holds expire after a second, the scheduled sweep is kept out of the way and run by the tests themselves
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = { "booking.hold.duration=1s", "booking.hold.sweep-interval=1h" })
+class TicketHoldConcurrencyTest {
+
+    private static final int TICKET_CAPACITY = 1000;
+    private static final int CONCURRENT_HOLDS = 3000;
+
+    @Autowired
+    TicketHoldService ticketHoldService;
+
+    @Autowired
+    TicketHoldRepository holdRepo;
+
+    @Autowired
+    EventRepository eventRepo;
+
+    @Autowired
+    BookingRepository bookingRepo;
+
+    @Autowired
+    OrganizationRepository organizationRepo;
+
+    Event testEvent;
+
+    @BeforeEach
+    void setUp() {
+        holdRepo.deleteAll();
+        bookingRepo.deleteAll();
+        eventRepo.deleteAll();
+        organizationRepo.deleteAll();
+
+        Location testLocation = Location.builder()
+                .address( "Example Street 1" )
+                .city( "Example City" )
+                .zipCode( "12345" )
+                .country( "Example Country" )
+                .build();
+
+        Organization testOrganization = organizationRepo.save( Organization.builder()
+                .name( "Stress Test Organization" )
+                .owners( Set.of( "owner-1" ) )
+                .location( testLocation )
+                .build() );
+
+        testEvent = eventRepo.save( Event.builder()
+                .title( "Ticket Drop" )
+                .eventOrganization( testOrganization )
+                .eventDateTime( Instant.now().plus( 10, ChronoUnit.DAYS ) )
+                .location( testLocation )
+                .price( 10.0 )
+                .maxTicketCapacity( TICKET_CAPACITY )
+                .freeTicketCapacity( TICKET_CAPACITY )
+                .bookedTicketsCount( 0 )
+                .ticketAlarm( false )
+                .isSoldOut( false )
+                .build() );
+    }
+
+    @Test
+    @DisplayName("Never oversells under concurrent holds and gets every ticket back once they expire")
+    void holdTickets_shouldNotOversellAndReleaseAllExpiredHolds() throws Exception {
+        AtomicInteger heldTickets = new AtomicInteger();
+        AtomicInteger soldOutRejections = new AtomicInteger();
+
+        runConcurrently( 64, CONCURRENT_HOLDS, i -> {
+            try {
+                ticketHoldService.holdTickets( holdRequest( i ) );
+                heldTickets.incrementAndGet();
+            } catch ( SoldOutException e ) {
+                soldOutRejections.incrementAndGet();
+            }
+        } );
+
+        Event soldOutEvent = eventRepo.findById( testEvent.getId() ).orElseThrow();
+
+        assertEquals( TICKET_CAPACITY, heldTickets.get() );
+        assertEquals( CONCURRENT_HOLDS - TICKET_CAPACITY, soldOutRejections.get() );
+        assertEquals( 0, soldOutEvent.getFreeTicketCapacity() );
+        assertTrue( soldOutEvent.getIsSoldOut() );
+
+        awaitExpiry();
+
+        // several sweepers at once, as with more than one instance of the app
+        runConcurrently( 8, 8, i -> ticketHoldService.releaseExpiredHolds() );
+
+        Event releasedEvent = eventRepo.findById( testEvent.getId() ).orElseThrow();
+
+        assertEquals( TICKET_CAPACITY, releasedEvent.getFreeTicketCapacity() );
+        assertEquals( 0, releasedEvent.getBookedTicketsCount() );
+        assertFalse( releasedEvent.getIsSoldOut() );
+        assertEquals( TICKET_CAPACITY, holdRepo.findAll().stream()
+                .filter( hold -> hold.getStatus() == HoldStatus.RELEASED )
+                .count() );
+        assertEquals( 0, bookingRepo.count() );
+    }
+
+    @Test
+    @DisplayName("Gives the tickets of each hold back once when users release them while the sweeper runs")
+    void releaseHold_shouldNotReleaseTwiceWhileSweeping() throws Exception {
+        List<String> holdIds = new ArrayList<>();
+
+        for ( int i = 0; i < TICKET_CAPACITY / 2; i++ ) {
+            TicketHoldDto hold = ticketHoldService.holdTickets( holdRequest( i ) );
+            holdIds.add( hold.holdId() );
+        }
+
+        awaitExpiry();
+
+        runConcurrently( 64, holdIds.size() + 8, i -> {
+            if ( i < holdIds.size() ) {
+                ticketHoldService.releaseHold( holdIds.get( i ) );
+            } else {
+                ticketHoldService.releaseExpiredHolds();
+            }
+        } );
+
+        Event releasedEvent = eventRepo.findById( testEvent.getId() ).orElseThrow();
+
+        assertEquals( TICKET_CAPACITY, releasedEvent.getFreeTicketCapacity() );
+        assertEquals( 0, releasedEvent.getBookedTicketsCount() );
+        assertTrue( holdRepo.findAll().stream().map( TicketHold::getStatus ).allMatch( HoldStatus.RELEASED::equals ) );
+    }
+
+    private TicketHoldRequestDto holdRequest( int i ) {
+        return TicketHoldRequestDto.builder()
+                .eventId( testEvent.getId() )
+                .userId( "user-" + i )
+                .numberOfTickets( 1 )
+                .build();
+    }
+
+    private void awaitExpiry() throws InterruptedException {
+        Instant lastExpiry = holdRepo.findAll().stream()
+                .map( TicketHold::getExpiresAt )
+                .max( Instant::compareTo )
+                .orElseThrow();
+
+        Thread.sleep( Math.max( 0, lastExpiry.toEpochMilli() - System.currentTimeMillis() ) + 50 );
+    }
+
+    private void runConcurrently( int threads, int tasks, IntConsumer task ) throws Exception {
+        CountDownLatch startSignal = new CountDownLatch( 1 );
+        List<Future<?>> results = new ArrayList<>();
+
+        try ( ExecutorService executor = Executors.newFixedThreadPool( threads ) ) {
+            for ( int i = 0; i < tasks; i++ ) {
+                int taskIndex = i;
+
+                results.add( executor.submit( () -> {
+                    startSignal.await();
+                    task.accept( taskIndex );
+                    return null;
+                } ) );
+            }
+
+            startSignal.countDown();
+
+            for ( Future<?> result : results ) {
+                result.get( 120, TimeUnit.SECONDS );
+            }
+        }
+    }
+}
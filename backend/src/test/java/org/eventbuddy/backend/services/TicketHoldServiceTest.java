@@ -0,0 +1,275 @@
+package org.eventbuddy.backend.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eventbuddy.backend.enums.HoldStatus;
+import org.eventbuddy.backend.exceptions.ResourceNotFoundException;
+import org.eventbuddy.backend.exceptions.SoldOutException;
+import org.eventbuddy.backend.models.booking.Booking;
+import org.eventbuddy.backend.models.booking.BookingResponseDto;
+import org.eventbuddy.backend.models.booking.TicketHold;
+import org.eventbuddy.backend.models.booking.TicketHoldConfirmationDto;
+import org.eventbuddy.backend.models.booking.TicketHoldDto;
+import org.eventbuddy.backend.models.booking.TicketHoldRequestDto;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.eventbuddy.backend.repos.TicketHoldRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketHoldServiceTest {
+
+    private static final Duration HOLD_DURATION = Duration.ofMinutes( 10 );
+
+    @Mock
+    private TicketHoldRepository holdRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private BookingService bookingService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TicketHoldService ticketHoldService;
+
+    private Event testEvent;
+    private TicketHoldRequestDto ticketHoldRequestDto;
+    private TicketHold testHold;
+
+    @BeforeEach
+    void setUp() {
+        ticketHoldService = new TicketHoldService( holdRepository, eventRepository, bookingService,
+                new BookingMetrics( meterRegistry ), HOLD_DURATION );
+
+        testEvent = Event.builder()
+                .id( "event-1" )
+                .title( "Test Event" )
+                .maxTicketCapacity( 100 )
+                .freeTicketCapacity( 45 )
+                .bookedTicketsCount( 55 )
+                .eventDateTime( Instant.now().plus( 12, ChronoUnit.DAYS ) )
+                .build();
+
+        ticketHoldRequestDto = TicketHoldRequestDto.builder()
+                .eventId( "event-1" )
+                .userId( "user-1" )
+                .numberOfTickets( 5 )
+                .build();
+
+        testHold = TicketHold.builder()
+                .id( "hold-1" )
+                .eventId( "event-1" )
+                .userId( "user-1" )
+                .numberOfTickets( 5 )
+                .status( HoldStatus.HELD )
+                .expiresAt( Instant.now().plus( HOLD_DURATION ) )
+                .build();
+    }
+
+    // === holdTickets ===
+
+    @Test
+    @DisplayName("Reserves the tickets and stores a hold expiring after the hold duration")
+    void holdTickets_shouldReserveAndStoreHold() {
+        when( bookingService.reserveTickets( "event-1", "user-1", 5 ) ).thenReturn( testEvent );
+        when( holdRepository.insert( any( TicketHold.class ) ) ).thenAnswer( invocation ->
+                ( ( TicketHold ) invocation.getArgument( 0 ) ).toBuilder().id( "hold-1" ).build() );
+
+        Instant before = Instant.now();
+        TicketHoldDto result = ticketHoldService.holdTickets( ticketHoldRequestDto );
+
+        assertEquals( "hold-1", result.holdId() );
+        assertEquals( "event-1", result.eventId() );
+        assertEquals( 5, result.numberOfTickets() );
+        assertFalse( result.expiresAt().isBefore( before.plus( HOLD_DURATION ) ) );
+
+        ArgumentCaptor<TicketHold> holdCaptor = ArgumentCaptor.forClass( TicketHold.class );
+        verify( holdRepository ).insert( holdCaptor.capture() );
+        assertEquals( HoldStatus.HELD, holdCaptor.getValue().getStatus() );
+        assertEquals( "user-1", holdCaptor.getValue().getUserId() );
+        assertEquals( 1, meterRegistry.get( "bookings" ).tag( "outcome", "held" ).counter().count() );
+    }
+
+    @Test
+    @DisplayName("Stores no hold when the tickets cannot be reserved")
+    void holdTickets_shouldNotStoreHoldWhenSoldOut() {
+        when( bookingService.reserveTickets( "event-1", "user-1", 5 ) ).thenThrow( new SoldOutException( "sold out" ) );
+
+        assertThrows( SoldOutException.class, () -> ticketHoldService.holdTickets( ticketHoldRequestDto ) );
+
+        verify( holdRepository, never() ).insert( any( TicketHold.class ) );
+    }
+
+    @Test
+    @DisplayName("Gives the tickets back when the hold cannot be stored")
+    void holdTickets_shouldReleaseTicketsWhenHoldInsertFails() {
+        when( bookingService.reserveTickets( "event-1", "user-1", 5 ) ).thenReturn( testEvent );
+        when( holdRepository.insert( any( TicketHold.class ) ) ).thenThrow( new RuntimeException( "write failed" ) );
+
+        assertThrows( RuntimeException.class, () -> ticketHoldService.holdTickets( ticketHoldRequestDto ) );
+
+        verify( bookingService ).releaseTickets( "event-1", 5 );
+    }
+
+    @Test
+    @DisplayName("Gives the tickets back and throws 409 when the user opened another hold concurrently")
+    void holdTickets_shouldReleaseTicketsWhenUserHoldsTicketsAlready() {
+        when( bookingService.reserveTickets( "event-1", "user-1", 5 ) ).thenReturn( testEvent );
+        when( holdRepository.insert( any( TicketHold.class ) ) ).thenThrow( new DuplicateKeyException( "userId_eventId_held" ) );
+
+        IllegalStateException exception = assertThrows( IllegalStateException.class, () ->
+                ticketHoldService.holdTickets( ticketHoldRequestDto ) );
+
+        assertEquals( BookingService.ALREADY_HELD_MESSAGE, exception.getMessage() );
+        verify( bookingService ).releaseTickets( "event-1", 5 );
+    }
+
+    // === confirmHold ===
+
+    @Test
+    @DisplayName("Turns a confirmed hold into a booking of its tickets")
+    void confirmHold_shouldSaveBooking() {
+        BookingResponseDto bookingResponseDto = BookingResponseDto.builder().bookingId( "booking-1" ).build();
+
+        when( holdRepository.confirm( eq( "hold-1" ), any( Instant.class ) ) ).thenReturn( Optional.of( testHold ) );
+        when( eventRepository.findById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
+        when( bookingService.saveReservedBooking( any( Booking.class ) ) ).thenAnswer( invocation -> invocation.getArgument( 0 ) );
+        when( bookingService.bookingToBookingResponseDto( any( Booking.class ) ) ).thenReturn( bookingResponseDto );
+
+        BookingResponseDto result = ticketHoldService.confirmHold( "hold-1", new TicketHoldConfirmationDto( "John Doe" ) );
+
+        assertEquals( bookingResponseDto, result );
+
+        ArgumentCaptor<Booking> bookingCaptor = ArgumentCaptor.forClass( Booking.class );
+        verify( bookingService ).saveReservedBooking( bookingCaptor.capture() );
+        assertEquals( "John Doe", bookingCaptor.getValue().getName() );
+        assertEquals( 5, bookingCaptor.getValue().getNumberOfTickets() );
+        assertEquals( "user-1", bookingCaptor.getValue().getUserId() );
+        assertEquals( testEvent, bookingCaptor.getValue().getEvent() );
+        // the tickets were reserved with the hold
+        verify( bookingService, never() ).reserveTickets( anyString(), anyString(), anyInt() );
+    }
+
+    @Test
+    @DisplayName("Throws 409 when the hold expired")
+    void confirmHold_shouldThrowWhenExpired() {
+        when( holdRepository.confirm( eq( "hold-1" ), any( Instant.class ) ) ).thenReturn( Optional.empty() );
+        when( holdRepository.findById( "hold-1" ) ).thenReturn( Optional.of( testHold.toBuilder().status( HoldStatus.RELEASED ).build() ) );
+
+        IllegalStateException exception = assertThrows( IllegalStateException.class, () ->
+                ticketHoldService.confirmHold( "hold-1", new TicketHoldConfirmationDto( "John Doe" ) ) );
+
+        assertTrue( exception.getMessage().contains( "expired" ) );
+        verify( bookingService, never() ).saveReservedBooking( any( Booking.class ) );
+    }
+
+    @Test
+    @DisplayName("Throws 409 when the hold is already confirmed")
+    void confirmHold_shouldThrowWhenAlreadyConfirmed() {
+        when( holdRepository.confirm( eq( "hold-1" ), any( Instant.class ) ) ).thenReturn( Optional.empty() );
+        when( holdRepository.findById( "hold-1" ) ).thenReturn( Optional.of( testHold.toBuilder().status( HoldStatus.CONFIRMED ).build() ) );
+
+        IllegalStateException exception = assertThrows( IllegalStateException.class, () ->
+                ticketHoldService.confirmHold( "hold-1", new TicketHoldConfirmationDto( "John Doe" ) ) );
+
+        assertEquals( "This ticket hold is already confirmed.", exception.getMessage() );
+    }
+
+    @Test
+    @DisplayName("Throws 404 when the hold does not exist")
+    void confirmHold_shouldThrowWhenNotFound() {
+        when( holdRepository.confirm( eq( "hold-1" ), any( Instant.class ) ) ).thenReturn( Optional.empty() );
+        when( holdRepository.findById( "hold-1" ) ).thenReturn( Optional.empty() );
+
+        assertThrows( ResourceNotFoundException.class, () ->
+                ticketHoldService.confirmHold( "hold-1", new TicketHoldConfirmationDto( "John Doe" ) ) );
+    }
+
+    @Test
+    @DisplayName("Releases the hold when its booking cannot be saved")
+    void confirmHold_shouldReleaseHoldWhenBookingFails() {
+        when( holdRepository.confirm( eq( "hold-1" ), any( Instant.class ) ) ).thenReturn( Optional.of( testHold ) );
+        when( eventRepository.findById( "event-1" ) ).thenReturn( Optional.of( testEvent ) );
+        when( bookingService.saveReservedBooking( any( Booking.class ) ) )
+                .thenThrow( new IllegalStateException( "You cannot book the same event more than once." ) );
+
+        assertThrows( IllegalStateException.class, () ->
+                ticketHoldService.confirmHold( "hold-1", new TicketHoldConfirmationDto( "John Doe" ) ) );
+
+        ArgumentCaptor<TicketHold> holdCaptor = ArgumentCaptor.forClass( TicketHold.class );
+        verify( holdRepository ).save( holdCaptor.capture() );
+        assertEquals( HoldStatus.RELEASED, holdCaptor.getValue().getStatus() );
+    }
+
+    // === releaseHold ===
+
+    @Test
+    @DisplayName("Gives the tickets of a released hold back")
+    void releaseHold_shouldReleaseTickets() {
+        when( holdRepository.release( eq( "hold-1" ), any( Instant.class ) ) ).thenReturn( Optional.of( testHold ) );
+
+        ticketHoldService.releaseHold( "hold-1" );
+
+        verify( bookingService ).releaseTickets( "event-1", 5 );
+    }
+
+    @Test
+    @DisplayName("Does not give tickets back twice when the hold was already closed")
+    void releaseHold_shouldNotReleaseClosedHold() {
+        when( holdRepository.release( eq( "hold-1" ), any( Instant.class ) ) ).thenReturn( Optional.empty() );
+
+        ticketHoldService.releaseHold( "hold-1" );
+
+        verify( bookingService, never() ).releaseTickets( anyString(), anyInt() );
+    }
+
+    // === releaseExpiredHolds ===
+
+    @Test
+    @DisplayName("Releases expired holds in batches with one ticket update per event")
+    void releaseExpiredHolds_shouldReleaseTicketsPerEvent() {
+        TicketHold otherEventHold = testHold.toBuilder().id( "hold-3" ).eventId( "event-2" ).numberOfTickets( 1 ).build();
+
+        when( holdRepository.releaseExpired( any( Instant.class ), eq( TicketHoldService.SWEEP_BATCH_SIZE ) ) )
+                .thenReturn( List.of( testHold, testHold.toBuilder().id( "hold-2" ).numberOfTickets( 2 ).build(), otherEventHold ),
+                        List.of( testHold.toBuilder().id( "hold-4" ).numberOfTickets( 3 ).build() ),
+                        List.of() );
+
+        ticketHoldService.releaseExpiredHolds();
+
+        verify( bookingService ).releaseTickets( "event-1", 7 );
+        verify( bookingService ).releaseTickets( "event-2", 1 );
+        verify( bookingService ).releaseTickets( "event-1", 3 );
+        verify( holdRepository, times( 3 ) ).releaseExpired( any( Instant.class ), anyInt() );
+        assertEquals( 4, meterRegistry.get( "bookings.holds.expired" ).counter().count() );
+    }
+
+    @Test
+    @DisplayName("Does nothing without expired holds")
+    void releaseExpiredHolds_shouldDoNothingWithoutExpiredHolds() {
+        when( holdRepository.releaseExpired( any( Instant.class ), anyInt() ) ).thenReturn( List.of() );
+
+        ticketHoldService.releaseExpiredHolds();
+
+        verify( bookingService, never() ).releaseTickets( anyString(), anyInt() );
+        assertEquals( 0, meterRegistry.get( "bookings.holds.expired" ).counter().count() );
+    }
+}
@@ -0,0 +1,254 @@
+package org.eventbuddy.backend.services;
+
+import org.eventbuddy.backend.TestcontainersConfiguration;
+import org.eventbuddy.backend.exceptions.SoldOutException;
+import org.eventbuddy.backend.models.booking.Booking;
+import org.eventbuddy.backend.models.booking.BookingRequestDto;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.EventRequestDto;
+import org.eventbuddy.backend.models.organization.Location;
+import org.eventbuddy.backend.models.organization.Organization;
+import org.eventbuddy.backend.repos.BookingRepository;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.eventbuddy.backend.repos.OrganizationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the leases are settled and swept by the tests themselves, the scheduled runs are kept out of the way
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = {
+        "booking.ticket-leasing.enabled=true",
+        "booking.ticket-leasing.lease-size=10",
+        "booking.ticket-leasing.sell-out-threshold=20",
+        "booking.ticket-leasing.duration=3h",
+        "booking.ticket-leasing.settle-interval=1h",
+        "booking.ticket-leasing.sweep-interval=1h"
+})
+class TicketLeaseConcurrencyTest {
+
+    private static final int TICKET_CAPACITY = 200;
+    private static final int CONCURRENT_REQUESTS = 600;
+
+    @Autowired
+    BookingService bookingService;
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    TicketLeaseService ticketLeases;
+
+    @Autowired
+    EventRepository eventRepo;
+
+    @Autowired
+    BookingRepository bookingRepo;
+
+    @Autowired
+    OrganizationRepository organizationRepo;
+
+    @Autowired
+    DtoCacheService dtoCache;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    BookingMetrics bookingMetrics;
+
+    Event testEvent;
+
+    EventRequestDto testEventRequest;
+
+    @BeforeEach
+    void setUp() {
+        // leases left over from the previous test would point to its deleted event
+        ticketLeases.returnLeases();
+
+        bookingRepo.deleteAll();
+        eventRepo.deleteAll();
+        organizationRepo.deleteAll();
+
+        Location testLocation = Location.builder()
+                .address( "Example Street 1" )
+                .city( "Example City" )
+                .zipCode( "12345" )
+                .country( "Example Country" )
+                .build();
+
+        Organization testOrganization = organizationRepo.save( Organization.builder()
+                .name( "Stress Test Organization" )
+                .owners( Set.of( "owner-1" ) )
+                .location( testLocation )
+                .build() );
+
+        testEventRequest = EventRequestDto.builder()
+                .organizationId( testOrganization.getId() )
+                .title( "Stress Test Event" )
+                .eventDateTime( Instant.now().plus( 10, ChronoUnit.DAYS ) )
+                .location( testLocation )
+                .price( 10.0 )
+                .maxTicketCapacity( TICKET_CAPACITY )
+                .build();
+
+        testEvent = eventService.createEvent( testEventRequest, null );
+    }
+
+    @Test
+    @DisplayName("Never oversells when booking from leases and counts every ticket once the leases are settled")
+    void makeBooking_shouldNotOversellFromLeases() throws Exception {
+        AtomicInteger successfulBookings = new AtomicInteger();
+        AtomicInteger soldOutRejections = new AtomicInteger();
+
+        runConcurrently( 64, CONCURRENT_REQUESTS, i -> {
+            try {
+                bookingService.makeBooking( bookingRequest( i, 1 ) );
+                successfulBookings.incrementAndGet();
+            } catch ( SoldOutException e ) {
+                soldOutRejections.incrementAndGet();
+            }
+        } );
+
+        ticketLeases.settleLeases();
+
+        Event soldOutEvent = eventRepo.findById( testEvent.getId() ).orElseThrow();
+
+        assertEquals( TICKET_CAPACITY, successfulBookings.get() );
+        assertEquals( CONCURRENT_REQUESTS - TICKET_CAPACITY, soldOutRejections.get() );
+        assertEquals( TICKET_CAPACITY, bookingRepo.count() );
+        assertEquals( 0, soldOutEvent.getFreeTicketCapacity() );
+        assertEquals( TICKET_CAPACITY, soldOutEvent.getBookedTicketsCount() );
+        assertEquals( 0, soldOutEvent.getLeasedTickets() );
+        assertTrue( soldOutEvent.getTicketLeases().isEmpty() );
+        assertTrue( soldOutEvent.getIsSoldOut() );
+
+        // only the tickets below the sell-out threshold were booked on the document
+        assertTrue( bookingRepo.findAll().stream().filter( booking -> booking.getTicketLeaseId() != null ).count()
+                >= TICKET_CAPACITY - 20 );
+    }
+
+    @Test
+    @DisplayName("Reclaims the lease of a crashed instance and counts its bookings and cancellations")
+    void reclaimExpiredLeases_shouldCountBookingsOfCrashedInstance() {
+        TicketLeaseService crashedInstance = new TicketLeaseService( eventRepo, bookingRepo, dtoCache, eventPublisher,
+                bookingMetrics, true, 10, 20, Duration.ofSeconds( 30 ), Duration.ofSeconds( 1 ) );
+
+        List<String> bookingIds = new ArrayList<>();
+
+        for ( int i = 0; i < 7; i++ ) {
+            String leaseId = crashedInstance.reserveTickets( testEvent, 1 ).orElseThrow();
+
+            bookingIds.add( bookingRepo.save( Booking.builder()
+                    .userId( "user-" + i )
+                    .name( "Guest " + i )
+                    .numberOfTickets( 1 )
+                    .event( testEvent )
+                    .ticketLeaseId( leaseId )
+                    .build() ).getId() );
+
+            if ( i == 3 ) {
+                crashedInstance.settleLeases();
+            }
+        }
+
+        // cancelled while the lease is still on the event, so counted on the lease
+        bookingService.deleteBookingById( bookingIds.getFirst() );
+
+        Event leasedEvent = eventRepo.findById( testEvent.getId() ).orElseThrow();
+
+        assertEquals( 197, leasedEvent.getFreeTicketCapacity() );
+        assertEquals( 6, leasedEvent.getLeasedTickets() );
+
+        // the crashed instance never settles or returns its lease again, the sweep runs a lease duration after its expiry
+        ticketLeases.reclaimExpiredLeases( Instant.now().plus( 4, ChronoUnit.HOURS ) );
+
+        Event reclaimedEvent = eventRepo.findById( testEvent.getId() ).orElseThrow();
+
+        assertEquals( 194, reclaimedEvent.getFreeTicketCapacity() );
+        assertEquals( 6, reclaimedEvent.getBookedTicketsCount() );
+        assertEquals( 0, reclaimedEvent.getLeasedTickets() );
+        assertTrue( reclaimedEvent.getTicketLeases().isEmpty() );
+        assertEquals( 6, bookingRepo.count() );
+    }
+
+    @Test
+    @DisplayName("Keeps the lease of an event edited between its bookings and their settlement")
+    void updateEvent_shouldKeepTicketLeaseToSettle() {
+        for ( int i = 0; i < 5; i++ ) {
+            bookingService.makeBooking( bookingRequest( i, 1 ) );
+        }
+
+        eventService.updateEvent( testEvent.getId(), testEventRequest.toBuilder()
+                .title( "Edited Stress Test Event" )
+                .maxTicketCapacity( TICKET_CAPACITY + 50 )
+                .build() );
+
+        Event editedEvent = eventRepo.findById( testEvent.getId() ).orElseThrow();
+
+        assertEquals( "Edited Stress Test Event", editedEvent.getTitle() );
+        assertEquals( TICKET_CAPACITY + 50, editedEvent.getFreeTicketCapacity() );
+        assertEquals( 10, editedEvent.getLeasedTickets() );
+        assertEquals( 1, editedEvent.getTicketLeases().size() );
+
+        ticketLeases.settleLeases();
+
+        Event settledEvent = eventRepo.findById( testEvent.getId() ).orElseThrow();
+
+        assertEquals( "Edited Stress Test Event", settledEvent.getTitle() );
+        assertEquals( TICKET_CAPACITY + 50, settledEvent.getMaxTicketCapacity() );
+        assertEquals( TICKET_CAPACITY + 50 - 5, settledEvent.getFreeTicketCapacity() );
+        assertEquals( 5, settledEvent.getBookedTicketsCount() );
+        assertEquals( 5, settledEvent.getLeasedTickets() );
+        assertEquals( 5, settledEvent.getTicketLeases().getFirst().settledTickets() );
+        assertEquals( 5, bookingRepo.count() );
+    }
+
+    private BookingRequestDto bookingRequest( int i, int numberOfTickets ) {
+        return BookingRequestDto.builder()
+                .eventId( testEvent.getId() )
+                .userId( "user-" + i )
+                .name( "Guest " + i )
+                .numberOfTickets( numberOfTickets )
+                .build();
+    }
+
+    private void runConcurrently( int threads, int tasks, IntConsumer task ) throws Exception {
+        CountDownLatch startSignal = new CountDownLatch( 1 );
+        List<Future<?>> results = new ArrayList<>();
+
+        try ( ExecutorService executor = Executors.newFixedThreadPool( threads ) ) {
+            for ( int i = 0; i < tasks; i++ ) {
+                int taskIndex = i;
+
+                results.add( executor.submit( () -> {
+                    startSignal.await();
+                    task.accept( taskIndex );
+                    return null;
+                } ) );
+            }
+
+            startSignal.countDown();
+
+            for ( Future<?> result : results ) {
+                result.get( 120, TimeUnit.SECONDS );
+            }
+        }
+    }
+}
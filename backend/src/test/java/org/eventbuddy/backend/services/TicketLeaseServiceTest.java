@@ -0,0 +1,240 @@
+package org.eventbuddy.backend.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.TicketLease;
+import org.eventbuddy.backend.models.event.TicketsChangedEvent;
+import org.eventbuddy.backend.repos.BookingRepository;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketLeaseServiceTest {
+
+    private static final Duration LEASE_DURATION = Duration.ofSeconds( 30 );
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private DtoCacheService dtoCache = new DtoCacheService( 100, Duration.ofMinutes( 10 ) );
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TicketLeaseService ticketLeases;
+
+    private Event testEvent;
+
+    @BeforeEach
+    void setUp() {
+        ticketLeases = ticketLeases( true );
+
+        testEvent = Event.builder()
+                .id( "event-1" )
+                .title( "Test Event" )
+                .eventDateTime( Instant.now().plus( 10, ChronoUnit.DAYS ) )
+                .maxTicketCapacity( 1000 )
+                .freeTicketCapacity( 500 )
+                .bookedTicketsCount( 500 )
+                .build();
+    }
+
+    @Test
+    @DisplayName("Leases a block of tickets once and books the following bookings from it")
+    void reserveTickets_shouldLeaseOnceAndBookFromLease() {
+        when( eventRepository.leaseTickets( eq( "event-1" ), any(), eq( 20 ) ) ).thenReturn( Optional.of( testEvent ) );
+
+        String leaseId = ticketLeases.reserveTickets( testEvent, 2 ).orElseThrow();
+
+        assertEquals( Optional.of( leaseId ), ticketLeases.reserveTickets( testEvent, 3 ) );
+
+        ArgumentCaptor<TicketLease> lease = ArgumentCaptor.forClass( TicketLease.class );
+        verify( eventRepository ).leaseTickets( eq( "event-1" ), lease.capture(), eq( 20 ) );
+        assertEquals( leaseId, lease.getValue().leaseId() );
+        assertEquals( 10, lease.getValue().tickets() );
+        verify( eventRepository, never() ).reserveTickets( anyString(), anyInt() );
+    }
+
+    @Test
+    @DisplayName("Returns a lease without enough tickets left with its bookings and leases a new one")
+    void reserveTickets_shouldEndLeaseWithTooFewTicketsLeft() {
+        when( eventRepository.leaseTickets( eq( "event-1" ), any(), eq( 20 ) ) ).thenReturn( Optional.of( testEvent ) );
+        when( eventRepository.endTicketLease( eq( "event-1" ), anyString(), eq( 10 ), eq( 6 ) ) ).thenReturn( Optional.of( testEvent ) );
+
+        String firstLeaseId = ticketLeases.reserveTickets( testEvent, 6 ).orElseThrow();
+        String secondLeaseId = ticketLeases.reserveTickets( testEvent, 6 ).orElseThrow();
+
+        assertNotEquals( firstLeaseId, secondLeaseId );
+        verify( eventRepository ).endTicketLease( "event-1", firstLeaseId, 10, 6 );
+        verify( eventRepository, times( 2 ) ).leaseTickets( eq( "event-1" ), any(), eq( 20 ) );
+        verify( eventPublisher ).publishEvent( new TicketsChangedEvent( "event-1" ) );
+    }
+
+    @Test
+    @DisplayName("Books on the document near the sell-out and for a settle interval after a refused lease")
+    void reserveTickets_shouldNotLeaseNearSellOutOrRightAfterRefusal() {
+        Event nearSellOut = testEvent.toBuilder().freeTicketCapacity( 20 ).build();
+
+        assertTrue( ticketLeases.reserveTickets( nearSellOut, 1 ).isEmpty() );
+        verify( eventRepository, never() ).leaseTickets( any(), any(), anyInt() );
+
+        when( eventRepository.leaseTickets( eq( "event-1" ), any(), eq( 20 ) ) ).thenReturn( Optional.empty() );
+
+        assertTrue( ticketLeases.reserveTickets( testEvent, 1 ).isEmpty() );
+        assertTrue( ticketLeases.reserveTickets( testEvent, 1 ).isEmpty() );
+        verify( eventRepository, times( 1 ) ).leaseTickets( eq( "event-1" ), any(), eq( 20 ) );
+    }
+
+    @Test
+    @DisplayName("Leaves events without capacity, sharded events, flash sales and large bookings to the document")
+    void reserveTickets_shouldSkipEventsNotLeased() {
+        assertTrue( ticketLeases.reserveTickets( testEvent.toBuilder().maxTicketCapacity( null ).build(), 1 ).isEmpty() );
+        assertTrue( ticketLeases.reserveTickets( testEvent.toBuilder().inventoryShards( 4 ).build(), 1 ).isEmpty() );
+        assertTrue( ticketLeases.reserveTickets( testEvent.toBuilder().flashSale( true ).build(), 1 ).isEmpty() );
+        assertTrue( ticketLeases.reserveTickets( testEvent, 11 ).isEmpty() );
+        assertTrue( ticketLeases( false ).reserveTickets( testEvent, 1 ).isEmpty() );
+
+        verifyNoInteractions( eventRepository );
+    }
+
+    @Test
+    @DisplayName("Settles the booked tickets on the event and extends the lease")
+    void settleLeases_shouldSettleBookedTickets() {
+        when( eventRepository.leaseTickets( eq( "event-1" ), any(), eq( 20 ) ) ).thenReturn( Optional.of( testEvent ) );
+        when( eventRepository.settleTicketLease( eq( "event-1" ), anyString(), eq( 3 ), any() ) )
+                .thenReturn( Optional.of( testEvent.toBuilder().freeTicketCapacity( 497 ).build() ) );
+
+        String leaseId = ticketLeases.reserveTickets( testEvent, 3 ).orElseThrow();
+
+        Instant beforeSettle = Instant.now();
+        ticketLeases.settleLeases();
+
+        ArgumentCaptor<Instant> expiresAt = ArgumentCaptor.forClass( Instant.class );
+        verify( eventRepository ).settleTicketLease( eq( "event-1" ), eq( leaseId ), eq( 3 ), expiresAt.capture() );
+        assertFalse( expiresAt.getValue().isBefore( beforeSettle.plus( LEASE_DURATION ) ) );
+        verify( dtoCache ).evictEvent( "event-1" );
+        verify( eventPublisher ).publishEvent( new TicketsChangedEvent( "event-1" ) );
+
+        // the lease goes on with the 7 tickets left
+        assertEquals( Optional.of( leaseId ), ticketLeases.reserveTickets( testEvent, 7 ) );
+        verify( eventRepository, never() ).endTicketLease( any(), any(), anyInt(), anyInt() );
+    }
+
+    @Test
+    @DisplayName("Returns the lease once the settled event is down to the sell-out threshold")
+    void settleLeases_shouldEndLeaseWhenSettledEventIsNearSellOut() {
+        when( eventRepository.leaseTickets( eq( "event-1" ), any(), eq( 20 ) ) ).thenReturn( Optional.of( testEvent ) );
+        when( eventRepository.settleTicketLease( eq( "event-1" ), anyString(), eq( 4 ), any() ) )
+                .thenReturn( Optional.of( testEvent.toBuilder().freeTicketCapacity( 18 ).build() ) );
+
+        String leaseId = ticketLeases.reserveTickets( testEvent, 4 ).orElseThrow();
+
+        ticketLeases.settleLeases();
+
+        verify( eventRepository ).endTicketLease( "event-1", leaseId, 6, 0 );
+    }
+
+    @Test
+    @DisplayName("Returns an unused lease once other instances booked the event down to the sell-out threshold")
+    void settleLeases_shouldReturnUnusedLeaseNearSellOut() {
+        when( eventRepository.leaseTickets( eq( "event-1" ), any(), eq( 20 ) ) ).thenReturn( Optional.of( testEvent ) );
+        when( eventRepository.settleTicketLease( eq( "event-1" ), anyString(), eq( 1 ), any() ) )
+                .thenReturn( Optional.of( testEvent ) );
+
+        String leaseId = ticketLeases.reserveTickets( testEvent, 1 ).orElseThrow();
+        ticketLeases.settleLeases();
+
+        when( eventRepository.findTicketCountsByIds( List.of( "event-1" ) ) )
+                .thenReturn( List.of( testEvent.toBuilder().freeTicketCapacity( 15 ).build() ) );
+
+        ticketLeases.settleLeases();
+
+        verify( eventRepository ).endTicketLease( "event-1", leaseId, 9, 0 );
+    }
+
+    @Test
+    @DisplayName("Forgets a lease reclaimed by another instance, its bookings were counted by the reclaim")
+    void settleLeases_shouldDropLeaseGoneFromEvent() {
+        when( eventRepository.leaseTickets( eq( "event-1" ), any(), eq( 20 ) ) ).thenReturn( Optional.of( testEvent ) );
+        when( eventRepository.settleTicketLease( eq( "event-1" ), anyString(), eq( 2 ), any() ) ).thenReturn( Optional.empty() );
+
+        String leaseId = ticketLeases.reserveTickets( testEvent, 2 ).orElseThrow();
+
+        ticketLeases.settleLeases();
+
+        assertNotEquals( Optional.of( leaseId ), ticketLeases.reserveTickets( testEvent, 1 ) );
+        verify( eventRepository, never() ).endTicketLease( any(), any(), anyInt(), anyInt() );
+        verify( eventRepository, times( 2 ) ).leaseTickets( eq( "event-1" ), any(), eq( 20 ) );
+    }
+
+    @Test
+    @DisplayName("Returns the leases with their unsettled bookings when the app shuts down")
+    void returnLeases_shouldEndLeasesOnShutdown() {
+        when( eventRepository.leaseTickets( eq( "event-1" ), any(), eq( 20 ) ) ).thenReturn( Optional.of( testEvent ) );
+        when( eventRepository.endTicketLease( eq( "event-1" ), anyString(), eq( 10 ), eq( 5 ) ) ).thenReturn( Optional.of( testEvent ) );
+
+        String leaseId = ticketLeases.reserveTickets( testEvent, 5 ).orElseThrow();
+
+        ticketLeases.returnLeases();
+
+        verify( eventRepository ).endTicketLease( "event-1", leaseId, 10, 5 );
+        verify( eventPublisher ).publishEvent( new TicketsChangedEvent( "event-1" ) );
+    }
+
+    @Test
+    @DisplayName("Reclaims leases expired for a lease duration and counts their tickets from the bookings")
+    void reclaimExpiredLeases_shouldCountBookedTicketsFromBookings() {
+        Instant now = Instant.now();
+        TicketLease expiredLease = new TicketLease( "lease-1", "node-1", 6, 4, 1, now.minus( 2, ChronoUnit.MINUTES ) );
+        TicketLease activeLease = new TicketLease( "lease-2", "node-2", 10, 0, 0, now.plusSeconds( 5 ) );
+
+        when( eventRepository.findTicketLeasesExpiredBefore( now.minus( LEASE_DURATION ) ) ).thenReturn( List.of(
+                testEvent.toBuilder().ticketLeases( List.of( expiredLease, activeLease ) ).build() ) );
+        when( bookingRepository.sumTicketsByTicketLeaseId( "lease-1" ) ).thenReturn( 6 );
+        when( eventRepository.reclaimTicketLease( "event-1", expiredLease, 3 ) ).thenReturn( Optional.of( testEvent ) );
+
+        ticketLeases.reclaimExpiredLeases( now );
+
+        verify( eventRepository, never() ).reclaimTicketLease( eq( "event-1" ), eq( activeLease ), anyInt() );
+        verify( eventPublisher ).publishEvent( new TicketsChangedEvent( "event-1" ) );
+        assertEquals( 1, meterRegistry.get( "bookings.ticket_leases.reclaimed" ).counter().count() );
+    }
+
+    @Test
+    @DisplayName("Refuses a lease duration shorter than three settle intervals")
+    void constructor_shouldRejectShortLeaseDuration() {
+        assertThatThrownBy( () -> new TicketLeaseService( eventRepository, bookingRepository, dtoCache, eventPublisher,
+                new BookingMetrics( meterRegistry ), true, 10, 20, Duration.ofSeconds( 2 ), Duration.ofSeconds( 1 ) ) )
+                .isInstanceOf( IllegalArgumentException.class );
+    }
+
+    private TicketLeaseService ticketLeases( boolean enabled ) {
+        return new TicketLeaseService( eventRepository, bookingRepository, dtoCache, eventPublisher,
+                new BookingMetrics( meterRegistry ), enabled, 10, 20, LEASE_DURATION, Duration.ofSeconds( 1 ) );
+    }
+}
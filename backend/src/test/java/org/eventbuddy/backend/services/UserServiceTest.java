@@ -17,8 +17,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -36,6 +38,10 @@ class UserServiceTest {
     @Mock
     OrganizationRepository mockOrganizationRepo;
 
+    // real cache, so cached reads and evictions are part of the tested behaviour
+    @Spy
+    DtoCacheService dtoCache = new DtoCacheService( 100, Duration.ofMinutes( 10 ) );
+
     @InjectMocks
     UserService userService;
 
@@ -178,6 +184,36 @@ class UserServiceTest {
     }
 
 
+    @Test
+    @DisplayName("Should serve repeated requests of a user from the cache")
+    void getUserDtoById_shouldServeRepeatedRequestsFromCache() {
+        List<String> orgIds = exampleUser.getOrganizations().stream().toList();
+
+        when( mockUserRepo.findById( exampleUser.getId() ) ).thenReturn( Optional.of( exampleUser ) );
+        when( mockUserRepo.findAllById( exampleOrganization.getOwners() ) ).thenReturn( List.of( exampleUser ) );
+        when( mockOrganizationRepo.findAllById( orgIds ) ).thenReturn( List.of( exampleOrganization ) );
+
+        AppUserDto firstUserDto = userService.getUserDtoById( exampleUser.getId() );
+
+        assertEquals( firstUserDto, userService.getUserDtoById( exampleUser.getId() ) );
+        verify( mockUserRepo, times( 1 ) ).findById( exampleUser.getId() );
+    }
+
+    @Test
+    @DisplayName("Should not cache hidden users")
+    void getUserDtoById_shouldNotCacheHiddenUser() {
+        AppUser hiddenUser = exampleUser.toBuilder()
+                .userSettings( exampleUser.getUserSettings().toBuilder().userVisible( false ).build() )
+                .build();
+
+        when( mockUserRepo.findById( exampleUser.getId() ) ).thenReturn( Optional.of( hiddenUser ) );
+
+        assertThrows( ResourceNotFoundException.class, () -> userService.getUserDtoById( exampleUser.getId() ) );
+        assertThrows( ResourceNotFoundException.class, () -> userService.getUserDtoById( exampleUser.getId() ) );
+
+        verify( mockUserRepo, times( 2 ) ).findById( exampleUser.getId() );
+    }
+
     @Test
     @DisplayName("Should throw when user not found")
     void getUserDtoById_shouldThrowWhenUserNotFound() {
@@ -438,6 +474,7 @@ class UserServiceTest {
 
         verify( mockUserRepo ).findById( exampleUser.getId() );
         verify( mockUserRepo ).save( expectedUpdatedUser );
+        verify( dtoCache ).evictUser( exampleUser.getId() );
     }
 
     @Test
@@ -544,6 +581,8 @@ class UserServiceTest {
         verify( mockUserRepo ).findById( exampleUser.getId() );
         verify( mockUserRepo ).deleteById( exampleUser.getId() );
         verify( mockOrganizationRepo ).findById( "exampleOrgaId" );
+        verify( dtoCache ).evictUser( exampleUser.getId() );
+        verify( dtoCache ).evictOrganization( "exampleOrgaId" );
     }
 
     @Test
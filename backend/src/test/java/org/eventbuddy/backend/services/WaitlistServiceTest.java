@@ -0,0 +1,382 @@
+package org.eventbuddy.backend.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eventbuddy.backend.exceptions.ResourceNotFoundException;
+import org.eventbuddy.backend.models.booking.Booking;
+import org.eventbuddy.backend.models.booking.BookingRequestDto;
+import org.eventbuddy.backend.models.booking.WaitlistEntry;
+import org.eventbuddy.backend.models.booking.WaitlistPositionDto;
+import org.eventbuddy.backend.models.event.Event;
+import org.eventbuddy.backend.models.event.TicketsChangedEvent;
+import org.eventbuddy.backend.repos.BookingRepository;
+import org.eventbuddy.backend.repos.EventRepository;
+import org.eventbuddy.backend.repos.WaitlistRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistServiceTest {
+
+    @Mock
+    private WaitlistRepository waitlistRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private InMemoryInventoryService inMemoryInventory;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private DtoCacheService dtoCache = new DtoCacheService( 100, Duration.ofMinutes( 10 ) );
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private BookingMetrics bookingMetrics = new BookingMetrics( meterRegistry );
+
+    @InjectMocks
+    private WaitlistService waitlistService;
+
+    private Event soldOutEvent;
+    private BookingRequestDto bookingRequestDto;
+    private WaitlistEntry firstEntry;
+    private WaitlistEntry secondEntry;
+
+    @BeforeEach
+    void setUp() {
+        soldOutEvent = Event.builder()
+                .id( "event-1" )
+                .title( "Test Event" )
+                .maxTicketCapacity( 100 )
+                .freeTicketCapacity( 0 )
+                .bookedTicketsCount( 100 )
+                .maxPerBooking( 6 )
+                .eventDateTime( Instant.now().plus( 12, ChronoUnit.DAYS ) )
+                .isSoldOut( true )
+                .build();
+
+        bookingRequestDto = BookingRequestDto.builder()
+                .eventId( "event-1" )
+                .userId( "user-1" )
+                .name( "John Doe" )
+                .numberOfTickets( 2 )
+                .build();
+
+        firstEntry = WaitlistEntry.builder()
+                .id( "entry-1" )
+                .eventId( "event-1" )
+                .userId( "user-1" )
+                .name( "John Doe" )
+                .numberOfTickets( 2 )
+                .position( 4 )
+                .build();
+
+        secondEntry = WaitlistEntry.builder()
+                .id( "entry-2" )
+                .eventId( "event-1" )
+                .userId( "user-2" )
+                .name( "Jane Doe" )
+                .numberOfTickets( 3 )
+                .position( 5 )
+                .build();
+    }
+
+    // === joinWaitlist ===
+
+    @Test
+    @DisplayName("Puts the user at the end of the waitlist of a sold-out event")
+    void joinWaitlist_shouldAppendEntry() {
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( soldOutEvent ) );
+        when( waitlistRepository.nextPosition( "event-1" ) ).thenReturn( 4L );
+        when( waitlistRepository.insert( any( WaitlistEntry.class ) ) ).thenAnswer( invocation -> invocation.getArgument( 0 ) );
+        when( waitlistRepository.countByEventIdAndPositionLessThan( "event-1", 4L ) ).thenReturn( 2L );
+        when( waitlistRepository.findByEventIdOrderByPositionAsc( eq( "event-1" ), any( Limit.class ) ) ).thenReturn( List.of() );
+
+        WaitlistPositionDto result = waitlistService.joinWaitlist( bookingRequestDto );
+
+        assertEquals( "event-1", result.eventId() );
+        assertEquals( 2, result.numberOfTickets() );
+        assertEquals( 3, result.position() );
+
+        ArgumentCaptor<WaitlistEntry> entryCaptor = ArgumentCaptor.forClass( WaitlistEntry.class );
+        verify( waitlistRepository ).insert( entryCaptor.capture() );
+        assertEquals( "user-1", entryCaptor.getValue().getUserId() );
+        assertEquals( 4, entryCaptor.getValue().getPosition() );
+        assertEquals( 1, bookingCount( "waitlisted" ) );
+    }
+
+    @Test
+    @DisplayName("Throws 409 when the tickets can be booked directly")
+    void joinWaitlist_shouldThrowWhenEnoughTicketsLeft() {
+        Event event = soldOutEvent.toBuilder().freeTicketCapacity( 10 ).isSoldOut( false ).build();
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( event ) );
+
+        IllegalStateException exception = assertThrows( IllegalStateException.class, () ->
+                waitlistService.joinWaitlist( bookingRequestDto ) );
+
+        assertTrue( exception.getMessage().contains( "book them directly" ) );
+        verify( waitlistRepository, never() ).insert( any( WaitlistEntry.class ) );
+    }
+
+    @Test
+    @DisplayName("Queues behind an existing waitlist even when enough tickets are free")
+    void joinWaitlist_shouldQueueBehindExistingWaitlist() {
+        Event event = soldOutEvent.toBuilder().freeTicketCapacity( 2 ).isSoldOut( false ).build();
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( event ) );
+        when( waitlistRepository.existsByEventId( "event-1" ) ).thenReturn( true );
+        when( waitlistRepository.nextPosition( "event-1" ) ).thenReturn( 6L );
+        when( waitlistRepository.insert( any( WaitlistEntry.class ) ) ).thenAnswer( invocation -> invocation.getArgument( 0 ) );
+        when( waitlistRepository.countByEventIdAndPositionLessThan( "event-1", 6L ) ).thenReturn( 2L );
+        // the head needs more tickets than are free, so nobody moves up
+        when( waitlistRepository.findByEventIdOrderByPositionAsc( eq( "event-1" ), any( Limit.class ) ) ).thenReturn( List.of( secondEntry ) );
+        when( eventRepository.reserveTickets( "event-1", 3 ) ).thenReturn( Optional.empty() );
+
+        WaitlistPositionDto result = waitlistService.joinWaitlist( bookingRequestDto );
+
+        assertEquals( 3, result.position() );
+        verify( waitlistRepository, never() ).claim( anyString() );
+        verify( bookingRepository, never() ).save( any( Booking.class ) );
+    }
+
+    @Test
+    @DisplayName("Throws 409 when the user already booked the event")
+    void joinWaitlist_shouldThrowWhenAlreadyBooked() {
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( soldOutEvent ) );
+        when( bookingRepository.existsByUserIdAndEvent( eq( "user-1" ), any( Event.class ) ) ).thenReturn( true );
+
+        assertThrows( IllegalStateException.class, () -> waitlistService.joinWaitlist( bookingRequestDto ) );
+
+        verify( waitlistRepository, never() ).nextPosition( anyString() );
+    }
+
+    @Test
+    @DisplayName("Throws 409 when more tickets are requested than one booking may hold")
+    void joinWaitlist_shouldThrowWhenMaxPerBookingExceeded() {
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( soldOutEvent ) );
+
+        BookingRequestDto tooManyTickets = bookingRequestDto.toBuilder().numberOfTickets( 7 ).build();
+
+        IllegalStateException exception = assertThrows( IllegalStateException.class, () ->
+                waitlistService.joinWaitlist( tooManyTickets ) );
+
+        assertTrue( exception.getMessage().contains( "more than 6 tickets" ) );
+    }
+
+    @Test
+    @DisplayName("Throws 409 when the user is already on the waitlist")
+    void joinWaitlist_shouldThrowWhenAlreadyWaiting() {
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.of( soldOutEvent ) );
+        when( waitlistRepository.nextPosition( "event-1" ) ).thenReturn( 4L );
+        when( waitlistRepository.insert( any( WaitlistEntry.class ) ) ).thenThrow( new DuplicateKeyException( "eventId_userId" ) );
+
+        IllegalStateException exception = assertThrows( IllegalStateException.class, () ->
+                waitlistService.joinWaitlist( bookingRequestDto ) );
+
+        assertEquals( "You are already on the waitlist of this event.", exception.getMessage() );
+        assertEquals( 0, bookingCount( "waitlisted" ) );
+    }
+
+    @Test
+    @DisplayName("Throws 404 when the event does not exist")
+    void joinWaitlist_shouldThrowWhenEventNotFound() {
+        when( eventRepository.findWithTicketCountsById( "event-1" ) ).thenReturn( Optional.empty() );
+
+        assertThrows( ResourceNotFoundException.class, () -> waitlistService.joinWaitlist( bookingRequestDto ) );
+    }
+
+    // === getPosition ===
+
+    @Test
+    @DisplayName("Returns the place in line behind the entries still waiting ahead")
+    void getPosition_shouldCountEntriesAhead() {
+        when( waitlistRepository.findByEventIdAndUserId( "event-1", "user-1" ) ).thenReturn( Optional.of( firstEntry ) );
+        when( waitlistRepository.countByEventIdAndPositionLessThan( "event-1", 4L ) ).thenReturn( 0L );
+
+        WaitlistPositionDto result = waitlistService.getPosition( "event-1", "user-1" );
+
+        assertEquals( 1, result.position() );
+        verify( waitlistRepository, never() ).findByEventIdOrderByPositionAsc( anyString(), any( Limit.class ) );
+    }
+
+    @Test
+    @DisplayName("Throws 404 when the user is not on the waitlist")
+    void getPosition_shouldThrowWhenNotWaiting() {
+        when( waitlistRepository.findByEventIdAndUserId( "event-1", "user-1" ) ).thenReturn( Optional.empty() );
+
+        assertThrows( ResourceNotFoundException.class, () -> waitlistService.getPosition( "event-1", "user-1" ) );
+    }
+
+    // === promote ===
+
+    @Test
+    @DisplayName("Books the released tickets for the waitlist in order")
+    void promote_shouldBookEntriesInOrder() {
+        when( waitlistRepository.findByEventIdOrderByPositionAsc( eq( "event-1" ), any( Limit.class ) ) )
+                .thenReturn( List.of( firstEntry, secondEntry ) );
+        when( waitlistRepository.claim( anyString() ) ).thenAnswer( invocation ->
+                Optional.of( invocation.getArgument( 0 ).equals( "entry-1" ) ? firstEntry : secondEntry ) );
+        when( eventRepository.reserveTickets( eq( "event-1" ), anyInt() ) ).thenReturn( Optional.of( soldOutEvent ) );
+
+        int promoted = waitlistService.promote( "event-1" );
+
+        assertEquals( 2, promoted );
+
+        InOrder inOrder = inOrder( eventRepository, waitlistRepository );
+        inOrder.verify( eventRepository ).reserveTickets( "event-1", 2 );
+        inOrder.verify( waitlistRepository ).claim( "entry-1" );
+        inOrder.verify( eventRepository ).reserveTickets( "event-1", 3 );
+        inOrder.verify( waitlistRepository ).claim( "entry-2" );
+
+        ArgumentCaptor<Booking> bookingCaptor = ArgumentCaptor.forClass( Booking.class );
+        verify( bookingRepository, times( 2 ) ).save( bookingCaptor.capture() );
+        assertEquals( List.of( "user-1", "user-2" ), bookingCaptor.getAllValues().stream().map( Booking::getUserId ).toList() );
+
+        verify( dtoCache ).evictEvent( "event-1" );
+        verify( eventPublisher ).publishEvent( new TicketsChangedEvent( "event-1" ) );
+        assertEquals( 2, bookingCount( "promoted" ) );
+        assertEquals( 5, meterRegistry.get( "bookings.tickets" ).counter().count() );
+    }
+
+    @Test
+    @DisplayName("Stops at a head needing more tickets than are free, it stays in line and nobody behind it moves up")
+    void promote_shouldStopAtWaitingHead() {
+        when( waitlistRepository.findByEventIdOrderByPositionAsc( eq( "event-1" ), any( Limit.class ) ) )
+                .thenReturn( List.of( firstEntry, secondEntry ) );
+        when( eventRepository.reserveTickets( "event-1", 2 ) ).thenReturn( Optional.empty() );
+
+        int promoted = waitlistService.promote( "event-1" );
+
+        assertEquals( 0, promoted );
+        verify( waitlistRepository, never() ).claim( anyString() );
+        verify( waitlistRepository, never() ).insert( any( WaitlistEntry.class ) );
+        verify( eventRepository, never() ).reserveTickets( "event-1", 3 );
+        verify( bookingRepository, never() ).save( any( Booking.class ) );
+        verify( eventPublisher, never() ).publishEvent( any() );
+    }
+
+    @Test
+    @DisplayName("Skips entries claimed by a concurrent promotion and gives their tickets to the next entry")
+    void promote_shouldSkipClaimedEntries() {
+        when( waitlistRepository.findByEventIdOrderByPositionAsc( eq( "event-1" ), any( Limit.class ) ) )
+                .thenReturn( List.of( firstEntry, secondEntry ) );
+        when( waitlistRepository.claim( "entry-1" ) ).thenReturn( Optional.empty() );
+        when( waitlistRepository.claim( "entry-2" ) ).thenReturn( Optional.of( secondEntry ) );
+        when( eventRepository.reserveTickets( eq( "event-1" ), anyInt() ) ).thenReturn( Optional.of( soldOutEvent ) );
+
+        int promoted = waitlistService.promote( "event-1" );
+
+        assertEquals( 1, promoted );
+        verify( eventRepository ).releaseTickets( "event-1", 2 );
+        verify( bookingRepository ).save( argThat( booking -> booking.getUserId().equals( "user-2" ) ) );
+    }
+
+    @Test
+    @DisplayName("Gives the tickets to the next entry when the user booked the event in the meantime")
+    void promote_shouldReleaseTicketsOfAlreadyBookedUser() {
+        when( waitlistRepository.findByEventIdOrderByPositionAsc( eq( "event-1" ), any( Limit.class ) ) )
+                .thenReturn( List.of( firstEntry, secondEntry ) );
+        when( waitlistRepository.claim( anyString() ) ).thenAnswer( invocation ->
+                Optional.of( invocation.getArgument( 0 ).equals( "entry-1" ) ? firstEntry : secondEntry ) );
+        when( eventRepository.reserveTickets( eq( "event-1" ), anyInt() ) ).thenReturn( Optional.of( soldOutEvent ) );
+        when( bookingRepository.save( any( Booking.class ) ) )
+                .thenThrow( new DuplicateKeyException( "userId_event" ) )
+                .thenAnswer( invocation -> invocation.getArgument( 0 ) );
+
+        int promoted = waitlistService.promote( "event-1" );
+
+        assertEquals( 1, promoted );
+        verify( eventRepository ).releaseTickets( "event-1", 2 );
+        verify( waitlistRepository, never() ).insert( firstEntry );
+    }
+
+    @Test
+    @DisplayName("Puts the entry back and releases its tickets when the booking cannot be saved")
+    void promote_shouldRestoreEntryWhenBookingSaveFails() {
+        when( waitlistRepository.findByEventIdOrderByPositionAsc( eq( "event-1" ), any( Limit.class ) ) )
+                .thenReturn( List.of( firstEntry ) );
+        when( waitlistRepository.claim( "entry-1" ) ).thenReturn( Optional.of( firstEntry ) );
+        when( eventRepository.reserveTickets( "event-1", 2 ) ).thenReturn( Optional.of( soldOutEvent ) );
+        when( bookingRepository.save( any( Booking.class ) ) ).thenThrow( new RuntimeException( "write failed" ) );
+
+        assertThrows( RuntimeException.class, () -> waitlistService.promote( "event-1" ) );
+
+        verify( eventRepository ).releaseTickets( "event-1", 2 );
+        verify( waitlistRepository ).insert( firstEntry );
+    }
+
+    @Test
+    @DisplayName("Reads the waitlist in batches until it is empty")
+    void promote_shouldReadNextBatch() {
+        List<WaitlistEntry> fullBatch = LongStream.range( 0, WaitlistService.PROMOTION_BATCH_SIZE )
+                .mapToObj( position -> firstEntry.toBuilder().id( "entry-" + position ).userId( "user-" + position ).position( position ).build() )
+                .toList();
+
+        when( waitlistRepository.findByEventIdOrderByPositionAsc( eq( "event-1" ), any( Limit.class ) ) )
+                .thenReturn( fullBatch, List.of( secondEntry ) );
+        when( waitlistRepository.claim( anyString() ) ).thenAnswer( invocation -> Optional.of( firstEntry ) );
+        when( eventRepository.reserveTickets( eq( "event-1" ), anyInt() ) ).thenReturn( Optional.of( soldOutEvent ) );
+
+        int promoted = waitlistService.promote( "event-1" );
+
+        assertEquals( WaitlistService.PROMOTION_BATCH_SIZE + 1, promoted );
+        verify( waitlistRepository, times( 2 ) ).findByEventIdOrderByPositionAsc( eq( "event-1" ), any( Limit.class ) );
+        verify( eventPublisher, times( 1 ) ).publishEvent( new TicketsChangedEvent( "event-1" ) );
+    }
+
+    // === leaveWaitlist ===
+
+    @Test
+    @DisplayName("Removes the entry and lets the line move up")
+    void leaveWaitlist_shouldRemoveEntryAndPromote() {
+        when( waitlistRepository.findByEventIdAndUserId( "event-1", "user-1" ) ).thenReturn( Optional.of( firstEntry ) );
+        when( waitlistRepository.claim( "entry-1" ) ).thenReturn( Optional.of( firstEntry ) );
+        when( waitlistRepository.findByEventIdOrderByPositionAsc( eq( "event-1" ), any( Limit.class ) ) ).thenReturn( List.of() );
+
+        waitlistService.leaveWaitlist( "event-1", "user-1" );
+
+        verify( waitlistRepository ).claim( "entry-1" );
+        verify( waitlistRepository ).findByEventIdOrderByPositionAsc( eq( "event-1" ), any( Limit.class ) );
+    }
+
+    @Test
+    @DisplayName("Throws 404 when the user is not on the waitlist")
+    void leaveWaitlist_shouldThrowWhenNotWaiting() {
+        when( waitlistRepository.findByEventIdAndUserId( "event-1", "user-1" ) ).thenReturn( Optional.empty() );
+
+        assertThrows( ResourceNotFoundException.class, () -> waitlistService.leaveWaitlist( "event-1", "user-1" ) );
+
+        verify( waitlistRepository, never() ).claim( anyString() );
+    }
+
+    private double bookingCount( String outcome ) {
+        return meterRegistry.get( "bookings" ).tag( "outcome", outcome ).counter().count();
+    }
+}
@@ -32,6 +32,7 @@ import type {
 
 import type {
   AppUser,
+  CacheStatsDto,
   ErrorMessage
 } from '../openAPIDefinition.schemas';
 
@@ -343,3 +344,94 @@ export function useGetAllRawUsers<TData = Awaited<ReturnType<typeof getAllRawUse
 
 
 
+/**
+ * Returns size, hits, misses, evictions and invalidations of the event, organization and user caches.
+ * @summary Get cache statistics (Admin only)
+ */
+export const getCacheStats = (
+     options?: AxiosRequestConfig
+ ): Promise<AxiosResponse<CacheStatsDto[]>> => {
+    
+    
+    return axios.default.get(
+      `/api/admin/caches`,options
+    );
+  }
+
+
+
+
+export const getGetCacheStatsQueryKey = () => {
+    return [
+    `/api/admin/caches`
+    ] as const;
+    }
+
+    
+export const getGetCacheStatsQueryOptions = <TData = Awaited<ReturnType<typeof getCacheStats>>, TError = AxiosError<ErrorMessage>>( options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getCacheStats>>, TError, TData>>, axios?: AxiosRequestConfig}
+) => {
+
+const {query: queryOptions, axios: axiosOptions} = options ?? {};
+
+  const queryKey =  queryOptions?.queryKey ?? getGetCacheStatsQueryKey();
+
+  
+
+    const queryFn: QueryFunction<Awaited<ReturnType<typeof getCacheStats>>> = ({ signal }) => getCacheStats({ signal, ...axiosOptions });
+
+      
+
+      
+
+   return  { queryKey, queryFn, ...queryOptions} as UseQueryOptions<Awaited<ReturnType<typeof getCacheStats>>, TError, TData> & { queryKey: DataTag<QueryKey, TData, TError> }
+}
+
+export type GetCacheStatsQueryResult = NonNullable<Awaited<ReturnType<typeof getCacheStats>>>
+export type GetCacheStatsQueryError = AxiosError<ErrorMessage>
+
+
+export function useGetCacheStats<TData = Awaited<ReturnType<typeof getCacheStats>>, TError = AxiosError<ErrorMessage>>(
+  options: { query:Partial<UseQueryOptions<Awaited<ReturnType<typeof getCacheStats>>, TError, TData>> & Pick<
+        DefinedInitialDataOptions<
+          Awaited<ReturnType<typeof getCacheStats>>,
+          TError,
+          Awaited<ReturnType<typeof getCacheStats>>
+        > , 'initialData'
+      >, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient
+  ):  DefinedUseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
+export function useGetCacheStats<TData = Awaited<ReturnType<typeof getCacheStats>>, TError = AxiosError<ErrorMessage>>(
+  options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getCacheStats>>, TError, TData>> & Pick<
+        UndefinedInitialDataOptions<
+          Awaited<ReturnType<typeof getCacheStats>>,
+          TError,
+          Awaited<ReturnType<typeof getCacheStats>>
+        > , 'initialData'
+      >, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient
+  ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
+export function useGetCacheStats<TData = Awaited<ReturnType<typeof getCacheStats>>, TError = AxiosError<ErrorMessage>>(
+  options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getCacheStats>>, TError, TData>>, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient
+  ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
+/**
+ * @summary Get cache statistics (Admin only)
+ */
+
+export function useGetCacheStats<TData = Awaited<ReturnType<typeof getCacheStats>>, TError = AxiosError<ErrorMessage>>(
+  options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getCacheStats>>, TError, TData>>, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient 
+ ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> } {
+
+  const queryOptions = getGetCacheStatsQueryOptions(options)
+
+  const query = useQuery(queryOptions, queryClient) as  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> };
+
+  query.queryKey = queryOptions.queryKey ;
+
+  return query;
+}
+
+
+
+
@@ -33,7 +33,11 @@ import type {
 import type {
   BookingRequestDto,
   BookingResponseDto,
-  ErrorMessage
+  ErrorMessage,
+  TicketHoldConfirmationDto,
+  TicketHoldDto,
+  TicketHoldRequestDto,
+  WaitlistPositionDto
 } from '../openAPIDefinition.schemas';
 
 
@@ -101,6 +105,190 @@ export const useMakeBooking = <TError = AxiosError<ErrorMessage>,
 
       return useMutation(mutationOptions, queryClient);
     }
+    /**
+ * @summary Join the waitlist of a sold-out event, the booking is made as soon as cancellations free enough tickets
+ */
+export const joinWaitlist = (
+    bookingRequestDto: BookingRequestDto, options?: AxiosRequestConfig
+ ): Promise<AxiosResponse<WaitlistPositionDto>> => {
+    
+    
+    return axios.default.post(
+      `/api/booking/waitlist`,
+      bookingRequestDto,options
+    );
+  }
+
+
+
+export const getJoinWaitlistMutationOptions = <TError = AxiosError<ErrorMessage>,
+    TContext = unknown>(options?: { mutation?:UseMutationOptions<Awaited<ReturnType<typeof joinWaitlist>>, TError,{data: BookingRequestDto}, TContext>, axios?: AxiosRequestConfig}
+): UseMutationOptions<Awaited<ReturnType<typeof joinWaitlist>>, TError,{data: BookingRequestDto}, TContext> => {
+
+const mutationKey = ['joinWaitlist'];
+const {mutation: mutationOptions, axios: axiosOptions} = options ?
+      options.mutation && 'mutationKey' in options.mutation && options.mutation.mutationKey ?
+      options
+      : {...options, mutation: {...options.mutation, mutationKey}}
+      : {mutation: { mutationKey, }, axios: undefined};
+
+      
+
+
+      const mutationFn: MutationFunction<Awaited<ReturnType<typeof joinWaitlist>>, {data: BookingRequestDto}> = (props) => {
+          const {data} = props ?? {};
+
+          return  joinWaitlist(data,axiosOptions)
+        }
+
+        
+
+
+  return  { mutationFn, ...mutationOptions }}
+
+    export type JoinWaitlistMutationResult = NonNullable<Awaited<ReturnType<typeof joinWaitlist>>>
+    export type JoinWaitlistMutationBody = BookingRequestDto
+    export type JoinWaitlistMutationError = AxiosError<ErrorMessage>
+
+    /**
+ * @summary Join the waitlist of a sold-out event, the booking is made as soon as cancellations free enough tickets
+ */
+export const useJoinWaitlist = <TError = AxiosError<ErrorMessage>,
+    TContext = unknown>(options?: { mutation?:UseMutationOptions<Awaited<ReturnType<typeof joinWaitlist>>, TError,{data: BookingRequestDto}, TContext>, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient): UseMutationResult<
+        Awaited<ReturnType<typeof joinWaitlist>>,
+        TError,
+        {data: BookingRequestDto},
+        TContext
+      > => {
+
+      const mutationOptions = getJoinWaitlistMutationOptions(options);
+
+      return useMutation(mutationOptions, queryClient);
+    }
+    /**
+ * @summary Hold tickets of an event during checkout, they are released unless the hold is confirmed in time
+ */
+export const holdTickets = (
+    ticketHoldRequestDto: TicketHoldRequestDto, options?: AxiosRequestConfig
+ ): Promise<AxiosResponse<TicketHoldDto>> => {
+    
+    
+    return axios.default.post(
+      `/api/booking/holds`,
+      ticketHoldRequestDto,options
+    );
+  }
+
+
+
+export const getHoldTicketsMutationOptions = <TError = AxiosError<ErrorMessage>,
+    TContext = unknown>(options?: { mutation?:UseMutationOptions<Awaited<ReturnType<typeof holdTickets>>, TError,{data: TicketHoldRequestDto}, TContext>, axios?: AxiosRequestConfig}
+): UseMutationOptions<Awaited<ReturnType<typeof holdTickets>>, TError,{data: TicketHoldRequestDto}, TContext> => {
+
+const mutationKey = ['holdTickets'];
+const {mutation: mutationOptions, axios: axiosOptions} = options ?
+      options.mutation && 'mutationKey' in options.mutation && options.mutation.mutationKey ?
+      options
+      : {...options, mutation: {...options.mutation, mutationKey}}
+      : {mutation: { mutationKey, }, axios: undefined};
+
+      
+
+
+      const mutationFn: MutationFunction<Awaited<ReturnType<typeof holdTickets>>, {data: TicketHoldRequestDto}> = (props) => {
+          const {data} = props ?? {};
+
+          return  holdTickets(data,axiosOptions)
+        }
+
+        
+
+
+  return  { mutationFn, ...mutationOptions }}
+
+    export type HoldTicketsMutationResult = NonNullable<Awaited<ReturnType<typeof holdTickets>>>
+    export type HoldTicketsMutationBody = TicketHoldRequestDto
+    export type HoldTicketsMutationError = AxiosError<ErrorMessage>
+
+    /**
+ * @summary Hold tickets of an event during checkout, they are released unless the hold is confirmed in time
+ */
+export const useHoldTickets = <TError = AxiosError<ErrorMessage>,
+    TContext = unknown>(options?: { mutation?:UseMutationOptions<Awaited<ReturnType<typeof holdTickets>>, TError,{data: TicketHoldRequestDto}, TContext>, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient): UseMutationResult<
+        Awaited<ReturnType<typeof holdTickets>>,
+        TError,
+        {data: TicketHoldRequestDto},
+        TContext
+      > => {
+
+      const mutationOptions = getHoldTicketsMutationOptions(options);
+
+      return useMutation(mutationOptions, queryClient);
+    }
+    /**
+ * @summary Confirm a ticket hold, turning it into a booking
+ */
+export const confirmHold = (
+    holdId: string,
+    ticketHoldConfirmationDto: TicketHoldConfirmationDto, options?: AxiosRequestConfig
+ ): Promise<AxiosResponse<BookingResponseDto>> => {
+    
+    
+    return axios.default.post(
+      `/api/booking/holds/${holdId}/confirm`,
+      ticketHoldConfirmationDto,options
+    );
+  }
+
+
+
+export const getConfirmHoldMutationOptions = <TError = AxiosError<ErrorMessage>,
+    TContext = unknown>(options?: { mutation?:UseMutationOptions<Awaited<ReturnType<typeof confirmHold>>, TError,{holdId: string;data: TicketHoldConfirmationDto}, TContext>, axios?: AxiosRequestConfig}
+): UseMutationOptions<Awaited<ReturnType<typeof confirmHold>>, TError,{holdId: string;data: TicketHoldConfirmationDto}, TContext> => {
+
+const mutationKey = ['confirmHold'];
+const {mutation: mutationOptions, axios: axiosOptions} = options ?
+      options.mutation && 'mutationKey' in options.mutation && options.mutation.mutationKey ?
+      options
+      : {...options, mutation: {...options.mutation, mutationKey}}
+      : {mutation: { mutationKey, }, axios: undefined};
+
+      
+
+
+      const mutationFn: MutationFunction<Awaited<ReturnType<typeof confirmHold>>, {holdId: string;data: TicketHoldConfirmationDto}> = (props) => {
+          const {holdId,data} = props ?? {};
+
+          return  confirmHold(holdId,data,axiosOptions)
+        }
+
+        
+
+
+  return  { mutationFn, ...mutationOptions }}
+
+    export type ConfirmHoldMutationResult = NonNullable<Awaited<ReturnType<typeof confirmHold>>>
+    export type ConfirmHoldMutationBody = TicketHoldConfirmationDto
+    export type ConfirmHoldMutationError = AxiosError<ErrorMessage>
+
+    /**
+ * @summary Confirm a ticket hold, turning it into a booking
+ */
+export const useConfirmHold = <TError = AxiosError<ErrorMessage>,
+    TContext = unknown>(options?: { mutation?:UseMutationOptions<Awaited<ReturnType<typeof confirmHold>>, TError,{holdId: string;data: TicketHoldConfirmationDto}, TContext>, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient): UseMutationResult<
+        Awaited<ReturnType<typeof confirmHold>>,
+        TError,
+        {holdId: string;data: TicketHoldConfirmationDto},
+        TContext
+      > => {
+
+      const mutationOptions = getConfirmHoldMutationOptions(options);
+
+      return useMutation(mutationOptions, queryClient);
+    }
     export const getBookingsByUser = (
     userId: string, options?: AxiosRequestConfig
  ): Promise<AxiosResponse<BookingResponseDto[]>> => {
@@ -186,6 +374,164 @@ export function useGetBookingsByUser<TData = Awaited<ReturnType<typeof getBookin
 
 
 /**
+ * @summary Get the place of a user in the waitlist of an event
+ */
+export const getWaitlistPosition = (
+    eventId: string,
+    userId: string, options?: AxiosRequestConfig
+ ): Promise<AxiosResponse<WaitlistPositionDto>> => {
+    
+    
+    return axios.default.get(
+      `/api/booking/waitlist/${eventId}/byUser/${userId}`,options
+    );
+  }
+
+
+
+
+export const getGetWaitlistPositionQueryKey = (eventId?: string,
+    userId?: string,) => {
+    return [
+    `/api/booking/waitlist/${eventId}/byUser/${userId}`
+    ] as const;
+    }
+
+    
+export const getGetWaitlistPositionQueryOptions = <TData = Awaited<ReturnType<typeof getWaitlistPosition>>, TError = AxiosError<ErrorMessage>>(eventId: string,
+    userId: string, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getWaitlistPosition>>, TError, TData>>, axios?: AxiosRequestConfig}
+) => {
+
+const {query: queryOptions, axios: axiosOptions} = options ?? {};
+
+  const queryKey =  queryOptions?.queryKey ?? getGetWaitlistPositionQueryKey(eventId,userId);
+
+  
+
+    const queryFn: QueryFunction<Awaited<ReturnType<typeof getWaitlistPosition>>> = ({ signal }) => getWaitlistPosition(eventId,userId, { signal, ...axiosOptions });
+
+      
+
+      
+
+   return  { queryKey, queryFn, enabled: !!(eventId && userId), ...queryOptions} as UseQueryOptions<Awaited<ReturnType<typeof getWaitlistPosition>>, TError, TData> & { queryKey: DataTag<QueryKey, TData, TError> }
+}
+
+export type GetWaitlistPositionQueryResult = NonNullable<Awaited<ReturnType<typeof getWaitlistPosition>>>
+export type GetWaitlistPositionQueryError = AxiosError<ErrorMessage>
+
+
+export function useGetWaitlistPosition<TData = Awaited<ReturnType<typeof getWaitlistPosition>>, TError = AxiosError<ErrorMessage>>(
+ eventId: string,
+    userId: string, options: { query:Partial<UseQueryOptions<Awaited<ReturnType<typeof getWaitlistPosition>>, TError, TData>> & Pick<
+        DefinedInitialDataOptions<
+          Awaited<ReturnType<typeof getWaitlistPosition>>,
+          TError,
+          Awaited<ReturnType<typeof getWaitlistPosition>>
+        > , 'initialData'
+      >, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient
+  ):  DefinedUseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
+export function useGetWaitlistPosition<TData = Awaited<ReturnType<typeof getWaitlistPosition>>, TError = AxiosError<ErrorMessage>>(
+ eventId: string,
+    userId: string, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getWaitlistPosition>>, TError, TData>> & Pick<
+        UndefinedInitialDataOptions<
+          Awaited<ReturnType<typeof getWaitlistPosition>>,
+          TError,
+          Awaited<ReturnType<typeof getWaitlistPosition>>
+        > , 'initialData'
+      >, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient
+  ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
+export function useGetWaitlistPosition<TData = Awaited<ReturnType<typeof getWaitlistPosition>>, TError = AxiosError<ErrorMessage>>(
+ eventId: string,
+    userId: string, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getWaitlistPosition>>, TError, TData>>, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient
+  ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
+/**
+ * @summary Get the place of a user in the waitlist of an event
+ */
+
+export function useGetWaitlistPosition<TData = Awaited<ReturnType<typeof getWaitlistPosition>>, TError = AxiosError<ErrorMessage>>(
+ eventId: string,
+    userId: string, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getWaitlistPosition>>, TError, TData>>, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient 
+ ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> } {
+
+  const queryOptions = getGetWaitlistPositionQueryOptions(eventId,userId,options)
+
+  const query = useQuery(queryOptions, queryClient) as  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> };
+
+  query.queryKey = queryOptions.queryKey ;
+
+  return query;
+}
+
+
+
+
+/**
+ * @summary Leave the waitlist of an event
+ */
+export const leaveWaitlist = (
+    eventId: string,
+    userId: string, options?: AxiosRequestConfig
+ ): Promise<AxiosResponse<void>> => {
+    
+    
+    return axios.default.delete(
+      `/api/booking/waitlist/${eventId}/byUser/${userId}`,options
+    );
+  }
+
+
+
+export const getLeaveWaitlistMutationOptions = <TError = AxiosError<ErrorMessage>,
+    TContext = unknown>(options?: { mutation?:UseMutationOptions<Awaited<ReturnType<typeof leaveWaitlist>>, TError,{eventId: string;userId: string}, TContext>, axios?: AxiosRequestConfig}
+): UseMutationOptions<Awaited<ReturnType<typeof leaveWaitlist>>, TError,{eventId: string;userId: string}, TContext> => {
+
+const mutationKey = ['leaveWaitlist'];
+const {mutation: mutationOptions, axios: axiosOptions} = options ?
+      options.mutation && 'mutationKey' in options.mutation && options.mutation.mutationKey ?
+      options
+      : {...options, mutation: {...options.mutation, mutationKey}}
+      : {mutation: { mutationKey, }, axios: undefined};
+
+      
+
+
+      const mutationFn: MutationFunction<Awaited<ReturnType<typeof leaveWaitlist>>, {eventId: string;userId: string}> = (props) => {
+          const {eventId,userId} = props ?? {};
+
+          return  leaveWaitlist(eventId,userId,axiosOptions)
+        }
+
+        
+
+
+  return  { mutationFn, ...mutationOptions }}
+
+    export type LeaveWaitlistMutationResult = NonNullable<Awaited<ReturnType<typeof leaveWaitlist>>>
+    
+    export type LeaveWaitlistMutationError = AxiosError<ErrorMessage>
+
+    /**
+ * @summary Leave the waitlist of an event
+ */
+export const useLeaveWaitlist = <TError = AxiosError<ErrorMessage>,
+    TContext = unknown>(options?: { mutation?:UseMutationOptions<Awaited<ReturnType<typeof leaveWaitlist>>, TError,{eventId: string;userId: string}, TContext>, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient): UseMutationResult<
+        Awaited<ReturnType<typeof leaveWaitlist>>,
+        TError,
+        {eventId: string;userId: string},
+        TContext
+      > => {
+
+      const mutationOptions = getLeaveWaitlistMutationOptions(options);
+
+      return useMutation(mutationOptions, queryClient);
+    }
+    /**
  * @summary Delete a booking by its ID
  */
 export const deleteBookingById = (
@@ -245,4 +591,64 @@ export const useDeleteBookingById = <TError = AxiosError<ErrorMessage>,
 
       return useMutation(mutationOptions, queryClient);
     }
+    /**
+ * @summary Release a ticket hold, giving its tickets back
+ */
+export const releaseHold = (
+    holdId: string, options?: AxiosRequestConfig
+ ): Promise<AxiosResponse<void>> => {
+    
+    
+    return axios.default.delete(
+      `/api/booking/holds/${holdId}`,options
+    );
+  }
+
+
+
+export const getReleaseHoldMutationOptions = <TError = AxiosError<ErrorMessage>,
+    TContext = unknown>(options?: { mutation?:UseMutationOptions<Awaited<ReturnType<typeof releaseHold>>, TError,{holdId: string}, TContext>, axios?: AxiosRequestConfig}
+): UseMutationOptions<Awaited<ReturnType<typeof releaseHold>>, TError,{holdId: string}, TContext> => {
+
+const mutationKey = ['releaseHold'];
+const {mutation: mutationOptions, axios: axiosOptions} = options ?
+      options.mutation && 'mutationKey' in options.mutation && options.mutation.mutationKey ?
+      options
+      : {...options, mutation: {...options.mutation, mutationKey}}
+      : {mutation: { mutationKey, }, axios: undefined};
+
+      
+
+
+      const mutationFn: MutationFunction<Awaited<ReturnType<typeof releaseHold>>, {holdId: string}> = (props) => {
+          const {holdId} = props ?? {};
+
+          return  releaseHold(holdId,axiosOptions)
+        }
+
+        
+
+
+  return  { mutationFn, ...mutationOptions }}
+
+    export type ReleaseHoldMutationResult = NonNullable<Awaited<ReturnType<typeof releaseHold>>>
+    
+    export type ReleaseHoldMutationError = AxiosError<ErrorMessage>
+
+    /**
+ * @summary Release a ticket hold, giving its tickets back
+ */
+export const useReleaseHold = <TError = AxiosError<ErrorMessage>,
+    TContext = unknown>(options?: { mutation?:UseMutationOptions<Awaited<ReturnType<typeof releaseHold>>, TError,{holdId: string}, TContext>, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient): UseMutationResult<
+        Awaited<ReturnType<typeof releaseHold>>,
+        TError,
+        {holdId: string},
+        TContext
+      > => {
+
+      const mutationOptions = getReleaseHoldMutationOptions(options);
+
+      return useMutation(mutationOptions, queryClient);
+    }
     
\ No newline at end of file
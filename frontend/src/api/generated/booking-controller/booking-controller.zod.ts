@@ -17,10 +17,56 @@ export const makeBookingBody = zod.object({
   "name": zod.string().describe('Name of the person booking tickets')
 })
 
+/**
+ * @summary Join the waitlist of a sold-out event, the booking is made as soon as cancellations free enough tickets
+ */
+export const joinWaitlistBody = zod.object({
+  "eventId": zod.string().describe('ID of the event for which the booking is made'),
+  "userId": zod.string().describe('ID of the user who made the booking'),
+  "numberOfTickets": zod.number().describe('Number of tickets booked'),
+  "name": zod.string().describe('Name of the person booking tickets')
+})
+
+/**
+ * @summary Hold tickets of an event during checkout, they are released unless the hold is confirmed in time
+ */
+export const holdTicketsBody = zod.object({
+  "eventId": zod.string().describe('ID of the event whose tickets are held'),
+  "userId": zod.string().describe('ID of the user holding the tickets'),
+  "numberOfTickets": zod.number().describe('Number of tickets held')
+})
+
+/**
+ * @summary Confirm a ticket hold, turning it into a booking
+ */
+export const confirmHoldParams = zod.object({
+  "holdId": zod.string()
+})
+
+export const confirmHoldBody = zod.object({
+  "name": zod.string().describe('Name of the person booking tickets')
+})
+
 export const getBookingsByUserParams = zod.object({
   "userId": zod.string()
 })
 
+/**
+ * @summary Get the place of a user in the waitlist of an event
+ */
+export const getWaitlistPositionParams = zod.object({
+  "eventId": zod.string(),
+  "userId": zod.string()
+})
+
+/**
+ * @summary Leave the waitlist of an event
+ */
+export const leaveWaitlistParams = zod.object({
+  "eventId": zod.string(),
+  "userId": zod.string()
+})
+
 /**
  * @summary Delete a booking by its ID
  */
@@ -28,3 +74,9 @@ export const deleteBookingByIdParams = zod.object({
   "bookingId": zod.string()
 })
 
+/**
+ * @summary Release a ticket hold, giving its tickets back
+ */
+export const releaseHoldParams = zod.object({
+  "holdId": zod.string()
+})
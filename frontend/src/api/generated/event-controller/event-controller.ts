@@ -34,7 +34,16 @@ import type {
   CreateEventBody,
   ErrorMessage,
   Event,
+  EventCardDto,
+  EventPageDto,
   EventResponseDto,
+  EventSearchPageDto,
+  EventSuggestionDto,
+  GetAllEventsParams,
+  GetNearbyEventsParams,
+  NearbyEventPageDto,
+  SearchEventsParams,
+  SuggestEventsParams,
   UpdateEventBody
 } from '../openAPIDefinition.schemas';
 
@@ -429,7 +438,7 @@ export function useGetRawEventById<TData = Awaited<ReturnType<typeof getRawEvent
  */
 export const getEventsByUserId = (
     userId: string, options?: AxiosRequestConfig
- ): Promise<AxiosResponse<EventResponseDto[]>> => {
+ ): Promise<AxiosResponse<EventCardDto[]>> => {
     
     
     return axios.default.get(
@@ -520,7 +529,7 @@ export function useGetEventsByUserId<TData = Awaited<ReturnType<typeof getEvents
  */
 export const getEventsByOrgaId = (
     organizationId: string, options?: AxiosRequestConfig
- ): Promise<AxiosResponse<EventResponseDto[]>> => {
+ ): Promise<AxiosResponse<EventCardDto[]>> => {
     
     
     return axios.default.get(
@@ -606,39 +615,41 @@ export function useGetEventsByOrgaId<TData = Awaited<ReturnType<typeof getEvents
 
 
 /**
- * Retrieve a list of all events
- * @summary Get an array of all Event dtos
+ * Retrieve events page by page, ordered by date and time (past events newest first). Pass the returned nextCursor to get the following page.
+ * @summary Get a page of Event dtos
  */
 export const getAllEvents = (
-     options?: AxiosRequestConfig
- ): Promise<AxiosResponse<EventResponseDto[]>> => {
+    params?: GetAllEventsParams, options?: AxiosRequestConfig
+ ): Promise<AxiosResponse<EventPageDto>> => {
     
     
     return axios.default.get(
-      `/api/events/all`,options
+      `/api/events/all`,{
+    ...options,
+        params: {...params, ...options?.params},}
     );
   }
 
 
 
 
-export const getGetAllEventsQueryKey = () => {
+export const getGetAllEventsQueryKey = (params?: GetAllEventsParams,) => {
     return [
-    `/api/events/all`
+    `/api/events/all`, ...(params ? [params]: [])
     ] as const;
     }
 
     
-export const getGetAllEventsQueryOptions = <TData = Awaited<ReturnType<typeof getAllEvents>>, TError = AxiosError<ErrorMessage>>( options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getAllEvents>>, TError, TData>>, axios?: AxiosRequestConfig}
+export const getGetAllEventsQueryOptions = <TData = Awaited<ReturnType<typeof getAllEvents>>, TError = AxiosError<ErrorMessage>>(params?: GetAllEventsParams, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getAllEvents>>, TError, TData>>, axios?: AxiosRequestConfig}
 ) => {
 
 const {query: queryOptions, axios: axiosOptions} = options ?? {};
 
-  const queryKey =  queryOptions?.queryKey ?? getGetAllEventsQueryKey();
+  const queryKey =  queryOptions?.queryKey ?? getGetAllEventsQueryKey(params);
 
   
 
-    const queryFn: QueryFunction<Awaited<ReturnType<typeof getAllEvents>>> = ({ signal }) => getAllEvents({ signal, ...axiosOptions });
+    const queryFn: QueryFunction<Awaited<ReturnType<typeof getAllEvents>>> = ({ signal }) => getAllEvents(params, { signal, ...axiosOptions });
 
       
 
@@ -652,7 +663,7 @@ export type GetAllEventsQueryError = AxiosError<ErrorMessage>
 
 
 export function useGetAllEvents<TData = Awaited<ReturnType<typeof getAllEvents>>, TError = AxiosError<ErrorMessage>>(
-  options: { query:Partial<UseQueryOptions<Awaited<ReturnType<typeof getAllEvents>>, TError, TData>> & Pick<
+ params: undefined |  GetAllEventsParams, options: { query:Partial<UseQueryOptions<Awaited<ReturnType<typeof getAllEvents>>, TError, TData>> & Pick<
         DefinedInitialDataOptions<
           Awaited<ReturnType<typeof getAllEvents>>,
           TError,
@@ -662,7 +673,7 @@ export function useGetAllEvents<TData = Awaited<ReturnType<typeof getAllEvents>>
  , queryClient?: QueryClient
   ):  DefinedUseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
 export function useGetAllEvents<TData = Awaited<ReturnType<typeof getAllEvents>>, TError = AxiosError<ErrorMessage>>(
-  options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getAllEvents>>, TError, TData>> & Pick<
+ params?: GetAllEventsParams, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getAllEvents>>, TError, TData>> & Pick<
         UndefinedInitialDataOptions<
           Awaited<ReturnType<typeof getAllEvents>>,
           TError,
@@ -672,19 +683,298 @@ export function useGetAllEvents<TData = Awaited<ReturnType<typeof getAllEvents>>
  , queryClient?: QueryClient
   ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
 export function useGetAllEvents<TData = Awaited<ReturnType<typeof getAllEvents>>, TError = AxiosError<ErrorMessage>>(
-  options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getAllEvents>>, TError, TData>>, axios?: AxiosRequestConfig}
+ params?: GetAllEventsParams, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getAllEvents>>, TError, TData>>, axios?: AxiosRequestConfig}
  , queryClient?: QueryClient
   ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
 /**
- * @summary Get an array of all Event dtos
+ * @summary Get a page of Event dtos
  */
 
 export function useGetAllEvents<TData = Awaited<ReturnType<typeof getAllEvents>>, TError = AxiosError<ErrorMessage>>(
-  options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getAllEvents>>, TError, TData>>, axios?: AxiosRequestConfig}
+ params?: GetAllEventsParams, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getAllEvents>>, TError, TData>>, axios?: AxiosRequestConfig}
  , queryClient?: QueryClient 
  ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> } {
 
-  const queryOptions = getGetAllEventsQueryOptions(options)
+  const queryOptions = getGetAllEventsQueryOptions(params,options)
+
+  const query = useQuery(queryOptions, queryClient) as  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> };
+
+  query.queryKey = queryOptions.queryKey ;
+
+  return query;
+}
+
+
+
+
+/**
+ * Retrieve events within a radius around a point, nearest first, optionally limited to a date window (upcoming events by default). Pass the returned nextCursor to get the following page.
+ * @summary Get a page of events near a location
+ */
+export const getNearbyEvents = (
+    params: GetNearbyEventsParams, options?: AxiosRequestConfig
+ ): Promise<AxiosResponse<NearbyEventPageDto>> => {
+    
+    
+    return axios.default.get(
+      `/api/events/near`,{
+    ...options,
+        params: {...params, ...options?.params},}
+    );
+  }
+
+
+
+
+export const getGetNearbyEventsQueryKey = (params: GetNearbyEventsParams,) => {
+    return [
+    `/api/events/near`, ...(params ? [params]: [])
+    ] as const;
+    }
+
+    
+export const getGetNearbyEventsQueryOptions = <TData = Awaited<ReturnType<typeof getNearbyEvents>>, TError = AxiosError<ErrorMessage>>(params: GetNearbyEventsParams, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getNearbyEvents>>, TError, TData>>, axios?: AxiosRequestConfig}
+) => {
+
+const {query: queryOptions, axios: axiosOptions} = options ?? {};
+
+  const queryKey =  queryOptions?.queryKey ?? getGetNearbyEventsQueryKey(params);
+
+  
+
+    const queryFn: QueryFunction<Awaited<ReturnType<typeof getNearbyEvents>>> = ({ signal }) => getNearbyEvents(params, { signal, ...axiosOptions });
+
+      
+
+      
+
+   return  { queryKey, queryFn, ...queryOptions} as UseQueryOptions<Awaited<ReturnType<typeof getNearbyEvents>>, TError, TData> & { queryKey: DataTag<QueryKey, TData, TError> }
+}
+
+export type GetNearbyEventsQueryResult = NonNullable<Awaited<ReturnType<typeof getNearbyEvents>>>
+export type GetNearbyEventsQueryError = AxiosError<ErrorMessage>
+
+
+export function useGetNearbyEvents<TData = Awaited<ReturnType<typeof getNearbyEvents>>, TError = AxiosError<ErrorMessage>>(
+ params: GetNearbyEventsParams, options: { query:Partial<UseQueryOptions<Awaited<ReturnType<typeof getNearbyEvents>>, TError, TData>> & Pick<
+        DefinedInitialDataOptions<
+          Awaited<ReturnType<typeof getNearbyEvents>>,
+          TError,
+          Awaited<ReturnType<typeof getNearbyEvents>>
+        > , 'initialData'
+      >, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient
+  ):  DefinedUseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
+export function useGetNearbyEvents<TData = Awaited<ReturnType<typeof getNearbyEvents>>, TError = AxiosError<ErrorMessage>>(
+ params: GetNearbyEventsParams, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getNearbyEvents>>, TError, TData>> & Pick<
+        UndefinedInitialDataOptions<
+          Awaited<ReturnType<typeof getNearbyEvents>>,
+          TError,
+          Awaited<ReturnType<typeof getNearbyEvents>>
+        > , 'initialData'
+      >, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient
+  ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
+export function useGetNearbyEvents<TData = Awaited<ReturnType<typeof getNearbyEvents>>, TError = AxiosError<ErrorMessage>>(
+ params: GetNearbyEventsParams, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getNearbyEvents>>, TError, TData>>, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient
+  ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
+/**
+ * @summary Get a page of events near a location
+ */
+
+export function useGetNearbyEvents<TData = Awaited<ReturnType<typeof getNearbyEvents>>, TError = AxiosError<ErrorMessage>>(
+ params: GetNearbyEventsParams, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getNearbyEvents>>, TError, TData>>, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient 
+ ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> } {
+
+  const queryOptions = getGetNearbyEventsQueryOptions(params,options)
+
+  const query = useQuery(queryOptions, queryClient) as  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> };
+
+  query.queryKey = queryOptions.queryKey ;
+
+  return query;
+}
+
+
+
+
+/**
+ * Full-text search over title, organization name, city and description, best matches first. Only the first 1000 matches can be paged.
+ * @summary Search events
+ */
+export const searchEvents = (
+    params: SearchEventsParams, options?: AxiosRequestConfig
+ ): Promise<AxiosResponse<EventSearchPageDto>> => {
+    
+    
+    return axios.default.get(
+      `/api/events/search`,{
+    ...options,
+        params: {...params, ...options?.params},}
+    );
+  }
+
+
+
+
+export const getSearchEventsQueryKey = (params: SearchEventsParams,) => {
+    return [
+    `/api/events/search`, ...(params ? [params]: [])
+    ] as const;
+    }
+
+    
+export const getSearchEventsQueryOptions = <TData = Awaited<ReturnType<typeof searchEvents>>, TError = AxiosError<ErrorMessage>>(params: SearchEventsParams, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof searchEvents>>, TError, TData>>, axios?: AxiosRequestConfig}
+) => {
+
+const {query: queryOptions, axios: axiosOptions} = options ?? {};
+
+  const queryKey =  queryOptions?.queryKey ?? getSearchEventsQueryKey(params);
+
+  
+
+    const queryFn: QueryFunction<Awaited<ReturnType<typeof searchEvents>>> = ({ signal }) => searchEvents(params, { signal, ...axiosOptions });
+
+      
+
+      
+
+   return  { queryKey, queryFn, ...queryOptions} as UseQueryOptions<Awaited<ReturnType<typeof searchEvents>>, TError, TData> & { queryKey: DataTag<QueryKey, TData, TError> }
+}
+
+export type SearchEventsQueryResult = NonNullable<Awaited<ReturnType<typeof searchEvents>>>
+export type SearchEventsQueryError = AxiosError<ErrorMessage>
+
+
+export function useSearchEvents<TData = Awaited<ReturnType<typeof searchEvents>>, TError = AxiosError<ErrorMessage>>(
+ params: SearchEventsParams, options: { query:Partial<UseQueryOptions<Awaited<ReturnType<typeof searchEvents>>, TError, TData>> & Pick<
+        DefinedInitialDataOptions<
+          Awaited<ReturnType<typeof searchEvents>>,
+          TError,
+          Awaited<ReturnType<typeof searchEvents>>
+        > , 'initialData'
+      >, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient
+  ):  DefinedUseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
+export function useSearchEvents<TData = Awaited<ReturnType<typeof searchEvents>>, TError = AxiosError<ErrorMessage>>(
+ params: SearchEventsParams, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof searchEvents>>, TError, TData>> & Pick<
+        UndefinedInitialDataOptions<
+          Awaited<ReturnType<typeof searchEvents>>,
+          TError,
+          Awaited<ReturnType<typeof searchEvents>>
+        > , 'initialData'
+      >, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient
+  ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
+export function useSearchEvents<TData = Awaited<ReturnType<typeof searchEvents>>, TError = AxiosError<ErrorMessage>>(
+ params: SearchEventsParams, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof searchEvents>>, TError, TData>>, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient
+  ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
+/**
+ * @summary Search events
+ */
+
+export function useSearchEvents<TData = Awaited<ReturnType<typeof searchEvents>>, TError = AxiosError<ErrorMessage>>(
+ params: SearchEventsParams, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof searchEvents>>, TError, TData>>, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient 
+ ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> } {
+
+  const queryOptions = getSearchEventsQueryOptions(params,options)
+
+  const query = useQuery(queryOptions, queryClient) as  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> };
+
+  query.queryKey = queryOptions.queryKey ;
+
+  return query;
+}
+
+
+
+
+/**
+ * Typeahead for the search box: upcoming events with a title word starting with each word of the text. Served from memory, no database query.
+ * @summary Suggest upcoming events by title
+ */
+export const suggestEvents = (
+    params: SuggestEventsParams, options?: AxiosRequestConfig
+ ): Promise<AxiosResponse<EventSuggestionDto[]>> => {
+    
+    
+    return axios.default.get(
+      `/api/events/suggest`,{
+    ...options,
+        params: {...params, ...options?.params},}
+    );
+  }
+
+
+
+
+export const getSuggestEventsQueryKey = (params: SuggestEventsParams,) => {
+    return [
+    `/api/events/suggest`, ...(params ? [params]: [])
+    ] as const;
+    }
+
+    
+export const getSuggestEventsQueryOptions = <TData = Awaited<ReturnType<typeof suggestEvents>>, TError = AxiosError<ErrorMessage>>(params: SuggestEventsParams, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof suggestEvents>>, TError, TData>>, axios?: AxiosRequestConfig}
+) => {
+
+const {query: queryOptions, axios: axiosOptions} = options ?? {};
+
+  const queryKey =  queryOptions?.queryKey ?? getSuggestEventsQueryKey(params);
+
+  
+
+    const queryFn: QueryFunction<Awaited<ReturnType<typeof suggestEvents>>> = ({ signal }) => suggestEvents(params, { signal, ...axiosOptions });
+
+      
+
+      
+
+   return  { queryKey, queryFn, ...queryOptions} as UseQueryOptions<Awaited<ReturnType<typeof suggestEvents>>, TError, TData> & { queryKey: DataTag<QueryKey, TData, TError> }
+}
+
+export type SuggestEventsQueryResult = NonNullable<Awaited<ReturnType<typeof suggestEvents>>>
+export type SuggestEventsQueryError = AxiosError<ErrorMessage>
+
+
+export function useSuggestEvents<TData = Awaited<ReturnType<typeof suggestEvents>>, TError = AxiosError<ErrorMessage>>(
+ params: SuggestEventsParams, options: { query:Partial<UseQueryOptions<Awaited<ReturnType<typeof suggestEvents>>, TError, TData>> & Pick<
+        DefinedInitialDataOptions<
+          Awaited<ReturnType<typeof suggestEvents>>,
+          TError,
+          Awaited<ReturnType<typeof suggestEvents>>
+        > , 'initialData'
+      >, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient
+  ):  DefinedUseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
+export function useSuggestEvents<TData = Awaited<ReturnType<typeof suggestEvents>>, TError = AxiosError<ErrorMessage>>(
+ params: SuggestEventsParams, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof suggestEvents>>, TError, TData>> & Pick<
+        UndefinedInitialDataOptions<
+          Awaited<ReturnType<typeof suggestEvents>>,
+          TError,
+          Awaited<ReturnType<typeof suggestEvents>>
+        > , 'initialData'
+      >, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient
+  ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
+export function useSuggestEvents<TData = Awaited<ReturnType<typeof suggestEvents>>, TError = AxiosError<ErrorMessage>>(
+ params: SuggestEventsParams, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof suggestEvents>>, TError, TData>>, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient
+  ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
+/**
+ * @summary Suggest upcoming events by title
+ */
+
+export function useSuggestEvents<TData = Awaited<ReturnType<typeof suggestEvents>>, TError = AxiosError<ErrorMessage>>(
+ params: SuggestEventsParams, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof suggestEvents>>, TError, TData>>, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient 
+ ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> } {
+
+  const queryOptions = getSuggestEventsQueryOptions(params,options)
 
   const query = useQuery(queryOptions, queryClient) as  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> };
 
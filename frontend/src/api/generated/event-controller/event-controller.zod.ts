@@ -64,7 +64,8 @@ export const updateEventBody = zod.object({
 }),
   "price": zod.number().min(updateEventBodyUpdateEventPriceMin).describe('Price of the event'),
   "maxTicketCapacity": zod.number().min(updateEventBodyUpdateEventMaxTicketCapacityMin).optional().describe('Maximum ticket capacity of the event'),
-  "maxPerBooking": zod.number().min(updateEventBodyUpdateEventMaxPerBookingMin).optional().describe('Maximum tickets allowed per booking')
+  "maxPerBooking": zod.number().min(updateEventBodyUpdateEventMaxPerBookingMin).optional().describe('Maximum tickets allowed per booking'),
+  "flashSale": zod.boolean().optional().describe('Counts the tickets of the event in the memory of the server, for flash sales with many bookings at once. Only applies to new events with a max ticket capacity')
 })
 })
 
@@ -120,7 +121,8 @@ export const createEventBody = zod.object({
 }),
   "price": zod.number().min(createEventBodyEventPriceMin).describe('Price of the event'),
   "maxTicketCapacity": zod.number().min(createEventBodyEventMaxTicketCapacityMin).optional().describe('Maximum ticket capacity of the event'),
-  "maxPerBooking": zod.number().min(createEventBodyEventMaxPerBookingMin).optional().describe('Maximum tickets allowed per booking')
+  "maxPerBooking": zod.number().min(createEventBodyEventMaxPerBookingMin).optional().describe('Maximum tickets allowed per booking'),
+  "flashSale": zod.boolean().optional().describe('Counts the tickets of the event in the memory of the server, for flash sales with many bookings at once. Only applies to new events with a max ticket capacity')
 })
 })
 
@@ -148,3 +150,64 @@ export const getEventsByOrgaIdParams = zod.object({
   "organizationId": zod.string()
 })
 
+/**
+ * Retrieve events page by page, ordered by date and time (past events newest first). Pass the returned nextCursor to get the following page.
+ * @summary Get a page of Event dtos
+ */
+export const getAllEventsQueryFilterDefault = `ALL`;
+export const getAllEventsQuerySizeDefault = 20;
+
+export const getAllEventsQueryParams = zod.object({
+  "filter": zod.enum(['UPCOMING', 'PAST', 'ALL']).default(getAllEventsQueryFilterDefault).describe('Which events to list'),
+  "cursor": zod.string().optional().describe('Cursor of the previous page, omit for the first page'),
+  "size": zod.number().default(getAllEventsQuerySizeDefault).describe('Number of events per page, capped at 100')
+})
+
+
+/**
+ * Retrieve events within a radius around a point, nearest first, optionally limited to a date window (upcoming events by default). Pass the returned nextCursor to get the following page.
+ * @summary Get a page of events near a location
+ */
+export const getNearbyEventsQueryRadiusKmDefault = 25;
+export const getNearbyEventsQuerySizeDefault = 20;
+
+export const getNearbyEventsQueryParams = zod.object({
+  "lat": zod.number().describe('Latitude of the search center'),
+  "lng": zod.number().describe('Longitude of the search center'),
+  "radiusKm": zod.number().default(getNearbyEventsQueryRadiusKmDefault).describe('Search radius in kilometers, at most 500.0'),
+  "from": zod.iso.datetime({}).optional().describe('Earliest event date and time (ISO 8601), defaults to now'),
+  "to": zod.iso.datetime({}).optional().describe('Events before this date and time (ISO 8601), open-ended if omitted'),
+  "cursor": zod.string().optional().describe('Cursor of the previous page, omit for the first page'),
+  "size": zod.number().default(getNearbyEventsQuerySizeDefault).describe('Number of events per page, capped at 100')
+})
+
+
+/**
+ * Full-text search over title, organization name, city and description, best matches first. Only the first 1000 matches can be paged.
+ * @summary Search events
+ */
+export const searchEventsQueryFilterDefault = `ALL`;
+export const searchEventsQueryPageDefault = 0;
+export const searchEventsQuerySizeDefault = 20;
+
+export const searchEventsQueryParams = zod.object({
+  "q": zod.string().describe('Words to search for, \"quoted phrases\" must match as a whole and -words must not match'),
+  "filter": zod.enum(['UPCOMING', 'PAST', 'ALL']).default(searchEventsQueryFilterDefault).describe('Which events to search'),
+  "city": zod.string().optional().describe('Only events in this city'),
+  "organizationId": zod.string().optional().describe('Only events of this organization'),
+  "page": zod.number().default(searchEventsQueryPageDefault).describe('Number of the page, starting at 0'),
+  "size": zod.number().default(searchEventsQuerySizeDefault).describe('Number of events per page, capped at 100')
+})
+
+
+/**
+ * Typeahead for the search box: upcoming events with a title word starting with each word of the text. Served from memory, no database query.
+ * @summary Suggest upcoming events by title
+ */
+export const suggestEventsQueryLimitDefault = 8;
+
+export const suggestEventsQueryParams = zod.object({
+  "q": zod.string().describe('Beginning of the title words, e.g. \'jaz ni\''),
+  "limit": zod.number().default(suggestEventsQueryLimitDefault).describe('Maximum number of suggestions, capped at 20')
+})
+
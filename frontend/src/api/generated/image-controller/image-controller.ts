@@ -27,7 +27,8 @@ import type {
 } from 'axios';
 
 import type {
-  ErrorMessage
+  ErrorMessage,
+  GetImageParams
 } from '../openAPIDefinition.schemas';
 
 
@@ -35,40 +36,45 @@ import type {
 
 
 /**
- * Retrieve an image by its unique identifier.
+ * Retrieve an image by its unique identifier. With a width the closest downscaled variant is returned.
  * @summary Get image by ID
  */
 export const getImage = (
-    imageId: string, options?: AxiosRequestConfig
- ): Promise<AxiosResponse<string>> => {
+    imageId: string,
+    params?: GetImageParams, options?: AxiosRequestConfig
+ ): Promise<AxiosResponse<Blob>> => {
     
     
     return axios.default.get(
       `/api/images/${imageId}`,{
-    ...options,}
+        responseType: 'blob',
+    ...options,
+        params: {...params, ...options?.params},}
     );
   }
 
 
 
 
-export const getGetImageQueryKey = (imageId?: string,) => {
+export const getGetImageQueryKey = (imageId?: string,
+    params?: GetImageParams,) => {
     return [
-    `/api/images/${imageId}`
+    `/api/images/${imageId}`, ...(params ? [params]: [])
     ] as const;
     }
 
     
-export const getGetImageQueryOptions = <TData = Awaited<ReturnType<typeof getImage>>, TError = AxiosError<ErrorMessage>>(imageId: string, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getImage>>, TError, TData>>, axios?: AxiosRequestConfig}
+export const getGetImageQueryOptions = <TData = Awaited<ReturnType<typeof getImage>>, TError = AxiosError<ErrorMessage>>(imageId: string,
+    params?: GetImageParams, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getImage>>, TError, TData>>, axios?: AxiosRequestConfig}
 ) => {
 
 const {query: queryOptions, axios: axiosOptions} = options ?? {};
 
-  const queryKey =  queryOptions?.queryKey ?? getGetImageQueryKey(imageId);
+  const queryKey =  queryOptions?.queryKey ?? getGetImageQueryKey(imageId,params);
 
   
 
-    const queryFn: QueryFunction<Awaited<ReturnType<typeof getImage>>> = ({ signal }) => getImage(imageId, { signal, ...axiosOptions });
+    const queryFn: QueryFunction<Awaited<ReturnType<typeof getImage>>> = ({ signal }) => getImage(imageId,params, { signal, ...axiosOptions });
 
       
 
@@ -82,7 +88,8 @@ export type GetImageQueryError = AxiosError<ErrorMessage>
 
 
 export function useGetImage<TData = Awaited<ReturnType<typeof getImage>>, TError = AxiosError<ErrorMessage>>(
- imageId: string, options: { query:Partial<UseQueryOptions<Awaited<ReturnType<typeof getImage>>, TError, TData>> & Pick<
+ imageId: string,
+    params?: GetImageParams, options: { query:Partial<UseQueryOptions<Awaited<ReturnType<typeof getImage>>, TError, TData>> & Pick<
         DefinedInitialDataOptions<
           Awaited<ReturnType<typeof getImage>>,
           TError,
@@ -92,7 +99,8 @@ export function useGetImage<TData = Awaited<ReturnType<typeof getImage>>, TError
  , queryClient?: QueryClient
   ):  DefinedUseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
 export function useGetImage<TData = Awaited<ReturnType<typeof getImage>>, TError = AxiosError<ErrorMessage>>(
- imageId: string, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getImage>>, TError, TData>> & Pick<
+ imageId: string,
+    params?: GetImageParams, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getImage>>, TError, TData>> & Pick<
         UndefinedInitialDataOptions<
           Awaited<ReturnType<typeof getImage>>,
           TError,
@@ -102,7 +110,8 @@ export function useGetImage<TData = Awaited<ReturnType<typeof getImage>>, TError
  , queryClient?: QueryClient
   ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
 export function useGetImage<TData = Awaited<ReturnType<typeof getImage>>, TError = AxiosError<ErrorMessage>>(
- imageId: string, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getImage>>, TError, TData>>, axios?: AxiosRequestConfig}
+ imageId: string,
+    params?: GetImageParams, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getImage>>, TError, TData>>, axios?: AxiosRequestConfig}
  , queryClient?: QueryClient
   ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
 /**
@@ -110,11 +119,12 @@ export function useGetImage<TData = Awaited<ReturnType<typeof getImage>>, TError
  */
 
 export function useGetImage<TData = Awaited<ReturnType<typeof getImage>>, TError = AxiosError<ErrorMessage>>(
- imageId: string, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getImage>>, TError, TData>>, axios?: AxiosRequestConfig}
+ imageId: string,
+    params?: GetImageParams, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getImage>>, TError, TData>>, axios?: AxiosRequestConfig}
  , queryClient?: QueryClient 
  ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> } {
 
-  const queryOptions = getGetImageQueryOptions(imageId,options)
+  const queryOptions = getGetImageQueryOptions(imageId,params,options)
 
   const query = useQuery(queryOptions, queryClient) as  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> };
 
@@ -127,7 +137,99 @@ export function useGetImage<TData = Awaited<ReturnType<typeof getImage>>, TError
 
 
 /**
- * Retrieve an image as data URL for frontend usage.
+ * Retrieve a tiny preview of an image as data URL (below 1 KB), meant to be shown blurred while the image loads.
+ * @summary Get image placeholder
+ */
+export const getImagePlaceholder = (
+    imageId: string, options?: AxiosRequestConfig
+ ): Promise<AxiosResponse<string>> => {
+    
+    
+    return axios.default.get(
+      `/api/images/placeholder/${imageId}`,{
+    ...options,}
+    );
+  }
+
+
+
+
+export const getGetImagePlaceholderQueryKey = (imageId?: string,) => {
+    return [
+    `/api/images/placeholder/${imageId}`
+    ] as const;
+    }
+
+    
+export const getGetImagePlaceholderQueryOptions = <TData = Awaited<ReturnType<typeof getImagePlaceholder>>, TError = AxiosError<ErrorMessage>>(imageId: string, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getImagePlaceholder>>, TError, TData>>, axios?: AxiosRequestConfig}
+) => {
+
+const {query: queryOptions, axios: axiosOptions} = options ?? {};
+
+  const queryKey =  queryOptions?.queryKey ?? getGetImagePlaceholderQueryKey(imageId);
+
+  
+
+    const queryFn: QueryFunction<Awaited<ReturnType<typeof getImagePlaceholder>>> = ({ signal }) => getImagePlaceholder(imageId, { signal, ...axiosOptions });
+
+      
+
+      
+
+   return  { queryKey, queryFn, enabled: !!(imageId), ...queryOptions} as UseQueryOptions<Awaited<ReturnType<typeof getImagePlaceholder>>, TError, TData> & { queryKey: DataTag<QueryKey, TData, TError> }
+}
+
+export type GetImagePlaceholderQueryResult = NonNullable<Awaited<ReturnType<typeof getImagePlaceholder>>>
+export type GetImagePlaceholderQueryError = AxiosError<ErrorMessage>
+
+
+export function useGetImagePlaceholder<TData = Awaited<ReturnType<typeof getImagePlaceholder>>, TError = AxiosError<ErrorMessage>>(
+ imageId: string, options: { query:Partial<UseQueryOptions<Awaited<ReturnType<typeof getImagePlaceholder>>, TError, TData>> & Pick<
+        DefinedInitialDataOptions<
+          Awaited<ReturnType<typeof getImagePlaceholder>>,
+          TError,
+          Awaited<ReturnType<typeof getImagePlaceholder>>
+        > , 'initialData'
+      >, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient
+  ):  DefinedUseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
+export function useGetImagePlaceholder<TData = Awaited<ReturnType<typeof getImagePlaceholder>>, TError = AxiosError<ErrorMessage>>(
+ imageId: string, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getImagePlaceholder>>, TError, TData>> & Pick<
+        UndefinedInitialDataOptions<
+          Awaited<ReturnType<typeof getImagePlaceholder>>,
+          TError,
+          Awaited<ReturnType<typeof getImagePlaceholder>>
+        > , 'initialData'
+      >, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient
+  ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
+export function useGetImagePlaceholder<TData = Awaited<ReturnType<typeof getImagePlaceholder>>, TError = AxiosError<ErrorMessage>>(
+ imageId: string, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getImagePlaceholder>>, TError, TData>>, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient
+  ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
+/**
+ * @summary Get image placeholder
+ */
+
+export function useGetImagePlaceholder<TData = Awaited<ReturnType<typeof getImagePlaceholder>>, TError = AxiosError<ErrorMessage>>(
+ imageId: string, options?: { query?:Partial<UseQueryOptions<Awaited<ReturnType<typeof getImagePlaceholder>>, TError, TData>>, axios?: AxiosRequestConfig}
+ , queryClient?: QueryClient 
+ ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> } {
+
+  const queryOptions = getGetImagePlaceholderQueryOptions(imageId,options)
+
+  const query = useQuery(queryOptions, queryClient) as  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> };
+
+  query.queryKey = queryOptions.queryKey ;
+
+  return query;
+}
+
+
+
+/**
+ * Retrieve an image as data URL for frontend usage. Deprecated: the data URL is a third larger than the image, use the image itself or its placeholder instead.
+ * @deprecated
  * @summary Get image as data URL
  */
 export const getImageAsDataUrl = (
@@ -198,6 +300,7 @@ export function useGetImageAsDataUrl<TData = Awaited<ReturnType<typeof getImageA
  , queryClient?: QueryClient
   ):  UseQueryResult<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> }
 /**
+ * @deprecated
  * @summary Get image as data URL
  */
 
@@ -8,15 +8,28 @@ import * as zod from 'zod';
 
 
 /**
- * Retrieve an image by its unique identifier.
+ * Retrieve an image by its unique identifier. With a width the closest downscaled variant is returned.
  * @summary Get image by ID
  */
 export const getImageParams = zod.object({
   "imageId": zod.string()
 })
 
+export const getImageQueryParams = zod.object({
+  "w": zod.number().optional().describe('Display width in pixels, served from the closest variant (320, 640 or 1280)')
+})
+
+/**
+ * Retrieve a tiny preview of an image as data URL (below 1 KB), meant to be shown blurred while the image loads.
+ * @summary Get image placeholder
+ */
+export const getImagePlaceholderParams = zod.object({
+  "imageId": zod.string()
+})
+
 /**
- * Retrieve an image as data URL for frontend usage.
+ * Retrieve an image as data URL for frontend usage. Deprecated: the data URL is a third larger than the image, use the image itself or its placeholder instead.
+ * @deprecated
  * @summary Get image as data URL
  */
 export const getImageAsDataUrlParams = zod.object({
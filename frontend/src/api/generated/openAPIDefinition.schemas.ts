@@ -218,6 +218,8 @@ export interface EventRequestDto {
    * @minimum 0
    */
   maxPerBooking?: number;
+  /** Counts the tickets of the event in the memory of the server, for flash sales with many bookings at once. Only applies to new events with a max ticket capacity */
+  flashSale?: boolean;
 }
 
 /**
@@ -284,6 +286,40 @@ export interface BookingRequestDto {
   name: string;
 }
 
+export interface WaitlistPositionDto {
+  /** ID of the event the waitlist belongs to */
+  eventId: string;
+  /** Number of tickets booked once it's the user's turn */
+  numberOfTickets: number;
+  /** Place in the waitlist, 1 is next. People ahead who left are counted until the line has moved past them */
+  position: number;
+}
+
+export interface TicketHoldRequestDto {
+  /** ID of the event whose tickets are held */
+  eventId: string;
+  /** ID of the user holding the tickets */
+  userId: string;
+  /** Number of tickets held */
+  numberOfTickets: number;
+}
+
+export interface TicketHoldDto {
+  /** ID of the hold, used to confirm or release it */
+  holdId: string;
+  /** ID of the event whose tickets are held */
+  eventId: string;
+  /** Number of tickets held */
+  numberOfTickets: number;
+  /** Time the tickets are released unless the hold is confirmed before */
+  expiresAt: string;
+}
+
+export interface TicketHoldConfirmationDto {
+  /** Name of the person booking tickets */
+  name: string;
+}
+
 export interface AppUserDto {
   /** Email of the user */
   readonly email?: string;
@@ -300,14 +336,57 @@ export interface AppUserDto {
 export interface BookingResponseDto {
   /** ID of the booking */
   bookingId: string;
-  /** Event for which the booking is made */
-  hostingEvent: EventResponseDto;
+  /** Summary of the event for which the booking is made */
+  hostingEvent: EventSummary;
   /** Number of tickets booked */
   numberOfTickets: number;
   /** Name of the person booking tickets */
   name: string;
 }
 
+/**
+ * Summary of the event for which the booking is made
+ */
+export interface EventSummary {
+  /** ID of the event */
+  id: string;
+  /** Organization hosting the event */
+  eventOrganization: OrganizationSummary;
+  /** Title of the event */
+  title: string;
+  /** Iso Date and time of the event */
+  eventDateTime: string;
+  /** Location of the event */
+  location: Location;
+  /** Image ID of the event's banner */
+  imageId?: string;
+}
+
+/**
+ * Organization hosting the event
+ */
+export interface OrganizationSummary {
+  /**
+   * ID of the organization
+   * @minLength 1
+   */
+  id: string;
+  /**
+   * Name of the organization
+   * @minLength 1
+   */
+  name: string;
+  /**
+   * Slug of the organization
+   * @minLength 1
+   */
+  slug: string;
+  /** Image ID of the organization's logo */
+  imageId?: string;
+  /** Location of the organization */
+  location?: Location;
+}
+
 /**
  * Event for which the booking is made
  */
@@ -338,6 +417,55 @@ export interface EventResponseDto {
   imageId?: string;
 }
 
+export interface EventCardDto {
+  /** ID of the event */
+  id: string;
+  /** Summary of the organization the event belongs to */
+  eventOrganization: OrganizationSummary;
+  /** Title of the event */
+  title: string;
+  /** Iso Date and time of the event */
+  eventDateTime: string;
+  /** Location of the event */
+  location?: Location;
+  /** Ticket price for the event */
+  price: number;
+  /** Indicates if event is almost sold out */
+  ticketAlarm?: boolean;
+  /** Indicates if event is sold out */
+  isSoldOut?: boolean;
+  /** Number of Tickets booked for the event */
+  bookedTicketsCount: number;
+  /** Maximum tickets allowed per booking */
+  maxPerBooking?: number;
+  /** Image ID associated with the event */
+  imageId?: string;
+}
+
+/**
+ * Live ticket availability of an event, pushed by the availability stream
+ */
+export interface TicketAvailabilityDto {
+  /** Unique identifier of the event */
+  eventId: string;
+  /**
+   * Maximum number of tickets, null for events without limit
+   * @nullable
+   */
+  maxTicketCapacity?: number | null;
+  /**
+   * Number of tickets still available, null for events without limit
+   * @nullable
+   */
+  freeTicketCapacity?: number | null;
+  /** Number of tickets booked so far */
+  bookedTicketsCount?: number;
+  /** Whether at most 20% of the tickets are left */
+  ticketAlarm?: boolean;
+  /** Whether the event is sold out */
+  isSoldOut?: boolean;
+}
+
 export interface OrganizationResponseDto {
   /** Name of the organization */
   readonly name: string;
@@ -359,6 +487,66 @@ export interface OrganizationResponseDto {
   readonly contact?: Contact;
 }
 
+export interface EventPageDto {
+  /** Events of this page, ordered by date and time */
+  events: EventCardDto[];
+  /** Opaque cursor to request the following page, null on the last page */
+  nextCursor?: string;
+  /** Indicates if there are more events after this page */
+  hasNext: boolean;
+}
+
+export interface NearbyEventPageDto {
+  /** Events of this page, nearest first */
+  events: NearbyEventDto[];
+  /** Opaque cursor to request the following page, null on the last page */
+  nextCursor?: string;
+  /** Indicates if there are more events after this page */
+  hasNext: boolean;
+}
+
+export interface NearbyEventDto {
+  /** The event */
+  event: EventCardDto;
+  /** Distance between the search center and the event location in kilometers */
+  distanceKm: number;
+}
+
+export interface EventSearchPageDto {
+  /** Events of this page, best matches first */
+  events: EventCardDto[];
+  /** Number of this page, starting at 0 */
+  page: number;
+  /** Indicates if there are more matches after this page */
+  hasNext: boolean;
+}
+
+export interface EventSuggestionDto {
+  /** ID of the event */
+  id: string;
+  /** Title of the event */
+  title: string;
+  /** Date and time of the event in ISO 8601 format */
+  eventDateTime: string;
+}
+
+export interface CacheStatsDto {
+  /** Name of the cache */
+  name: string;
+  /** Approximate number of cached entries */
+  size?: number;
+  /** Requests answered from the cache */
+  hitCount?: number;
+  /** Requests that had to be loaded from the database */
+  missCount?: number;
+  /** Share of requests answered from the cache */
+  hitRate?: number;
+  /** Entries dropped because the cache was full or they expired */
+  evictionCount?: number;
+  /** Entries removed because the underlying data was saved or deleted */
+  invalidationCount?: number;
+}
+
 export type UpdateOrganizationBody = {
   image?: Blob;
   deleteImage?: boolean;
@@ -381,3 +569,113 @@ export type CreateEventBody = {
   event: EventRequestDto;
 };
 
+export type GetImageParams = {
+/**
+ * Display width in pixels, served from the closest variant (320, 640 or 1280)
+ */
+w?: number;
+};
+
+export type GetAllEventsParams = {
+/**
+ * Which events to list
+ */
+filter?: GetAllEventsFilter;
+/**
+ * Cursor of the previous page, omit for the first page
+ */
+cursor?: string;
+/**
+ * Number of events per page, capped at 100
+ */
+size?: number;
+};
+
+export type GetAllEventsFilter = typeof GetAllEventsFilter[keyof typeof GetAllEventsFilter];
+
+
+// eslint-disable-next-line @typescript-eslint/no-redeclare
+export const GetAllEventsFilter = {
+  UPCOMING: 'UPCOMING',
+  PAST: 'PAST',
+  ALL: 'ALL',
+} as const;
+
+export type GetNearbyEventsParams = {
+/**
+ * Latitude of the search center
+ */
+lat: number;
+/**
+ * Longitude of the search center
+ */
+lng: number;
+/**
+ * Search radius in kilometers, at most 500.0
+ */
+radiusKm?: number;
+/**
+ * Earliest event date and time (ISO 8601), defaults to now
+ */
+from?: string;
+/**
+ * Events before this date and time (ISO 8601), open-ended if omitted
+ */
+to?: string;
+/**
+ * Cursor of the previous page, omit for the first page
+ */
+cursor?: string;
+/**
+ * Number of events per page, capped at 100
+ */
+size?: number;
+};
+
+export type SearchEventsParams = {
+/**
+ * Words to search for, "quoted phrases" must match as a whole and -words must not match
+ */
+q: string;
+/**
+ * Which events to search
+ */
+filter?: SearchEventsFilter;
+/**
+ * Only events in this city
+ */
+city?: string;
+/**
+ * Only events of this organization
+ */
+organizationId?: string;
+/**
+ * Number of the page, starting at 0
+ */
+page?: number;
+/**
+ * Number of events per page, capped at 100
+ */
+size?: number;
+};
+
+export type SearchEventsFilter = typeof SearchEventsFilter[keyof typeof SearchEventsFilter];
+
+
+// eslint-disable-next-line @typescript-eslint/no-redeclare
+export const SearchEventsFilter = {
+  UPCOMING: 'UPCOMING',
+  PAST: 'PAST',
+  ALL: 'ALL',
+} as const;
+
+export type SuggestEventsParams = {
+/**
+ * Beginning of the title words, e.g. 'jaz ni'
+ */
+q: string;
+/**
+ * Maximum number of suggestions, capped at 20
+ */
+limit?: number;
+};
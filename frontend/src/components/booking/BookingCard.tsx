@@ -2,7 +2,7 @@ import { Card, CardContent, CardDescription, CardHeader, CardTitle } from "@/com
 import type { BookingResponseDto } from "@/api/generated/openAPIDefinition.schemas.ts";
 import EventImage from "@/components/event/EventImage.tsx";
 import Text from "@/components/typography/Text.tsx";
-import { useGetImageAsDataUrl } from "@/api/generated/image-controller/image-controller.ts";
+import { imageUrl } from "@/lib/utils.ts";
 import DeleteBookingDialog from "@/components/booking/DeleteBookingDialog.tsx";
 
 type BookingCardProps = {
@@ -11,10 +11,6 @@ type BookingCardProps = {
 
 export default function BookingCard( { booking }: Readonly<BookingCardProps> ) {
 
-    const { data: imageData } = useGetImageAsDataUrl( booking.hostingEvent.imageId || "", {
-        query: { enabled: !!booking.hostingEvent.imageId },
-    } )
-
     return (
         <Card>
             <CardHeader>
@@ -32,7 +28,7 @@ export default function BookingCard( { booking }: Readonly<BookingCardProps> ) {
                 </Text>
             </CardHeader>
             <CardContent className={ "w-[250px] space-y-4" }>
-                <EventImage imageData={ imageData?.data || null }/>
+                <EventImage imageData={ imageUrl( booking.hostingEvent.imageId, 320 ) }/>
                 <Text styleVariant={ "smallMuted" }>
                     booking Id: { booking.bookingId }
                 </Text>
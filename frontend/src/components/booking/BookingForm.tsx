@@ -11,6 +11,8 @@ import CustomLoader from "@/components/shared/CustomLoader.tsx";
 import Text from "@/components/typography/Text.tsx";
 import { InfoIcon } from "lucide-react";
 import { useQueryClient } from "@tanstack/react-query";
+import { useEffect, useState } from "react";
+import { v4 as uuidv4 } from 'uuid';
 
 const formSchema = z.object( {
     numberOfTickets: z.coerce.number<number>().positive()
@@ -50,14 +52,22 @@ export default function BookingForm( {
 
     const queryClient = useQueryClient();
 
+    // one key per booking attempt, a resubmit after a lost response gets the first booking back instead of a second
+    const [ idempotencyKey, setIdempotencyKey ] = useState( uuidv4 );
+
     const bookEvent = useMakeBooking( {
         axios:
             {
                 withCredentials: true,
+                headers: { "Idempotency-Key": idempotencyKey },
             }
     } )
     const values = form.watch();
 
+    useEffect( () => {
+        setIdempotencyKey( uuidv4() );
+    }, [ values.numberOfTickets ] );
+
     const suppressSubmit = form.formState.isSubmitting || !form.formState.isValid || isSoldOut
 
     const handleSubmit = ( data: EventFormData ) => {
@@ -1,13 +1,13 @@
 import Text from "@/components/typography/Text.tsx";
 import { Button } from "@/components/ui/button.tsx";
 import { NavLink } from "react-router";
-import type { EventResponseDto } from "@/api/generated/openAPIDefinition.schemas.ts";
+import type { EventCardDto } from "@/api/generated/openAPIDefinition.schemas.ts";
 import CustomLoader from "@/components/shared/CustomLoader.tsx";
 import EventCard from "@/components/event/EventCard.tsx";
 import { Plus } from "lucide-react";
 
 type DashboardEventProps = {
-    events: EventResponseDto[] | undefined,
+    events: EventCardDto[] | undefined,
     isLoading?: boolean,
 
 }
@@ -1,9 +1,9 @@
-import type { EventResponseDto } from "@/api/generated/openAPIDefinition.schemas.ts";
+import type { EventCardDto } from "@/api/generated/openAPIDefinition.schemas.ts";
 import { Badge } from "@/components/ui/badge.tsx";
 import { twMerge } from "tailwind-merge";
 
 type EventBadgesProps = {
-    event: EventResponseDto,
+    event: EventCardDto,
     badgeClassNames?: string,
     wrapperClassNames?: string,
 }
@@ -1,7 +1,7 @@
-import type { EventResponseDto } from "@/api/generated/openAPIDefinition.schemas.ts";
+import type { EventCardDto } from "@/api/generated/openAPIDefinition.schemas.ts";
 import { Card, CardAction, CardContent, CardHeader, CardTitle } from "@/components/ui/card.tsx";
 import EventImage from "@/components/event/EventImage.tsx";
-import { useGetImageAsDataUrl } from "@/api/generated/image-controller/image-controller.ts";
+import { imageUrl } from "@/lib/utils.ts";
 import { Button } from "@/components/ui/button.tsx";
 import EventCalendarSheet from "@/components/event/EventCalendarSheet.tsx";
 import Text from "@/components/typography/Text.tsx";
@@ -9,17 +9,11 @@ import EventBadges from "@/components/event/EventBadges.tsx";
 import { NavLink } from "react-router";
 
 type EventCardProps = {
-    event: EventResponseDto,
+    event: EventCardDto,
     cardClassName?: string,
 }
 
 export default function EventCard( { event, cardClassName }: Readonly<EventCardProps> ) {
-
-
-    const { data: imageData, isLoading } = useGetImageAsDataUrl( event?.imageId || "", {
-        query: { enabled: !!event?.imageId },
-    } )
-
     return (
         <div className={ cardClassName }>
             <div className={ " px-2 flex justify-between" }>
@@ -32,9 +26,8 @@ export default function EventCard( { event, cardClassName }: Readonly<EventCardP
             </div>
             <Card className={ "space-y-0 gap-3 pt-0 pb-2" }>
                 <CardContent className={ "space-y-4 p-0" }>
-                    <EventImage imageData={ imageData?.data }
-                                imageClassName={ "rounded-none rounded-t-md" }
-                                isLoading={ isLoading }/>
+                    <EventImage imageData={ imageUrl( event?.imageId, 640 ) }
+                                imageClassName={ "rounded-none rounded-t-md" }/>
                 </CardContent>
                 <CardHeader className={ "gap-1 px-4" }>
                     <div className={ "flex justify-between items-start" }>
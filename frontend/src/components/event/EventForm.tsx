@@ -7,11 +7,11 @@ import { Field, FieldDescription, FieldError, FieldGroup, FieldLabel, FieldSepar
 import { Input } from "@/components/ui/input.tsx";
 import { Textarea } from "@/components/ui/textarea.tsx";
 import { Select, SelectContent, SelectItem, SelectTrigger, SelectValue } from "@/components/ui/select.tsx";
-import { useGetImageAsDataUrl } from "@/api/generated/image-controller/image-controller.ts";
 import { useState } from "react";
 import ImageFormPart from "@/components/shared/ImageFormPart.tsx";
 import { createEventBody } from "@/api/generated/event-controller/event-controller.zod.ts";
 import ButtonWithLoading from "@/components/shared/ButtonWithLoading.tsx";
+import { imageUrl } from "@/lib/utils.ts";
 
 const extendedEventBody = createEventBody.extend( {
     event: createEventBody.shape.event.extend( {
@@ -50,13 +50,6 @@ export default function EventForm( { eventData, user, onSubmit }: Readonly<Event
     const [ isRemovingImage, setIsRemovingImage ] = useState<boolean>( false );
 
 
-    const { data: imageData } = useGetImageAsDataUrl( eventData?.imageId || "", {
-        query: {
-            enabled: eventData?.imageId !== null && eventData?.imageId !== undefined
-        }
-    } )
-
-
     const [ imageFile, setImageFile ] = useState<File | null>( null );
 
     const form = useForm<EventFormData>( {
@@ -131,7 +124,7 @@ export default function EventForm( { eventData, user, onSubmit }: Readonly<Event
         <form onSubmit={ form.handleSubmit( handleSubmit ) } className={ "space-y-6" }>
             <FieldGroup>
                 <ImageFormPart labelText={ "Event Image Banner" }
-                               imageData={ imageData?.data }
+                               imageData={ imageUrl( eventData?.imageId, 640 ) }
                                imageFile={ imageFile }
                                setImageFile={ handleImageFile }
                                trackImageRemoval={ handleTrackImageRemoval }/>
@@ -4,12 +4,15 @@ import CustomLoader from "@/components/shared/CustomLoader.tsx";
 
 type EventImageProps = {
     imageData?: string | null,
+    // tiny data url shown blurred behind the image until it has loaded
+    placeholder?: string,
     imageClassName?: string,
     isLoading?: boolean
 }
 
 export default function EventImage( {
                                         imageData,
+                                        placeholder,
                                         imageClassName,
                                         isLoading
                                     }: Readonly<EventImageProps> ) {
@@ -25,6 +28,7 @@ export default function EventImage( {
                         :
                         <img src={ imageDataString }
                              className={ twMerge( "object-cover w-full h-full rounded-md m-auto", imageClassName ) }
+                             style={ placeholder ? { backgroundImage: `url(${ placeholder })`, backgroundSize: "cover" } : undefined }
                              alt={ "Event" }/>
                 }
             </AspectRatio>
@@ -1,12 +1,12 @@
 import type { OrganizationResponseDto } from "@/api/generated/openAPIDefinition.schemas.ts";
 import { Card, CardAction, CardContent } from "@/components/ui/card.tsx";
-import { useGetImageAsDataUrl } from "@/api/generated/image-controller/image-controller.ts";
 import { Avatar, AvatarFallback, AvatarImage } from "@/components/ui/avatar.tsx";
 import { User } from "lucide-react";
 import Text from "@/components/typography/Text.tsx";
 import { Button } from "@/components/ui/button.tsx";
 import { NavLink } from "react-router";
 import { twMerge } from "tailwind-merge";
+import { imageUrl } from "@/lib/utils.ts";
 
 type OrganizationCardProps = {
     orgData: OrganizationResponseDto,
@@ -15,10 +15,6 @@ type OrganizationCardProps = {
 
 export default function OrganizationCard( { orgData, cardClassName }: Readonly<OrganizationCardProps> ) {
 
-    const { data: imageData } = useGetImageAsDataUrl( orgData.imageId || "", {
-        query: { enabled: !!orgData.imageId },
-    } )
-
     return (
         <Card className={ twMerge( "py-3", cardClassName ) }>
             <CardContent>
@@ -39,7 +35,7 @@ export default function OrganizationCard( { orgData, cardClassName }: Readonly<O
                         </CardAction>
                     </div>
                     <Avatar className={ "size-16" }>
-                        <AvatarImage src={ imageData?.data }/>
+                        <AvatarImage src={ imageUrl( orgData.imageId, 320 ) }/>
                         <AvatarFallback>
                             <User/>
                         </AvatarFallback>
@@ -14,11 +14,11 @@ import { Input } from "@/components/ui/input.tsx";
 import type { OrganizationRequestDto, OrganizationResponseDto } from "@/api/generated/openAPIDefinition.schemas.ts";
 import { Textarea } from "@/components/ui/textarea.tsx";
 import { useState } from "react";
-import { useGetImageAsDataUrl } from "@/api/generated/image-controller/image-controller.ts";
 import LocationFormPart from "@/components/shared/LocationFormPart.tsx";
 import ImageFormPart from "@/components/shared/ImageFormPart.tsx";
 import { createOrganizationBody } from "@/api/generated/organization/organization.zod.ts";
 import ButtonWithLoading from "@/components/shared/ButtonWithLoading.tsx";
+import { imageUrl } from "@/lib/utils.ts";
 
 const generatedFormSchema = createOrganizationBody;
 
@@ -39,12 +39,6 @@ export default function OrganizationForm( {
                                               formClassName
                                           }: Readonly<OrganizationFormProps> ) {
 
-    const { data: imageData } = useGetImageAsDataUrl( organizationData?.imageId || "", {
-        query: {
-            enabled: organizationData?.imageId !== null && organizationData?.imageId !== undefined
-        }
-    } )
-
     const [ imageFile, setImageFile ] = useState<File | null>( null );
     const [ isRemovingImage, setIsRemovingImage ] = useState<boolean>( false );
 
@@ -121,7 +115,7 @@ export default function OrganizationForm( {
             <FieldGroup>
                 <FieldSeparator/>
                 <ImageFormPart setImageFile={ handleImageFile }
-                               imageData={ imageData?.data }
+                               imageData={ imageUrl( organizationData?.imageId, 320 ) }
                                labelText={ "Your logo" }
                                avatar={ true }
                                trackImageRemoval={ handleTrackImageRemoval }/>
@@ -1,7 +1,6 @@
 import { Card, CardContent, CardHeader } from "@/components/ui/card.tsx";
 import type { OrganizationResponseDto } from "@/api/generated/openAPIDefinition.schemas.ts";
 import { Avatar, AvatarFallback, AvatarImage } from "@/components/ui/avatar.tsx";
-import { useGetImageAsDataUrl } from "@/api/generated/image-controller/image-controller.ts";
 import { Spinner } from "@/components/ui/spinner.tsx";
 import Text from "@/components/typography/Text.tsx";
 import { Separator } from "@/components/ui/separator.tsx";
@@ -10,6 +9,7 @@ import { Button } from "@/components/ui/button.tsx";
 import { NavLink } from "react-router";
 import { useGetEventsByOrgaId } from "@/api/generated/event-controller/event-controller.ts";
 import EventCard from "@/components/event/EventCard.tsx";
+import { imageUrl } from "@/lib/utils.ts";
 
 type OrganizationViewProps = {
     orgaData: OrganizationResponseDto,
@@ -17,8 +17,6 @@ type OrganizationViewProps = {
 
 export default function OrganizationView( { orgaData }: Readonly<OrganizationViewProps> ) {
 
-    const { data: imageData, isLoading: isLoadingImage } = useGetImageAsDataUrl( orgaData.imageId || "" )
-
     const { data: event } = useGetEventsByOrgaId( orgaData.id )
 
     const scrollToView = () => {
@@ -45,11 +43,9 @@ export default function OrganizationView( { orgaData }: Readonly<OrganizationVie
                             aria-label={ "click to select image logo for upload" }
                             className={ "object-contain mx-auto md:mx-0 border cursor-pointer size-36 my-4" }
                         >
-                            <AvatarImage className={ "" } src={ imageData?.data }/>
+                            <AvatarImage className={ "" } src={ imageUrl( orgaData.imageId, 320 ) }/>
                             <AvatarFallback>
-                                {
-                                    isLoadingImage && <Spinner/>
-                                }
+                                <Spinner/>
                             </AvatarFallback>
                         </Avatar> }
                 </CardHeader>
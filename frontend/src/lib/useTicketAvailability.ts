@@ -0,0 +1,21 @@
+import { useEffect, useState } from "react";
+import type { TicketAvailabilityDto } from "@/api/generated/openAPIDefinition.schemas.ts";
+
+// live ticket counts of an event, pushed by the server whenever bookings change them
+export function useTicketAvailability( eventId?: string ) {
+
+    const [ availability, setAvailability ] = useState<TicketAvailabilityDto>();
+
+    useEffect( () => {
+        if ( !eventId ) return;
+
+        const source = new EventSource( `/api/events/${ eventId }/availability/stream` );
+        source.addEventListener( "availability", ( message ) => {
+            setAvailability( JSON.parse( ( message as MessageEvent<string> ).data ) );
+        } );
+
+        return () => source.close();
+    }, [ eventId ] );
+
+    return availability;
+}
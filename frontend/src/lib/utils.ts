@@ -4,3 +4,9 @@ import { twMerge } from "tailwind-merge"
 export function cn(...inputs: ClassValue[]) {
   return twMerge(clsx(inputs))
 }
+
+// served as a downscaled variant, so cards don't download full size originals
+export function imageUrl(imageId?: string | null, width?: number) {
+  if (!imageId) return undefined
+  return width ? `/api/images/${imageId}?w=${width}` : `/api/images/${imageId}`
+}
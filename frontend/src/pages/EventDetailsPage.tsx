@@ -6,7 +6,7 @@ import PageNotFound from "@/pages/PageNotFound.tsx";
 import { Card, CardContent, CardHeader, CardTitle } from "@/components/ui/card.tsx";
 import PageWrapper from "@/components/shared/PageWrapper.tsx";
 import EventCalendarSheet from "@/components/event/EventCalendarSheet.tsx";
-import { useGetImageAsDataUrl } from "@/api/generated/image-controller/image-controller.ts";
+import { useGetImagePlaceholder } from "@/api/generated/image-controller/image-controller.ts";
 import { Button } from "@/components/ui/button.tsx";
 import { Separator } from "@/components/ui/separator.tsx";
 import EventBadges from "@/components/event/EventBadges.tsx";
@@ -15,6 +15,8 @@ import BookingDialog from "@/components/booking/BookingDialog.tsx";
 import { useContextUser } from "@/context/UserProvider.tsx";
 import { Alert, AlertDescription } from "@/components/ui/alert.tsx";
 import { v4 as uuidv4 } from 'uuid';
+import { imageUrl } from "@/lib/utils.ts";
+import { useTicketAvailability } from "@/lib/useTicketAvailability.ts";
 
 
 export default function EventDetailsPage() {
@@ -30,10 +32,12 @@ export default function EventDetailsPage() {
         query: { enabled: !!eventId }
     } )
 
-    const { data: imageData } = useGetImageAsDataUrl( eventData?.data.imageId || "", {
-        query: { enabled: !!eventData?.data.imageId },
+    const { data: placeholder } = useGetImagePlaceholder( eventData?.data.imageId || "", {
+        query: { enabled: !!eventData?.data.imageId, retry: false },
     } )
 
+    const availability = useTicketAvailability( eventData?.data.id );
+
     if ( isLoadingEvent ) {
         return <CustomLoader size={ "size-6" } text={ "Loading..." }/>
     }
@@ -49,7 +53,13 @@ export default function EventDetailsPage() {
         )
     }
 
-    const event = eventData?.data;
+    // the stream keeps the ticket counts current while the page is open
+    const event = availability ? {
+        ...eventData.data,
+        bookedTicketsCount: availability.bookedTicketsCount ?? eventData.data.bookedTicketsCount,
+        ticketAlarm: availability.ticketAlarm,
+        isSoldOut: availability.isSoldOut,
+    } : eventData.data;
 
 
     const getTime = ( dateString: string ) => {
@@ -115,9 +125,9 @@ export default function EventDetailsPage() {
                     </CardTitle>
                 </CardHeader>
                 <CardContent className={ "space-y-8" }>
-                    <EventImage imageData={ imageData?.data }/>
+                    <EventImage imageData={ imageUrl( event.imageId, 1280 ) } placeholder={ placeholder?.data }/>
                     { Object.keys( user ).length > 0 ?
-                        <BookingDialog event={ eventData?.data }/>
+                        <BookingDialog event={ event }/>
                         :
                         <Button onClick={ handleNotAuthenticatedUser }>
                             Book Now
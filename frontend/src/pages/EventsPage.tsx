@@ -1,4 +1,5 @@
-import { useGetAllEvents } from "@/api/generated/event-controller/event-controller.ts";
+import { getAllEvents, getGetAllEventsQueryKey } from "@/api/generated/event-controller/event-controller.ts";
+import { GetAllEventsFilter } from "@/api/generated/openAPIDefinition.schemas.ts";
 import CustomLoader from "@/components/shared/CustomLoader.tsx";
 import PageWrapper from "@/components/shared/PageWrapper.tsx";
 import { Plus, TicketIcon } from "lucide-react";
@@ -8,10 +9,29 @@ import MainHeading from "@/components/shared/MainHeading.tsx";
 import { useContextUser } from "@/context/UserProvider.tsx";
 import { toast } from "sonner";
 import { useNavigate, useSearchParams } from "react-router";
+import { useInfiniteQuery } from "@tanstack/react-query";
+import { useState } from "react";
+
+const filterLabels: Record<GetAllEventsFilter, string> = {
+    UPCOMING: "Upcoming",
+    PAST: "Past",
+    ALL: "All",
+};
 
 export default function EventsPage() {
 
-    const { data: allEvents, isPending } = useGetAllEvents();
+    const [ filter, setFilter ] = useState<GetAllEventsFilter>( GetAllEventsFilter.UPCOMING );
+
+    // the backend serves events page by page, each page carries the cursor of the next one
+    const { data: eventPages, isPending, fetchNextPage, hasNextPage, isFetchingNextPage } = useInfiniteQuery( {
+        queryKey: getGetAllEventsQueryKey( { filter } ),
+        queryFn: ( { pageParam, signal } ) => getAllEvents( { filter, cursor: pageParam }, { signal } )
+            .then( ( response ) => response.data ),
+        initialPageParam: undefined as string | undefined,
+        getNextPageParam: ( lastPage ) => lastPage.nextCursor ?? undefined,
+    } );
+
+    const allEvents = eventPages?.pages.flatMap( ( page ) => page.events ) ?? [];
 
     const { user } = useContextUser();
 
@@ -48,23 +68,45 @@ export default function EventsPage() {
                         iconClassNames={ "rotate-45" }
                     />
                 </div>
-                <Button size={ "sm" } className={ "ml-auto" } onClick={ handleCreateEvent }>
-                    <Plus/>
-                    New Event
-                </Button>
+                <div className={ "w-full flex justify-between items-center" }>
+                    <div className={ "flex gap-2" }>
+                        {
+                            Object.values( GetAllEventsFilter ).map( ( filterOption ) => {
+                                return <Button
+                                    key={ filterOption }
+                                    size={ "sm" }
+                                    variant={ filter === filterOption ? "default" : "outline" }
+                                    onClick={ () => setFilter( filterOption ) }>
+                                    { filterLabels[filterOption] }
+                                </Button>
+                            } )
+                        }
+                    </div>
+                    <Button size={ "sm" } onClick={ handleCreateEvent }>
+                        <Plus/>
+                        New Event
+                    </Button>
+                </div>
             </div>
             <div
                 className={ "grid grid-cols-[repeat(auto-fit,minmax(350px,1fr))] place-items-center items-start justify-center flex-wrap gap-12 w-full" }>
                 {
-                    allEvents?.data.map( ( event ) => {
+                    allEvents.map( ( event ) => {
                         return <EventCard cardClassName={ "w-full max-w-[350px]" } key={ event.id } event={ event }/>
                     } )
                 }
                 {
-                    ( allEvents?.data.length === 0 || !allEvents?.data ) &&
+                    allEvents.length === 0 &&
                     <p>No events found.</p>
                 }
             </div>
+            {
+                hasNextPage &&
+                <Button variant={ "outline" } className={ "mx-auto flex" } disabled={ isFetchingNextPage }
+                        onClick={ () => fetchNextPage() }>
+                    { isFetchingNextPage ? "Loading..." : "Load more" }
+                </Button>
+            }
         </PageWrapper>
     )
 }